@@ -0,0 +1,154 @@
+package com.banreservas.integration.benchmark;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.hc.client5.http.classic.methods.HttpPost;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.io.entity.ByteArrayEntity;
+import org.apache.hc.core5.http.io.entity.EntityUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.sun.net.httpserver.HttpServer;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.ext.web.client.WebClient;
+import io.vertx.ext.web.client.WebClientOptions;
+
+/**
+ * Throughput of the blocking HttpClient path against the non-blocking Vert.x path when the
+ * backend answers with a fixed latency, on a JVM limited to two cores.
+ *
+ * Both paths keep the same number of requests in flight: the blocking client is driven by one
+ * worker thread per concurrent request, and the Vert.x client sends every request from its
+ * event loop. Divide the score by the core count to get throughput per core.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(value = 1, jvmArgsAppend = {"-XX:ActiveProcessorCount=2"})
+public class BackendClientBenchmark {
+
+    private static final int CONCURRENT_REQUESTS = 256;
+    private static final long BACKEND_LATENCY_MILLIS = 20;
+    private static final byte[] REQUEST = ("{\"clients\":[{\"identifications\":[{\"number\":\"00112345678\","
+            + "\"type\":\"Cedula\"}]}],\"includeBinaryPhoto\":false}").getBytes(StandardCharsets.UTF_8);
+    private static final byte[] RESPONSE = ("{\"header\":{\"responseCode\":200,\"responseMessage\":\"OK\"},"
+            + "\"body\":{\"code\":\"000\",\"message\":\"OK\",\"clients\":[]}}").getBytes(StandardCharsets.UTF_8);
+
+    private HttpServer server;
+    private String url;
+
+    private CloseableHttpClient blockingClient;
+    private ExecutorService workers;
+
+    private Vertx vertx;
+    private WebClient asyncClient;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 1024);
+        server.setExecutor(Executors.newFixedThreadPool(CONCURRENT_REQUESTS));
+        server.createContext("/master", exchange -> {
+            exchange.getRequestBody().readAllBytes();
+            try {
+                Thread.sleep(BACKEND_LATENCY_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, RESPONSE.length);
+            try (OutputStream body = exchange.getResponseBody()) {
+                body.write(RESPONSE);
+            }
+        });
+        server.start();
+        url = "http://127.0.0.1:" + server.getAddress().getPort() + "/master";
+
+        blockingClient = HttpClients.custom()
+                .setConnectionManager(PoolingHttpClientConnectionManagerBuilder.create()
+                        .setMaxConnTotal(CONCURRENT_REQUESTS)
+                        .setMaxConnPerRoute(CONCURRENT_REQUESTS)
+                        .build())
+                .build();
+        workers = Executors.newFixedThreadPool(CONCURRENT_REQUESTS);
+
+        vertx = Vertx.vertx();
+        asyncClient = WebClient.create(vertx, new WebClientOptions()
+                .setKeepAlive(true)
+                .setMaxPoolSize(CONCURRENT_REQUESTS));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        asyncClient.close();
+        vertx.close();
+        workers.shutdownNow();
+        blockingClient.close();
+        server.stop(0);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CONCURRENT_REQUESTS)
+    public int blockingClient() throws Exception {
+        List<Future<Integer>> responses = new ArrayList<>(CONCURRENT_REQUESTS);
+        for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+            responses.add(workers.submit(() -> {
+                HttpPost post = new HttpPost(url);
+                post.setEntity(new ByteArrayEntity(REQUEST, ContentType.APPLICATION_JSON));
+                return blockingClient.execute(post, response -> EntityUtils.toByteArray(response.getEntity()).length);
+            }));
+        }
+        int bytes = 0;
+        for (Future<Integer> response : responses) {
+            bytes += response.get();
+        }
+        return bytes;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CONCURRENT_REQUESTS)
+    public int asyncClient() {
+        List<CompletableFuture<Integer>> responses = new ArrayList<>(CONCURRENT_REQUESTS);
+        for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+            responses.add(asyncClient.postAbs(url)
+                    .putHeader("Content-Type", "application/json")
+                    .sendBuffer(Buffer.buffer(REQUEST))
+                    .map(response -> response.bodyAsBuffer().length())
+                    .toCompletionStage()
+                    .toCompletableFuture());
+        }
+        int bytes = 0;
+        for (CompletableFuture<Integer> response : responses) {
+            bytes += response.join();
+        }
+        return bytes;
+    }
+}
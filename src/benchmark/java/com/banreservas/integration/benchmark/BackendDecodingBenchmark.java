@@ -0,0 +1,114 @@
+package com.banreservas.integration.benchmark;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.banreservas.integration.model.outbound.response.backends.actualizardatosmaestrocedulados.ActualizarDatosMaestroCeduladosResponse;
+import com.banreservas.integration.model.outbound.response.backends.datosgeneralesclientejuridico.ConsultarDatosGeneralesClienteJuridicoResponse;
+import com.banreservas.integration.model.outbound.response.backends.datosjcedp.ConsultarDatosJCEDPResponse;
+import com.banreservas.integration.model.outbound.response.backends.datosmaestrocedulados.ConsultarDatosMaestroCeduladosResponse;
+import com.banreservas.integration.util.JsonReaders;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Cost of decoding each backend response, comparing the previous paths with the shared readers.
+ *
+ * Master cedula used to be decoded from a String with a new ObjectMapper per request; the other
+ * backends were unmarshalled into a LinkedHashMap and then converted to the record type.
+ * Run with {@code -prof gc} to compare the allocation per operation (gc.alloc.rate.norm).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class BackendDecodingBenchmark {
+
+    private static final ObjectMapper SHARED_MAPPER = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    private static final byte[] JURIDICAL_CLIENT = bytes("{\"header\":{\"responseCode\":200,\"responseMessage\":\"OK\"},"
+            + "\"body\":{\"client\":{\"identification\":{\"number\":\"101000001\",\"type\":\"RNC\"},"
+            + "\"businessName\":\"EMPRESA DE EJEMPLO SRL\",\"tradeName\":\"EJEMPLO\"}}}");
+
+    private static final byte[] MASTER_CEDULA = bytes("{\"header\":{\"responseCode\":200,\"responseMessage\":\"OK\"},"
+            + "\"body\":{\"code\":\"000\",\"message\":\"OK\",\"clients\":[{\"identifications\":[{\"number\":\"00112345678\","
+            + "\"type\":\"Cedula\"}],\"names\":\"JUAN PEREZ\",\"firstName\":\"JUAN\",\"middleName\":\"CARLOS\","
+            + "\"middleLastName\":\"PEREZ\",\"middleSecondLastName\":\"GOMEZ\",\"lastNames\":\"PEREZ GOMEZ\","
+            + "\"dateOfBirth\":\"1980-01-01\",\"placeOfBirth\":\"SANTO DOMINGO\",\"sex\":\"M\",\"maritalStatus\":\"C\","
+            + "\"categoryId\":1,\"category\":\"NORMAL\",\"stateID\":\"A\",\"idMunicipality\":1,"
+            + "\"nationalities\":[{\"code\":\"DO\",\"description\":\"DOMINICANA\"}],\"lastUpdateDate\":\"2024-01-01\"}]}}");
+
+    private static final byte[] JCE = bytes("{\"header\":{\"responseCode\":200,\"responseMessage\":\"OK\"},"
+            + "\"body\":{\"clients\":[{\"identifications\":[{\"number\":\"00112345678\",\"type\":\"Cedula\"}],"
+            + "\"names\":\"JUAN CARLOS\",\"firstLastName\":\"PEREZ\",\"secondLastName\":\"GOMEZ\","
+            + "\"dateOfBirth\":\"1980-01-01\",\"placeOfBirth\":\"SANTO DOMINGO\",\"sex\":\"M\"}]}}");
+
+    private static final byte[] MASTER_CEDULA_UPDATE = bytes("{\"header\":{\"responseCode\":200,\"responseMessage\":\"OK\"},"
+            + "\"body\":{\"clients\":[{\"identifications\":[{\"number\":\"00112345678\",\"type\":\"Cedula\"}]}]}}");
+
+    @Benchmark
+    public Object juridicalClientViaMap() throws Exception {
+        return viaMap(JURIDICAL_CLIENT, ConsultarDatosGeneralesClienteJuridicoResponse.class);
+    }
+
+    @Benchmark
+    public Object juridicalClientReader() throws Exception {
+        return JsonReaders.JURIDICAL_CLIENT_RESPONSE.readValue(JURIDICAL_CLIENT);
+    }
+
+    @Benchmark
+    public Object masterCedulaViaStringAndNewMapper() throws Exception {
+        String body = new String(MASTER_CEDULA, StandardCharsets.UTF_8);
+        ObjectMapper mapper = new ObjectMapper();
+        mapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        return mapper.readValue(body, ConsultarDatosMaestroCeduladosResponse.class);
+    }
+
+    @Benchmark
+    public Object masterCedulaReader() throws Exception {
+        return JsonReaders.MASTER_CEDULA_RESPONSE.readValue(MASTER_CEDULA);
+    }
+
+    @Benchmark
+    public Object jceViaMap() throws Exception {
+        return viaMap(JCE, ConsultarDatosJCEDPResponse.class);
+    }
+
+    @Benchmark
+    public Object jceReader() throws Exception {
+        return JsonReaders.JCE_RESPONSE.readValue(JCE);
+    }
+
+    @Benchmark
+    public Object masterCedulaUpdateViaMap() throws Exception {
+        return viaMap(MASTER_CEDULA_UPDATE, ActualizarDatosMaestroCeduladosResponse.class);
+    }
+
+    @Benchmark
+    public Object masterCedulaUpdateReader() throws Exception {
+        return JsonReaders.MASTER_CEDULA_UPDATE_RESPONSE.readValue(MASTER_CEDULA_UPDATE);
+    }
+
+    private static Object viaMap(byte[] body, Class<?> type) throws Exception {
+        LinkedHashMap<?, ?> map = SHARED_MAPPER.readValue(body, LinkedHashMap.class);
+        return SHARED_MAPPER.convertValue(map, type);
+    }
+
+    private static byte[] bytes(String json) {
+        return json.getBytes(StandardCharsets.UTF_8);
+    }
+}
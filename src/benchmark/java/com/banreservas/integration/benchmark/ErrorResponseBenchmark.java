@@ -0,0 +1,55 @@
+package com.banreservas.integration.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.banreservas.integration.model.outbound.response.ConsultarDatosGeneralesClienteResponse;
+import com.banreservas.integration.model.outbound.response.HeaderDto;
+import com.banreservas.integration.processors.ErrorResponseProcessor;
+import com.banreservas.integration.util.Constants;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Error-path throughput during a backend outage, when every request ends in the same known
+ * error. Compares the previous path (new DTOs marshalled by Jackson per request) with the
+ * pre-encoded payloads, and shows the cost of a dynamic message that still needs encoding.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(4)
+@Fork(1)
+public class ErrorResponseBenchmark {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final String dynamicMessage = "Error in JCE service: Connection reset";
+
+    @Benchmark
+    public byte[] marshalPerRequest() throws Exception {
+        return MAPPER.writeValueAsBytes(new ConsultarDatosGeneralesClienteResponse(
+                new HeaderDto(Constants.HTTP_BAD_GATEWAY, Constants.ERROR_MESSAGE_JCE_INTERNAL_ERROR), null));
+    }
+
+    @Benchmark
+    public byte[] preEncoded() {
+        return ErrorResponseProcessor.encode(Constants.HTTP_BAD_GATEWAY, Constants.ERROR_MESSAGE_JCE_INTERNAL_ERROR);
+    }
+
+    @Benchmark
+    public byte[] dynamicMessage() {
+        return ErrorResponseProcessor.encode(Constants.HTTP_INTERNAL_ERROR, dynamicMessage);
+    }
+}
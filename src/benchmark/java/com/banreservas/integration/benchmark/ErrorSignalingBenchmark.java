@@ -0,0 +1,97 @@
+package com.banreservas.integration.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.support.DefaultExchange;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.banreservas.integration.util.Constants;
+import com.banreservas.integration.util.ProcessingFailure;
+
+/**
+ * Cost of signaling an expected failure (for example an empty backend response) from a
+ * processor, comparing a thrown IllegalArgumentException caught further up the stack, as
+ * Camel's onException did, with a ProcessingFailure reported on the exchange.
+ *
+ * {@code stackDepth} approximates the number of frames between the processor and the error
+ * handler; the stack trace of the exception grows with it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ErrorSignalingBenchmark {
+
+    private static final ProcessingFailure RESPONSE_REQUIRED = new ProcessingFailure(
+            Constants.HTTP_INTERNAL_ERROR, "Error in JCE service: Respuesta del servicio JCE es requerida");
+
+    @Param({"8", "64"})
+    int stackDepth;
+
+    private CamelContext camelContext;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        camelContext = new DefaultCamelContext();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        camelContext.close();
+    }
+
+    @Benchmark
+    public Object thrownException() {
+        Exchange exchange = new DefaultExchange(camelContext);
+        try {
+            throwAt(stackDepth);
+        } catch (IllegalArgumentException e) {
+            exchange.setProperty("errorCode", Constants.HTTP_INTERNAL_ERROR);
+            exchange.setProperty("errorMessage", "Error in JCE service: " + e.getMessage());
+        }
+        return exchange.getProperty("errorMessage");
+    }
+
+    @Benchmark
+    public Object reportedFailure() {
+        Exchange exchange = new DefaultExchange(camelContext);
+        reportAt(stackDepth, exchange);
+        if (ProcessingFailure.isReported(exchange)) {
+            return exchange.getProperty("errorMessage");
+        }
+        return null;
+    }
+
+    private static void throwAt(int depth) {
+        if (depth > 0) {
+            throwAt(depth - 1);
+            return;
+        }
+        throw new IllegalArgumentException("Respuesta del servicio JCE es requerida");
+    }
+
+    private static void reportAt(int depth, Exchange exchange) {
+        if (depth > 0) {
+            reportAt(depth - 1, exchange);
+            return;
+        }
+        RESPONSE_REQUIRED.report(exchange);
+    }
+}
@@ -0,0 +1,54 @@
+package com.banreservas.integration.benchmark;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.banreservas.integration.model.outbound.response.BodyDto;
+import com.banreservas.integration.model.outbound.response.ClientDto;
+import com.banreservas.integration.model.outbound.response.ConsultarDatosGeneralesClienteResponse;
+import com.banreservas.integration.model.outbound.response.HeaderDto;
+import com.banreservas.integration.model.outbound.response.IdentificationDto;
+import com.banreservas.integration.processors.EncodeFinalResponseProcessor;
+import com.banreservas.integration.util.Constants;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Cost of encoding the final success response, comparing the previous marshal path (Jackson to
+ * a String that was then logged and written as bytes) with the pre-encoded response writer.
+ * Run with {@code -prof gc} to compare the allocation per operation (gc.alloc.rate.norm).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class FinalResponseEncodingBenchmark {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final ConsultarDatosGeneralesClienteResponse response = new ConsultarDatosGeneralesClienteResponse(
+            new HeaderDto(Constants.HTTP_OK, Constants.RESPONSE_MESSAGE_SUCCESS),
+            new BodyDto(new ClientDto(new IdentificationDto("00112345678", "Cedula"), "JUAN CARLOS PEREZ GÓMEZ", "")));
+
+    @Benchmark
+    public byte[] jacksonMarshalToString() throws IOException {
+        return MAPPER.writeValueAsString(response).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public byte[] preEncodedWriter() throws IOException {
+        return EncodeFinalResponseProcessor.encode(response);
+    }
+}
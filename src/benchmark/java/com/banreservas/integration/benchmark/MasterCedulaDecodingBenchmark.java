@@ -0,0 +1,73 @@
+package com.banreservas.integration.benchmark;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.banreservas.integration.util.JsonReaders;
+import com.banreservas.integration.util.MasterCedulaResponseReader;
+
+/**
+ * Cost of decoding a master cedula response, comparing the full decode into the record type
+ * with the decision-first reader, for a hit (client found, code 000) and a miss (code 904).
+ *
+ * Run with {@code -prof gc} to compare the allocation per operation (gc.alloc.rate.norm).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class MasterCedulaDecodingBenchmark {
+
+    private static final String CLIENT = "{\"identifications\":[{\"number\":\"00112345678\",\"type\":\"Cedula\"}],"
+            + "\"names\":\"JUAN PEREZ\",\"firstName\":\"JUAN\",\"middleName\":\"CARLOS\","
+            + "\"middleLastName\":\"PEREZ\",\"middleSecondLastName\":\"GOMEZ\",\"lastNames\":\"PEREZ GOMEZ\","
+            + "\"dateOfBirth\":\"1980-01-01\",\"placeOfBirth\":\"SANTO DOMINGO\",\"sex\":\"M\",\"maritalStatus\":\"C\","
+            + "\"categoryId\":1,\"category\":\"NORMAL\",\"stateID\":\"A\",\"idMunicipality\":1,"
+            + "\"nationalities\":[{\"code\":\"DO\",\"description\":\"DOMINICANA\"}],\"lastUpdateDate\":\"2024-01-01\"}";
+
+    private static final byte[] HIT = bytes("{\"header\":{\"responseCode\":200,\"responseMessage\":\"OK\"},"
+            + "\"body\":{\"code\":\"000\",\"message\":\"OK\",\"type\":\"Cedula\",\"clients\":[" + CLIENT + "]}}");
+
+    private static final byte[] MISS = bytes("{\"header\":{\"responseCode\":200,\"responseMessage\":\"OK\"},"
+            + "\"body\":{\"code\":\"904\",\"message\":\"Cliente no encontrado en datos maestros\",\"type\":\"Cedula\","
+            + "\"clients\":[]}}");
+
+    @Param({"hit", "miss"})
+    String outcome;
+
+    private byte[] response;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        response = "hit".equals(outcome) ? HIT : MISS;
+    }
+
+    @Benchmark
+    public Object fullDecode() throws Exception {
+        return JsonReaders.MASTER_CEDULA_RESPONSE.readValue(response);
+    }
+
+    @Benchmark
+    public Object decisionFirst() throws Exception {
+        return MasterCedulaResponseReader.read(response);
+    }
+
+    private static byte[] bytes(String json) {
+        return json.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,304 @@
+package com.banreservas.integration.benchmark;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.Predicate;
+import org.apache.camel.Processor;
+import org.apache.camel.ProducerTemplate;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.support.DefaultExchange;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.banreservas.integration.context.OrchestrationContext;
+import com.banreservas.integration.model.inbound.request.ConsultarDatosGeneralesClienteRequest;
+import com.banreservas.integration.orchestration.OrchestrationState;
+import com.banreservas.integration.orchestration.StateMachine;
+import com.banreservas.integration.util.Constants;
+import com.banreservas.integration.util.ProcessingFailure;
+
+/**
+ * Per-exchange overhead of the orchestration engine: the choice() graph with direct: hops
+ * between the service routes against the precompiled state machine.
+ *
+ * Backends are stubs that answer HTTP 200 and set the routing flags their response processor
+ * would set, so the score is the routing cost alone. {@code path} selects the business path:
+ * juridical client, master cedula hit, or master cedula with forced update through JCE and
+ * the update service.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class OrchestrationEngineBenchmark {
+
+    private static final byte[] RESPONSE = "{\"header\":{\"responseCode\":200}}".getBytes(StandardCharsets.UTF_8);
+    private static final ProcessingFailure FAILURE = new ProcessingFailure(
+            Constants.HTTP_BAD_GATEWAY, Constants.ERROR_MESSAGE_MASTER_CEDULA_INTERNAL_ERROR);
+
+    private static final Processor JURIDICAL_CLIENT = exchange ->
+            exchange.getIn().setHeader(Exchange.HTTP_RESPONSE_CODE, Constants.HTTP_OK);
+    private static final Processor MASTER_CEDULA = exchange -> {
+        exchange.getIn().setHeader(Exchange.HTTP_RESPONSE_CODE, Constants.HTTP_OK);
+        OrchestrationContext context = OrchestrationContext.of(exchange);
+        context.setClientFoundInMaster(true);
+        context.setCallJceService(context.isForceUpdate());
+    };
+    private static final Processor JCE = exchange -> {
+        exchange.getIn().setHeader(Exchange.HTTP_RESPONSE_CODE, Constants.HTTP_OK);
+        OrchestrationContext.of(exchange).setCallUpdateService(true);
+    };
+    private static final Processor UPDATE = exchange -> {
+        exchange.getIn().setHeader(Exchange.HTTP_RESPONSE_CODE, Constants.HTTP_OK);
+        OrchestrationContext.of(exchange).setDataUpdatedSuccessfully(true);
+    };
+    private static final Processor RESPOND = exchange -> {
+        exchange.getIn().setBody(RESPONSE);
+        exchange.getIn().setHeader(Exchange.HTTP_RESPONSE_CODE, Constants.HTTP_OK);
+    };
+    private static final Processor FAIL = FAILURE::report;
+
+    @Param({"juridical", "master", "masterJceUpdate"})
+    String path;
+
+    private CamelContext camelContext;
+    private ProducerTemplate producerTemplate;
+    private ConsultarDatosGeneralesClienteRequest request;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        request = switch (path) {
+            case "juridical" -> new ConsultarDatosGeneralesClienteRequest("101000001",
+                    Constants.IDENTIFICATION_TYPE_RNC, Constants.BOOLEAN_FALSE, Constants.BOOLEAN_FALSE);
+            case "master" -> new ConsultarDatosGeneralesClienteRequest("00112345678",
+                    Constants.IDENTIFICATION_TYPE_CEDULA, Constants.BOOLEAN_FALSE, Constants.BOOLEAN_FALSE);
+            default -> new ConsultarDatosGeneralesClienteRequest("00112345678",
+                    Constants.IDENTIFICATION_TYPE_CEDULA, Constants.BOOLEAN_TRUE, Constants.BOOLEAN_FALSE);
+        };
+
+        StateMachine<OrchestrationState> stateMachine = stateMachine();
+
+        camelContext = new DefaultCamelContext();
+        camelContext.addRoutes(new DslGraph());
+        camelContext.addRoutes(new RouteBuilder() {
+            @Override
+            public void configure() {
+                from("direct:state-machine")
+                        .process(exchange -> stateMachine.run(OrchestrationState.ROUTE, exchange));
+            }
+        });
+        camelContext.start();
+        producerTemplate = camelContext.createProducerTemplate();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        camelContext.close();
+    }
+
+    @Benchmark
+    public Object dslGraph() {
+        return producerTemplate.send("direct:dsl", newExchange()).getIn().getBody();
+    }
+
+    @Benchmark
+    public Object stateMachine() {
+        return producerTemplate.send("direct:state-machine", newExchange()).getIn().getBody();
+    }
+
+    private Exchange newExchange() {
+        Exchange exchange = new DefaultExchange(camelContext);
+        exchange.getIn().setBody(request);
+        OrchestrationContext.attach(exchange);
+        OrchestrationContext.of(exchange).captureRequest(exchange.getIn());
+        return exchange;
+    }
+
+    private static boolean isOk(Exchange exchange) {
+        return exchange.getIn().getHeader(Exchange.HTTP_RESPONSE_CODE, 0, Integer.class) == Constants.HTTP_OK;
+    }
+
+    private static StateMachine<OrchestrationState> stateMachine() {
+        return StateMachine.builder(OrchestrationState.class, OrchestrationState.DONE)
+                .on(OrchestrationState.ROUTE, exchange -> {
+                    String identificationType = OrchestrationContext.of(exchange).getIdentificationType();
+                    if (Constants.IDENTIFICATION_TYPE_CEDULA.equals(identificationType)) {
+                        return OrchestrationState.MASTER_CEDULA;
+                    }
+                    if (Constants.IDENTIFICATION_TYPE_RNC.equals(identificationType)
+                            || Constants.IDENTIFICATION_TYPE_PASSPORT.equals(identificationType)) {
+                        return OrchestrationState.JURIDICAL_CLIENT;
+                    }
+                    return OrchestrationState.FAIL;
+                })
+                .on(OrchestrationState.JURIDICAL_CLIENT, exchange -> {
+                    JURIDICAL_CLIENT.process(exchange);
+                    return isOk(exchange) ? OrchestrationState.RESPOND : OrchestrationState.FAIL;
+                })
+                .on(OrchestrationState.MASTER_CEDULA, exchange -> {
+                    MASTER_CEDULA.process(exchange);
+                    return isOk(exchange) ? OrchestrationState.MASTER_CEDULA_RESULT : OrchestrationState.FAIL;
+                })
+                .on(OrchestrationState.MASTER_CEDULA_RESULT, exchange -> {
+                    OrchestrationContext context = OrchestrationContext.of(exchange);
+                    if (context.getFailure() != null) {
+                        return OrchestrationState.FAIL;
+                    }
+                    if (context.isCallJceService()) {
+                        return OrchestrationState.JCE;
+                    }
+                    return context.isClientFoundInMaster()
+                            ? OrchestrationState.MAP_MASTER_RESPONSE
+                            : OrchestrationState.FAIL;
+                })
+                .on(OrchestrationState.JCE, exchange -> {
+                    JCE.process(exchange);
+                    if (!isOk(exchange) || ProcessingFailure.isReported(exchange)) {
+                        return OrchestrationState.FAIL;
+                    }
+                    OrchestrationContext context = OrchestrationContext.of(exchange);
+                    if (context.isCallUpdateService()) {
+                        return OrchestrationState.UPDATE;
+                    }
+                    return context.isClientNotFoundInJce() ? OrchestrationState.FAIL : OrchestrationState.DONE;
+                })
+                .on(OrchestrationState.UPDATE, exchange -> {
+                    UPDATE.process(exchange);
+                    return isOk(exchange) && OrchestrationContext.of(exchange).isDataUpdatedSuccessfully()
+                            ? OrchestrationState.MAP_UPDATE_RESPONSE
+                            : OrchestrationState.FAIL;
+                })
+                .on(OrchestrationState.MAP_MASTER_RESPONSE, exchange -> OrchestrationState.RESPOND)
+                .on(OrchestrationState.MAP_JCE_RESPONSE, exchange -> OrchestrationState.RESPOND)
+                .on(OrchestrationState.MAP_UPDATE_RESPONSE, exchange -> OrchestrationState.RESPOND)
+                .on(OrchestrationState.RESPOND, exchange -> {
+                    RESPOND.process(exchange);
+                    return OrchestrationState.DONE;
+                })
+                .on(OrchestrationState.FAIL, exchange -> {
+                    FAIL.process(exchange);
+                    return OrchestrationState.DONE;
+                })
+                .build();
+    }
+
+    /**
+     * Same decisions and direct: hops as the orchestrator, service and response routes.
+     */
+    private static final class DslGraph extends RouteBuilder {
+
+        private static final Predicate OK = exchange -> isOk(exchange);
+
+        @Override
+        public void configure() {
+            from("direct:dsl")
+                    .choice()
+                    .when(exchange -> Constants.IDENTIFICATION_TYPE_RNC.equals(OrchestrationContext.of(exchange).getIdentificationType()))
+                        .to("direct:dsl-service1")
+                    .when(exchange -> Constants.IDENTIFICATION_TYPE_CEDULA.equals(OrchestrationContext.of(exchange).getIdentificationType()))
+                        .to("direct:dsl-service2")
+                    .when(exchange -> Constants.IDENTIFICATION_TYPE_PASSPORT.equals(OrchestrationContext.of(exchange).getIdentificationType()))
+                        .to("direct:dsl-service1")
+                    .otherwise()
+                        .process(FAIL)
+                        .stop()
+                    .end();
+
+            from("direct:dsl-service1")
+                    .process(JURIDICAL_CLIENT)
+                    .choice()
+                    .when(OK)
+                        .process(RESPOND)
+                        .stop()
+                    .otherwise()
+                        .process(FAIL)
+                        .stop()
+                    .end();
+
+            from("direct:dsl-service2")
+                    .process(MASTER_CEDULA)
+                    .choice()
+                    .when(OK)
+                        .to("direct:dsl-service2-result")
+                    .otherwise()
+                        .process(FAIL)
+                        .stop()
+                    .end();
+
+            from("direct:dsl-service2-result")
+                    .choice()
+                    .when(ProcessingFailure::isReported)
+                        .process(FAIL)
+                        .stop()
+                    .when(exchange -> OrchestrationContext.of(exchange).isCallJceService())
+                        .to("direct:dsl-service3")
+                    .when(exchange -> OrchestrationContext.of(exchange).isClientFoundInMaster())
+                        .to("direct:dsl-respond")
+                    .otherwise()
+                        .process(FAIL)
+                        .stop()
+                    .end();
+
+            from("direct:dsl-service3")
+                    .process(JCE)
+                    .choice()
+                    .when(OK)
+                        .filter(ProcessingFailure::isReported)
+                            .process(FAIL)
+                            .stop()
+                        .end()
+                        .choice()
+                            .when(exchange -> OrchestrationContext.of(exchange).isCallUpdateService())
+                                .to("direct:dsl-service4")
+                            .when(exchange -> OrchestrationContext.of(exchange).isClientNotFoundInJce())
+                                .process(FAIL)
+                        .endChoice()
+                        .stop()
+                    .otherwise()
+                        .process(FAIL)
+                        .stop()
+                    .end();
+
+            from("direct:dsl-service4")
+                    .process(UPDATE)
+                    .choice()
+                    .when(OK)
+                        .choice()
+                        .when(exchange -> OrchestrationContext.of(exchange).isDataUpdatedSuccessfully())
+                            .to("direct:dsl-respond")
+                        .otherwise()
+                            .process(FAIL)
+                            .stop()
+                        .endChoice()
+                    .otherwise()
+                        .process(FAIL)
+                        .stop()
+                    .end();
+
+            from("direct:dsl-respond")
+                    .choice()
+                    .when(ProcessingFailure::isReported)
+                        .process(FAIL)
+                    .otherwise()
+                        .process(RESPOND)
+                    .end();
+        }
+    }
+}
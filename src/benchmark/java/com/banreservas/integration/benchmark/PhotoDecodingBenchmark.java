@@ -0,0 +1,74 @@
+package com.banreservas.integration.benchmark;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.banreservas.integration.util.JsonReaders;
+import com.banreservas.integration.util.MasterCedulaResponseReader;
+
+/**
+ * Heap allocated per request when decoding master cedula responses that carry a base64 photo,
+ * with eight threads decoding concurrently: the full decode, which materializes the photo as a
+ * String, against the reader that skips it. The photo is sent as the first or the last property
+ * of the client.
+ *
+ * Run with {@code -prof gc}; gc.alloc.rate.norm is the heap allocated per request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(8)
+@Fork(1)
+public class PhotoDecodingBenchmark {
+
+    @Param({"64", "256"})
+    int photoKb;
+
+    @Param({"first", "last"})
+    String photoPosition;
+
+    private byte[] response;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        byte[] photo = new byte[photoKb * 1024];
+        new Random(42).nextBytes(photo);
+        String photoProperty = "\"photo\":\"" + Base64.getEncoder().encodeToString(photo) + "\"";
+        String fields = "\"identifications\":[{\"number\":\"00112345678\",\"type\":\"Cedula\"}],"
+                + "\"names\":\"JUAN PEREZ\",\"firstName\":\"JUAN\",\"lastNames\":\"PEREZ GOMEZ\","
+                + "\"dateOfBirth\":\"1980-01-01\",\"sex\":\"M\",\"categoryId\":1,\"idMunicipality\":1,"
+                + "\"nationalities\":[{\"code\":\"DO\",\"description\":\"DOMINICANA\"}]";
+        String client = "first".equals(photoPosition) ? photoProperty + "," + fields : fields + "," + photoProperty;
+        response = ("{\"header\":{\"responseCode\":200,\"responseMessage\":\"OK\"},"
+                + "\"body\":{\"code\":\"000\",\"message\":\"OK\",\"type\":\"Cedula\",\"clients\":[{" + client + "}]}}")
+                .getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public Object withPhoto() throws Exception {
+        return JsonReaders.MASTER_CEDULA_RESPONSE.readValue(response);
+    }
+
+    @Benchmark
+    public Object withoutPhoto() throws Exception {
+        return MasterCedulaResponseReader.read(response);
+    }
+}
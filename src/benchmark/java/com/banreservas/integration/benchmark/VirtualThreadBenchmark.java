@@ -0,0 +1,135 @@
+package com.banreservas.integration.benchmark;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.hc.client5.http.classic.methods.HttpPost;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.io.entity.ByteArrayEntity;
+import org.apache.hc.core5.http.io.entity.EntityUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Concurrency ceiling of the orchestration when each request makes two sequential blocking
+ * backend calls, running on a bounded worker pool against one virtual thread per request.
+ *
+ * With the worker pool, throughput stops growing at about workers / (2 * backend latency);
+ * with virtual threads it is bounded by the backend and the connection pool only.
+ * Run with -Djdk.tracePinnedThreads=short to report carrier pinning in the HTTP client.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(value = 1, jvmArgsAppend = {"-XX:ActiveProcessorCount=2"})
+public class VirtualThreadBenchmark {
+
+    private static final int CONCURRENT_REQUESTS = 1000;
+    private static final int WORKER_THREADS = 200;
+    private static final long BACKEND_LATENCY_MILLIS = 20;
+    private static final byte[] REQUEST = ("{\"clients\":[{\"identifications\":[{\"number\":\"00112345678\","
+            + "\"type\":\"Cedula\"}]}],\"includeBinaryPhoto\":false}").getBytes(StandardCharsets.UTF_8);
+    private static final byte[] RESPONSE = ("{\"header\":{\"responseCode\":200,\"responseMessage\":\"OK\"},"
+            + "\"body\":{\"code\":\"000\",\"message\":\"OK\",\"clients\":[]}}").getBytes(StandardCharsets.UTF_8);
+
+    private HttpServer server;
+    private String url;
+
+    private CloseableHttpClient client;
+    private ExecutorService workers;
+    private ExecutorService virtualThreads;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 4096);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext("/backend", exchange -> {
+            exchange.getRequestBody().readAllBytes();
+            try {
+                Thread.sleep(BACKEND_LATENCY_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, RESPONSE.length);
+            try (OutputStream body = exchange.getResponseBody()) {
+                body.write(RESPONSE);
+            }
+        });
+        server.start();
+        url = "http://127.0.0.1:" + server.getAddress().getPort() + "/backend";
+
+        client = HttpClients.custom()
+                .setConnectionManager(PoolingHttpClientConnectionManagerBuilder.create()
+                        .setMaxConnTotal(CONCURRENT_REQUESTS)
+                        .setMaxConnPerRoute(CONCURRENT_REQUESTS)
+                        .build())
+                .build();
+        workers = Executors.newFixedThreadPool(WORKER_THREADS);
+        virtualThreads = Executors.newVirtualThreadPerTaskExecutor();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        workers.shutdownNow();
+        virtualThreads.shutdownNow();
+        client.close();
+        server.stop(0);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CONCURRENT_REQUESTS)
+    public int workerPool() throws Exception {
+        return orchestrate(workers);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CONCURRENT_REQUESTS)
+    public int virtualThreads() throws Exception {
+        return orchestrate(virtualThreads);
+    }
+
+    private int orchestrate(ExecutorService executor) throws Exception {
+        List<Future<Integer>> responses = new ArrayList<>(CONCURRENT_REQUESTS);
+        for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+            responses.add(executor.submit(() -> call() + call()));
+        }
+        int bytes = 0;
+        for (Future<Integer> response : responses) {
+            bytes += response.get();
+        }
+        return bytes;
+    }
+
+    private int call() throws IOException {
+        HttpPost post = new HttpPost(url);
+        post.setEntity(new ByteArrayEntity(REQUEST, ContentType.APPLICATION_JSON));
+        return client.execute(post, response -> EntityUtils.toByteArray(response.getEntity()).length);
+    }
+}
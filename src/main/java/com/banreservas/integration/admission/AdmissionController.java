@@ -0,0 +1,112 @@
+package com.banreservas.integration.admission;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+/**
+ * Ingress admission control based on queueing delay and in-flight requests.
+ *
+ * The queueing delay is the time a request waited between arrival and the start of its
+ * processing. When the smallest delay seen during an interval exceeds the target, a standing
+ * queue has formed and requests that waited longer than the target are shed until an
+ * interval ends below the target again. Requests over the in-flight cap are always shed.
+ */
+@ApplicationScoped
+public class AdmissionController {
+
+    @ConfigProperty(name = "admision.consultar.datos.generales.cliente.enabled", defaultValue = "true")
+    boolean enabled;
+
+    @ConfigProperty(name = "admision.consultar.datos.generales.cliente.target.delay", defaultValue = "50")
+    long targetDelayMillis;
+
+    @ConfigProperty(name = "admision.consultar.datos.generales.cliente.interval", defaultValue = "100")
+    long intervalMillis;
+
+    @ConfigProperty(name = "admision.consultar.datos.generales.cliente.max.in.flight", defaultValue = "500")
+    int maxInFlight;
+
+    @ConfigProperty(name = "admision.consultar.datos.generales.cliente.retry.after", defaultValue = "1")
+    int retryAfterSeconds;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder admitted = new LongAdder();
+    private final LongAdder shedByDelay = new LongAdder();
+    private final LongAdder shedByInFlight = new LongAdder();
+
+    private final ReentrantLock intervalLock = new ReentrantLock();
+    private long intervalStart = System.nanoTime();
+    private long minDelayMillis = Long.MAX_VALUE;
+    private volatile boolean overloaded;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @param queueDelayMillis time the request waited before processing started
+     * @return true when admitted; the caller must then call {@link #release()} when done
+     */
+    public boolean tryAdmit(long queueDelayMillis) {
+        observe(queueDelayMillis);
+        if (overloaded && queueDelayMillis > targetDelayMillis) {
+            shedByDelay.increment();
+            return false;
+        }
+        if (inFlight.incrementAndGet() > maxInFlight) {
+            inFlight.decrementAndGet();
+            shedByInFlight.increment();
+            return false;
+        }
+        admitted.increment();
+        return true;
+    }
+
+    public void release() {
+        inFlight.decrementAndGet();
+    }
+
+    public int retryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+
+    public boolean isOverloaded() {
+        return overloaded;
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    public long admitted() {
+        return admitted.sum();
+    }
+
+    public long shedByDelay() {
+        return shedByDelay.sum();
+    }
+
+    public long shedByInFlight() {
+        return shedByInFlight.sum();
+    }
+
+    private void observe(long queueDelayMillis) {
+        long now = System.nanoTime();
+        intervalLock.lock();
+        try {
+            minDelayMillis = Math.min(minDelayMillis, queueDelayMillis);
+            if (now - intervalStart >= TimeUnit.MILLISECONDS.toNanos(intervalMillis)) {
+                overloaded = minDelayMillis > targetDelayMillis;
+                minDelayMillis = Long.MAX_VALUE;
+                intervalStart = now;
+            }
+        } finally {
+            intervalLock.unlock();
+        }
+    }
+}
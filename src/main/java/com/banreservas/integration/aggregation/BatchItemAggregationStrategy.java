@@ -0,0 +1,75 @@
+package com.banreservas.integration.aggregation;
+
+import java.io.ByteArrayOutputStream;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import org.apache.camel.AggregationStrategy;
+import org.apache.camel.Exchange;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.banreservas.integration.processors.ErrorResponseProcessor;
+import com.banreservas.integration.util.Constants;
+
+/**
+ * Collects the per-item JSON responses of a batch lookup in request order.
+ *
+ * Each item response is stored at its split index in the {@code batchResponses} exchange
+ * property. An item that ended with an exception gets its own error response instead of
+ * failing the batch.
+ */
+@ApplicationScoped
+public class BatchItemAggregationStrategy implements AggregationStrategy {
+
+    private static final Logger logger = LoggerFactory.getLogger(BatchItemAggregationStrategy.class);
+
+    public static final String BATCH_RESPONSES = "batchResponses";
+
+    @Override
+    public Exchange aggregate(Exchange oldExchange, Exchange newExchange) {
+        int index = newExchange.getProperty(Exchange.SPLIT_INDEX, Integer.class);
+        byte[][] responses = newExchange.getProperty(BATCH_RESPONSES, byte[][].class);
+
+        if (newExchange.getException() != null) {
+            logger.error("Batch item {} failed: {}", index, newExchange.getException().getMessage());
+            responses[index] = errorResponse(Constants.HTTP_INTERNAL_ERROR, Constants.ERROR_MESSAGE_INTERNAL_ERROR);
+            newExchange.setException(null);
+        } else {
+            byte[] body = newExchange.getMessage().getBody(byte[].class);
+            responses[index] = body != null && body.length > 0
+                    ? body
+                    : errorResponse(Constants.HTTP_INTERNAL_ERROR, Constants.ERROR_MESSAGE_INTERNAL_ERROR);
+        }
+
+        // An item that stopped its own routing must not stop the batch
+        newExchange.setRouteStop(false);
+        return oldExchange != null ? oldExchange : newExchange;
+    }
+
+    /**
+     * Writes the collected item responses as a JSON array, preserving request order.
+     */
+    public static byte[] toJsonArray(byte[][] responses) {
+        int size = 2 + Math.max(0, responses.length - 1);
+        for (byte[] response : responses) {
+            size += response != null ? response.length : 0;
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream(size);
+        out.write('[');
+        for (int i = 0; i < responses.length; i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            byte[] response = responses[i] != null
+                    ? responses[i]
+                    : errorResponse(Constants.HTTP_INTERNAL_ERROR, Constants.ERROR_MESSAGE_INTERNAL_ERROR);
+            out.write(response, 0, response.length);
+        }
+        out.write(']');
+        return out.toByteArray();
+    }
+
+    private static byte[] errorResponse(int code, String message) {
+        return ErrorResponseProcessor.encode(code, message);
+    }
+}
@@ -0,0 +1,129 @@
+package com.banreservas.integration.backend;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bulkhead whose in-flight limit adapts to the backend latency (AIMD).
+ *
+ * The limit grows by one for each successful call made while the bulkhead was at least half
+ * used, and shrinks multiplicatively when a call times out or takes longer than the latency
+ * threshold. It shrinks at most once per round trip: a slow call that started before the last
+ * decrease was already in flight when the limit was cut and does not cut it again. Other
+ * failures, such as 5xx responses, say nothing about queueing and leave the limit unchanged.
+ * Callers over the limit wait up to a short timeout for a slot and are then rejected. Uses a
+ * lock rather than a monitor so waiting virtual threads do not pin carriers.
+ */
+public class AdaptiveConcurrencyLimit {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final long latencyThresholdNanos;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition released = lock.newCondition();
+
+    private double limit;
+    private int inFlight;
+    private long lastDecreaseNanos;
+
+    private final AtomicLong rejected = new AtomicLong();
+
+    public AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, double backoffRatio,
+                                    long latencyThresholdMillis) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.backoffRatio = backoffRatio;
+        this.latencyThresholdNanos = TimeUnit.MILLISECONDS.toNanos(latencyThresholdMillis);
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+        this.lastDecreaseNanos = System.nanoTime();
+    }
+
+    /**
+     * @param maxWaitNanos how long to wait for a slot; 0 to fail immediately
+     * @return false when no slot became available in time
+     */
+    public boolean acquire(long maxWaitNanos) throws InterruptedException {
+        lock.lock();
+        try {
+            long remaining = maxWaitNanos;
+            while (inFlight >= (int) limit) {
+                if (remaining <= 0) {
+                    rejected.incrementAndGet();
+                    return false;
+                }
+                remaining = released.awaitNanos(remaining);
+            }
+            inFlight++;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Releases a slot taken with {@link #acquire(long)} and adapts the limit to the call outcome.
+     *
+     * @param failed   the call ended with an error or a 5xx response
+     * @param timedOut the call ended with a timeout
+     */
+    public void release(boolean failed, boolean timedOut, long durationNanos) {
+        release(failed, timedOut, durationNanos, System.nanoTime());
+    }
+
+    void release(boolean failed, boolean timedOut, long durationNanos, long nowNanos) {
+        lock.lock();
+        try {
+            if (timedOut || durationNanos > latencyThresholdNanos) {
+                if (nowNanos - durationNanos - lastDecreaseNanos > 0) {
+                    limit = Math.max(minLimit, limit * backoffRatio);
+                    lastDecreaseNanos = nowNanos;
+                }
+            } else if (!failed && inFlight * 2 >= limit) {
+                limit = Math.min(maxLimit, limit + 1);
+            }
+            inFlight--;
+            released.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Releases a slot whose call was never made, without adapting the limit.
+     */
+    public void cancel() {
+        lock.lock();
+        try {
+            inFlight--;
+            released.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int limit() {
+        lock.lock();
+        try {
+            return (int) limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int inFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long rejected() {
+        return rejected.get();
+    }
+}
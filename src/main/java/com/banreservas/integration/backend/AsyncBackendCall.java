@@ -0,0 +1,134 @@
+package com.banreservas.integration.backend;
+
+import java.net.SocketTimeoutException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.apache.camel.AsyncCallback;
+import org.apache.camel.Exchange;
+import org.apache.camel.ProducerTemplate;
+import org.apache.camel.support.AsyncProcessorSupport;
+
+import com.banreservas.integration.exceptions.BackendUnavailableException;
+
+/**
+ * Non-blocking backend call: the request is sent through an asynchronous producer
+ * (vertx-http) and the route continues from the response callback, so no thread waits
+ * for the backend round-trip. The callback hands the route to a worker executor, so the
+ * rest of the route never runs on the Vert.x event loop.
+ *
+ * Supports coalescing, the circuit breaker, the bulkhead and the request deadline like the
+ * blocking path, except that a call over the bulkhead limit is rejected without waiting;
+ * hedging only applies to the blocking path.
+ */
+class AsyncBackendCall extends AsyncProcessorSupport {
+
+    private final ProducerTemplate producerTemplate;
+    private final String backend;
+    private final String endpointUri;
+    private final SingleFlight<String, BackendResponse> singleFlight;
+    private final CircuitBreaker circuitBreaker;
+    private final AdaptiveConcurrencyLimit bulkhead;
+    private final Executor workerExecutor;
+
+    AsyncBackendCall(ProducerTemplate producerTemplate, String backend, String endpointUri,
+                     SingleFlight<String, BackendResponse> singleFlight, CircuitBreaker circuitBreaker,
+                     AdaptiveConcurrencyLimit bulkhead, Executor workerExecutor) {
+        this.producerTemplate = producerTemplate;
+        this.backend = backend;
+        this.endpointUri = endpointUri;
+        this.singleFlight = singleFlight;
+        this.circuitBreaker = circuitBreaker;
+        this.bulkhead = bulkhead;
+        this.workerExecutor = workerExecutor;
+    }
+
+    @Override
+    public boolean process(Exchange exchange, AsyncCallback callback) {
+        long remaining = Deadline.remainingNanos(exchange);
+        if (remaining <= 0) {
+            exchange.setException(new SocketTimeoutException("Request deadline exceeded before calling " + backend));
+            callback.done(true);
+            return true;
+        }
+
+        String key = singleFlight != null ? BackendInvoker.coalescingKey(exchange) : null;
+        CompletableFuture<BackendResponse> response = key == null
+                ? guarded(exchange)
+                : singleFlight.executeAsync(key, () -> guarded(exchange));
+        if (remaining != Long.MAX_VALUE) {
+            // Copy so a timeout only fails this caller, not others sharing the call
+            response = response.copy().orTimeout(remaining, TimeUnit.NANOSECONDS);
+        }
+
+        response.whenCompleteAsync((result, error) -> {
+            if (error == null) {
+                result.applyTo(exchange);
+            } else {
+                Throwable cause = error instanceof CompletionException && error.getCause() != null
+                        ? error.getCause() : error;
+                exchange.setException(cause instanceof TimeoutException
+                        ? new SocketTimeoutException("Request deadline exceeded waiting for " + backend)
+                        : cause);
+            }
+            callback.done(false);
+        }, workerExecutor);
+        return false;
+    }
+
+    private CompletableFuture<BackendResponse> guarded(Exchange exchange) {
+        if (bulkhead != null && !tryAcquireSlot()) {
+            return CompletableFuture.failedFuture(new BackendUnavailableException(backend, "concurrency limit reached"));
+        }
+        if (circuitBreaker != null && !circuitBreaker.tryAcquire()) {
+            if (bulkhead != null) {
+                bulkhead.cancel();
+            }
+            return CompletableFuture.failedFuture(new BackendUnavailableException(backend, "circuit open"));
+        }
+        long start = System.nanoTime();
+        return send(exchange).whenComplete((result, error) -> {
+            boolean failed = error != null || result.statusCode() >= 500;
+            long duration = System.nanoTime() - start;
+            if (circuitBreaker != null) {
+                circuitBreaker.record(failed, duration);
+            }
+            if (bulkhead != null) {
+                bulkhead.release(failed, isTimeout(error), duration);
+            }
+        });
+    }
+
+    private static boolean isTimeout(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        return cause instanceof TimeoutException || cause instanceof SocketTimeoutException;
+    }
+
+    private boolean tryAcquireSlot() {
+        try {
+            return bulkhead.acquire(0);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private CompletableFuture<BackendResponse> send(Exchange exchange) {
+        Exchange request = exchange.copy();
+        // The endpoint URI is the target; inbound request URI headers must not override it
+        request.getIn().removeHeader(Exchange.HTTP_URI);
+        request.getIn().removeHeader(Exchange.HTTP_PATH);
+        request.getIn().removeHeader(Exchange.HTTP_QUERY);
+        request.getIn().removeHeader(Exchange.HTTP_RAW_QUERY);
+
+        return producerTemplate.asyncSend(endpointUri, request).thenApply(result -> {
+            if (result.getException() != null) {
+                throw new CompletionException(result.getException());
+            }
+            return BackendResponse.of(result);
+        });
+    }
+}
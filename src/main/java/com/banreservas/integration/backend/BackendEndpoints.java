@@ -0,0 +1,74 @@
+package com.banreservas.integration.backend;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+/**
+ * HTTP endpoint URIs of the backend services, including their connect and response timeouts
+ * and the HttpClient configurer holding the backend's connection pool.
+ *
+ * With the asynchronous client enabled the endpoints use the non-blocking vertx-http component.
+ */
+@ApplicationScoped
+public class BackendEndpoints {
+
+    static final String ASYNC_SCHEME = "vertx-http:";
+
+    @ConfigProperty(name = "consultar.datos.generales.cliente.juridico.url")
+    String service1Url;
+
+    @ConfigProperty(name = "consultar.datos.maestro.cedulados.url")
+    String service2Url;
+
+    @ConfigProperty(name = "consultar.datos.jcedp.url")
+    String service3Url;
+
+    @ConfigProperty(name = "actualizar.datos.maestro.cedulados.url")
+    String service4Url;
+
+    @ConfigProperty(name = "timeout.consultar.datos.generales.cliente.juridico")
+    long service1Timeout;
+
+    @ConfigProperty(name = "timeout.consultar.datos.maestro.cedulados")
+    long service2Timeout;
+
+    @ConfigProperty(name = "timeout.consultar.datos.jcedp")
+    long service3Timeout;
+
+    @ConfigProperty(name = "timeout.actualizar.datos.maestro.cedulados")
+    long service4Timeout;
+
+    @ConfigProperty(name = "timeout.conexion.backend", defaultValue = "5000")
+    long connectTimeout;
+
+    @ConfigProperty(name = "http.client.async.enabled", defaultValue = "false")
+    boolean asyncClient;
+
+    public String juridicalClient() {
+        return uri(service1Url, service1Timeout, "juridicalClientHttpClientConfigurer");
+    }
+
+    public String masterCedula() {
+        return uri(service2Url, service2Timeout, "masterCedulaHttpClientConfigurer");
+    }
+
+    public String jce() {
+        return uri(service3Url, service3Timeout, "jceHttpClientConfigurer");
+    }
+
+    public String masterCedulaUpdate() {
+        return uri(service4Url, service4Timeout, "masterCedulaUpdateHttpClientConfigurer");
+    }
+
+    private String uri(String url, long responseTimeout, String httpClientConfigurer) {
+        if (asyncClient) {
+            return ASYNC_SCHEME + url + "?throwExceptionOnFailure=false&webClientOptions=#backendWebClientOptions"
+                    + "&connectTimeout=" + connectTimeout
+                    + "&timeout=" + responseTimeout;
+        }
+        return url + "?bridgeEndpoint=true&throwExceptionOnFailure=false&httpClientConfigurer=#" + httpClientConfigurer
+                + "&connectTimeout=" + connectTimeout
+                + "&connectionRequestTimeout=" + connectTimeout
+                + "&responseTimeout=" + responseTimeout;
+    }
+}
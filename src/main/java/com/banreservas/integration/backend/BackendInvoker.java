@@ -0,0 +1,406 @@
+package com.banreservas.integration.backend;
+
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.ProducerTemplate;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.eclipse.microprofile.metrics.MetricRegistry;
+import org.eclipse.microprofile.metrics.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.banreservas.integration.context.OrchestrationContext;
+import com.banreservas.integration.exceptions.BackendUnavailableException;
+import com.banreservas.integration.model.inbound.request.ConsultarDatosGeneralesClienteRequest;
+import com.banreservas.integration.util.BackendHttpClientConfigurers;
+import com.banreservas.integration.util.Constants;
+import com.banreservas.integration.util.VirtualThreadExecutor;
+
+/**
+ * Executes HTTP calls to the backend services on behalf of the routes.
+ *
+ * Read calls are coalesced: concurrent exchanges asking the same backend for the same
+ * identification and options share a single HTTP call and receive the same response.
+ * When the exchange carries a {@link Deadline}, the call is not started once the deadline has
+ * passed, and the remaining budget becomes the response timeout of the HTTP request itself, so
+ * the call runs on the caller's thread and ends with the budget.
+ * The response is applied to the exchange as HTTP status code, content type and body,
+ * so the status code handling in the routes works unchanged.
+ *
+ * Endpoints using the vertx-http component are called without blocking the route thread
+ * (see {@link AsyncBackendCall}).
+ *
+ * Calls to the backends listed for hedging are hedged: a duplicate request is sent when the
+ * first one is slower than the backend's rolling p95 (see {@link Hedger}).
+ *
+ * Circuit breakers, bulkheads and retries are opt-in: each changes which calls reach a backend,
+ * so they are enabled per environment once their thresholds have been tuned against it.
+ *
+ * With circuit breakers enabled each backend has a {@link CircuitBreaker}: while it is open calls
+ * fail fast with {@link BackendUnavailableException}, which the routes answer from stale cache
+ * data when possible. With bulkheads enabled each backend also has its own adaptive in-flight
+ * limit ({@link AdaptiveConcurrencyLimit}), so a slow backend cannot take all the threads and
+ * connections; calls over the limit wait briefly and are then rejected the same way. The limit
+ * starts at the backend's per-route connection pool size unless an initial limit is configured.
+ * A slot is held by each HTTP request until that request completes, so a hedged duplicate that
+ * loses keeps its slot until it actually ends.
+ *
+ * With retries enabled, calls to the read backends listed for retries are retried on connection
+ * errors and 5xx responses, with exponential backoff and full jitter, within a global
+ * {@link RetryBudget} and only while the request deadline leaves time for the wait. Only
+ * idempotent backends may be listed; retries apply to the blocking path.
+ */
+@ApplicationScoped
+public class BackendInvoker {
+
+    private static final Logger logger = LoggerFactory.getLogger(BackendInvoker.class);
+
+    @Inject
+    CamelContext camelContext;
+
+    @Inject
+    ProducerTemplate producerTemplate;
+
+    @Inject
+    VirtualThreadExecutor virtualThreadExecutor;
+
+    @Inject
+    MetricRegistry metricRegistry;
+
+    @Inject
+    BackendHttpClientConfigurers backendHttpClientConfigurers;
+
+    @ConfigProperty(name = "coalescing.backend.enabled", defaultValue = "true")
+    boolean coalescingEnabled;
+
+    @ConfigProperty(name = "coalescing.backend.services", defaultValue = "ConsultarDatosGeneralesClienteJuridico,ConsultarDatosMaestroCedulados,ConsultarDatosJCEDP")
+    List<String> coalescedBackends;
+
+    @ConfigProperty(name = "hedging.backend.enabled", defaultValue = "false")
+    boolean hedgingEnabled;
+
+    @ConfigProperty(name = "hedging.backend.services", defaultValue = "ConsultarDatosGeneralesClienteJuridico,ConsultarDatosMaestroCedulados,ConsultarDatosJCEDP")
+    List<String> hedgedBackends;
+
+    @ConfigProperty(name = "hedging.backend.max.rate", defaultValue = "0.05")
+    double hedgingMaxRate;
+
+    @ConfigProperty(name = "hedging.backend.window", defaultValue = "1000")
+    int hedgingWindow;
+
+    @ConfigProperty(name = "hedging.backend.min.samples", defaultValue = "100")
+    int hedgingMinSamples;
+
+    @ConfigProperty(name = "hedging.backend.min.delay", defaultValue = "10")
+    long hedgingMinDelayMillis;
+
+    @ConfigProperty(name = "circuitbreaker.backend.enabled", defaultValue = "false")
+    boolean circuitBreakerEnabled;
+
+    @ConfigProperty(name = "circuitbreaker.backend.window", defaultValue = "100")
+    int circuitBreakerWindow;
+
+    @ConfigProperty(name = "circuitbreaker.backend.min.calls", defaultValue = "20")
+    int circuitBreakerMinCalls;
+
+    @ConfigProperty(name = "circuitbreaker.backend.failure.rate", defaultValue = "0.5")
+    double circuitBreakerFailureRate;
+
+    @ConfigProperty(name = "circuitbreaker.backend.slow.call.rate", defaultValue = "0.5")
+    double circuitBreakerSlowCallRate;
+
+    @ConfigProperty(name = "circuitbreaker.backend.slow.call.duration", defaultValue = "5000")
+    long circuitBreakerSlowCallMillis;
+
+    @ConfigProperty(name = "circuitbreaker.backend.open.wait", defaultValue = "30000")
+    long circuitBreakerOpenWaitMillis;
+
+    @ConfigProperty(name = "circuitbreaker.backend.half.open.calls", defaultValue = "5")
+    int circuitBreakerHalfOpenCalls;
+
+    @ConfigProperty(name = "bulkhead.backend.enabled", defaultValue = "false")
+    boolean bulkheadEnabled;
+
+    @ConfigProperty(name = "bulkhead.backend.initial.limit")
+    Optional<Integer> bulkheadInitialLimit;
+
+    @ConfigProperty(name = "bulkhead.backend.min.limit", defaultValue = "2")
+    int bulkheadMinLimit;
+
+    @ConfigProperty(name = "bulkhead.backend.max.limit", defaultValue = "200")
+    int bulkheadMaxLimit;
+
+    @ConfigProperty(name = "bulkhead.backend.backoff.ratio", defaultValue = "0.9")
+    double bulkheadBackoffRatio;
+
+    @ConfigProperty(name = "bulkhead.backend.latency.threshold", defaultValue = "2000")
+    long bulkheadLatencyThresholdMillis;
+
+    @ConfigProperty(name = "bulkhead.backend.queue.timeout", defaultValue = "50")
+    long bulkheadQueueTimeoutMillis;
+
+    @ConfigProperty(name = "retry.backend.enabled", defaultValue = "false")
+    boolean retryEnabled;
+
+    @ConfigProperty(name = "retry.backend.services", defaultValue = "ConsultarDatosGeneralesClienteJuridico,ConsultarDatosMaestroCedulados,ConsultarDatosJCEDP")
+    List<String> retriedBackends;
+
+    @ConfigProperty(name = "retry.backend.max.attempts", defaultValue = "3")
+    int retryMaxAttempts;
+
+    @ConfigProperty(name = "retry.backend.backoff.initial", defaultValue = "50")
+    long retryInitialBackoffMillis;
+
+    @ConfigProperty(name = "retry.backend.backoff.max", defaultValue = "1000")
+    long retryMaxBackoffMillis;
+
+    @ConfigProperty(name = "retry.backend.budget.ratio", defaultValue = "0.1")
+    double retryBudgetRatio;
+
+    @ConfigProperty(name = "retry.backend.budget.min.per.second", defaultValue = "2")
+    double retryBudgetMinPerSecond;
+
+    private final Map<String, SingleFlight<String, BackendResponse>> singleFlights = new ConcurrentHashMap<>();
+    private final Map<String, Hedger> hedgers = new ConcurrentHashMap<>();
+    private final Map<String, CircuitBreaker> circuitBreakers = new ConcurrentHashMap<>();
+    private final Map<String, AdaptiveConcurrencyLimit> bulkheads = new ConcurrentHashMap<>();
+
+    private ExecutorService callExecutor;
+    private RetryBudget retryBudget;
+
+    @PostConstruct
+    void init() {
+        // Runs hedged duplicates and the routes resumed by asynchronous calls; virtual threads
+        // when requests run on them, so neither takes a platform thread
+        callExecutor = virtualThreadExecutor.isEnabled()
+                ? virtualThreadExecutor.executor()
+                : camelContext.getExecutorServiceManager().newCachedThreadPool(this, "BackendCall");
+        retryBudget = new RetryBudget(retryBudgetRatio, retryBudgetMinPerSecond);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (!virtualThreadExecutor.isEnabled()) {
+            camelContext.getExecutorServiceManager().shutdown(callExecutor);
+        }
+    }
+
+    /**
+     * Creates a processor that calls the given endpoint, coalescing identical concurrent calls.
+     *
+     * @param backend     backend name, used to scope coalescing and statistics
+     * @param endpointUri static HTTP endpoint of the backend
+     */
+    public Processor call(String backend, String endpointUri) {
+        SingleFlight<String, BackendResponse> singleFlight =
+                singleFlights.computeIfAbsent(backend, name -> new SingleFlight<>());
+        Hedger hedger = hedgingEnabled && hedgedBackends.contains(backend)
+                ? hedgers.computeIfAbsent(backend, name -> new Hedger(callExecutor, hedgingWindow,
+                        hedgingMaxRate, hedgingMinSamples, hedgingMinDelayMillis))
+                : null;
+        boolean coalesce = coalescingEnabled && coalescedBackends.contains(backend);
+        CircuitBreaker circuitBreaker = circuitBreakerEnabled ? circuitBreakers.computeIfAbsent(backend, this::newCircuitBreaker) : null;
+        AdaptiveConcurrencyLimit bulkhead = bulkheadEnabled ? bulkheads.computeIfAbsent(backend, this::newBulkhead) : null;
+        boolean retry = retryEnabled && retriedBackends.contains(backend);
+
+        if (endpointUri.startsWith(BackendEndpoints.ASYNC_SCHEME)) {
+            return new AsyncBackendCall(producerTemplate, backend, endpointUri, coalesce ? singleFlight : null,
+                    circuitBreaker, bulkhead, callExecutor);
+        }
+
+        return exchange -> {
+            long remaining = Deadline.remainingNanos(exchange);
+            if (remaining <= 0) {
+                throw new SocketTimeoutException("Request deadline exceeded before calling " + backend);
+            }
+
+            String key = coalesce ? coalescingKey(exchange) : null;
+            // Each HTTP request, a hedged duplicate included, holds its own bulkhead slot until it completes
+            Callable<BackendResponse> request = () -> guarded(circuitBreaker, bulkhead, backend,
+                    Deadline.remainingNanos(exchange), () -> send(backend, endpointUri, exchange));
+            Callable<BackendResponse> attempt = hedger == null ? request : () -> hedger.execute(request);
+            Callable<BackendResponse> call = retry ? () -> retrying(backend, exchange, attempt) : attempt;
+            BackendResponse response;
+            try {
+                response = key == null ? call.call() : singleFlight.execute(key, call, remaining);
+            } catch (TimeoutException e) {
+                throw new SocketTimeoutException("Request deadline exceeded waiting for " + backend);
+            }
+            response.applyTo(exchange);
+        };
+    }
+
+    public Map<String, SingleFlight<String, BackendResponse>> singleFlights() {
+        return singleFlights;
+    }
+
+    public Map<String, Hedger> hedgers() {
+        return hedgers;
+    }
+
+    public Map<String, CircuitBreaker> circuitBreakers() {
+        return circuitBreakers;
+    }
+
+    public Map<String, AdaptiveConcurrencyLimit> bulkheads() {
+        return bulkheads;
+    }
+
+    public RetryBudget retryBudget() {
+        return retryBudget;
+    }
+
+    private BackendResponse retrying(String backend, Exchange exchange, Callable<BackendResponse> attempt)
+            throws Exception {
+        retryBudget.recordCall();
+        long backoffNanos = TimeUnit.MILLISECONDS.toNanos(retryInitialBackoffMillis);
+        for (int attemptNumber = 1; ; attemptNumber++) {
+            BackendResponse response = null;
+            Exception error = null;
+            try {
+                response = attempt.call();
+            } catch (Exception e) {
+                error = e;
+            }
+
+            boolean retryable = error != null ? isRetryable(error) : isRetryable(response.statusCode());
+            if (!retryable || attemptNumber >= retryMaxAttempts || !canWait(exchange, backoffNanos)) {
+                if (error != null) {
+                    throw error;
+                }
+                return response;
+            }
+
+            // Full jitter spreads the retries of callers that failed together
+            long delayNanos = ThreadLocalRandom.current().nextLong(backoffNanos + 1);
+            logger.warn("Retrying {} in {} ms - Attempt: {}, Cause: {}", backend,
+                    TimeUnit.NANOSECONDS.toMillis(delayNanos), attemptNumber + 1,
+                    error != null ? error.getMessage() : "HTTP " + response.statusCode());
+            TimeUnit.NANOSECONDS.sleep(delayNanos);
+            backoffNanos = Math.min(backoffNanos * 2, TimeUnit.MILLISECONDS.toNanos(retryMaxBackoffMillis));
+        }
+    }
+
+    private boolean canWait(Exchange exchange, long backoffNanos) {
+        // Keep at least the backoff for the retry itself, then take a token from the budget
+        return Deadline.remainingNanos(exchange) > 2 * backoffNanos && retryBudget.tryRetry();
+    }
+
+    private static boolean isRetryable(int statusCode) {
+        return statusCode == 500 || statusCode == 502 || statusCode == 503 || statusCode == 504;
+    }
+
+    private static boolean isRetryable(Exception error) {
+        return error instanceof IOException || error.getCause() instanceof IOException;
+    }
+
+    private CircuitBreaker newCircuitBreaker(String backend) {
+        CircuitBreaker circuitBreaker = new CircuitBreaker(backend, circuitBreakerWindow, circuitBreakerMinCalls,
+                circuitBreakerFailureRate, circuitBreakerSlowCallRate, circuitBreakerSlowCallMillis,
+                circuitBreakerOpenWaitMillis, circuitBreakerHalfOpenCalls);
+        Tag tag = new Tag("backend", backend);
+        metricRegistry.gauge("backend.circuit.state", circuitBreaker, cb -> cb.state().ordinal(), tag);
+        metricRegistry.gauge("backend.circuit.transitions", circuitBreaker, CircuitBreaker::transitions, tag);
+        metricRegistry.gauge("backend.circuit.rejected", circuitBreaker, CircuitBreaker::rejected, tag);
+        metricRegistry.gauge("backend.circuit.failure.rate", circuitBreaker, CircuitBreaker::failureRate, tag);
+        metricRegistry.gauge("backend.circuit.slow.call.rate", circuitBreaker, CircuitBreaker::slowCallRate, tag);
+        return circuitBreaker;
+    }
+
+    private AdaptiveConcurrencyLimit newBulkhead(String backend) {
+        int poolSize = backendHttpClientConfigurers.maxPerRoute(backend);
+        int initialLimit = bulkheadInitialLimit.orElse(poolSize > 0 ? poolSize : bulkheadMaxLimit);
+        AdaptiveConcurrencyLimit bulkhead = new AdaptiveConcurrencyLimit(initialLimit, bulkheadMinLimit,
+                bulkheadMaxLimit, bulkheadBackoffRatio, bulkheadLatencyThresholdMillis);
+        Tag tag = new Tag("backend", backend);
+        metricRegistry.gauge("backend.bulkhead.limit", bulkhead, AdaptiveConcurrencyLimit::limit, tag);
+        metricRegistry.gauge("backend.bulkhead.in.flight", bulkhead, AdaptiveConcurrencyLimit::inFlight, tag);
+        metricRegistry.gauge("backend.bulkhead.rejected", bulkhead, AdaptiveConcurrencyLimit::rejected, tag);
+        return bulkhead;
+    }
+
+    private BackendResponse guarded(CircuitBreaker circuitBreaker, AdaptiveConcurrencyLimit bulkhead, String backend,
+                                    long remainingNanos, Callable<BackendResponse> call) throws Exception {
+        // The bulkhead slot is taken first so a rejected call never holds a half-open probe
+        if (bulkhead != null && !bulkhead.acquire(
+                Math.min(TimeUnit.MILLISECONDS.toNanos(bulkheadQueueTimeoutMillis), remainingNanos))) {
+            throw new BackendUnavailableException(backend, "concurrency limit reached");
+        }
+        if (circuitBreaker != null && !circuitBreaker.tryAcquire()) {
+            if (bulkhead != null) {
+                bulkhead.cancel();
+            }
+            throw new BackendUnavailableException(backend, "circuit open");
+        }
+        long start = System.nanoTime();
+        boolean failed = true;
+        boolean timedOut = false;
+        try {
+            BackendResponse response = call.call();
+            failed = response.statusCode() >= 500;
+            return response;
+        } catch (SocketTimeoutException e) {
+            timedOut = true;
+            throw e;
+        } finally {
+            long duration = System.nanoTime() - start;
+            if (circuitBreaker != null) {
+                circuitBreaker.record(failed, duration);
+            }
+            if (bulkhead != null) {
+                bulkhead.release(failed, timedOut, duration);
+            }
+        }
+    }
+
+    private BackendResponse send(String backend, String endpointUri, Exchange exchange) throws Exception {
+        Exchange request = exchange.copy();
+        long remaining = Deadline.remainingNanos(exchange);
+        if (remaining != Long.MAX_VALUE) {
+            if (remaining <= 0) {
+                throw new SocketTimeoutException("Request deadline exceeded before calling " + backend);
+            }
+            // Applied by the HTTP client as this request's response timeout, then removed
+            request.getIn().setHeader(Constants.HEADER_BACKEND_RESPONSE_TIMEOUT,
+                    Math.max(1, TimeUnit.NANOSECONDS.toMillis(remaining)));
+        }
+        Exchange result = producerTemplate.send(endpointUri, request);
+        if (result.getException() != null) {
+            throw result.getException();
+        }
+        return BackendResponse.of(result);
+    }
+
+    static String coalescingKey(Exchange exchange) {
+        OrchestrationContext context = exchange.getProperty(OrchestrationContext.PROPERTY, OrchestrationContext.class);
+        ConsultarDatosGeneralesClienteRequest mainRequest = context != null ? context.getMainRequest() : null;
+        if (mainRequest == null || mainRequest.identification() == null) {
+            logger.debug("Request without identification - call will not be coalesced");
+            return null;
+        }
+        // The caller credentials are part of the key so a response is only shared between equal callers
+        String authorization = exchange.getMessage().getHeader(Constants.HEADER_AUTHORIZATION, "", String.class);
+        return mainRequest.identificationType()
+                + '|' + mainRequest.identification().trim().replace("-", "")
+                + '|' + mainRequest.forceUpdate()
+                + '|' + mainRequest.includeBinaryPhoto()
+                + '|' + authorization;
+    }
+}
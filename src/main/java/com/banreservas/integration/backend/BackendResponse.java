@@ -0,0 +1,33 @@
+package com.banreservas.integration.backend;
+
+import org.apache.camel.Exchange;
+
+import com.banreservas.integration.util.Constants;
+
+/**
+ * Materialized HTTP response of a backend call.
+ * Detached from the exchange that produced it so it can be shared with coalesced callers.
+ * The body is always buffered as bytes, also for calls that are neither coalesced nor hedged:
+ * coalesced callers, hedged attempts and retries each need a complete response, and the
+ * buffered body is decoded in place by the response processors.
+ */
+public record BackendResponse(
+        int statusCode,
+        String contentType,
+        byte[] body
+) {
+
+    public static BackendResponse of(Exchange exchange) {
+        Integer statusCode = exchange.getMessage().getHeader(Exchange.HTTP_RESPONSE_CODE, Integer.class);
+        return new BackendResponse(
+                statusCode != null ? statusCode : 0,
+                exchange.getMessage().getHeader(Constants.HEADER_CONTENT_TYPE, String.class),
+                exchange.getMessage().getBody(byte[].class));
+    }
+
+    public void applyTo(Exchange exchange) {
+        exchange.getMessage().setHeader(Exchange.HTTP_RESPONSE_CODE, statusCode);
+        exchange.getMessage().setHeader(Constants.HEADER_CONTENT_TYPE, contentType);
+        exchange.getMessage().setBody(body);
+    }
+}
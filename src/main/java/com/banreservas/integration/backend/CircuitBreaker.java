@@ -0,0 +1,211 @@
+package com.banreservas.integration.backend;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Circuit breaker over a count-based rolling window of backend call outcomes.
+ *
+ * The circuit opens when, with at least the minimum number of calls in the window, the
+ * failure rate or the slow-call rate reaches its threshold. After the open wait a limited
+ * number of probe calls is let through (half-open); the circuit closes when they succeed
+ * and opens again when any of them fails or is slow.
+ *
+ * State changes are logged after the lock is released.
+ */
+public class CircuitBreaker {
+
+    private static final Logger logger = LoggerFactory.getLogger(CircuitBreaker.class);
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final String name;
+    private final int minCalls;
+    private final double failureRateThreshold;
+    private final double slowCallRateThreshold;
+    private final long slowCallNanos;
+    private final long openWaitNanos;
+    private final int halfOpenCalls;
+
+    private final boolean[] failures;
+    private final boolean[] slowCalls;
+    private int position;
+    private int count;
+    private int failureCount;
+    private int slowCount;
+
+    private State state = State.CLOSED;
+    private long openedAt;
+    private int probesStarted;
+    private int probesSucceeded;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong transitions = new AtomicLong();
+
+    public CircuitBreaker(String name, int windowSize, int minCalls, double failureRateThreshold,
+                          double slowCallRateThreshold, long slowCallMillis, long openWaitMillis, int halfOpenCalls) {
+        this.name = name;
+        this.minCalls = Math.min(minCalls, windowSize);
+        this.failureRateThreshold = failureRateThreshold;
+        this.slowCallRateThreshold = slowCallRateThreshold;
+        this.slowCallNanos = TimeUnit.MILLISECONDS.toNanos(slowCallMillis);
+        this.openWaitNanos = TimeUnit.MILLISECONDS.toNanos(openWaitMillis);
+        this.halfOpenCalls = halfOpenCalls;
+        this.failures = new boolean[windowSize];
+        this.slowCalls = new boolean[windowSize];
+    }
+
+    /**
+     * @return false when the call must not be made because the circuit is open
+     */
+    public boolean tryAcquire() {
+        Transition changed = null;
+        lock.lock();
+        try {
+            if (state == State.OPEN) {
+                if (System.nanoTime() - openedAt < openWaitNanos) {
+                    rejected.incrementAndGet();
+                    return false;
+                }
+                changed = transition(State.HALF_OPEN);
+            }
+            if (state == State.HALF_OPEN) {
+                if (probesStarted >= halfOpenCalls) {
+                    rejected.incrementAndGet();
+                    return false;
+                }
+                probesStarted++;
+            }
+            return true;
+        } finally {
+            lock.unlock();
+            log(changed);
+        }
+    }
+
+    /**
+     * Records the outcome of a call allowed by {@link #tryAcquire()}.
+     */
+    public void record(boolean failed, long durationNanos) {
+        Transition changed;
+        lock.lock();
+        try {
+            changed = update(failed, durationNanos >= slowCallNanos);
+        } finally {
+            lock.unlock();
+        }
+        log(changed);
+    }
+
+    public State state() {
+        lock.lock();
+        try {
+            return state;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public double failureRate() {
+        lock.lock();
+        try {
+            return rate(failureCount);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public double slowCallRate() {
+        lock.lock();
+        try {
+            return rate(slowCount);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long rejected() {
+        return rejected.get();
+    }
+
+    public long transitions() {
+        return transitions.get();
+    }
+
+    private Transition update(boolean failed, boolean slow) {
+        if (state == State.HALF_OPEN) {
+            if (failed || slow) {
+                return transition(State.OPEN);
+            }
+            return ++probesSucceeded >= halfOpenCalls ? transition(State.CLOSED) : null;
+        }
+        if (state == State.OPEN) {
+            // Late outcome of a call started before the circuit opened
+            return null;
+        }
+
+        if (count == failures.length) {
+            failureCount -= failures[position] ? 1 : 0;
+            slowCount -= slowCalls[position] ? 1 : 0;
+        } else {
+            count++;
+        }
+        failures[position] = failed;
+        slowCalls[position] = slow;
+        failureCount += failed ? 1 : 0;
+        slowCount += slow ? 1 : 0;
+        position = (position + 1) % failures.length;
+
+        if (count >= minCalls
+                && (failureCount >= failureRateThreshold * count || slowCount >= slowCallRateThreshold * count)) {
+            return transition(State.OPEN);
+        }
+        return null;
+    }
+
+    private double rate(int outcomes) {
+        return count == 0 ? 0 : (double) outcomes / count;
+    }
+
+    /**
+     * Changes the state; called with the lock held.
+     *
+     * @return the change, to be logged once the lock is released
+     */
+    private Transition transition(State next) {
+        Transition changed = new Transition(state, next, rate(failureCount), rate(slowCount));
+        state = next;
+        transitions.incrementAndGet();
+        probesStarted = 0;
+        probesSucceeded = 0;
+        if (next == State.OPEN) {
+            openedAt = System.nanoTime();
+        } else if (next == State.CLOSED) {
+            count = 0;
+            position = 0;
+            failureCount = 0;
+            slowCount = 0;
+        }
+        return changed;
+    }
+
+    private void log(Transition changed) {
+        if (changed != null) {
+            logger.warn("Circuit breaker {} changed state: {} -> {} (failure rate {}, slow call rate {})",
+                    name, changed.from(), changed.to(), String.format("%.2f", changed.failureRate()),
+                    String.format("%.2f", changed.slowCallRate()));
+        }
+    }
+
+    private record Transition(State from, State to, double failureRate, double slowCallRate) {
+    }
+}
@@ -0,0 +1,87 @@
+package com.banreservas.integration.backend;
+
+import java.net.SocketTimeoutException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.apache.camel.Exchange;
+
+/**
+ * End-to-end request deadline carried in the exchange as an absolute {@link System#nanoTime()} value.
+ * Exceeding it surfaces as a {@link SocketTimeoutException}, like a backend timeout.
+ */
+public final class Deadline {
+
+    public static final String PROPERTY = "deadline";
+    public static final String BATCH_PROPERTY = "batchDeadline";
+
+    private Deadline() {
+    }
+
+    public static void set(Exchange exchange, long timeoutMillis) {
+        exchange.setProperty(PROPERTY, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis));
+    }
+
+    /**
+     * Sets the deadline of a batch item from the item's own timeout, capped by the batch deadline.
+     */
+    public static void setForItem(Exchange exchange, long timeoutMillis) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        Long batchDeadline = exchange.getProperty(BATCH_PROPERTY, Long.class);
+        exchange.setProperty(PROPERTY, batchDeadline != null && batchDeadline - deadline < 0 ? batchDeadline : deadline);
+    }
+
+    /**
+     * Turns the deadline of a batch request into the cap for its items, which get their own budgets.
+     */
+    public static void toBatch(Exchange exchange) {
+        exchange.setProperty(BATCH_PROPERTY, exchange.removeProperty(PROPERTY));
+    }
+
+    public static boolean isBatchItem(Exchange exchange) {
+        return exchange.getProperty(BATCH_PROPERTY) != null;
+    }
+
+    public static boolean isSet(Exchange exchange) {
+        return exchange.getProperty(PROPERTY) != null;
+    }
+
+    /**
+     * @return remaining budget in nanoseconds, or {@link Long#MAX_VALUE} when no deadline is set
+     */
+    public static long remainingNanos(Exchange exchange) {
+        Long deadline = exchange.getProperty(PROPERTY, Long.class);
+        return deadline == null ? Long.MAX_VALUE : deadline - System.nanoTime();
+    }
+
+    /**
+     * Fails fast when the budget is already spent.
+     */
+    public static void check(Exchange exchange, String operation) throws SocketTimeoutException {
+        if (remainingNanos(exchange) <= 0) {
+            throw new SocketTimeoutException("Request deadline exceeded before " + operation);
+        }
+    }
+
+    /**
+     * Waits for the future within the remaining budget. When the budget runs out the future is
+     * cancelled without interrupting a call already in progress, which ends with its own timeout.
+     */
+    public static <T> T await(Future<T> future, long remainingNanos, String operation) throws Exception {
+        try {
+            return remainingNanos == Long.MAX_VALUE
+                    ? future.get()
+                    : future.get(Math.max(0, remainingNanos), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(false);
+            throw new SocketTimeoutException("Request deadline exceeded waiting for " + operation);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.banreservas.integration.backend;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Sends a second identical request to a backend when the first one has not answered within
+ * the backend's rolling p95 latency; the first successful response wins. An error or a 5xx
+ * response only completes the call once no other request is left that could still succeed.
+ *
+ * Hedges are capped to a fraction of the recent calls: every call earns {@code maxRate} of a
+ * hedge and every hedge spends one, with the balance capped at what the last window of calls
+ * earned, so a quiet period cannot bank hedges for a later burst. Hedges are only sent once
+ * enough latency samples, failed calls included, have been observed to trust the p95.
+ */
+public class Hedger {
+
+    private final LatencyTracker latencies;
+    private final Executor executor;
+    private final double maxRate;
+    private final double maxBalance;
+    private final int minSamples;
+    private final long minDelayNanos;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private double balance;
+
+    private final AtomicLong sent = new AtomicLong();
+    private final AtomicLong won = new AtomicLong();
+
+    public Hedger(Executor executor, int windowSize, double maxRate, int minSamples, long minDelayMillis) {
+        this.latencies = new LatencyTracker(windowSize);
+        this.executor = executor;
+        this.maxRate = maxRate;
+        this.maxBalance = Math.max(1, windowSize * maxRate);
+        this.minSamples = minSamples;
+        this.minDelayNanos = TimeUnit.MILLISECONDS.toNanos(minDelayMillis);
+    }
+
+    public BackendResponse execute(Callable<BackendResponse> call) throws Exception {
+        recordCall();
+        CompletableFuture<BackendResponse> result = new CompletableFuture<>();
+        AtomicInteger pending = new AtomicInteger(1);
+        submit(call, result, pending, false);
+
+        try {
+            long delay = hedgeDelayNanos();
+            if (delay > 0) {
+                try {
+                    return result.get(delay, TimeUnit.NANOSECONDS);
+                } catch (TimeoutException e) {
+                    if (!result.isDone() && allowHedge()) {
+                        pending.incrementAndGet();
+                        submit(call, result, pending, true);
+                    }
+                }
+            }
+            return result.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    public long p95Millis() {
+        return TimeUnit.NANOSECONDS.toMillis(latencies.p95Nanos());
+    }
+
+    public long sent() {
+        return sent.get();
+    }
+
+    public long won() {
+        return won.get();
+    }
+
+    private void submit(Callable<BackendResponse> call, CompletableFuture<BackendResponse> result,
+                        AtomicInteger pending, boolean hedge) {
+        executor.execute(() -> {
+            long start = System.nanoTime();
+            BackendResponse response = null;
+            Exception error = null;
+            try {
+                response = call.call();
+            } catch (Exception e) {
+                error = e;
+            }
+            latencies.record(System.nanoTime() - start);
+
+            if (response != null && response.statusCode() < 500) {
+                if (result.complete(response) && hedge) {
+                    won.incrementAndGet();
+                }
+            } else if (pending.decrementAndGet() == 0) {
+                // No attempt is left that could still succeed
+                if (response != null) {
+                    result.complete(response);
+                } else {
+                    result.completeExceptionally(error);
+                }
+            }
+        });
+    }
+
+    private long hedgeDelayNanos() {
+        if (latencies.count() < minSamples) {
+            return 0;
+        }
+        return Math.max(minDelayNanos, latencies.p95Nanos());
+    }
+
+    private void recordCall() {
+        lock.lock();
+        try {
+            balance = Math.min(maxBalance, balance + maxRate);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean allowHedge() {
+        lock.lock();
+        try {
+            if (balance < 1) {
+                return false;
+            }
+            balance -= 1;
+        } finally {
+            lock.unlock();
+        }
+        sent.incrementAndGet();
+        return true;
+    }
+}
@@ -0,0 +1,66 @@
+package com.banreservas.integration.backend;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Rolling window of the most recent call latencies of a backend.
+ * The 95th percentile is recomputed every few samples instead of on every read; the samples
+ * are copied under the lock and sorted outside it, so recording never waits for a sort.
+ */
+public class LatencyTracker {
+
+    private static final int RECOMPUTE_EVERY = 64;
+
+    private final long[] samples;
+    private final ReentrantLock lock = new ReentrantLock();
+    private int next;
+    private int count;
+    private int sinceCompute;
+    private volatile long p95Nanos;
+
+    public LatencyTracker(int windowSize) {
+        this.samples = new long[windowSize];
+    }
+
+    public void record(long nanos) {
+        lock.lock();
+        try {
+            samples[next] = nanos;
+            next = (next + 1) % samples.length;
+            if (count < samples.length) {
+                count++;
+            }
+            sinceCompute++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int count() {
+        lock.lock();
+        try {
+            return count;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long p95Nanos() {
+        long[] sorted;
+        lock.lock();
+        try {
+            if (sinceCompute < RECOMPUTE_EVERY && (p95Nanos != 0 || count == 0)) {
+                return p95Nanos;
+            }
+            sorted = Arrays.copyOf(samples, count);
+            sinceCompute = 0;
+        } finally {
+            lock.unlock();
+        }
+        Arrays.sort(sorted);
+        long p95 = sorted[Math.min(sorted.length - 1, (int) Math.ceil(sorted.length * 0.95) - 1)];
+        p95Nanos = p95;
+        return p95;
+    }
+}
@@ -0,0 +1,240 @@
+package com.banreservas.integration.backend;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.support.DefaultExchange;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.banreservas.integration.model.outbound.response.backends.datosmaestrocedulados.BodyMaestroResponseDto;
+import com.banreservas.integration.model.outbound.response.backends.datosmaestrocedulados.ClientMaestroRequestDto;
+import com.banreservas.integration.model.outbound.response.backends.datosmaestrocedulados.ClientMaestroResponseDto;
+import com.banreservas.integration.model.outbound.response.backends.datosmaestrocedulados.ConsultarDatosMaestroCeduladosRequest;
+import com.banreservas.integration.model.outbound.response.backends.datosmaestrocedulados.ConsultarDatosMaestroCeduladosResponse;
+import com.banreservas.integration.model.outbound.response.backends.datosmaestrocedulados.IdentificationMaestroRequestDto;
+import com.banreservas.integration.util.Constants;
+import com.banreservas.integration.util.JsonReaders;
+import com.banreservas.integration.util.MasterCedulaResponseReader;
+
+/**
+ * Aggregates concurrent single-cedula lookups into multi-client ConsultarDatosMaestroCedulados calls.
+ *
+ * Lookups are grouped by caller credentials. A group is sent when
+ * it reaches the configured size or when its collection window expires; the response clients
+ * are then split back per identification, and identifications missing from a successful
+ * response get a per-item 904 (not found) response.
+ */
+@ApplicationScoped
+public class MasterCedulaMicroBatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(MasterCedulaMicroBatcher.class);
+
+    @Inject
+    CamelContext camelContext;
+
+    @Inject
+    BackendInvoker backendInvoker;
+
+    @Inject
+    BackendEndpoints backendEndpoints;
+
+    @ConfigProperty(name = "microbatch.consultar.datos.maestro.cedulados.enabled", defaultValue = "false")
+    boolean enabled;
+
+    @ConfigProperty(name = "microbatch.consultar.datos.maestro.cedulados.window", defaultValue = "5")
+    long windowMillis;
+
+    @ConfigProperty(name = "microbatch.consultar.datos.maestro.cedulados.max.items", defaultValue = "50")
+    int maxItems;
+
+    @ConfigProperty(name = "microbatch.consultar.datos.maestro.cedulados.senders", defaultValue = "8")
+    int senders;
+
+    private final ConcurrentMap<BatchKey, Batch> batches = new ConcurrentHashMap<>();
+    private final LongAdder batchesSent = new LongAdder();
+    private final LongAdder itemsSent = new LongAdder();
+
+    ScheduledExecutorService scheduler;
+    ExecutorService sender;
+    Processor service2Call;
+
+    @PostConstruct
+    void init() {
+        if (!enabled) {
+            return;
+        }
+        scheduler = camelContext.getExecutorServiceManager()
+                .newSingleThreadScheduledExecutor(this, "MasterCedulaMicroBatchWindow");
+        sender = camelContext.getExecutorServiceManager()
+                .newFixedThreadPool(this, "MasterCedulaMicroBatchSender", senders);
+        service2Call = backendInvoker.call(Constants.SERVICE_CONSULTAR_DATOS_MAESTRO_CEDULADOS, backendEndpoints.masterCedula());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (scheduler != null) {
+            camelContext.getExecutorServiceManager().shutdown(scheduler);
+        }
+        if (sender != null) {
+            camelContext.getExecutorServiceManager().shutdown(sender);
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Adds a lookup to the current batch of its group.
+     *
+     * @return future completed with the per-identification backend response
+     */
+    public CompletableFuture<BackendResponse> submit(String identification, String authorization, String sessionId) {
+        Pending pending = new Pending(identification, new CompletableFuture<>());
+        BatchKey key = new BatchKey(authorization != null ? authorization : "");
+        Batch[] full = new Batch[1];
+
+        batches.compute(key, (k, batch) -> {
+            if (batch == null) {
+                Batch created = new Batch(sessionId);
+                scheduler.schedule(() -> flush(k, created), windowMillis, TimeUnit.MILLISECONDS);
+                batch = created;
+            }
+            batch.items.add(pending);
+            if (batch.items.size() >= maxItems) {
+                full[0] = batch;
+                return null;
+            }
+            return batch;
+        });
+
+        if (full[0] != null) {
+            Batch batch = full[0];
+            sender.execute(() -> send(key, batch));
+        }
+        return pending.future;
+    }
+
+    public long batchesSent() {
+        return batchesSent.sum();
+    }
+
+    public long itemsSent() {
+        return itemsSent.sum();
+    }
+
+    private void flush(BatchKey key, Batch batch) {
+        if (batches.remove(key, batch)) {
+            sender.execute(() -> send(key, batch));
+        }
+    }
+
+    private void send(BatchKey key, Batch batch) {
+        try {
+            Set<String> identifications = new LinkedHashSet<>();
+            for (Pending pending : batch.items) {
+                identifications.add(pending.identification);
+            }
+            List<ClientMaestroRequestDto> clients = new ArrayList<>(identifications.size());
+            for (String identification : identifications) {
+                clients.add(new ClientMaestroRequestDto(List.of(
+                        new IdentificationMaestroRequestDto(identification, Constants.IDENTIFICATION_TYPE_CEDULA))));
+            }
+
+            Exchange exchange = new DefaultExchange(camelContext);
+            exchange.getIn().setBody(JsonReaders.MASTER_CEDULA_REQUEST_WRITER.writeValueAsBytes(
+                    new ConsultarDatosMaestroCeduladosRequest(clients, false)));
+            exchange.getIn().setHeader(Constants.HEADER_SESSION_ID, batch.sessionId);
+            exchange.getIn().setHeader(Constants.HEADER_CONTENT_TYPE, "application/json");
+            exchange.getIn().setHeader(Constants.HEADER_AUTHORIZATION, key.authorization);
+            exchange.getIn().setHeader(Exchange.HTTP_METHOD, "POST");
+
+            logger.debug("Sending master cedula micro-batch - Items: {}, Distinct: {}",
+                    batch.items.size(), identifications.size());
+            service2Call.process(exchange);
+            batchesSent.increment();
+            itemsSent.add(identifications.size());
+
+            split(BackendResponse.of(exchange), batch);
+        } catch (Exception e) {
+            logger.error("Master cedula micro-batch failed: {}", e.getMessage());
+            batch.items.forEach(pending -> pending.future.completeExceptionally(e));
+        }
+    }
+
+    private void split(BackendResponse response, Batch batch) throws Exception {
+        ConsultarDatosMaestroCeduladosResponse batchResponse = response.statusCode() == Constants.HTTP_OK
+                ? MasterCedulaResponseReader.read(response.body())
+                : null;
+
+        // Errors and "none found" apply to every item of the batch as they are
+        if (batchResponse == null || batchResponse.header() == null
+                || batchResponse.header().responseCode() != Constants.HTTP_OK
+                || batchResponse.body() == null
+                || !Constants.ERROR_CODE_SUCCESS.equals(batchResponse.body().code())) {
+            batch.items.forEach(pending -> pending.future.complete(response));
+            return;
+        }
+
+        Map<String, ClientMaestroResponseDto> byIdentification = new HashMap<>();
+        if (batchResponse.body().clients() != null) {
+            for (ClientMaestroResponseDto client : batchResponse.body().clients()) {
+                if (client.identifications() != null && !client.identifications().isEmpty()) {
+                    byIdentification.put(normalize(client.identifications().get(0).number()), client);
+                }
+            }
+        }
+
+        BodyMaestroResponseDto body = batchResponse.body();
+        for (Pending pending : batch.items) {
+            ClientMaestroResponseDto client = byIdentification.get(normalize(pending.identification));
+            BodyMaestroResponseDto itemBody = client != null
+                    ? new BodyMaestroResponseDto(body.code(), body.message(), body.type(), List.of(client))
+                    : new BodyMaestroResponseDto(Constants.ERROR_CODE_NOT_FOUND,
+                            Constants.ERROR_MESSAGE_CLIENT_NOT_FOUND, body.type(), List.of());
+            byte[] itemBytes = JsonReaders.MASTER_CEDULA_RESPONSE_WRITER.writeValueAsBytes(
+                    new ConsultarDatosMaestroCeduladosResponse(batchResponse.header(), itemBody));
+            pending.future.complete(new BackendResponse(response.statusCode(), response.contentType(), itemBytes));
+        }
+    }
+
+    private static String normalize(String identification) {
+        return identification == null ? "" : identification.trim().replace("-", "");
+    }
+
+    private record BatchKey(String authorization) {
+    }
+
+    private record Pending(String identification, CompletableFuture<BackendResponse> future) {
+    }
+
+    private static final class Batch {
+
+        private final String sessionId;
+        private final List<Pending> items = new ArrayList<>();
+
+        private Batch(String sessionId) {
+            this.sessionId = sessionId;
+        }
+    }
+}
@@ -0,0 +1,480 @@
+package com.banreservas.integration.backend;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileAttribute;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.apache.camel.CamelContext;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Append-only, memory-mapped journal for pending master data updates.
+ *
+ * Request threads only enqueue append and ack commands; a single writer thread writes them
+ * to the active segment in batches and forces the mapping once per batch. Segments roll when
+ * full. The oldest segment is deleted once all its entries are acknowledged, and its few
+ * remaining live entries are relocated to the active segment so it does not pin the disk.
+ *
+ * Record layout: total length (int), type (byte), id (long), timestamp (long), CRC32 of
+ * type, id, timestamp and payload (int), payload. A zero length marks the end of a segment.
+ *
+ * The directory and segments are readable by the application user only.
+ */
+@ApplicationScoped
+public class MasterDataUpdateJournal {
+
+    private static final Logger logger = LoggerFactory.getLogger(MasterDataUpdateJournal.class);
+
+    private static final int HEADER_SIZE = 4 + 1 + 8 + 8 + 4;
+    private static final byte TYPE_APPEND = 1;
+    private static final byte TYPE_ACK = 2;
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final int MAX_WRITE_ATTEMPTS = 5;
+    private static final long WRITE_RETRY_DELAY_MILLIS = 100;
+    private static final Set<PosixFilePermission> DIRECTORY_PERMISSIONS = PosixFilePermissions.fromString("rwx------");
+    private static final Set<PosixFilePermission> SEGMENT_PERMISSIONS = PosixFilePermissions.fromString("rw-------");
+
+    @Inject
+    CamelContext camelContext;
+
+    @ConfigProperty(name = "journal.actualizar.datos.maestro.cedulados.enabled", defaultValue = "false")
+    boolean enabled;
+
+    @ConfigProperty(name = "journal.actualizar.datos.maestro.cedulados.directory", defaultValue = "/work/data/journal-actualizar-datos-maestro-cedulados")
+    String directory;
+
+    @ConfigProperty(name = "journal.actualizar.datos.maestro.cedulados.segment.size", defaultValue = "67108864")
+    int segmentSize;
+
+    @ConfigProperty(name = "journal.actualizar.datos.maestro.cedulados.queue.capacity", defaultValue = "65536")
+    int queueCapacity;
+
+    @ConfigProperty(name = "journal.actualizar.datos.maestro.cedulados.flush.max.batch", defaultValue = "1024")
+    int maxBatch;
+
+    private BlockingQueue<Command> commands;
+    private final ConcurrentNavigableMap<Long, Long> pending = new ConcurrentSkipListMap<>();
+    private final AtomicLong nextId = new AtomicLong(1);
+    private final LongAdder appended = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder unwritten = new LongAdder();
+
+    // Writer thread state
+    private final TreeMap<Long, Segment> segments = new TreeMap<>();
+    private final Map<Long, Segment> owners = new HashMap<>();
+    private final Map<Long, byte[]> payloads = new HashMap<>();
+    private Segment active;
+
+    private List<Entry> recovered = List.of();
+    private ExecutorService writer;
+    private volatile boolean running;
+
+    @PostConstruct
+    void init() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        commands = new ArrayBlockingQueue<>(queueCapacity);
+        Path dir = Paths.get(directory);
+        createPrivateDirectory(dir);
+        recovered = recover(dir);
+        roll();
+        compact();
+
+        running = true;
+        writer = camelContext.getExecutorServiceManager()
+                .newSingleThreadExecutor(this, "MasterDataUpdateJournalWriter");
+        writer.execute(this::write);
+        logger.info("Journal opened - Directory: {}, Recovered entries: {}", dir, recovered.size());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (writer == null) {
+            return;
+        }
+        running = false;
+        camelContext.getExecutorServiceManager().shutdownGraceful(writer);
+        segments.values().forEach(Segment::close);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Entries that were appended and not acknowledged before the last shutdown.
+     */
+    public List<Entry> recovered() {
+        return recovered;
+    }
+
+    /**
+     * Schedules an append without waiting for it to reach the disk.
+     *
+     * @return the entry id, or -1 when the writer is saturated and the entry is not journaled
+     */
+    public long append(byte[] payload, long timestamp) {
+        long id = nextId.getAndIncrement();
+        if (!commands.offer(new Command(TYPE_APPEND, id, timestamp, payload, 0))) {
+            dropped.increment();
+            return -1;
+        }
+        pending.put(id, timestamp);
+        appended.increment();
+        return id;
+    }
+
+    /**
+     * Marks an entry as processed so it is not replayed and its segment can be reclaimed.
+     */
+    public void ack(long id) {
+        if (id < 0 || pending.remove(id) == null) {
+            return;
+        }
+        if (!commands.offer(new Command(TYPE_ACK, id, System.currentTimeMillis(), new byte[0], 0))) {
+            dropped.increment();
+            logger.warn("Journal ack dropped, entry may be replayed - Id: {}", id);
+        }
+    }
+
+    public int backlog() {
+        return pending.size();
+    }
+
+    public long oldestAgeMillis() {
+        Map.Entry<Long, Long> oldest = pending.firstEntry();
+        return oldest == null ? 0 : Math.max(0, System.currentTimeMillis() - oldest.getValue());
+    }
+
+    public int segmentCount() {
+        return segments.size();
+    }
+
+    public long appended() {
+        return appended.sum();
+    }
+
+    public long dropped() {
+        return dropped.sum();
+    }
+
+    /**
+     * Commands that could not be written after all attempts, or were still waiting at shutdown.
+     */
+    public long unwritten() {
+        return unwritten.sum();
+    }
+
+    /**
+     * Writes commands in order. A command that fails stays at the head of the batch with the
+     * ones behind it, so an ack is never written before its append, and is retried after a
+     * short delay; it is counted as unwritten once it runs out of attempts.
+     */
+    private void write() {
+        List<Command> batch = new ArrayList<>(maxBatch);
+        while (running || !commands.isEmpty() || !batch.isEmpty()) {
+            try {
+                if (batch.isEmpty()) {
+                    Command first = commands.poll(1, TimeUnit.SECONDS);
+                    if (first == null) {
+                        continue;
+                    }
+                    batch.add(first);
+                }
+                commands.drainTo(batch, Math.max(0, maxBatch - batch.size()));
+                batch.subList(0, applyInOrder(batch)).clear();
+                active.buffer.force();
+                compact();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                abandon(batch);
+                return;
+            } catch (Exception e) {
+                logger.error("Journal flush failed, retrying with the next batch: {}", e.getMessage());
+            }
+            if (!batch.isEmpty() && !pause()) {
+                abandon(batch);
+                return;
+            }
+        }
+    }
+
+    /**
+     * @return how many commands at the head of the batch are done with, written or given up
+     */
+    private int applyInOrder(List<Command> batch) {
+        for (int i = 0; i < batch.size(); i++) {
+            Command command = batch.get(i);
+            try {
+                apply(command);
+            } catch (Exception e) {
+                if (command.attempts + 1 < MAX_WRITE_ATTEMPTS && !command.isOversized(segmentSize)) {
+                    batch.set(i, command.retried());
+                    logger.warn("Journal write failed, will retry - Id: {}, Attempt: {}, Error: {}",
+                            command.id, command.attempts + 1, e.getMessage());
+                    return i;
+                }
+                unwritten.increment();
+                logger.error("Journal write abandoned, entry is not durable - Id: {}, Error: {}",
+                        command.id, e.getMessage());
+            }
+        }
+        return batch.size();
+    }
+
+    private boolean pause() {
+        try {
+            Thread.sleep(WRITE_RETRY_DELAY_MILLIS);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void abandon(List<Command> batch) {
+        int remaining = batch.size() + commands.size();
+        if (remaining > 0) {
+            unwritten.add(remaining);
+            logger.error("Journal writer stopped with unwritten commands: {}", remaining);
+        }
+    }
+
+    private void apply(Command command) throws IOException {
+        if (command.type == TYPE_APPEND) {
+            writeRecord(command);
+            active.live.add(command.id);
+            owners.put(command.id, active);
+            payloads.put(command.id, command.payload);
+        } else {
+            Segment owner = owners.get(command.id);
+            if (owner != null) {
+                writeRecord(command);
+                owner.live.remove(command.id);
+            }
+            owners.remove(command.id);
+            payloads.remove(command.id);
+        }
+    }
+
+    private void writeRecord(Command command) throws IOException {
+        int length = HEADER_SIZE + command.payload.length;
+        if (command.isOversized(segmentSize)) {
+            throw new IOException("Journal entry larger than segment size: " + length);
+        }
+        if (active.buffer.remaining() < length + 4) {
+            active.buffer.force();
+            roll();
+        }
+        MappedByteBuffer buffer = active.buffer;
+        buffer.putInt(length)
+              .put(command.type)
+              .putLong(command.id)
+              .putLong(command.timestamp)
+              .putInt(crc(command.type, command.id, command.timestamp, command.payload))
+              .put(command.payload);
+    }
+
+    /**
+     * Reclaims the oldest segments. Only the oldest segment may be deleted, so an ack is never
+     * removed while the append it cancels is still on disk.
+     */
+    private void compact() throws IOException {
+        while (segments.size() > 1) {
+            Segment oldest = segments.firstEntry().getValue();
+            if (!oldest.live.isEmpty()) {
+                long liveBytes = 0;
+                for (Long id : oldest.live) {
+                    liveBytes += HEADER_SIZE + payloads.get(id).length;
+                }
+                if (liveBytes > segmentSize / 4 || active.buffer.remaining() < liveBytes + 4) {
+                    return;
+                }
+                for (Long id : new ArrayList<>(oldest.live)) {
+                    Long timestamp = pending.get(id);
+                    writeRecord(new Command(TYPE_APPEND, id, timestamp != null ? timestamp : 0, payloads.get(id), 0));
+                    active.live.add(id);
+                    owners.put(id, active);
+                }
+                oldest.live.clear();
+                active.buffer.force();
+            }
+            segments.pollFirstEntry();
+            oldest.close();
+            Files.deleteIfExists(oldest.path);
+        }
+    }
+
+    private void roll() throws IOException {
+        long index = segments.isEmpty() ? 1 : segments.lastKey() + 1;
+        Path path = Paths.get(directory, String.format("%s%016d%s", SEGMENT_PREFIX, index, SEGMENT_SUFFIX));
+        FileChannel channel = isPosix(path.getParent())
+                ? FileChannel.open(path, Set.of(StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE),
+                        PosixFilePermissions.asFileAttribute(SEGMENT_PERMISSIONS))
+                : FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        active = new Segment(path, channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize));
+        segments.put(index, active);
+    }
+
+    /**
+     * Creates the directory for the application user only, and restricts it if it already
+     * exists, which fails when the directory belongs to another user.
+     */
+    private static void createPrivateDirectory(Path dir) throws IOException {
+        Path parent = dir.toAbsolutePath().getParent();
+        if (parent != null && !Files.exists(parent)) {
+            Files.createDirectories(parent);
+        }
+        if (!isPosix(parent)) {
+            Files.createDirectories(dir);
+            return;
+        }
+        FileAttribute<Set<PosixFilePermission>> permissions = PosixFilePermissions.asFileAttribute(DIRECTORY_PERMISSIONS);
+        if (!Files.exists(dir)) {
+            Files.createDirectory(dir, permissions);
+        }
+        Files.setPosixFilePermissions(dir, DIRECTORY_PERMISSIONS);
+    }
+
+    private static boolean isPosix(Path path) {
+        return path != null && path.getFileSystem().supportedFileAttributeViews().contains("posix");
+    }
+
+    private List<Entry> recover(Path dir) throws IOException {
+        List<Path> files;
+        try (Stream<Path> stream = Files.list(dir)) {
+            files = stream.filter(path -> path.getFileName().toString().startsWith(SEGMENT_PREFIX))
+                          .sorted()
+                          .toList();
+        }
+
+        Map<Long, Entry> live = new LinkedHashMap<>();
+        Map<Long, Segment> liveOwners = new HashMap<>();
+        long maxId = 0;
+        for (Path file : files) {
+            String name = file.getFileName().toString();
+            long index = Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+            FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+            Segment segment = new Segment(file, channel, buffer);
+            segments.put(index, segment);
+
+            while (buffer.remaining() >= HEADER_SIZE) {
+                int start = buffer.position();
+                int length = buffer.getInt();
+                if (length < HEADER_SIZE || start + length > buffer.limit()) {
+                    break;
+                }
+                byte type = buffer.get();
+                long id = buffer.getLong();
+                long timestamp = buffer.getLong();
+                int crc = buffer.getInt();
+                byte[] payload = new byte[length - HEADER_SIZE];
+                buffer.get(payload);
+                if (crc != crc(type, id, timestamp, payload)) {
+                    logger.warn("Journal torn record ignored - Segment: {}, Offset: {}", name, start);
+                    break;
+                }
+                maxId = Math.max(maxId, id);
+                if (type == TYPE_APPEND) {
+                    live.put(id, new Entry(id, timestamp, payload));
+                    liveOwners.put(id, segment);
+                } else {
+                    live.remove(id);
+                    liveOwners.remove(id);
+                }
+            }
+        }
+
+        nextId.set(maxId + 1);
+        for (Entry entry : live.values()) {
+            Segment owner = liveOwners.get(entry.id());
+            owner.live.add(entry.id());
+            owners.put(entry.id(), owner);
+            payloads.put(entry.id(), entry.payload());
+            pending.put(entry.id(), entry.timestamp());
+        }
+        return List.copyOf(live.values());
+    }
+
+    private static int crc(byte type, long id, long timestamp, byte[] payload) {
+        CRC32 crc = new CRC32();
+        ByteBuffer header = ByteBuffer.allocate(17).put(type).putLong(id).putLong(timestamp);
+        crc.update(header.array());
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Journaled payload that was not acknowledged.
+     */
+    public record Entry(long id, long timestamp, byte[] payload) {
+    }
+
+    private record Command(byte type, long id, long timestamp, byte[] payload, int attempts) {
+
+        private Command retried() {
+            return new Command(type, id, timestamp, payload, attempts + 1);
+        }
+
+        private boolean isOversized(int segmentSize) {
+            return HEADER_SIZE + payload.length + 4 > segmentSize;
+        }
+    }
+
+    private static final class Segment {
+
+        private final Path path;
+        private final FileChannel channel;
+        private final MappedByteBuffer buffer;
+        private final Set<Long> live = new HashSet<>();
+
+        private Segment(Path path, FileChannel channel, MappedByteBuffer buffer) {
+            this.path = path;
+            this.channel = channel;
+            this.buffer = buffer;
+        }
+
+        private void close() {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                logger.warn("Error closing journal segment {}: {}", path, e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,481 @@
+package com.banreservas.integration.backend;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.support.DefaultExchange;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.banreservas.integration.cache.MasterCedulaCache;
+import com.banreservas.integration.model.outbound.response.backends.actualizardatosmaestrocedulados.ActualizarDatosMaestroCeduladosRequest;
+import com.banreservas.integration.model.outbound.response.backends.actualizardatosmaestrocedulados.ActualizarDatosMaestroCeduladosResponse;
+import com.banreservas.integration.util.Constants;
+import com.banreservas.integration.util.JsonReaders;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+/**
+ * Write-behind queue for ActualizarDatosMaestroCedulados updates.
+ *
+ * Updates are sent by a dedicated worker pool with exponential backoff between attempts.
+ * Pending updates are coalesced per cedula: a newer update replaces one that has not been
+ * sent yet, and supersedes one that is waiting for a retry. At most one update per cedula
+ * is in flight at any time, so updates for the same cedula are applied in order. The master
+ * cedula cache entry is invalidated as soon as an update is accepted, and again once applied.
+ *
+ * When the journal is enabled every accepted update is journaled and acknowledged once it is
+ * applied or superseded; unacknowledged updates are queued again at startup, beyond the capacity
+ * bound. An update that fails permanently or exhausts its attempts is kept in the journal as a
+ * dead letter until a newer update for the same cedula is accepted, so it is retried at the next
+ * startup rather than lost. The caller's Authorization and sessionId are never journaled:
+ * replayed updates are sent with the service credential, and are left in the journal when none
+ * is configured.
+ */
+@ApplicationScoped
+public class MasterDataUpdateQueue {
+
+    private static final Logger logger = LoggerFactory.getLogger(MasterDataUpdateQueue.class);
+
+    private static final ObjectReader JOURNALED_UPDATE_READER = JsonReaders.readerFor(JournaledUpdate.class);
+    private static final ObjectWriter JOURNALED_UPDATE_WRITER = JsonReaders.writerFor(JournaledUpdate.class);
+
+    @Inject
+    CamelContext camelContext;
+
+    @Inject
+    BackendInvoker backendInvoker;
+
+    @Inject
+    MasterCedulaCache masterCedulaCache;
+
+    @Inject
+    MasterDataUpdateJournal journal;
+
+    @Inject
+    BackendEndpoints backendEndpoints;
+
+    @ConfigProperty(name = "writebehind.actualizar.datos.maestro.cedulados.enabled", defaultValue = "false")
+    boolean enabled;
+
+    @ConfigProperty(name = "writebehind.actualizar.datos.maestro.cedulados.capacity", defaultValue = "10000")
+    int capacity;
+
+    @ConfigProperty(name = "writebehind.actualizar.datos.maestro.cedulados.workers", defaultValue = "4")
+    int workers;
+
+    @ConfigProperty(name = "writebehind.actualizar.datos.maestro.cedulados.max.attempts", defaultValue = "5")
+    int maxAttempts;
+
+    @ConfigProperty(name = "writebehind.actualizar.datos.maestro.cedulados.backoff.initial", defaultValue = "500")
+    long initialBackoffMillis;
+
+    @ConfigProperty(name = "writebehind.actualizar.datos.maestro.cedulados.backoff.max", defaultValue = "30000")
+    long maxBackoffMillis;
+
+    @ConfigProperty(name = "writebehind.actualizar.datos.maestro.cedulados.service.authorization")
+    Optional<String> serviceAuthorization;
+
+    private final ConcurrentMap<String, Slot> slots = new ConcurrentHashMap<>();
+    private final BlockingQueue<String> ready = new LinkedBlockingQueue<>();
+    private final ConcurrentMap<String, Long> deadLetters = new ConcurrentHashMap<>();
+
+    private final LongAdder enqueued = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder deferred = new LongAdder();
+    private final LongAdder succeeded = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    private ExecutorService workerPool;
+    private volatile boolean running;
+
+    Processor service4Call;
+
+    @PostConstruct
+    void init() {
+        if (!enabled) {
+            return;
+        }
+        service4Call = backendInvoker.call(Constants.SERVICE_ACTUALIZAR_DATOS_MAESTRO_CEDULADOS, backendEndpoints.masterCedulaUpdate());
+        start();
+    }
+
+    /**
+     * Starts the workers and queues the updates left in the journal.
+     */
+    void start() {
+        running = true;
+        workerPool = camelContext.getExecutorServiceManager()
+                .newFixedThreadPool(this, "MasterDataUpdateWriteBehind", workers);
+        for (int i = 0; i < workers; i++) {
+            workerPool.execute(this::work);
+        }
+        if (journal.isEnabled()) {
+            replay();
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        running = false;
+        if (workerPool != null) {
+            camelContext.getExecutorServiceManager().shutdownNow(workerPool);
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Queues an update for background delivery.
+     *
+     * @return false when the queue is full and the caller must update synchronously
+     */
+    public boolean enqueue(String cedula, ActualizarDatosMaestroCeduladosRequest request,
+                           String authorization, String sessionId) {
+        String key = MasterCedulaCache.normalize(cedula);
+        long createdAt = System.currentTimeMillis();
+        long journalId = journal.isEnabled()
+                ? journal.append(serialize(new JournaledUpdate(key, request, createdAt)), createdAt)
+                : -1;
+        boolean accepted = offer(new PendingUpdate(key, request, authorization, sessionId, createdAt, journalId), true);
+        if (accepted) {
+            // The cached master data is outdated from now on, not only once the update is applied
+            masterCedulaCache.invalidate(key);
+        }
+        return accepted;
+    }
+
+    /**
+     * Queues an update the synchronous call could not deliver because the update service is
+     * unavailable. The capacity bound does not apply: the caller is answered as if the update
+     * was queued, so it must not be dropped.
+     */
+    public void defer(String cedula, ActualizarDatosMaestroCeduladosRequest request,
+                      String authorization, String sessionId) {
+        String key = MasterCedulaCache.normalize(cedula);
+        long createdAt = System.currentTimeMillis();
+        long journalId = journal.isEnabled()
+                ? journal.append(serialize(new JournaledUpdate(key, request, createdAt)), createdAt)
+                : -1;
+        offer(new PendingUpdate(key, request, authorization, sessionId, createdAt, journalId), false);
+        deferred.increment();
+        masterCedulaCache.invalidate(key);
+    }
+
+    private boolean offer(PendingUpdate update, boolean bounded) {
+        String key = update.cedula();
+        boolean[] accepted = {true};
+
+        slots.compute(key, (k, slot) -> {
+            if (slot == null) {
+                if (bounded && slots.size() >= capacity) {
+                    accepted[0] = false;
+                    return null;
+                }
+                slot = new Slot();
+            } else if (slot.next != null) {
+                coalesced.increment();
+                journal.ack(slot.next.journalId());
+            }
+            Long deadLetter = deadLetters.remove(k);
+            if (deadLetter != null) {
+                journal.ack(deadLetter);
+            }
+            slot.next = update;
+            if (!slot.queued && !slot.running) {
+                slot.queued = true;
+                ready.offer(k);
+            }
+            return slot;
+        });
+
+        if (accepted[0]) {
+            enqueued.increment();
+        } else {
+            rejected.increment();
+            journal.ack(update.journalId());
+        }
+        return accepted[0];
+    }
+
+    private void replay() {
+        if (journal.recovered().isEmpty()) {
+            return;
+        }
+        if (serviceAuthorization.isEmpty()) {
+            logger.error("Write-behind updates left in journal, no service credential configured - Entries: {}",
+                    journal.recovered().size());
+            return;
+        }
+        // Compaction may relocate an entry after newer ones; replay in id order so the newest
+        // update of a cedula is the one left pending
+        List<MasterDataUpdateJournal.Entry> entries = journal.recovered().stream()
+                .sorted(Comparator.comparingLong(MasterDataUpdateJournal.Entry::id))
+                .toList();
+        int replayed = 0;
+        for (MasterDataUpdateJournal.Entry entry : entries) {
+            try {
+                JournaledUpdate update = JOURNALED_UPDATE_READER.readValue(entry.payload());
+                // Not bounded by capacity: a rejected entry would be acknowledged and lost
+                offer(new PendingUpdate(update.cedula(), update.request(), serviceAuthorization.get(),
+                        UUID.randomUUID().toString(), update.createdAt(), entry.id()), false);
+                replayed++;
+            } catch (Exception e) {
+                logger.error("Unreadable journal entry discarded - Id: {}, Error: {}", entry.id(), e.getMessage());
+                journal.ack(entry.id());
+            }
+        }
+        logger.info("Write-behind updates replayed from journal: {}", replayed);
+    }
+
+    private static byte[] serialize(JournaledUpdate update) {
+        try {
+            return JOURNALED_UPDATE_WRITER.writeValueAsBytes(update);
+        } catch (Exception e) {
+            throw new IllegalStateException("Unable to serialize write-behind update", e);
+        }
+    }
+
+    public int backlog() {
+        return slots.size();
+    }
+
+    public long enqueued() {
+        return enqueued.sum();
+    }
+
+    public long coalesced() {
+        return coalesced.sum();
+    }
+
+    public long rejected() {
+        return rejected.sum();
+    }
+
+    /**
+     * Updates queued over capacity because the update service was unavailable.
+     */
+    public long deferred() {
+        return deferred.sum();
+    }
+
+    public long succeeded() {
+        return succeeded.sum();
+    }
+
+    public long failed() {
+        return failed.sum();
+    }
+
+    /**
+     * Failed updates kept in the journal, to be retried at the next startup.
+     */
+    public int deadLettered() {
+        return deadLetters.size();
+    }
+
+    private void work() {
+        while (running) {
+            String key;
+            try {
+                key = ready.poll(1, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (key == null) {
+                continue;
+            }
+
+            PendingUpdate[] taken = new PendingUpdate[1];
+            slots.computeIfPresent(key, (k, slot) -> {
+                taken[0] = slot.next;
+                slot.next = null;
+                slot.queued = false;
+                slot.running = true;
+                return slot;
+            });
+
+            if (taken[0] != null) {
+                deliver(taken[0]);
+            }
+
+            slots.computeIfPresent(key, (k, slot) -> {
+                slot.running = false;
+                if (slot.next == null) {
+                    return null;
+                }
+                slot.queued = true;
+                ready.offer(k);
+                return slot;
+            });
+        }
+    }
+
+    private void deliver(PendingUpdate update) {
+        if (attempt(update)) {
+            journal.ack(update.journalId());
+        }
+    }
+
+    /**
+     * @return false when the update must stay in the journal: delivery was interrupted by
+     *         shutdown, or it failed and is kept as a dead letter
+     */
+    private boolean attempt(PendingUpdate update) {
+        long backoff = initialBackoffMillis;
+        for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+            if (!running) {
+                return false;
+            }
+            Outcome outcome = send(update);
+            if (outcome == Outcome.SUCCESS) {
+                succeeded.increment();
+                // Drops anything a lookup cached while the update was pending
+                masterCedulaCache.invalidate(update.cedula());
+                logger.info("Write-behind update applied - Cedula: {}, Attempt: {}", update.cedula(), attempt);
+                return true;
+            }
+            if (outcome == Outcome.PERMANENT_FAILURE) {
+                break;
+            }
+            if (isSuperseded(update.cedula())) {
+                logger.info("Write-behind update superseded by a newer one - Cedula: {}", update.cedula());
+                return true;
+            }
+            if (attempt < maxAttempts) {
+                try {
+                    Thread.sleep(backoff);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+                backoff = Math.min(backoff * 2, maxBackoffMillis);
+            }
+        }
+        failed.increment();
+        return !deadLetter(update);
+    }
+
+    /**
+     * Keeps a failed update in the journal unless a newer one for the same cedula was accepted
+     * meanwhile. Runs in the slot's compute so it cannot miss a concurrent offer.
+     *
+     * @return true when the update is kept as a dead letter
+     */
+    private boolean deadLetter(PendingUpdate update) {
+        boolean[] kept = {false};
+        slots.computeIfPresent(update.cedula(), (k, slot) -> {
+            if (slot.next == null && update.journalId() >= 0) {
+                Long older = deadLetters.put(k, update.journalId());
+                if (older != null) {
+                    journal.ack(older);
+                }
+                kept[0] = true;
+            }
+            return slot;
+        });
+        if (kept[0]) {
+            logger.error("Write-behind update failed permanently, kept in journal for the next startup - Cedula: {}, Id: {}",
+                    update.cedula(), update.journalId());
+        } else {
+            logger.error("Write-behind update failed permanently - Cedula: {}", update.cedula());
+        }
+        return kept[0];
+    }
+
+    private Outcome send(PendingUpdate update) {
+        try {
+            Exchange exchange = new DefaultExchange(camelContext);
+            exchange.getIn().setBody(JsonReaders.MASTER_CEDULA_UPDATE_REQUEST_WRITER.writeValueAsBytes(update.request()));
+            exchange.getIn().setHeader(Constants.HEADER_SESSION_ID, update.sessionId());
+            exchange.getIn().setHeader(Constants.HEADER_CONTENT_TYPE, "application/json");
+            exchange.getIn().setHeader(Constants.HEADER_AUTHORIZATION, update.authorization());
+            exchange.getIn().setHeader(Exchange.HTTP_METHOD, "POST");
+            service4Call.process(exchange);
+
+            BackendResponse response = BackendResponse.of(exchange);
+            if (response.statusCode() >= 500) {
+                logger.warn("Write-behind update returned HTTP {} - Cedula: {}", response.statusCode(), update.cedula());
+                return Outcome.RETRYABLE_FAILURE;
+            }
+            if (response.statusCode() != Constants.HTTP_OK) {
+                logger.error("Write-behind update rejected with HTTP {} - Cedula: {}", response.statusCode(), update.cedula());
+                return Outcome.PERMANENT_FAILURE;
+            }
+
+            ActualizarDatosMaestroCeduladosResponse updateResponse =
+                    JsonReaders.readWithoutPhotos(JsonReaders.MASTER_CEDULA_UPDATE_RESPONSE, response.body());
+            boolean updated = updateResponse.header() != null
+                    && updateResponse.header().responseCode() == Constants.HTTP_OK
+                    && updateResponse.body() != null
+                    && updateResponse.body().clients() != null
+                    && !updateResponse.body().clients().isEmpty();
+            return updated ? Outcome.SUCCESS : Outcome.RETRYABLE_FAILURE;
+        } catch (Exception e) {
+            logger.warn("Write-behind update attempt failed - Cedula: {}, Error: {}", update.cedula(), e.getMessage());
+            return Outcome.RETRYABLE_FAILURE;
+        }
+    }
+
+    private boolean isSuperseded(String key) {
+        Slot slot = slots.get(key);
+        return slot != null && slot.next != null;
+    }
+
+    private enum Outcome {
+        SUCCESS,
+        RETRYABLE_FAILURE,
+        PERMANENT_FAILURE
+    }
+
+    /**
+     * Update waiting for delivery, with the caller context needed to send it.
+     */
+    public record PendingUpdate(
+            String cedula,
+            ActualizarDatosMaestroCeduladosRequest request,
+            String authorization,
+            String sessionId,
+            long createdAt,
+            long journalId
+    ) {
+    }
+
+    /**
+     * Journal payload of an update, without the caller credentials.
+     */
+    private record JournaledUpdate(
+            String cedula,
+            ActualizarDatosMaestroCeduladosRequest request,
+            long createdAt
+    ) {
+    }
+
+    private static final class Slot {
+
+        private PendingUpdate next;
+        private boolean queued;
+        private boolean running;
+    }
+}
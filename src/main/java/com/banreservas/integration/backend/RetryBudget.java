@@ -0,0 +1,70 @@
+package com.banreservas.integration.backend;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Caps retries to a fraction of the base traffic so retries cannot amplify an outage.
+ *
+ * Every original call deposits {@code ratio} of a retry and every retry withdraws one; the
+ * balance is capped at the retries earned by the last thousand calls. A small fixed rate of
+ * retries is always allowed so low-traffic periods can still retry.
+ */
+public class RetryBudget {
+
+    private static final int WINDOW_CALLS = 1000;
+
+    private final double ratio;
+    private final double maxBalance;
+    private final TokenBucket minimum;
+    private final ReentrantLock lock = new ReentrantLock();
+    private double balance;
+
+    private final AtomicLong retries = new AtomicLong();
+    private final AtomicLong exhausted = new AtomicLong();
+
+    public RetryBudget(double ratio, double minRetriesPerSecond) {
+        this.ratio = ratio;
+        this.maxBalance = Math.max(1, ratio * WINDOW_CALLS);
+        this.minimum = new TokenBucket(minRetriesPerSecond, Math.max(1, minRetriesPerSecond));
+    }
+
+    public void recordCall() {
+        lock.lock();
+        try {
+            balance = Math.min(maxBalance, balance + ratio);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return true when a retry may be sent
+     */
+    public boolean tryRetry() {
+        boolean allowed;
+        lock.lock();
+        try {
+            allowed = balance >= 1;
+            if (allowed) {
+                balance -= 1;
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (allowed || minimum.tryAcquire()) {
+            retries.incrementAndGet();
+            return true;
+        }
+        exhausted.incrementAndGet();
+        return false;
+    }
+
+    public long retries() {
+        return retries.get();
+    }
+
+    public long exhausted() {
+        return exhausted.get();
+    }
+}
@@ -0,0 +1,112 @@
+package com.banreservas.integration.backend;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Deduplicates concurrent executions of the same call.
+ * The first caller for a key runs the call; callers arriving while it is in flight wait on
+ * the same future and receive its result or error. No lock is held while the call runs.
+ *
+ * @param <K> key type
+ * @param <V> result type
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder executed = new LongAdder();
+    private final LongAdder shared = new LongAdder();
+
+    public V execute(K key, Callable<V> call) throws Exception {
+        return execute(key, call, Long.MAX_VALUE);
+    }
+
+    /**
+     * Same as {@link #execute(Object, Callable)}, but a caller joining an in-flight call waits
+     * at most the given time and then fails with {@link TimeoutException}.
+     */
+    public V execute(K key, Callable<V> call, long maxWaitNanos) throws Exception {
+        CompletableFuture<V> created = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, created);
+        if (existing != null) {
+            shared.increment();
+            return await(existing, maxWaitNanos);
+        }
+
+        executed.increment();
+        try {
+            V result = call.call();
+            created.complete(result);
+            return result;
+        } catch (Exception | Error e) {
+            created.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, created);
+        }
+    }
+
+    /**
+     * Non-blocking variant: callers joining an in-flight call get its future.
+     */
+    public CompletableFuture<V> executeAsync(K key, Supplier<CompletableFuture<V>> call) {
+        CompletableFuture<V> created = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, created);
+        if (existing != null) {
+            shared.increment();
+            return existing;
+        }
+
+        executed.increment();
+        try {
+            call.get().whenComplete((result, error) -> {
+                inFlight.remove(key, created);
+                if (error != null) {
+                    created.completeExceptionally(error);
+                } else {
+                    created.complete(result);
+                }
+            });
+        } catch (RuntimeException e) {
+            inFlight.remove(key, created);
+            created.completeExceptionally(e);
+        }
+        return created;
+    }
+
+    public int inFlight() {
+        return inFlight.size();
+    }
+
+    public long executed() {
+        return executed.sum();
+    }
+
+    public long shared() {
+        return shared.sum();
+    }
+
+    private V await(CompletableFuture<V> future, long maxWaitNanos) throws Exception {
+        try {
+            return maxWaitNanos == Long.MAX_VALUE
+                    ? future.get()
+                    : future.get(Math.max(0, maxWaitNanos), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Exception exception) {
+                throw exception;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.banreservas.integration.backend;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import com.banreservas.integration.cache.MasterCedulaCache;
+import com.banreservas.integration.context.OrchestrationContext;
+import com.banreservas.integration.processors.GenerateService3RequestProcessor;
+import com.banreservas.integration.util.Constants;
+import com.banreservas.integration.util.JsonReaders;
+
+/**
+ * Starts ConsultarDatosJCEDP calls in parallel with the master cedula lookup when a miss
+ * (code 904) is likely, so the JCE latency overlaps the master latency.
+ *
+ * A miss is predicted when the recent miss rate (exponentially weighted) reaches the threshold
+ * or when no cedula with the same prefix has been found in master yet. Speculative calls are
+ * limited by a token bucket to protect the JCE quota.
+ */
+@ApplicationScoped
+public class SpeculativeJceLookup {
+
+    @Inject
+    CamelContext camelContext;
+
+    @Inject
+    BackendInvoker backendInvoker;
+
+    @Inject
+    GenerateService3RequestProcessor generateService3RequestProcessor;
+
+    @Inject
+    BackendEndpoints backendEndpoints;
+
+    @ConfigProperty(name = "speculative.consultar.datos.jcedp.enabled", defaultValue = "false")
+    boolean enabled;
+
+    @ConfigProperty(name = "speculative.consultar.datos.jcedp.miss.rate.threshold", defaultValue = "0.3")
+    double missRateThreshold;
+
+    @ConfigProperty(name = "speculative.consultar.datos.jcedp.miss.rate.alpha", defaultValue = "0.05")
+    double alpha;
+
+    @ConfigProperty(name = "speculative.consultar.datos.jcedp.prefix.length", defaultValue = "3")
+    int prefixLength;
+
+    @ConfigProperty(name = "speculative.consultar.datos.jcedp.budget.per.second", defaultValue = "5")
+    double budgetPerSecond;
+
+    @ConfigProperty(name = "speculative.consultar.datos.jcedp.budget.burst", defaultValue = "10")
+    double budgetBurst;
+
+    @ConfigProperty(name = "speculative.consultar.datos.jcedp.threads", defaultValue = "10")
+    int threads;
+
+    private final Set<String> knownPrefixes = ConcurrentHashMap.newKeySet();
+    private final LongAdder started = new LongAdder();
+    private final LongAdder used = new LongAdder();
+    private final LongAdder discarded = new LongAdder();
+    private final LongAdder denied = new LongAdder();
+
+    private TokenBucket budget;
+    private ExecutorService executor;
+    private Processor service3Call;
+    private final ReentrantLock lock = new ReentrantLock();
+    private double missRate;
+
+    @PostConstruct
+    void init() {
+        if (!enabled) {
+            return;
+        }
+        budget = new TokenBucket(budgetPerSecond, budgetBurst);
+        executor = camelContext.getExecutorServiceManager()
+                .newFixedThreadPool(this, "SpeculativeJceLookup", threads);
+        service3Call = backendInvoker.call(Constants.SERVICE_CONSULTAR_DATOS_JCEDP, backendEndpoints.jce());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (executor != null) {
+            camelContext.getExecutorServiceManager().shutdownNow(executor);
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Whether a JCE call should be started for this cedula; consumes budget when it should.
+     */
+    public boolean shouldSpeculate(String identification) {
+        if (!enabled || !missLikely(identification)) {
+            return false;
+        }
+        if (!budget.tryAcquire()) {
+            denied.increment();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Starts the JCE call on a copy of the exchange, with the same request and headers the
+     * JCE route would send.
+     */
+    public Future<BackendResponse> start(Exchange exchange) throws Exception {
+        Exchange copy = exchange.copy();
+        generateService3RequestProcessor.process(copy);
+        copy.getIn().setBody(JsonReaders.JCE_REQUEST_WRITER.writeValueAsBytes(copy.getIn().getBody()));
+        copy.getIn().setHeader(Constants.HEADER_SESSION_ID, OrchestrationContext.of(exchange).getSessionId());
+        copy.getIn().setHeader(Constants.HEADER_CONTENT_TYPE, "application/json");
+        copy.getIn().setHeader(Exchange.HTTP_METHOD, "POST");
+
+        started.increment();
+        return executor.submit(() -> {
+            service3Call.process(copy);
+            return BackendResponse.of(copy);
+        });
+    }
+
+    /**
+     * Feeds the predictor with the master cedula outcome of a lookup.
+     */
+    public void recordMasterOutcome(String identification, boolean miss) {
+        if (!enabled) {
+            return;
+        }
+        lock.lock();
+        try {
+            missRate += alpha * ((miss ? 1d : 0d) - missRate);
+        } finally {
+            lock.unlock();
+        }
+        if (!miss) {
+            knownPrefixes.add(prefix(identification));
+        }
+    }
+
+    public void recordUsed() {
+        used.increment();
+    }
+
+    public void recordDiscarded() {
+        discarded.increment();
+    }
+
+    public double missRate() {
+        lock.lock();
+        try {
+            return missRate;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long started() {
+        return started.sum();
+    }
+
+    public long used() {
+        return used.sum();
+    }
+
+    public long discarded() {
+        return discarded.sum();
+    }
+
+    public long denied() {
+        return denied.sum();
+    }
+
+    private boolean missLikely(String identification) {
+        return missRate() >= missRateThreshold || !knownPrefixes.contains(prefix(identification));
+    }
+
+    private String prefix(String identification) {
+        String normalized = MasterCedulaCache.normalize(identification);
+        return normalized.length() > prefixLength ? normalized.substring(0, prefixLength) : normalized;
+    }
+}
@@ -0,0 +1,42 @@
+package com.banreservas.integration.backend;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Token bucket used to cap the rate of optional extra backend calls.
+ */
+public class TokenBucket {
+
+    private final double ratePerNano;
+    private final double capacity;
+    private final ReentrantLock lock = new ReentrantLock();
+    private double tokens;
+    private long lastRefillNanos;
+
+    /**
+     * @param ratePerSecond tokens added per second
+     * @param capacity      maximum tokens kept, i.e. the allowed burst
+     */
+    public TokenBucket(double ratePerSecond, double capacity) {
+        this.ratePerNano = ratePerSecond / 1_000_000_000d;
+        this.capacity = capacity;
+        this.tokens = capacity;
+        this.lastRefillNanos = System.nanoTime();
+    }
+
+    public boolean tryAcquire() {
+        lock.lock();
+        try {
+            long now = System.nanoTime();
+            tokens = Math.min(capacity, tokens + (now - lastRefillNanos) * ratePerNano);
+            lastRefillNanos = now;
+            if (tokens < 1) {
+                return false;
+            }
+            tokens -= 1;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.banreservas.integration.cache;
+
+/**
+ * Point-in-time counters of a {@link TtlCache}, used to size the cache from production traffic.
+ */
+public record CacheStats(
+        long size,
+        long maxEntries,
+        long hits,
+        long misses,
+        long evictions,
+        long expirations
+) {
+
+    public double hitRatio() {
+        long requests = hits + misses;
+        return requests == 0 ? 0.0 : (double) hits / requests;
+    }
+}
@@ -0,0 +1,87 @@
+package com.banreservas.integration.cache;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import com.banreservas.integration.model.outbound.response.ConsultarDatosGeneralesClienteResponse;
+
+/**
+ * Result cache for ConsultarDatosGeneralesClienteJuridico lookups.
+ * Stores the mapped response produced by ProcessService1ResponseProcessor; successful
+ * results use the regular TTL and body-level errors ("not found") a much shorter one.
+ * Successful results are kept for a stale window as a fallback while the backend is unavailable.
+ * Every entry, negative and stale ones included, is keyed by the caller credential fingerprint,
+ * so a result is only served to callers the backend authorized with the same credential.
+ */
+@ApplicationScoped
+public class JuridicalClientCache {
+
+    @ConfigProperty(name = "cache.consultar.datos.generales.cliente.juridico.enabled", defaultValue = "true")
+    boolean enabled;
+
+    @ConfigProperty(name = "cache.consultar.datos.generales.cliente.juridico.ttl", defaultValue = "3600000")
+    long ttlMillis;
+
+    @ConfigProperty(name = "cache.consultar.datos.generales.cliente.juridico.negative.ttl", defaultValue = "60000")
+    long negativeTtlMillis;
+
+    @ConfigProperty(name = "cache.consultar.datos.generales.cliente.juridico.max.entries", defaultValue = "50000")
+    int maxEntries;
+
+    @ConfigProperty(name = "cache.consultar.datos.generales.cliente.juridico.stale.ttl", defaultValue = "86400000")
+    long staleTtlMillis;
+
+    private TtlCache<String, ConsultarDatosGeneralesClienteResponse> cache;
+
+    @PostConstruct
+    void init() {
+        cache = new TtlCache<>(maxEntries, ttlMillis, staleTtlMillis);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public ConsultarDatosGeneralesClienteResponse get(String identificationType, String identification, String credential) {
+        if (!enabled || identification == null) {
+            return null;
+        }
+        return cache.get(key(identificationType, identification, credential));
+    }
+
+    /**
+     * Last known good response, even if expired; "not found" results have no stale window.
+     */
+    public ConsultarDatosGeneralesClienteResponse getStale(String identificationType, String identification,
+            String credential) {
+        if (!enabled || identification == null) {
+            return null;
+        }
+        return cache.getStale(key(identificationType, identification, credential));
+    }
+
+    public void put(String identificationType, String identification, String credential,
+            ConsultarDatosGeneralesClienteResponse response) {
+        if (!enabled || identification == null) {
+            return;
+        }
+        cache.put(key(identificationType, identification, credential), response);
+    }
+
+    public void putNegative(String identificationType, String identification, String credential,
+            ConsultarDatosGeneralesClienteResponse response) {
+        if (!enabled || identification == null) {
+            return;
+        }
+        cache.put(key(identificationType, identification, credential), response, negativeTtlMillis);
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    private static String key(String identificationType, String identification, String credential) {
+        return identificationType + "|" + identification.trim().replace("-", "") + "|" + credential;
+    }
+}
@@ -0,0 +1,87 @@
+package com.banreservas.integration.cache;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import com.banreservas.integration.model.outbound.response.backends.datosmaestrocedulados.ConsultarDatosMaestroCeduladosResponse;
+
+/**
+ * Read-through cache for ConsultarDatosMaestroCedulados lookups.
+ * Entries are keyed by normalized identification and the caller credential fingerprint, so a
+ * result is only served to callers the backend authorized with the same credential. Lookups
+ * never request the photo, so one entry serves callers with either includeBinaryPhoto value.
+ * Populated on code 000 and invalidated for every caller when the master data is updated;
+ * updates are rare, so invalidation scans the cache.
+ * Expired entries are kept for a stale window as a fallback while the backend is unavailable.
+ */
+@ApplicationScoped
+public class MasterCedulaCache {
+
+    @ConfigProperty(name = "cache.consultar.datos.maestro.cedulados.enabled", defaultValue = "true")
+    boolean enabled;
+
+    @ConfigProperty(name = "cache.consultar.datos.maestro.cedulados.ttl", defaultValue = "300000")
+    long ttlMillis;
+
+    @ConfigProperty(name = "cache.consultar.datos.maestro.cedulados.max.entries", defaultValue = "50000")
+    int maxEntries;
+
+    @ConfigProperty(name = "cache.consultar.datos.maestro.cedulados.stale.ttl", defaultValue = "86400000")
+    long staleTtlMillis;
+
+    private TtlCache<String, ConsultarDatosMaestroCeduladosResponse> cache;
+
+    @PostConstruct
+    void init() {
+        cache = new TtlCache<>(maxEntries, ttlMillis, staleTtlMillis);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public ConsultarDatosMaestroCeduladosResponse get(String identification, String credential) {
+        if (!enabled || identification == null) {
+            return null;
+        }
+        return cache.get(key(identification, credential));
+    }
+
+    /**
+     * Last known good response, even if expired; used as a fallback while the backend is unavailable.
+     */
+    public ConsultarDatosMaestroCeduladosResponse getStale(String identification, String credential) {
+        if (!enabled || identification == null) {
+            return null;
+        }
+        return cache.getStale(key(identification, credential));
+    }
+
+    public void put(String identification, String credential, ConsultarDatosMaestroCeduladosResponse response) {
+        if (!enabled || identification == null) {
+            return;
+        }
+        cache.put(key(identification, credential), response);
+    }
+
+    public void invalidate(String identification) {
+        if (identification == null) {
+            return;
+        }
+        String prefix = normalize(identification) + "|";
+        cache.invalidateIf(key -> key.startsWith(prefix));
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public static String normalize(String identification) {
+        return identification.trim().replace("-", "");
+    }
+
+    private static String key(String identification, String credential) {
+        return normalize(identification) + "|" + credential;
+    }
+}
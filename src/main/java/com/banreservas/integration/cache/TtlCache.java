@@ -0,0 +1,174 @@
+package com.banreservas.integration.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+
+/**
+ * Bounded in-memory cache with per-entry time-to-live and least-recently-used eviction.
+ * Expired entries are dropped lazily on access; the size bound is enforced on every put.
+ *
+ * With a stale window, entries stored with the default TTL are kept that much longer after
+ * they expire and can still be read through {@link #getStale(Object)}, e.g. as a fallback
+ * while the backend is unavailable.
+ *
+ * Guarded by a lock rather than a monitor so contended virtual threads do not pin carriers.
+ *
+ * @param <K> key type
+ * @param <V> value type
+ */
+public class TtlCache<K, V> {
+
+    private final int maxEntries;
+    private final long defaultTtlNanos;
+    private final long staleNanos;
+    private final Map<K, Entry<V>> entries;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+
+    public TtlCache(int maxEntries, long defaultTtlMillis) {
+        this(maxEntries, defaultTtlMillis, 0);
+    }
+
+    public TtlCache(int maxEntries, long defaultTtlMillis, long staleMillis) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("maxEntries must be positive");
+        }
+        this.maxEntries = maxEntries;
+        this.defaultTtlNanos = TimeUnit.MILLISECONDS.toNanos(defaultTtlMillis);
+        this.staleNanos = TimeUnit.MILLISECONDS.toNanos(staleMillis);
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                if (size() > TtlCache.this.maxEntries) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public V get(K key) {
+        long now = System.nanoTime();
+        Entry<V> entry;
+        lock.lock();
+        try {
+            entry = entries.get(key);
+            if (entry != null && entry.isExpired(now)) {
+                if (entry.isStale(now)) {
+                    entries.remove(key);
+                    expirations.increment();
+                }
+                entry = null;
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.value();
+    }
+
+    /**
+     * Returns the entry even if it has expired, as long as it is within the stale window.
+     * Does not count as a hit or a miss.
+     */
+    public V getStale(K key) {
+        long now = System.nanoTime();
+        lock.lock();
+        try {
+            Entry<V> entry = entries.get(key);
+            return entry == null || entry.isStale(now) ? null : entry.value();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void put(K key, V value) {
+        putNanos(key, value, defaultTtlNanos, staleNanos);
+    }
+
+    /**
+     * Stores an entry with its own TTL and no stale window.
+     */
+    public void put(K key, V value, long ttlMillis) {
+        putNanos(key, value, TimeUnit.MILLISECONDS.toNanos(ttlMillis), 0);
+    }
+
+    private void putNanos(K key, V value, long ttlNanos, long staleNanos) {
+        if (key == null || value == null || ttlNanos <= 0) {
+            return;
+        }
+        long expiresAt = System.nanoTime() + ttlNanos;
+        Entry<V> entry = new Entry<>(value, expiresAt, expiresAt + staleNanos);
+        lock.lock();
+        try {
+            entries.put(key, entry);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void invalidate(K key) {
+        lock.lock();
+        try {
+            entries.remove(key);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes every entry whose key matches; scans the whole cache under the lock.
+     */
+    public void invalidateIf(Predicate<K> matches) {
+        lock.lock();
+        try {
+            entries.keySet().removeIf(matches);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void clear() {
+        lock.lock();
+        try {
+            entries.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public CacheStats stats() {
+        int size;
+        lock.lock();
+        try {
+            size = entries.size();
+        } finally {
+            lock.unlock();
+        }
+        return new CacheStats(size, maxEntries, hits.sum(), misses.sum(), evictions.sum(), expirations.sum());
+    }
+
+    private record Entry<V>(V value, long expiresAtNanos, long staleUntilNanos) {
+
+        boolean isExpired(long now) {
+            return now - expiresAtNanos >= 0;
+        }
+
+        boolean isStale(long now) {
+            return now - staleUntilNanos >= 0;
+        }
+    }
+}
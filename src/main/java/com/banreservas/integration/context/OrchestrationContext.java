@@ -0,0 +1,326 @@
+package com.banreservas.integration.context;
+
+import java.util.concurrent.Future;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.Expression;
+import org.apache.camel.Message;
+import org.apache.camel.support.ExpressionAdapter;
+
+import com.banreservas.integration.backend.BackendResponse;
+import com.banreservas.integration.model.inbound.request.ConsultarDatosGeneralesClienteRequest;
+import com.banreservas.integration.model.outbound.response.backends.actualizardatosmaestrocedulados.ActualizarDatosMaestroCeduladosRequest;
+import com.banreservas.integration.model.outbound.response.backends.actualizardatosmaestrocedulados.ActualizarDatosMaestroCeduladosResponse;
+import com.banreservas.integration.model.outbound.response.backends.datosjcedp.ConsultarDatosJCEDPResponse;
+import com.banreservas.integration.model.outbound.response.backends.datosmaestrocedulados.ConsultarDatosMaestroCeduladosResponse;
+import com.banreservas.integration.util.CallerCredentials;
+import com.banreservas.integration.util.Constants;
+import com.banreservas.integration.util.ProcessingFailure;
+
+/**
+ * Typed per-request state of the orchestration, attached to the exchange as a single property.
+ *
+ * Holds the main request, the caller headers, the routing flags and the backend responses
+ * that processors and route predicates share. Exchange copies made for backend calls share
+ * the same context; every orchestration, including each batch item, attaches its own.
+ */
+public final class OrchestrationContext {
+
+    public static final String PROPERTY = "orchestrationContext";
+
+    /**
+     * Caller session id, for the headers of backend requests.
+     */
+    public static final Expression SESSION_ID = new ExpressionAdapter() {
+        @Override
+        public Object evaluate(Exchange exchange) {
+            return of(exchange).getSessionId();
+        }
+    };
+
+    private ConsultarDatosGeneralesClienteRequest mainRequest;
+    private String canal;
+    private String usuario;
+    private String terminal;
+    private String fechaHora;
+    private String version;
+    private String sessionId;
+    private String callerCredential = "";
+
+    private boolean admitted;
+    private boolean admissionRejected;
+    private Integer retryAfter;
+
+    private boolean service1CacheHit;
+    private boolean service2CacheHit;
+    private boolean staleFallback;
+
+    private boolean clientFoundInMaster;
+    private boolean clientNotFoundInMaster;
+    private boolean callJceService;
+    private boolean clientFoundInJce;
+    private boolean clientNotFoundInJce;
+    private boolean callUpdateService;
+    private boolean masterDataUpdateQueued;
+    private boolean dataUpdatedSuccessfully;
+
+    private ConsultarDatosMaestroCeduladosResponse service2Response;
+    private ConsultarDatosJCEDPResponse jceResponse;
+    private ActualizarDatosMaestroCeduladosRequest service4Request;
+    private ActualizarDatosMaestroCeduladosResponse service4Response;
+    private Future<BackendResponse> speculativeJce;
+
+    private ProcessingFailure failure;
+
+    /**
+     * Attaches a new context to the exchange. A batch item inherits the admission of its batch.
+     */
+    public static void attach(Exchange exchange) {
+        OrchestrationContext parent = exchange.getProperty(PROPERTY, OrchestrationContext.class);
+        OrchestrationContext context = new OrchestrationContext();
+        context.admitted = parent != null && parent.admitted;
+        exchange.setProperty(PROPERTY, context);
+    }
+
+    /**
+     * Returns the context of the exchange, attaching one if the exchange has none yet.
+     */
+    public static OrchestrationContext of(Exchange exchange) {
+        OrchestrationContext context = exchange.getProperty(PROPERTY, OrchestrationContext.class);
+        if (context == null) {
+            context = new OrchestrationContext();
+            exchange.setProperty(PROPERTY, context);
+        }
+        return context;
+    }
+
+    /**
+     * Stores the main request body and the caller headers of the incoming message.
+     */
+    public void captureRequest(Message in) {
+        mainRequest = in.getBody(ConsultarDatosGeneralesClienteRequest.class);
+        canal = in.getHeader(Constants.HEADER_CANAL, String.class);
+        usuario = in.getHeader(Constants.HEADER_USUARIO, String.class);
+        terminal = in.getHeader(Constants.HEADER_TERMINAL, String.class);
+        fechaHora = in.getHeader(Constants.HEADER_FECHA_HORA, String.class);
+        version = in.getHeader(Constants.HEADER_VERSION, String.class);
+        sessionId = in.getHeader(Constants.HEADER_SESSION_ID, String.class);
+        callerCredential = CallerCredentials.fingerprint(in.getHeader(Constants.HEADER_AUTHORIZATION, String.class));
+    }
+
+    public ConsultarDatosGeneralesClienteRequest getMainRequest() {
+        return mainRequest;
+    }
+
+    public String getIdentificationType() {
+        return mainRequest != null ? mainRequest.identificationType() : null;
+    }
+
+    public boolean isForceUpdate() {
+        return mainRequest != null && Constants.BOOLEAN_TRUE.equals(mainRequest.forceUpdate());
+    }
+
+    public boolean isIncludeBinaryPhoto() {
+        return mainRequest != null && Constants.BOOLEAN_TRUE.equals(mainRequest.includeBinaryPhoto());
+    }
+
+    public String getCanal() {
+        return canal;
+    }
+
+    public String getUsuario() {
+        return usuario;
+    }
+
+    public String getTerminal() {
+        return terminal;
+    }
+
+    public String getFechaHora() {
+        return fechaHora;
+    }
+
+    public String getVersion() {
+        return version;
+    }
+
+    public String getSessionId() {
+        return sessionId;
+    }
+
+    /**
+     * Fingerprint of the caller Authorization header; cached results are keyed by it.
+     */
+    public String getCallerCredential() {
+        return callerCredential;
+    }
+
+    public boolean isAdmitted() {
+        return admitted;
+    }
+
+    public void setAdmitted(boolean admitted) {
+        this.admitted = admitted;
+    }
+
+    public boolean isAdmissionRejected() {
+        return admissionRejected;
+    }
+
+    public void setAdmissionRejected(boolean admissionRejected) {
+        this.admissionRejected = admissionRejected;
+    }
+
+    public Integer getRetryAfter() {
+        return retryAfter;
+    }
+
+    public void setRetryAfter(Integer retryAfter) {
+        this.retryAfter = retryAfter;
+    }
+
+    public boolean isService1CacheHit() {
+        return service1CacheHit;
+    }
+
+    public void setService1CacheHit(boolean service1CacheHit) {
+        this.service1CacheHit = service1CacheHit;
+    }
+
+    public boolean isService2CacheHit() {
+        return service2CacheHit;
+    }
+
+    public void setService2CacheHit(boolean service2CacheHit) {
+        this.service2CacheHit = service2CacheHit;
+    }
+
+    public boolean isStaleFallback() {
+        return staleFallback;
+    }
+
+    public void setStaleFallback(boolean staleFallback) {
+        this.staleFallback = staleFallback;
+    }
+
+    public boolean isClientFoundInMaster() {
+        return clientFoundInMaster;
+    }
+
+    public void setClientFoundInMaster(boolean clientFoundInMaster) {
+        this.clientFoundInMaster = clientFoundInMaster;
+    }
+
+    public boolean isClientNotFoundInMaster() {
+        return clientNotFoundInMaster;
+    }
+
+    public void setClientNotFoundInMaster(boolean clientNotFoundInMaster) {
+        this.clientNotFoundInMaster = clientNotFoundInMaster;
+    }
+
+    public boolean isCallJceService() {
+        return callJceService;
+    }
+
+    public void setCallJceService(boolean callJceService) {
+        this.callJceService = callJceService;
+    }
+
+    public boolean isClientFoundInJce() {
+        return clientFoundInJce;
+    }
+
+    public void setClientFoundInJce(boolean clientFoundInJce) {
+        this.clientFoundInJce = clientFoundInJce;
+    }
+
+    public boolean isClientNotFoundInJce() {
+        return clientNotFoundInJce;
+    }
+
+    public void setClientNotFoundInJce(boolean clientNotFoundInJce) {
+        this.clientNotFoundInJce = clientNotFoundInJce;
+    }
+
+    public boolean isCallUpdateService() {
+        return callUpdateService;
+    }
+
+    public void setCallUpdateService(boolean callUpdateService) {
+        this.callUpdateService = callUpdateService;
+    }
+
+    public boolean isMasterDataUpdateQueued() {
+        return masterDataUpdateQueued;
+    }
+
+    public void setMasterDataUpdateQueued(boolean masterDataUpdateQueued) {
+        this.masterDataUpdateQueued = masterDataUpdateQueued;
+    }
+
+    public boolean isDataUpdatedSuccessfully() {
+        return dataUpdatedSuccessfully;
+    }
+
+    public void setDataUpdatedSuccessfully(boolean dataUpdatedSuccessfully) {
+        this.dataUpdatedSuccessfully = dataUpdatedSuccessfully;
+    }
+
+    public ConsultarDatosMaestroCeduladosResponse getService2Response() {
+        return service2Response;
+    }
+
+    public void setService2Response(ConsultarDatosMaestroCeduladosResponse service2Response) {
+        this.service2Response = service2Response;
+    }
+
+    public ConsultarDatosJCEDPResponse getJceResponse() {
+        return jceResponse;
+    }
+
+    public void setJceResponse(ConsultarDatosJCEDPResponse jceResponse) {
+        this.jceResponse = jceResponse;
+    }
+
+    public ActualizarDatosMaestroCeduladosRequest getService4Request() {
+        return service4Request;
+    }
+
+    public void setService4Request(ActualizarDatosMaestroCeduladosRequest service4Request) {
+        this.service4Request = service4Request;
+    }
+
+    public ActualizarDatosMaestroCeduladosResponse getService4Response() {
+        return service4Response;
+    }
+
+    public void setService4Response(ActualizarDatosMaestroCeduladosResponse service4Response) {
+        this.service4Response = service4Response;
+    }
+
+    public boolean hasSpeculativeJce() {
+        return speculativeJce != null;
+    }
+
+    public void setSpeculativeJce(Future<BackendResponse> speculativeJce) {
+        this.speculativeJce = speculativeJce;
+    }
+
+    /**
+     * Takes the pending speculative JCE call, so it is no longer cancelled on completion.
+     */
+    public Future<BackendResponse> takeSpeculativeJce() {
+        Future<BackendResponse> taken = speculativeJce;
+        speculativeJce = null;
+        return taken;
+    }
+
+    public ProcessingFailure getFailure() {
+        return failure;
+    }
+
+    public void setFailure(ProcessingFailure failure) {
+        this.failure = failure;
+    }
+}
@@ -0,0 +1,22 @@
+package com.banreservas.integration.exceptions;
+
+import io.quarkus.runtime.annotations.RegisterForReflection;
+
+/**
+ * Thrown instead of calling a backend whose circuit breaker is open or whose
+ * concurrency limit is reached.
+ */
+@RegisterForReflection
+public class BackendUnavailableException extends RuntimeException {
+
+    private final String backend;
+
+    public BackendUnavailableException(String backend, String reason) {
+        super("Backend unavailable (" + reason + "): " + backend);
+        this.backend = backend;
+    }
+
+    public String getBackend() {
+        return backend;
+    }
+}
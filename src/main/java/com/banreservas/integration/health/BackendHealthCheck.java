@@ -0,0 +1,112 @@
+package com.banreservas.integration.health;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.health.HealthCheck;
+import org.eclipse.microprofile.health.HealthCheckResponse;
+import org.eclipse.microprofile.health.HealthCheckResponseBuilder;
+import org.eclipse.microprofile.health.Readiness;
+
+import com.banreservas.integration.admission.AdmissionController;
+import com.banreservas.integration.backend.BackendInvoker;
+import com.banreservas.integration.backend.MasterCedulaMicroBatcher;
+import com.banreservas.integration.backend.MasterDataUpdateJournal;
+import com.banreservas.integration.backend.MasterDataUpdateQueue;
+import com.banreservas.integration.backend.SpeculativeJceLookup;
+import com.banreservas.integration.util.SelfSignedHttpClientConfigurer;
+
+/**
+ * Exposes per-backend call statistics through the health endpoint.
+ */
+@Readiness
+@ApplicationScoped
+public class BackendHealthCheck implements HealthCheck {
+
+    @Inject
+    BackendInvoker backendInvoker;
+
+    @Inject
+    MasterCedulaMicroBatcher masterCedulaMicroBatcher;
+
+    @Inject
+    MasterDataUpdateQueue masterDataUpdateQueue;
+
+    @Inject
+    MasterDataUpdateJournal masterDataUpdateJournal;
+
+    @Inject
+    SpeculativeJceLookup speculativeJceLookup;
+
+    @Inject
+    SelfSignedHttpClientConfigurer selfSignedHttpClientConfigurer;
+
+    @Inject
+    AdmissionController admissionController;
+
+    @Override
+    public HealthCheckResponse call() {
+        HealthCheckResponseBuilder builder = HealthCheckResponse.named("backend-calls").up();
+        backendInvoker.singleFlights().forEach((backend, singleFlight) -> builder
+                .withData(backend + ".coalescing.inFlight", singleFlight.inFlight())
+                .withData(backend + ".coalescing.executed", singleFlight.executed())
+                .withData(backend + ".coalescing.shared", singleFlight.shared()));
+        backendInvoker.hedgers().forEach((backend, hedger) -> builder
+                .withData(backend + ".hedging.p95Ms", hedger.p95Millis())
+                .withData(backend + ".hedging.sent", hedger.sent())
+                .withData(backend + ".hedging.won", hedger.won()));
+        backendInvoker.circuitBreakers().forEach((backend, circuitBreaker) -> builder
+                .withData(backend + ".circuit.state", circuitBreaker.state().name())
+                .withData(backend + ".circuit.failureRate", String.format("%.4f", circuitBreaker.failureRate()))
+                .withData(backend + ".circuit.slowCallRate", String.format("%.4f", circuitBreaker.slowCallRate()))
+                .withData(backend + ".circuit.transitions", circuitBreaker.transitions())
+                .withData(backend + ".circuit.rejected", circuitBreaker.rejected()));
+        builder.withData("retry.sent", backendInvoker.retryBudget().retries())
+               .withData("retry.budgetExhausted", backendInvoker.retryBudget().exhausted());
+        backendInvoker.bulkheads().forEach((backend, bulkhead) -> builder
+                .withData(backend + ".bulkhead.limit", bulkhead.limit())
+                .withData(backend + ".bulkhead.inFlight", bulkhead.inFlight())
+                .withData(backend + ".bulkhead.rejected", bulkhead.rejected()));
+        selfSignedHttpClientConfigurer.poolStats().forEach((backend, stats) -> builder
+                .withData(backend + ".pool.leased", stats.getLeased())
+                .withData(backend + ".pool.pending", stats.getPending())
+                .withData(backend + ".pool.available", stats.getAvailable())
+                .withData(backend + ".pool.max", stats.getMax()));
+        if (admissionController.isEnabled()) {
+            builder.withData("admission.overloaded", admissionController.isOverloaded())
+                   .withData("admission.inFlight", admissionController.inFlight())
+                   .withData("admission.admitted", admissionController.admitted())
+                   .withData("admission.shedByDelay", admissionController.shedByDelay())
+                   .withData("admission.shedByInFlight", admissionController.shedByInFlight());
+        }
+        if (masterCedulaMicroBatcher.isEnabled()) {
+            builder.withData("microBatch.batchesSent", masterCedulaMicroBatcher.batchesSent())
+                   .withData("microBatch.itemsSent", masterCedulaMicroBatcher.itemsSent());
+        }
+        if (masterDataUpdateQueue.isEnabled()) {
+            builder.withData("writeBehind.backlog", masterDataUpdateQueue.backlog())
+                   .withData("writeBehind.enqueued", masterDataUpdateQueue.enqueued())
+                   .withData("writeBehind.coalesced", masterDataUpdateQueue.coalesced())
+                   .withData("writeBehind.rejected", masterDataUpdateQueue.rejected())
+                   .withData("writeBehind.deferred", masterDataUpdateQueue.deferred())
+                   .withData("writeBehind.succeeded", masterDataUpdateQueue.succeeded())
+                   .withData("writeBehind.failed", masterDataUpdateQueue.failed())
+                   .withData("writeBehind.deadLettered", masterDataUpdateQueue.deadLettered());
+        }
+        if (masterDataUpdateJournal.isEnabled()) {
+            builder.withData("journal.backlog", masterDataUpdateJournal.backlog())
+                   .withData("journal.oldestAgeMs", masterDataUpdateJournal.oldestAgeMillis())
+                   .withData("journal.segments", masterDataUpdateJournal.segmentCount())
+                   .withData("journal.appended", masterDataUpdateJournal.appended())
+                   .withData("journal.dropped", masterDataUpdateJournal.dropped())
+                   .withData("journal.unwritten", masterDataUpdateJournal.unwritten());
+        }
+        if (speculativeJceLookup.isEnabled()) {
+            builder.withData("speculativeJce.missRate", String.format("%.4f", speculativeJceLookup.missRate()))
+                   .withData("speculativeJce.started", speculativeJceLookup.started())
+                   .withData("speculativeJce.used", speculativeJceLookup.used())
+                   .withData("speculativeJce.discarded", speculativeJceLookup.discarded())
+                   .withData("speculativeJce.deniedByBudget", speculativeJceLookup.denied());
+        }
+        return builder.build();
+    }
+}
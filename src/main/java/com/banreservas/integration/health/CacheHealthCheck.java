@@ -0,0 +1,45 @@
+package com.banreservas.integration.health;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.health.HealthCheck;
+import org.eclipse.microprofile.health.HealthCheckResponse;
+import org.eclipse.microprofile.health.HealthCheckResponseBuilder;
+import org.eclipse.microprofile.health.Readiness;
+
+import com.banreservas.integration.cache.CacheStats;
+import com.banreservas.integration.cache.JuridicalClientCache;
+import com.banreservas.integration.cache.MasterCedulaCache;
+
+/**
+ * Exposes hit, miss and eviction counters of the backend caches through the health endpoint.
+ * The check is always UP; the data is informational and used to size the caches.
+ */
+@Readiness
+@ApplicationScoped
+public class CacheHealthCheck implements HealthCheck {
+
+    @Inject
+    MasterCedulaCache masterCedulaCache;
+
+    @Inject
+    JuridicalClientCache juridicalClientCache;
+
+    @Override
+    public HealthCheckResponse call() {
+        HealthCheckResponseBuilder builder = HealthCheckResponse.named("backend-caches").up();
+        addStats(builder, "maestroCedulados", masterCedulaCache.stats());
+        addStats(builder, "clienteJuridico", juridicalClientCache.stats());
+        return builder.build();
+    }
+
+    static void addStats(HealthCheckResponseBuilder builder, String prefix, CacheStats stats) {
+        builder.withData(prefix + ".size", stats.size())
+               .withData(prefix + ".maxEntries", stats.maxEntries())
+               .withData(prefix + ".hits", stats.hits())
+               .withData(prefix + ".misses", stats.misses())
+               .withData(prefix + ".evictions", stats.evictions())
+               .withData(prefix + ".expirations", stats.expirations())
+               .withData(prefix + ".hitRatio", String.format("%.4f", stats.hitRatio()));
+    }
+}
@@ -0,0 +1,45 @@
+package com.banreservas.integration.orchestration;
+
+/**
+ * States of the ConsultarDatosGeneralesCliente orchestration.
+ *
+ * RNC and Pasaporte go to the juridical client service; Cedula goes to the master cedula
+ * service and, on 904 or forced update, to JCE and then to the update service.
+ */
+public enum OrchestrationState {
+
+    /** Select the first backend from the identification type. */
+    ROUTE,
+
+    /** Call ConsultarDatosGeneralesClienteJuridico (Service 1). */
+    JURIDICAL_CLIENT,
+
+    /** Call ConsultarDatosMaestroCedulados (Service 2). */
+    MASTER_CEDULA,
+
+    /** Decide between JCE and the master data response. */
+    MASTER_CEDULA_RESULT,
+
+    /** Call ConsultarDatosJCEDP (Service 3). */
+    JCE,
+
+    /** Call ActualizarDatosMaestroCedulados (Service 4), or queue the update. */
+    UPDATE,
+
+    /** Map the master cedula response. */
+    MAP_MASTER_RESPONSE,
+
+    /** Map the JCE response when the update was queued. */
+    MAP_JCE_RESPONSE,
+
+    /** Map the update service response. */
+    MAP_UPDATE_RESPONSE,
+
+    /** Encode the final response body with HTTP 200. */
+    RESPOND,
+
+    /** Encode the reported error. */
+    FAIL,
+
+    DONE
+}
@@ -0,0 +1,469 @@
+package com.banreservas.integration.orchestration;
+
+import java.net.SocketTimeoutException;
+import java.util.EnumMap;
+import java.util.Map;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.apache.camel.Exchange;
+import org.apache.camel.Message;
+import org.apache.camel.Processor;
+import org.apache.camel.util.ObjectHelper;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.banreservas.integration.backend.BackendEndpoints;
+import com.banreservas.integration.backend.BackendInvoker;
+import com.banreservas.integration.backend.MasterCedulaMicroBatcher;
+import com.banreservas.integration.backend.SpeculativeJceLookup;
+import com.banreservas.integration.context.OrchestrationContext;
+import com.banreservas.integration.exceptions.BackendUnavailableException;
+import com.banreservas.integration.processors.AwaitSpeculativeJceProcessor;
+import com.banreservas.integration.processors.EncodeFinalResponseProcessor;
+import com.banreservas.integration.processors.DeferMasterDataUpdateProcessor;
+import com.banreservas.integration.processors.EnqueueMasterDataUpdateProcessor;
+import com.banreservas.integration.processors.ErrorResponseProcessor;
+import com.banreservas.integration.processors.FinalResponseMapper;
+import com.banreservas.integration.processors.GenerateService1RequestProcessor;
+import com.banreservas.integration.processors.GenerateService2RequestProcessor;
+import com.banreservas.integration.processors.GenerateService3RequestProcessor;
+import com.banreservas.integration.processors.GenerateService4RequestProcessor;
+import com.banreservas.integration.processors.LookupService1CacheProcessor;
+import com.banreservas.integration.processors.LookupService2CacheProcessor;
+import com.banreservas.integration.processors.MasterCedulaMicroBatchProcessor;
+import com.banreservas.integration.processors.ProcessService1ResponseProcessor;
+import com.banreservas.integration.processors.ProcessService2ResponseProcessor;
+import com.banreservas.integration.processors.ProcessService3ResponseProcessor;
+import com.banreservas.integration.processors.ProcessService4ResponseProcessor;
+import com.banreservas.integration.processors.StaleCacheFallbackProcessor;
+import com.banreservas.integration.processors.StartSpeculativeJceProcessor;
+import com.banreservas.integration.util.Constants;
+import com.banreservas.integration.util.JsonReaders;
+import com.banreservas.integration.util.ProcessingFailure;
+
+/**
+ * Runs the ConsultarDatosGeneralesCliente business rules as a precompiled state machine,
+ * instead of the choice() graph spread over the service routes and their direct: hops.
+ *
+ * It reuses the processors of the service routes and calls the backends through processors
+ * created once for their static endpoints. HTTP status handling, stale cache fallback and
+ * error messages match the service routes.
+ */
+@ApplicationScoped
+public class OrchestrationStateMachine implements Processor {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrchestrationStateMachine.class);
+
+    private static final ProcessingFailure INVALID_IDENTIFICATION_TYPE = new ProcessingFailure(
+            Constants.HTTP_BAD_REQUEST, Constants.VALIDATION_MESSAGE_INVALID_IDENTIFICATION_TYPE);
+    private static final ProcessingFailure MASTER_CEDULA_UNEXPECTED = new ProcessingFailure(
+            Constants.HTTP_INTERNAL_ERROR, Constants.ERROR_MESSAGE_MASTER_CEDULA_UNEXPECTED);
+    private static final ProcessingFailure CLIENT_NOT_FOUND = new ProcessingFailure(
+            Constants.HTTP_BAD_REQUEST, Constants.ERROR_MESSAGE_CLIENT_NOT_FOUND);
+    private static final ProcessingFailure UPDATE_FAILED = new ProcessingFailure(
+            Constants.HTTP_INTERNAL_ERROR, Constants.ERROR_MESSAGE_UPDATE_FAILED);
+    private static final ProcessingFailure SERVICE_UNAVAILABLE = new ProcessingFailure(
+            Constants.HTTP_SERVICE_UNAVAILABLE, Constants.ERROR_MESSAGE_SERVICE_UNAVAILABLE);
+
+    private static final Backend JURIDICAL_CLIENT = new Backend("juridical client",
+            Constants.ERROR_MESSAGE_JURIDICAL_CLIENT_TIMEOUT, Constants.ERROR_MESSAGE_JURIDICAL_CLIENT_BAD_REQUEST,
+            Constants.ERROR_MESSAGE_JURIDICAL_CLIENT_UNAUTHORIZED, Constants.ERROR_MESSAGE_JURIDICAL_CLIENT_INTERNAL_ERROR);
+    private static final Backend MASTER_CEDULA = new Backend("master cedula",
+            Constants.ERROR_MESSAGE_MASTER_CEDULA_TIMEOUT, Constants.ERROR_MESSAGE_MASTER_CEDULA_BAD_REQUEST,
+            Constants.ERROR_MESSAGE_MASTER_CEDULA_UNAUTHORIZED, Constants.ERROR_MESSAGE_MASTER_CEDULA_INTERNAL_ERROR);
+    private static final Backend JCE = new Backend("JCE",
+            Constants.ERROR_MESSAGE_JCE_TIMEOUT, Constants.ERROR_MESSAGE_JCE_BAD_REQUEST,
+            Constants.ERROR_MESSAGE_JCE_UNAUTHORIZED, Constants.ERROR_MESSAGE_JCE_INTERNAL_ERROR);
+    private static final Backend UPDATE = new Backend("update",
+            Constants.ERROR_MESSAGE_UPDATE_TIMEOUT, Constants.ERROR_MESSAGE_UPDATE_BAD_REQUEST,
+            Constants.ERROR_MESSAGE_UPDATE_UNAUTHORIZED, Constants.ERROR_MESSAGE_UPDATE_INTERNAL_ERROR);
+
+    @Inject
+    BackendEndpoints backendEndpoints;
+
+    @Inject
+    BackendInvoker backendInvoker;
+
+    @Inject
+    MasterCedulaMicroBatcher masterCedulaMicroBatcher;
+
+    @Inject
+    SpeculativeJceLookup speculativeJceLookup;
+
+    @Inject
+    LookupService1CacheProcessor lookupService1CacheProcessor;
+
+    @Inject
+    LookupService2CacheProcessor lookupService2CacheProcessor;
+
+    @Inject
+    GenerateService1RequestProcessor generateService1RequestProcessor;
+
+    @Inject
+    GenerateService2RequestProcessor generateService2RequestProcessor;
+
+    @Inject
+    GenerateService3RequestProcessor generateService3RequestProcessor;
+
+    @Inject
+    GenerateService4RequestProcessor generateService4RequestProcessor;
+
+    @Inject
+    ProcessService1ResponseProcessor processService1ResponseProcessor;
+
+    @Inject
+    ProcessService2ResponseProcessor processService2ResponseProcessor;
+
+    @Inject
+    ProcessService3ResponseProcessor processService3ResponseProcessor;
+
+    @Inject
+    ProcessService4ResponseProcessor processService4ResponseProcessor;
+
+    @Inject
+    StartSpeculativeJceProcessor startSpeculativeJceProcessor;
+
+    @Inject
+    AwaitSpeculativeJceProcessor awaitSpeculativeJceProcessor;
+
+    @Inject
+    MasterCedulaMicroBatchProcessor masterCedulaMicroBatchProcessor;
+
+    @Inject
+    EnqueueMasterDataUpdateProcessor enqueueMasterDataUpdateProcessor;
+
+    @Inject
+    DeferMasterDataUpdateProcessor deferMasterDataUpdateProcessor;
+
+    @Inject
+    StaleCacheFallbackProcessor staleCacheFallbackProcessor;
+
+    @Inject
+    FinalResponseMapper finalResponseMapper;
+
+    @Inject
+    EncodeFinalResponseProcessor encodeFinalResponseProcessor;
+
+    @Inject
+    ErrorResponseProcessor errorResponseProcessor;
+
+    @ConfigProperty(name = "maquina.estados.consultar.datos.generales.cliente.enabled", defaultValue = "false")
+    boolean enabled;
+
+    private final Map<OrchestrationState, Backend> backendOf = new EnumMap<>(OrchestrationState.class);
+
+    private StateMachine<OrchestrationState> stateMachine;
+
+    @PostConstruct
+    void init() {
+        Processor service1Call = backendInvoker.call(Constants.SERVICE_CONSULTAR_DATOS_GENERALES_CLIENTE_JURIDICO,
+                backendEndpoints.juridicalClient());
+        Processor service2Call = backendInvoker.call(Constants.SERVICE_CONSULTAR_DATOS_MAESTRO_CEDULADOS,
+                backendEndpoints.masterCedula());
+        Processor service3Call = backendInvoker.call(Constants.SERVICE_CONSULTAR_DATOS_JCEDP,
+                backendEndpoints.jce());
+        Processor service4Call = backendInvoker.call(Constants.SERVICE_ACTUALIZAR_DATOS_MAESTRO_CEDULADOS,
+                backendEndpoints.masterCedulaUpdate());
+
+        backendOf.put(OrchestrationState.JURIDICAL_CLIENT, JURIDICAL_CLIENT);
+        backendOf.put(OrchestrationState.MASTER_CEDULA, MASTER_CEDULA);
+        backendOf.put(OrchestrationState.MASTER_CEDULA_RESULT, MASTER_CEDULA);
+        backendOf.put(OrchestrationState.JCE, JCE);
+        backendOf.put(OrchestrationState.UPDATE, UPDATE);
+
+        stateMachine = StateMachine.builder(OrchestrationState.class, OrchestrationState.DONE)
+                .on(OrchestrationState.ROUTE, this::route)
+                .on(OrchestrationState.JURIDICAL_CLIENT, exchange -> callJuridicalClient(exchange, service1Call))
+                .on(OrchestrationState.MASTER_CEDULA, exchange -> callMasterCedula(exchange, service2Call))
+                .on(OrchestrationState.MASTER_CEDULA_RESULT, this::masterCedulaResult)
+                .on(OrchestrationState.JCE, exchange -> callJce(exchange, service3Call))
+                .on(OrchestrationState.UPDATE, exchange -> callUpdate(exchange, service4Call))
+                .on(OrchestrationState.MAP_MASTER_RESPONSE, exchange -> map(exchange, finalResponseMapper::mapMasterResponse))
+                .on(OrchestrationState.MAP_JCE_RESPONSE, exchange -> map(exchange, finalResponseMapper::mapJceResponse))
+                .on(OrchestrationState.MAP_UPDATE_RESPONSE, exchange -> map(exchange, finalResponseMapper::mapUpdateResponse))
+                .on(OrchestrationState.RESPOND, this::respond)
+                .on(OrchestrationState.FAIL, this::fail)
+                .recover(this::recover)
+                .build();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public void process(Exchange exchange) throws Exception {
+        stateMachine.run(OrchestrationState.ROUTE, exchange);
+    }
+
+    private OrchestrationState route(Exchange exchange) {
+        String identificationType = OrchestrationContext.of(exchange).getIdentificationType();
+        if (Constants.IDENTIFICATION_TYPE_CEDULA.equals(identificationType)) {
+            logger.info("Routing to master cedula service for Cedula");
+            return OrchestrationState.MASTER_CEDULA;
+        }
+        if (Constants.IDENTIFICATION_TYPE_RNC.equals(identificationType)
+                || Constants.IDENTIFICATION_TYPE_PASSPORT.equals(identificationType)) {
+            logger.info("Routing to juridical client service for {}", identificationType);
+            return OrchestrationState.JURIDICAL_CLIENT;
+        }
+        logger.warn("Invalid identification type: {}", identificationType);
+        INVALID_IDENTIFICATION_TYPE.report(exchange);
+        return OrchestrationState.FAIL;
+    }
+
+    private OrchestrationState callJuridicalClient(Exchange exchange, Processor service1Call) throws Exception {
+        logger.info("Calling ConsultarDatosGeneralesClienteJuridico service");
+
+        lookupService1CacheProcessor.process(exchange);
+        if (OrchestrationContext.of(exchange).isService1CacheHit()) {
+            logger.info("Juridical client cache hit - Skipping backend call");
+            return OrchestrationState.RESPOND;
+        }
+
+        generateService1RequestProcessor.process(exchange);
+        if (ProcessingFailure.isReported(exchange)) {
+            return OrchestrationState.FAIL;
+        }
+        send(exchange, service1Call);
+
+        if (!isOk(exchange)) {
+            return failOnStatus(exchange, JURIDICAL_CLIENT);
+        }
+        logger.info("Juridical client service returned success - HTTP 200");
+        processService1ResponseProcessor.process(exchange);
+        return ProcessingFailure.isReported(exchange) ? OrchestrationState.FAIL : OrchestrationState.RESPOND;
+    }
+
+    private OrchestrationState callMasterCedula(Exchange exchange, Processor service2Call) throws Exception {
+        logger.info("Calling ConsultarDatosMaestroCedulados service");
+
+        lookupService2CacheProcessor.process(exchange);
+        if (OrchestrationContext.of(exchange).isService2CacheHit()) {
+            logger.info("Master cedula cache hit - Skipping backend call");
+            return OrchestrationState.MASTER_CEDULA_RESULT;
+        }
+
+        generateService2RequestProcessor.process(exchange);
+        if (speculativeJceLookup.isEnabled()) {
+            startSpeculativeJceProcessor.process(exchange);
+        }
+        if (masterCedulaMicroBatcher.isEnabled()) {
+            masterCedulaMicroBatchProcessor.process(exchange);
+        } else {
+            send(exchange, service2Call);
+        }
+
+        if (!isOk(exchange)) {
+            return failOnStatus(exchange, MASTER_CEDULA);
+        }
+        logger.info("Master cedula service returned success - HTTP 200");
+        processService2ResponseProcessor.process(exchange);
+        return OrchestrationState.MASTER_CEDULA_RESULT;
+    }
+
+    private OrchestrationState masterCedulaResult(Exchange exchange) {
+        OrchestrationContext context = OrchestrationContext.of(exchange);
+        if (context.getFailure() != null) {
+            logger.error("Error in service2 processing: {}", context.getFailure().message());
+            return OrchestrationState.FAIL;
+        }
+        if (context.isCallJceService()) {
+            logger.info("Client not found in master data or force update requested - Calling JCE service");
+            return OrchestrationState.JCE;
+        }
+        if (context.isClientFoundInMaster()) {
+            logger.info("Client found in master data - Preparing final response");
+            return OrchestrationState.MAP_MASTER_RESPONSE;
+        }
+        logger.error("Unexpected condition after master cedula service call");
+        MASTER_CEDULA_UNEXPECTED.report(exchange);
+        return OrchestrationState.FAIL;
+    }
+
+    private OrchestrationState callJce(Exchange exchange, Processor service3Call) throws Exception {
+        logger.info("Calling ConsultarDatosJCEDP service");
+
+        if (OrchestrationContext.of(exchange).hasSpeculativeJce()) {
+            awaitSpeculativeJceProcessor.process(exchange);
+        } else {
+            generateService3RequestProcessor.process(exchange);
+            send(exchange, service3Call);
+        }
+
+        if (!isOk(exchange)) {
+            return failOnStatus(exchange, JCE);
+        }
+        logger.info("JCE service returned success - HTTP 200");
+        processService3ResponseProcessor.process(exchange);
+
+        OrchestrationContext context = OrchestrationContext.of(exchange);
+        if (context.getFailure() != null) {
+            return OrchestrationState.FAIL;
+        }
+        if (context.isCallUpdateService()) {
+            logger.info("Client found in JCE - Calling update service");
+            return OrchestrationState.UPDATE;
+        }
+        if (context.isClientNotFoundInJce()) {
+            logger.warn("Client not found in JCE - Returning error");
+            CLIENT_NOT_FOUND.report(exchange);
+            return OrchestrationState.FAIL;
+        }
+        return OrchestrationState.DONE;
+    }
+
+    private OrchestrationState callUpdate(Exchange exchange, Processor service4Call) throws Exception {
+        logger.info("Calling ActualizarDatosMaestroCedulados service");
+
+        generateService4RequestProcessor.process(exchange);
+
+        // Write-behind mode: answer from JCE data and update in background
+        enqueueMasterDataUpdateProcessor.process(exchange);
+        if (OrchestrationContext.of(exchange).isMasterDataUpdateQueued()) {
+            return OrchestrationState.MAP_JCE_RESPONSE;
+        }
+        send(exchange, service4Call);
+
+        if (!isOk(exchange)) {
+            return failOnStatus(exchange, UPDATE);
+        }
+        logger.info("Update service returned success - HTTP 200");
+        processService4ResponseProcessor.process(exchange);
+
+        if (OrchestrationContext.of(exchange).isDataUpdatedSuccessfully()) {
+            logger.info("Data updated successfully - Preparing final response");
+            return OrchestrationState.MAP_UPDATE_RESPONSE;
+        }
+        logger.error("Update failed - Processing error");
+        UPDATE_FAILED.report(exchange);
+        return OrchestrationState.FAIL;
+    }
+
+    private OrchestrationState map(Exchange exchange, Processor mapper) throws Exception {
+        mapper.process(exchange);
+        if (ProcessingFailure.isReported(exchange)) {
+            logger.error("Error processing final response: {}", exchange.getProperty("errorMessage"));
+            return OrchestrationState.FAIL;
+        }
+        return OrchestrationState.RESPOND;
+    }
+
+    private OrchestrationState respond(Exchange exchange) throws Exception {
+        encodeFinalResponseProcessor.process(exchange);
+        exchange.getIn().setHeader(Exchange.HTTP_RESPONSE_CODE, Constants.HTTP_OK);
+        return OrchestrationState.DONE;
+    }
+
+    private OrchestrationState fail(Exchange exchange) throws Exception {
+        errorResponseProcessor.process(exchange);
+        return OrchestrationState.DONE;
+    }
+
+    /**
+     * Same outcomes as the onException handlers of the service and response routes; failures
+     * outside a backend call or mapping step are left to the orchestrator route.
+     */
+    private OrchestrationState recover(OrchestrationState state, Exchange exchange, Exception exception) throws Exception {
+        if (state == OrchestrationState.MAP_MASTER_RESPONSE || state == OrchestrationState.MAP_JCE_RESPONSE
+                || state == OrchestrationState.MAP_UPDATE_RESPONSE || state == OrchestrationState.RESPOND) {
+            logger.error("Error processing final response: {}", exception.getMessage());
+            new ProcessingFailure(Constants.HTTP_INTERNAL_ERROR,
+                    "Error processing final response: " + exception.getMessage()).report(exchange);
+            return OrchestrationState.FAIL;
+        }
+
+        Backend backend = backendOf.get(state);
+        if (backend == null) {
+            throw exception;
+        }
+
+        if (ObjectHelper.getException(SocketTimeoutException.class, exception) != null) {
+            logger.error("Timeout calling {} service", backend.label());
+            backend.timeout().report(exchange);
+            return OrchestrationState.FAIL;
+        }
+
+        BackendUnavailableException unavailable = ObjectHelper.getException(BackendUnavailableException.class, exception);
+        if (unavailable != null && backend == UPDATE) {
+            logger.warn("Update service unavailable: {}", unavailable.getMessage());
+            deferMasterDataUpdateProcessor.process(exchange);
+            return OrchestrationContext.of(exchange).isMasterDataUpdateQueued()
+                    ? OrchestrationState.MAP_JCE_RESPONSE : OrchestrationState.FAIL;
+        }
+        if (unavailable != null) {
+            logger.warn("{} service unavailable: {}", backend.label(), unavailable.getMessage());
+            staleCacheFallbackProcessor.process(exchange);
+            if (!OrchestrationContext.of(exchange).isStaleFallback()) {
+                SERVICE_UNAVAILABLE.report(exchange);
+                return OrchestrationState.FAIL;
+            }
+            return backend == JURIDICAL_CLIENT ? OrchestrationState.RESPOND : OrchestrationState.MAP_MASTER_RESPONSE;
+        }
+
+        logger.error("Error calling {} service: {}", backend.label(), exception.getMessage());
+        new ProcessingFailure(Constants.HTTP_INTERNAL_ERROR,
+                "Error in " + backend.label() + " service: " + exception.getMessage()).report(exchange);
+        return OrchestrationState.FAIL;
+    }
+
+    private static void send(Exchange exchange, Processor call) throws Exception {
+        Message in = exchange.getIn();
+        in.setBody(JsonReaders.WRITER.writeValueAsBytes(in.getBody()));
+        in.setHeader(Constants.HEADER_SESSION_ID, OrchestrationContext.of(exchange).getSessionId());
+        in.setHeader(Constants.HEADER_CONTENT_TYPE, "application/json");
+        in.setHeader(Exchange.HTTP_METHOD, "POST");
+        call.process(exchange);
+    }
+
+    private static boolean isOk(Exchange exchange) {
+        return exchange.getIn().getHeader(Exchange.HTTP_RESPONSE_CODE, 0, Integer.class) == Constants.HTTP_OK;
+    }
+
+    private static OrchestrationState failOnStatus(Exchange exchange, Backend backend) {
+        int status = exchange.getIn().getHeader(Exchange.HTTP_RESPONSE_CODE, 0, Integer.class);
+        switch (status) {
+            case Constants.HTTP_BAD_REQUEST -> {
+                logger.warn("{} service returned bad request - HTTP 400", backend.label());
+                backend.badRequest().report(exchange);
+            }
+            case Constants.HTTP_UNAUTHORIZED -> {
+                logger.warn("{} service returned unauthorized - HTTP 401", backend.label());
+                backend.unauthorized().report(exchange);
+            }
+            case Constants.HTTP_INTERNAL_ERROR -> {
+                logger.error("{} service returned internal error - HTTP 500", backend.label());
+                backend.internalError().report(exchange);
+            }
+            default -> {
+                logger.error("{} service returned unexpected code - HTTP {}", backend.label(), status);
+                new ProcessingFailure(Constants.HTTP_BAD_GATEWAY,
+                        "Unexpected error from " + backend.label() + " service: HTTP " + status).report(exchange);
+            }
+        }
+        return OrchestrationState.FAIL;
+    }
+
+    /**
+     * Error responses of a backend, as answered by its service route.
+     */
+    private record Backend(
+            String label,
+            ProcessingFailure timeout,
+            ProcessingFailure badRequest,
+            ProcessingFailure unauthorized,
+            ProcessingFailure internalError
+    ) {
+
+        Backend(String label, String timeout, String badRequest, String unauthorized, String internalError) {
+            this(label,
+                    new ProcessingFailure(Constants.HTTP_INTERNAL_ERROR, timeout),
+                    new ProcessingFailure(Constants.HTTP_BAD_REQUEST, badRequest),
+                    new ProcessingFailure(Constants.HTTP_UNAUTHORIZED, unauthorized),
+                    new ProcessingFailure(Constants.HTTP_BAD_GATEWAY, internalError));
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.banreservas.integration.orchestration;
+
+import java.util.Objects;
+
+import org.apache.camel.Exchange;
+
+/**
+ * Precompiled state machine driving an exchange from an initial state to a terminal state.
+ *
+ * Transitions are kept in an array indexed by state ordinal, so every step is a constant-time
+ * lookup and a direct call, without expression evaluation or endpoint resolution. The table is
+ * validated when the machine is built: every state but the terminal one needs a transition.
+ *
+ * @param <S> state type
+ */
+public final class StateMachine<S extends Enum<S>> {
+
+    /**
+     * Work done in a state; returns the next state.
+     */
+    @FunctionalInterface
+    public interface Transition<S> {
+
+        S apply(Exchange exchange) throws Exception;
+    }
+
+    /**
+     * Handles an exception thrown by the transition of a state; returns the next state or
+     * rethrows the exception to the caller.
+     */
+    @FunctionalInterface
+    public interface Recovery<S> {
+
+        S recover(S state, Exchange exchange, Exception exception) throws Exception;
+    }
+
+    private final Transition<S>[] transitions;
+    private final S terminal;
+    private final Recovery<S> recovery;
+
+    private StateMachine(Transition<S>[] transitions, S terminal, Recovery<S> recovery) {
+        this.transitions = transitions;
+        this.terminal = terminal;
+        this.recovery = recovery;
+    }
+
+    public static <S extends Enum<S>> Builder<S> builder(Class<S> states, S terminal) {
+        return new Builder<>(states, terminal);
+    }
+
+    /**
+     * Runs the exchange from the given state until the terminal state is reached.
+     */
+    public void run(S initial, Exchange exchange) throws Exception {
+        S state = initial;
+        while (state != terminal) {
+            try {
+                state = transitions[state.ordinal()].apply(exchange);
+            } catch (Exception e) {
+                state = recovery.recover(state, exchange, e);
+            }
+        }
+    }
+
+    public static final class Builder<S extends Enum<S>> {
+
+        private final S[] states;
+        private final S terminal;
+        private final Transition<S>[] transitions;
+        private Recovery<S> recovery = (state, exchange, exception) -> {
+            throw exception;
+        };
+
+        @SuppressWarnings("unchecked")
+        private Builder(Class<S> type, S terminal) {
+            this.states = type.getEnumConstants();
+            this.terminal = Objects.requireNonNull(terminal);
+            this.transitions = new Transition[states.length];
+        }
+
+        public Builder<S> on(S state, Transition<S> transition) {
+            if (state == terminal) {
+                throw new IllegalArgumentException("Terminal state cannot have a transition: " + state);
+            }
+            if (transitions[state.ordinal()] != null) {
+                throw new IllegalArgumentException("Duplicate transition for state: " + state);
+            }
+            transitions[state.ordinal()] = Objects.requireNonNull(transition);
+            return this;
+        }
+
+        public Builder<S> recover(Recovery<S> recovery) {
+            this.recovery = Objects.requireNonNull(recovery);
+            return this;
+        }
+
+        public StateMachine<S> build() {
+            for (S state : states) {
+                if (state != terminal && transitions[state.ordinal()] == null) {
+                    throw new IllegalStateException("Missing transition for state: " + state);
+                }
+            }
+            return new StateMachine<>(transitions.clone(), terminal, recovery);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.banreservas.integration.processors;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.support.SynchronizationAdapter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.banreservas.integration.admission.AdmissionController;
+import com.banreservas.integration.context.OrchestrationContext;
+import com.banreservas.integration.util.Constants;
+
+/**
+ * Processor to admit or shed an incoming request at ingress.
+ * The queueing delay is measured from the creation of the exchange. Shed requests get the
+ * admissionRejected flag with a 503 error and Retry-After; admitted requests are
+ * released when the exchange completes. Batch items of an admitted batch are not counted again.
+ */
+@ApplicationScoped
+public class AdmissionControlProcessor implements Processor {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdmissionControlProcessor.class);
+
+    @Inject
+    AdmissionController admissionController;
+
+    @Override
+    public void process(Exchange exchange) throws Exception {
+        OrchestrationContext context = OrchestrationContext.of(exchange);
+        if (!admissionController.isEnabled() || context.isAdmitted()) {
+            return;
+        }
+
+        long queueDelay = exchange.getClock().elapsed();
+        if (!admissionController.tryAdmit(queueDelay)) {
+            logger.warn("Solicitud rechazada por sobrecarga - Espera: {} ms, En curso: {}",
+                       queueDelay, admissionController.inFlight());
+            context.setAdmissionRejected(true);
+            exchange.setProperty("errorCode", Constants.HTTP_SERVICE_UNAVAILABLE);
+            exchange.setProperty("errorMessage", Constants.ERROR_MESSAGE_SERVICE_UNAVAILABLE);
+            context.setRetryAfter(admissionController.retryAfterSeconds());
+            return;
+        }
+
+        context.setAdmitted(true);
+        exchange.getExchangeExtension().addOnCompletion(new SynchronizationAdapter() {
+            @Override
+            public void onDone(Exchange completed) {
+                admissionController.release();
+            }
+        });
+    }
+}
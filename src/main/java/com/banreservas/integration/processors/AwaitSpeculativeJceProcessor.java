@@ -0,0 +1,39 @@
+package com.banreservas.integration.processors;
+
+import java.util.concurrent.Future;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.banreservas.integration.backend.BackendResponse;
+import com.banreservas.integration.backend.Deadline;
+import com.banreservas.integration.backend.SpeculativeJceLookup;
+import com.banreservas.integration.context.OrchestrationContext;
+
+/**
+ * Processor to take the JCE response from the speculative call started with the master lookup.
+ * Leaves the HTTP status and body on the exchange, like a direct call.
+ */
+@ApplicationScoped
+public class AwaitSpeculativeJceProcessor implements Processor {
+
+    private static final Logger logger = LoggerFactory.getLogger(AwaitSpeculativeJceProcessor.class);
+
+    @Inject
+    SpeculativeJceLookup speculativeJceLookup;
+
+    @Override
+    public void process(Exchange exchange) throws Exception {
+        Future<BackendResponse> speculativeJce = OrchestrationContext.of(exchange).takeSpeculativeJce();
+
+        logger.info("Usando respuesta de consulta JCE especulativa");
+        speculativeJceLookup.recordUsed();
+
+        Deadline.await(speculativeJce, Deadline.remainingNanos(exchange), "speculative JCE call")
+                .applyTo(exchange);
+    }
+}
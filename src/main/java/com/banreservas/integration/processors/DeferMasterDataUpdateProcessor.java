@@ -0,0 +1,55 @@
+package com.banreservas.integration.processors;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.banreservas.integration.backend.MasterDataUpdateQueue;
+import com.banreservas.integration.context.OrchestrationContext;
+import com.banreservas.integration.model.inbound.request.ConsultarDatosGeneralesClienteRequest;
+import com.banreservas.integration.util.Constants;
+import com.banreservas.integration.util.ProcessingFailure;
+
+/**
+ * Processor for an ActualizarDatosMaestroCedulados call rejected because the service is
+ * unavailable (circuit open or concurrency limit). With write-behind enabled the update is
+ * handed to the queue and masterDataUpdateQueued is set, so the route answers from the JCE data;
+ * otherwise a service unavailable failure is reported, since answering would drop the update.
+ */
+@ApplicationScoped
+public class DeferMasterDataUpdateProcessor implements Processor {
+
+    private static final Logger logger = LoggerFactory.getLogger(DeferMasterDataUpdateProcessor.class);
+
+    private static final ProcessingFailure SERVICE_UNAVAILABLE = new ProcessingFailure(
+            Constants.HTTP_SERVICE_UNAVAILABLE, Constants.ERROR_MESSAGE_SERVICE_UNAVAILABLE);
+
+    @Inject
+    MasterDataUpdateQueue masterDataUpdateQueue;
+
+    @Override
+    public void process(Exchange exchange) throws Exception {
+        OrchestrationContext context = OrchestrationContext.of(exchange);
+        ConsultarDatosGeneralesClienteRequest mainRequest = context.getMainRequest();
+
+        if (!masterDataUpdateQueue.isEnabled() || context.getService4Request() == null) {
+            logger.warn("Servicio de actualización no disponible - ID: {}", mainRequest.identification());
+            context.setMasterDataUpdateQueued(false);
+            SERVICE_UNAVAILABLE.report(exchange);
+            return;
+        }
+
+        masterDataUpdateQueue.defer(
+                mainRequest.identification(),
+                context.getService4Request(),
+                exchange.getIn().getHeader(Constants.HEADER_AUTHORIZATION, String.class),
+                context.getSessionId());
+
+        logger.warn("Servicio de actualización no disponible, actualización encolada - ID: {}",
+                   mainRequest.identification());
+        context.setMasterDataUpdateQueued(true);
+    }
+}
@@ -0,0 +1,134 @@
+package com.banreservas.integration.processors;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+
+import com.banreservas.integration.model.outbound.response.ClientDto;
+import com.banreservas.integration.model.outbound.response.ConsultarDatosGeneralesClienteResponse;
+import com.banreservas.integration.model.outbound.response.HeaderDto;
+import com.banreservas.integration.util.Constants;
+import com.banreservas.integration.util.JsonReaders;
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+
+/**
+ * Processor to encode the final ConsultarDatosGeneralesClienteResponse body as JSON bytes.
+ * Successful responses are written field by field after a pre-encoded success header, into
+ * a buffer sized for the response; other responses go through Jackson.
+ */
+@ApplicationScoped
+public class EncodeFinalResponseProcessor implements Processor {
+
+    private static final byte[] SUCCESS_PREFIX = successPrefix();
+    private static final byte[] TYPE_FIELD = ascii(",\"type\":");
+    private static final byte[] BUSINESS_NAME_FIELD = ascii("},\"businessName\":");
+    private static final byte[] TRADE_NAME_FIELD = ascii(",\"tradeName\":");
+    private static final byte[] SUCCESS_SUFFIX = ascii("}}}");
+    private static final byte[] NULL = ascii("null");
+
+    @Override
+    public void process(Exchange exchange) throws Exception {
+        ConsultarDatosGeneralesClienteResponse response =
+            exchange.getIn().getBody(ConsultarDatosGeneralesClienteResponse.class);
+        exchange.getIn().setBody(encode(response));
+        exchange.getIn().setHeader(Constants.HEADER_CONTENT_TYPE, "application/json; charset=UTF-8");
+    }
+
+    public static byte[] encode(ConsultarDatosGeneralesClienteResponse response) throws IOException {
+        if (isStandardSuccess(response)) {
+            return encodeSuccess(response.body().client());
+        }
+        return JsonReaders.FINAL_RESPONSE_WRITER.writeValueAsBytes(response);
+    }
+
+    private static boolean isStandardSuccess(ConsultarDatosGeneralesClienteResponse response) {
+        return response != null
+                && response.header() != null
+                && response.header().responseCode() == Constants.HTTP_OK
+                && Constants.RESPONSE_MESSAGE_SUCCESS.equals(response.header().responseMessage())
+                && response.body() != null
+                && response.body().client() != null
+                && response.body().client().identification() != null
+                && !hasSurrogates(response.body().client());
+    }
+
+    /**
+     * Jackson escapes characters outside the Basic Multilingual Plane as surrogate pairs, while
+     * JsonStringEncoder writes them as 4-byte UTF-8; such values go through Jackson so both
+     * paths produce the same bytes.
+     */
+    private static boolean hasSurrogates(ClientDto client) {
+        return hasSurrogates(client.identification().number())
+                || hasSurrogates(client.identification().type())
+                || hasSurrogates(client.businessName())
+                || hasSurrogates(client.tradeName());
+    }
+
+    private static boolean hasSurrogates(String value) {
+        if (value == null) {
+            return false;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            if (Character.isSurrogate(value.charAt(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static byte[] encodeSuccess(ClientDto client) {
+        JsonStringEncoder encoder = JsonStringEncoder.getInstance();
+        byte[] number = quote(encoder, client.identification().number());
+        byte[] type = quote(encoder, client.identification().type());
+        byte[] businessName = quote(encoder, client.businessName());
+        byte[] tradeName = quote(encoder, client.tradeName());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(SUCCESS_PREFIX.length + number.length
+                + TYPE_FIELD.length + type.length + BUSINESS_NAME_FIELD.length + businessName.length
+                + TRADE_NAME_FIELD.length + tradeName.length + SUCCESS_SUFFIX.length);
+        out.writeBytes(SUCCESS_PREFIX);
+        out.writeBytes(number);
+        out.writeBytes(TYPE_FIELD);
+        out.writeBytes(type);
+        out.writeBytes(BUSINESS_NAME_FIELD);
+        out.writeBytes(businessName);
+        out.writeBytes(TRADE_NAME_FIELD);
+        out.writeBytes(tradeName);
+        out.writeBytes(SUCCESS_SUFFIX);
+        return out.toByteArray();
+    }
+
+    private static byte[] quote(JsonStringEncoder encoder, String value) {
+        if (value == null) {
+            return NULL;
+        }
+        byte[] escaped = encoder.quoteAsUTF8(value);
+        byte[] quoted = new byte[escaped.length + 2];
+        quoted[0] = '"';
+        System.arraycopy(escaped, 0, quoted, 1, escaped.length);
+        quoted[quoted.length - 1] = '"';
+        return quoted;
+    }
+
+    private static byte[] successPrefix() {
+        try {
+            byte[] header = JsonReaders.HEADER_WRITER.writeValueAsBytes(
+                    new HeaderDto(Constants.HTTP_OK, Constants.RESPONSE_MESSAGE_SUCCESS));
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            out.writeBytes(ascii("{\"header\":"));
+            out.writeBytes(header);
+            out.writeBytes(ascii(",\"body\":{\"client\":{\"identification\":{\"number\":"));
+            return out.toByteArray();
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to pre-encode the success header", e);
+        }
+    }
+
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+}
@@ -0,0 +1,54 @@
+package com.banreservas.integration.processors;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.banreservas.integration.backend.MasterDataUpdateQueue;
+import com.banreservas.integration.context.OrchestrationContext;
+import com.banreservas.integration.model.inbound.request.ConsultarDatosGeneralesClienteRequest;
+import com.banreservas.integration.model.outbound.response.backends.actualizardatosmaestrocedulados.ActualizarDatosMaestroCeduladosRequest;
+import com.banreservas.integration.util.Constants;
+
+/**
+ * Processor to hand the ActualizarDatosMaestroCedulados request to the write-behind queue.
+ * Sets masterDataUpdateQueued to false when write-behind is disabled or the queue is full,
+ * so the route falls back to the synchronous update.
+ */
+@ApplicationScoped
+public class EnqueueMasterDataUpdateProcessor implements Processor {
+
+    private static final Logger logger = LoggerFactory.getLogger(EnqueueMasterDataUpdateProcessor.class);
+
+    @Inject
+    MasterDataUpdateQueue masterDataUpdateQueue;
+
+    @Override
+    public void process(Exchange exchange) throws Exception {
+        OrchestrationContext context = OrchestrationContext.of(exchange);
+        if (!masterDataUpdateQueue.isEnabled()) {
+            context.setMasterDataUpdateQueued(false);
+            return;
+        }
+
+        ConsultarDatosGeneralesClienteRequest mainRequest = context.getMainRequest();
+        ActualizarDatosMaestroCeduladosRequest service4Request =
+            exchange.getIn().getBody(ActualizarDatosMaestroCeduladosRequest.class);
+
+        boolean queued = masterDataUpdateQueue.enqueue(
+                mainRequest.identification(),
+                service4Request,
+                exchange.getIn().getHeader(Constants.HEADER_AUTHORIZATION, String.class),
+                context.getSessionId());
+
+        if (queued) {
+            logger.info("Actualización de datos maestros encolada - ID: {}", mainRequest.identification());
+        } else {
+            logger.warn("Cola de actualización llena, se actualiza en línea - ID: {}", mainRequest.identification());
+        }
+        context.setMasterDataUpdateQueued(queued);
+    }
+}
@@ -1,31 +1,63 @@
 package com.banreservas.integration.processors;
 
+import java.util.HashMap;
+import java.util.Map;
+
 import jakarta.enterprise.context.ApplicationScoped;
 import org.apache.camel.Exchange;
 import org.apache.camel.Processor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.banreservas.integration.context.OrchestrationContext;
 import com.banreservas.integration.model.outbound.response.ConsultarDatosGeneralesClienteResponse;
 import com.banreservas.integration.model.outbound.response.HeaderDto;
 import com.banreservas.integration.util.Constants;
+import com.banreservas.integration.util.JsonReaders;
 
 /**
  * Processor to handle errors and generate error responses.
  * Centralizes error handling for all services in the orchestration.
+ *
+ * Responses for the known (code, message) pairs are encoded once at startup and served as
+ * shared bytes; only dynamic messages (exception text, backend codes) are encoded per request.
  */
 @ApplicationScoped
 public class ErrorResponseProcessor implements Processor {
 
     private static final Logger logger = LoggerFactory.getLogger(ErrorResponseProcessor.class);
 
+    private static final Map<Integer, Map<String, byte[]>> PRE_ENCODED = preEncode(
+            Constants.HTTP_BAD_REQUEST, Constants.VALIDATION_MESSAGE_IDENTIFICATION_REQUIRED,
+            Constants.HTTP_BAD_REQUEST, Constants.VALIDATION_MESSAGE_INVALID_IDENTIFICATION_TYPE,
+            Constants.HTTP_BAD_REQUEST, Constants.VALIDATION_MESSAGE_BATCH_REQUIRED,
+            Constants.HTTP_BAD_REQUEST, Constants.ERROR_MESSAGE_CLIENT_NOT_FOUND,
+            Constants.HTTP_INTERNAL_ERROR, Constants.ERROR_MESSAGE_INTERNAL_ERROR,
+            Constants.HTTP_INTERNAL_ERROR, Constants.ERROR_MESSAGE_MASTER_CEDULA_UNEXPECTED,
+            Constants.HTTP_INTERNAL_ERROR, Constants.ERROR_MESSAGE_UPDATE_FAILED,
+            Constants.HTTP_SERVICE_UNAVAILABLE, Constants.ERROR_MESSAGE_SERVICE_UNAVAILABLE,
+            Constants.HTTP_BAD_REQUEST, Constants.ERROR_MESSAGE_JURIDICAL_CLIENT_BAD_REQUEST,
+            Constants.HTTP_UNAUTHORIZED, Constants.ERROR_MESSAGE_JURIDICAL_CLIENT_UNAUTHORIZED,
+            Constants.HTTP_BAD_GATEWAY, Constants.ERROR_MESSAGE_JURIDICAL_CLIENT_INTERNAL_ERROR,
+            Constants.HTTP_INTERNAL_ERROR, Constants.ERROR_MESSAGE_JURIDICAL_CLIENT_TIMEOUT,
+            Constants.HTTP_BAD_REQUEST, Constants.ERROR_MESSAGE_MASTER_CEDULA_BAD_REQUEST,
+            Constants.HTTP_UNAUTHORIZED, Constants.ERROR_MESSAGE_MASTER_CEDULA_UNAUTHORIZED,
+            Constants.HTTP_BAD_GATEWAY, Constants.ERROR_MESSAGE_MASTER_CEDULA_INTERNAL_ERROR,
+            Constants.HTTP_INTERNAL_ERROR, Constants.ERROR_MESSAGE_MASTER_CEDULA_TIMEOUT,
+            Constants.HTTP_BAD_REQUEST, Constants.ERROR_MESSAGE_JCE_BAD_REQUEST,
+            Constants.HTTP_UNAUTHORIZED, Constants.ERROR_MESSAGE_JCE_UNAUTHORIZED,
+            Constants.HTTP_BAD_GATEWAY, Constants.ERROR_MESSAGE_JCE_INTERNAL_ERROR,
+            Constants.HTTP_INTERNAL_ERROR, Constants.ERROR_MESSAGE_JCE_TIMEOUT,
+            Constants.HTTP_BAD_REQUEST, Constants.ERROR_MESSAGE_UPDATE_BAD_REQUEST,
+            Constants.HTTP_UNAUTHORIZED, Constants.ERROR_MESSAGE_UPDATE_UNAUTHORIZED,
+            Constants.HTTP_BAD_GATEWAY, Constants.ERROR_MESSAGE_UPDATE_INTERNAL_ERROR,
+            Constants.HTTP_INTERNAL_ERROR, Constants.ERROR_MESSAGE_UPDATE_TIMEOUT);
+
     @Override
     public void process(Exchange exchange) throws Exception {
-        logger.info("Procesando respuesta de error");
-
         // Obtener información del error
-        Integer errorCode = (Integer) exchange.getProperty("errorCode");
-        String errorMessage = (String) exchange.getProperty("errorMessage");
+        Integer errorCode = exchange.getProperty("errorCode", Integer.class);
+        String errorMessage = exchange.getProperty("errorMessage", String.class);
         
         // Valores por defecto si no se especifican
         if (errorCode == null) {
@@ -36,16 +68,51 @@ public class ErrorResponseProcessor implements Processor {
             errorMessage = getDefaultErrorMessage(errorCode);
         }
 
-        // Crear respuesta de error
-        HeaderDto errorHeader = new HeaderDto(errorCode, errorMessage);
-        ConsultarDatosGeneralesClienteResponse errorResponse = 
-            new ConsultarDatosGeneralesClienteResponse(errorHeader, null);
-
         // Establecer código HTTP y cuerpo de respuesta
         exchange.getIn().setHeader(Exchange.HTTP_RESPONSE_CODE, errorCode);
-        exchange.getIn().setBody(errorResponse);
+        exchange.getIn().setHeader(Constants.HEADER_CONTENT_TYPE, "application/json; charset=UTF-8");
+        exchange.getIn().setBody(encode(errorCode, errorMessage));
 
-        logger.error("Respuesta de error generada: HTTP {} - {}", errorCode, errorMessage);
+        // Indicar al cliente cuándo reintentar (rechazo por sobrecarga)
+        Integer retryAfter = OrchestrationContext.of(exchange).getRetryAfter();
+        if (retryAfter != null) {
+            exchange.getIn().setHeader(Constants.HEADER_RETRY_AFTER, retryAfter);
+        }
+
+        // La causa ya fue registrada por la ruta que generó el error
+        if (logger.isDebugEnabled()) {
+            logger.debug("Respuesta de error generada: HTTP {} - {}", errorCode, errorMessage);
+        }
+    }
+
+    /**
+     * Returns the JSON error response for the given code and message, pre-encoded when the
+     * pair is known. The returned array is shared and must not be modified.
+     */
+    public static byte[] encode(int errorCode, String errorMessage) {
+        Map<String, byte[]> messages = PRE_ENCODED.get(errorCode);
+        byte[] payload = messages != null ? messages.get(errorMessage) : null;
+        return payload != null ? payload : serialize(errorCode, errorMessage);
+    }
+
+    private static byte[] serialize(int errorCode, String errorMessage) {
+        try {
+            return JsonReaders.FINAL_RESPONSE_WRITER.writeValueAsBytes(
+                    new ConsultarDatosGeneralesClienteResponse(new HeaderDto(errorCode, errorMessage), null));
+        } catch (Exception e) {
+            throw new IllegalStateException("Unable to encode error response", e);
+        }
+    }
+
+    private static Map<Integer, Map<String, byte[]>> preEncode(Object... pairs) {
+        Map<Integer, Map<String, byte[]>> encoded = new HashMap<>();
+        for (int i = 0; i < pairs.length; i += 2) {
+            int code = (Integer) pairs[i];
+            String message = (String) pairs[i + 1];
+            encoded.computeIfAbsent(code, c -> new HashMap<>()).put(message, serialize(code, message));
+        }
+        encoded.replaceAll((code, messages) -> Map.copyOf(messages));
+        return Map.copyOf(encoded);
     }
 
     private String getDefaultErrorMessage(Integer errorCode) {
@@ -55,4 +122,4 @@ public class ErrorResponseProcessor implements Processor {
             default -> Constants.ERROR_MESSAGE_SERVICE_UNAVAILABLE;
         };
     }
-}
\ No newline at end of file
+}
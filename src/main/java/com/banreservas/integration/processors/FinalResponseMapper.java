@@ -0,0 +1,170 @@
+package com.banreservas.integration.processors;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import org.apache.camel.Exchange;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.banreservas.integration.context.OrchestrationContext;
+import com.banreservas.integration.model.outbound.response.BodyDto;
+import com.banreservas.integration.model.outbound.response.ClientDto;
+import com.banreservas.integration.model.outbound.response.ConsultarDatosGeneralesClienteResponse;
+import com.banreservas.integration.model.outbound.response.HeaderDto;
+import com.banreservas.integration.model.outbound.response.IdentificationDto;
+import com.banreservas.integration.model.outbound.response.backends.actualizardatosmaestrocedulados.ActualizarDatosMaestroCeduladosResponse;
+import com.banreservas.integration.model.outbound.response.backends.actualizardatosmaestrocedulados.ClientActualizarResponseDto;
+import com.banreservas.integration.model.outbound.response.backends.datosjcedp.ClientJCEResponseDto;
+import com.banreservas.integration.model.outbound.response.backends.datosjcedp.ConsultarDatosJCEDPResponse;
+import com.banreservas.integration.model.outbound.response.backends.datosmaestrocedulados.ClientMaestroResponseDto;
+import com.banreservas.integration.model.outbound.response.backends.datosmaestrocedulados.ConsultarDatosMaestroCeduladosResponse;
+import com.banreservas.integration.util.Constants;
+import com.banreservas.integration.util.ProcessingFailure;
+
+/**
+ * Maps the master cedula, update or JCE response kept in the orchestration context to the
+ * unified ConsultarDatosGeneralesClienteResponse body. Invalid responses are reported as a
+ * ProcessingFailure.
+ */
+@ApplicationScoped
+public class FinalResponseMapper {
+
+    private static final Logger logger = LoggerFactory.getLogger(FinalResponseMapper.class);
+
+    private static final ProcessingFailure INVALID_MASTER_RESPONSE = new ProcessingFailure(
+            Constants.HTTP_INTERNAL_ERROR, "Error processing final response: Invalid master cedula response");
+    private static final ProcessingFailure CLIENT_WITHOUT_IDENTIFICATIONS = new ProcessingFailure(
+            Constants.HTTP_INTERNAL_ERROR, "Error processing final response: Client has no identifications");
+    private static final ProcessingFailure INVALID_UPDATE_RESPONSE = new ProcessingFailure(
+            Constants.HTTP_INTERNAL_ERROR, "Error processing final response: Invalid update service response");
+    private static final ProcessingFailure INVALID_JCE_RESPONSE = new ProcessingFailure(
+            Constants.HTTP_INTERNAL_ERROR, "Error processing final response: Invalid JCE service response");
+
+    public void mapMasterResponse(Exchange exchange) {
+        ConsultarDatosMaestroCeduladosResponse masterResponse =
+            OrchestrationContext.of(exchange).getService2Response();
+
+        logger.info("Retrieved masterResponse from exchange property: {}", masterResponse != null ? "NOT NULL" : "NULL");
+
+        if (masterResponse == null || masterResponse.body() == null ||
+            masterResponse.body().clients() == null || masterResponse.body().clients().isEmpty()) {
+            logger.error("Invalid master cedula response - masterResponse: {}, body: {}, clients: {}",
+                       masterResponse != null ? "EXISTS" : "NULL",
+                       masterResponse != null && masterResponse.body() != null ? "EXISTS" : "NULL",
+                       masterResponse != null && masterResponse.body() != null && masterResponse.body().clients() != null ?
+                           masterResponse.body().clients().size() : "NULL");
+            INVALID_MASTER_RESPONSE.report(exchange);
+            return;
+        }
+
+        ClientMaestroResponseDto masterClient = masterResponse.body().clients().get(0);
+        logger.info("Processing client: {}, identifications: {}",
+                   masterClient.names(),
+                   masterClient.identifications() != null ? masterClient.identifications().size() : "NULL");
+
+        // Validar que existen identificaciones
+        if (masterClient.identifications() == null || masterClient.identifications().isEmpty()) {
+            logger.error("Client has no identifications");
+            CLIENT_WITHOUT_IDENTIFICATIONS.report(exchange);
+            return;
+        }
+
+        // Map to unified response format
+        IdentificationDto identification = new IdentificationDto(
+            masterClient.identifications().get(0).number(),
+            masterClient.identifications().get(0).type()
+        );
+
+        // For cedula clients, use names as business name and empty trade name
+        ClientDto client = new ClientDto(
+            identification,
+            masterClient.names() != null ? masterClient.names() : "", // businessName
+            "" // tradeName (empty for cedula)
+        );
+
+        BodyDto body = new BodyDto(client);
+        HeaderDto header = new HeaderDto(Constants.HTTP_OK, Constants.RESPONSE_MESSAGE_SUCCESS);
+
+        ConsultarDatosGeneralesClienteResponse finalResponse =
+            new ConsultarDatosGeneralesClienteResponse(header, body);
+
+        logger.info("Final response created successfully - Header: {}, Body: {}",
+                   finalResponse.header().responseCode(),
+                   finalResponse.body() != null ? "EXISTS" : "NULL");
+
+        exchange.getIn().setBody(finalResponse);
+
+        logger.info("Master cedula response processed successfully for ID: {}",
+                   masterClient.identifications().get(0).number());
+    }
+
+    public void mapUpdateResponse(Exchange exchange) {
+        ActualizarDatosMaestroCeduladosResponse updateResponse =
+            OrchestrationContext.of(exchange).getService4Response();
+
+        if (updateResponse == null || updateResponse.body() == null ||
+            updateResponse.body().clients() == null || updateResponse.body().clients().isEmpty()) {
+            INVALID_UPDATE_RESPONSE.report(exchange);
+            return;
+        }
+
+        ClientActualizarResponseDto updateClient = updateResponse.body().clients().get(0);
+
+        // Map to unified response format
+        IdentificationDto identification = new IdentificationDto(
+            updateClient.identifications().get(0).number(),
+            updateClient.identifications().get(0).type()
+        );
+
+        // For updated cedula clients, use name as business name
+        ClientDto client = new ClientDto(
+            identification,
+            updateClient.name() != null ? updateClient.name() : "", // businessName
+            "" // tradeName (empty for cedula)
+        );
+
+        BodyDto body = new BodyDto(client);
+        HeaderDto header = new HeaderDto(Constants.HTTP_OK, Constants.RESPONSE_MESSAGE_SUCCESS);
+
+        ConsultarDatosGeneralesClienteResponse finalResponse =
+            new ConsultarDatosGeneralesClienteResponse(header, body);
+
+        exchange.getIn().setBody(finalResponse);
+
+        logger.info("Update service response processed successfully for ID: {}",
+                   updateClient.identifications().get(0).number());
+    }
+
+    public void mapJceResponse(Exchange exchange) {
+        ConsultarDatosJCEDPResponse jceResponse =
+            OrchestrationContext.of(exchange).getJceResponse();
+
+        if (jceResponse == null || jceResponse.body() == null ||
+            jceResponse.body().clients() == null || jceResponse.body().clients().isEmpty()) {
+            INVALID_JCE_RESPONSE.report(exchange);
+            return;
+        }
+
+        ClientJCEResponseDto jceClient = jceResponse.body().clients().get(0);
+
+        // Map to unified response format
+        IdentificationDto identification = new IdentificationDto(
+            jceClient.identifications().get(0).number(),
+            jceClient.identifications().get(0).type()
+        );
+
+        // Same names that are sent to the update service
+        ClientDto client = new ClientDto(
+            identification,
+            jceClient.names() != null ? jceClient.names() : "", // businessName
+            "" // tradeName (empty for cedula)
+        );
+
+        BodyDto body = new BodyDto(client);
+        HeaderDto header = new HeaderDto(Constants.HTTP_OK, Constants.RESPONSE_MESSAGE_SUCCESS);
+
+        exchange.getIn().setBody(new ConsultarDatosGeneralesClienteResponse(header, body));
+
+        logger.info("JCE response processed successfully for ID: {}",
+                   jceClient.identifications().get(0).number());
+    }
+}
@@ -6,11 +6,13 @@ import org.apache.camel.Processor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.banreservas.integration.context.OrchestrationContext;
 import com.banreservas.integration.model.inbound.request.ConsultarDatosGeneralesClienteRequest;
 import com.banreservas.integration.model.outbound.response.backends.datosgeneralesclientejuridico.ClientJuridicoRequestDto;
 import com.banreservas.integration.model.outbound.response.backends.datosgeneralesclientejuridico.ConsultarDatosGeneralesClienteJuridicoRequest;
 import com.banreservas.integration.model.outbound.response.backends.datosgeneralesclientejuridico.IdentificationRequestDto;
 import com.banreservas.integration.util.Constants;
+import com.banreservas.integration.util.ProcessingFailure;
 
 /**
  * Processor to generate request for ConsultarDatosGeneralesClienteJuridico service.
@@ -21,23 +23,30 @@ public class GenerateService1RequestProcessor implements Processor {
 
     private static final Logger logger = LoggerFactory.getLogger(GenerateService1RequestProcessor.class);
 
+    private static final ProcessingFailure MAIN_REQUEST_REQUIRED = new ProcessingFailure(
+        Constants.HTTP_INTERNAL_ERROR, "Error in juridical client service: Request principal es requerido");
+    private static final ProcessingFailure RNC_REQUIRED = new ProcessingFailure(
+        Constants.HTTP_INTERNAL_ERROR, "Error in juridical client service: Servicio jurídico solo acepta tipo RNC");
+
     @Override
     public void process(Exchange exchange) throws Exception {
         logger.info("Generando request para ConsultarDatosGeneralesClienteJuridico - Tipo: RNC");
 
         ConsultarDatosGeneralesClienteRequest mainRequest = 
-            (ConsultarDatosGeneralesClienteRequest) exchange.getProperty("mainRequest");
+            OrchestrationContext.of(exchange).getMainRequest();
 
         if (mainRequest == null) {
             logger.error("Request principal no encontrado en el exchange");
-            throw new IllegalArgumentException("Request principal es requerido");
+            MAIN_REQUEST_REQUIRED.report(exchange);
+            return;
         }
 
         // Validar que sea tipo RNC
         if (!Constants.IDENTIFICATION_TYPE_RNC.equals(mainRequest.identificationType())) {
             logger.error("Tipo de identificación inválido para servicio jurídico: {}", 
                         mainRequest.identificationType());
-            throw new IllegalArgumentException("Servicio jurídico solo acepta tipo RNC");
+            RNC_REQUIRED.report(exchange);
+            return;
         }
 
         // Crear request para servicio 1
@@ -6,6 +6,7 @@ import org.apache.camel.Processor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.banreservas.integration.context.OrchestrationContext;
 import com.banreservas.integration.model.inbound.request.ConsultarDatosGeneralesClienteRequest;
 import com.banreservas.integration.model.outbound.response.backends.datosmaestrocedulados.ClientMaestroRequestDto;
 import com.banreservas.integration.model.outbound.response.backends.datosmaestrocedulados.ConsultarDatosMaestroCeduladosRequest;
@@ -28,7 +29,7 @@ public class GenerateService2RequestProcessor implements Processor {
         logger.info("Generando request para ConsultarDatosMaestroCedulados - Tipo: Cedula");
 
         ConsultarDatosGeneralesClienteRequest mainRequest = 
-            (ConsultarDatosGeneralesClienteRequest) exchange.getProperty("mainRequest");
+            OrchestrationContext.of(exchange).getMainRequest();
 
         if (mainRequest == null) {
             logger.error("Request principal no encontrado en el exchange");
@@ -56,14 +57,13 @@ public class GenerateService2RequestProcessor implements Processor {
 
         ClientMaestroRequestDto client = new ClientMaestroRequestDto(List.of(identification));
         
-        boolean includeBinaryPhoto = Constants.BOOLEAN_TRUE.equals(mainRequest.includeBinaryPhoto());
-        
+        // La respuesta unificada nunca incluye la foto, por lo que no se solicita al servicio
         ConsultarDatosMaestroCeduladosRequest service2Request = 
-            new ConsultarDatosMaestroCeduladosRequest(List.of(client), includeBinaryPhoto);
+            new ConsultarDatosMaestroCeduladosRequest(List.of(client), false);
 
         exchange.getIn().setBody(service2Request);
         
-        logger.info("Request generado exitosamente para servicio maestro - ID: {}, IncluirFoto: {}", 
-                   mainRequest.identification(), includeBinaryPhoto);
+        logger.info("Request generado exitosamente para servicio maestro - ID: {}", 
+                   mainRequest.identification());
     }
 }
\ No newline at end of file
@@ -6,6 +6,7 @@ import org.apache.camel.Processor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.banreservas.integration.context.OrchestrationContext;
 import com.banreservas.integration.model.inbound.request.ConsultarDatosGeneralesClienteRequest;
 import com.banreservas.integration.model.outbound.response.backends.datosjcedp.ClientJCERequestDto;
 import com.banreservas.integration.model.outbound.response.backends.datosjcedp.ClientsJCERequestDto;
@@ -29,7 +30,7 @@ public class GenerateService3RequestProcessor implements Processor {
         logger.info("Generando request para ConsultarDatosJCEDP - Consulta JCE");
 
         ConsultarDatosGeneralesClienteRequest mainRequest = 
-            (ConsultarDatosGeneralesClienteRequest) exchange.getProperty("mainRequest");
+            OrchestrationContext.of(exchange).getMainRequest();
 
         if (mainRequest == null) {
             logger.error("Request principal no encontrado en el exchange");
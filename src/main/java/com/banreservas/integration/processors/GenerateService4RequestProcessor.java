@@ -6,12 +6,12 @@ import org.apache.camel.Processor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.banreservas.integration.context.OrchestrationContext;
 import com.banreservas.integration.model.outbound.response.backends.actualizardatosmaestrocedulados.ActualizarDatosMaestroCeduladosRequest;
 import com.banreservas.integration.model.outbound.response.backends.actualizardatosmaestrocedulados.ClientActualizarRequestDto;
 import com.banreservas.integration.model.outbound.response.backends.actualizardatosmaestrocedulados.IdentificationActualizarRequestDto;
 import com.banreservas.integration.model.outbound.response.backends.datosjcedp.ClientJCEResponseDto;
 import com.banreservas.integration.model.outbound.response.backends.datosjcedp.ConsultarDatosJCEDPResponse;
-import com.banreservas.integration.util.Constants;
 
 import java.util.List;
 
@@ -28,8 +28,8 @@ public class GenerateService4RequestProcessor implements Processor {
     public void process(Exchange exchange) throws Exception {
         logger.info("Generando request para ActualizarDatosMaestroCedulados - Actualización datos maestros");
 
-        ConsultarDatosJCEDPResponse jceResponse = 
-            (ConsultarDatosJCEDPResponse) exchange.getProperty("jceResponse");
+        OrchestrationContext context = OrchestrationContext.of(exchange);
+        ConsultarDatosJCEDPResponse jceResponse = context.getJceResponse();
 
         if (jceResponse == null || jceResponse.body() == null || 
             jceResponse.body().clients() == null || jceResponse.body().clients().isEmpty()) {
@@ -69,12 +69,12 @@ public class GenerateService4RequestProcessor implements Processor {
         );
 
         // Determinar si incluir foto binaria
-        String includeBinaryPhoto = (String) exchange.getProperty("includeBinaryPhoto");
-        boolean includeBinary = Constants.BOOLEAN_TRUE.equals(includeBinaryPhoto);
+        boolean includeBinary = context.isIncludeBinaryPhoto();
 
         ActualizarDatosMaestroCeduladosRequest service4Request = 
             new ActualizarDatosMaestroCeduladosRequest(List.of(client), includeBinary);
 
+        context.setService4Request(service4Request);
         exchange.getIn().setBody(service4Request);
         
         logger.info("Request generado exitosamente para actualización datos maestros - ID: {}, IncluirFoto: {}", 
@@ -0,0 +1,50 @@
+package com.banreservas.integration.processors;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.banreservas.integration.cache.JuridicalClientCache;
+import com.banreservas.integration.context.OrchestrationContext;
+import com.banreservas.integration.model.inbound.request.ConsultarDatosGeneralesClienteRequest;
+import com.banreservas.integration.model.outbound.response.ConsultarDatosGeneralesClienteResponse;
+
+/**
+ * Processor to serve ConsultarDatosGeneralesClienteJuridico results from the local cache.
+ * On a hit the cached final response becomes the body and no backend call is made.
+ */
+@ApplicationScoped
+public class LookupService1CacheProcessor implements Processor {
+
+    private static final Logger logger = LoggerFactory.getLogger(LookupService1CacheProcessor.class);
+
+    @Inject
+    JuridicalClientCache juridicalClientCache;
+
+    @Override
+    public void process(Exchange exchange) throws Exception {
+        OrchestrationContext context = OrchestrationContext.of(exchange);
+        ConsultarDatosGeneralesClienteRequest mainRequest = context.getMainRequest();
+
+        if (mainRequest == null || !juridicalClientCache.isEnabled()) {
+            return;
+        }
+
+        ConsultarDatosGeneralesClienteResponse cached =
+            juridicalClientCache.get(mainRequest.identificationType(), mainRequest.identification(),
+                    context.getCallerCredential());
+
+        if (cached == null) {
+            logger.debug("Cache de clientes jurídicos sin entrada - ID: {}", mainRequest.identification());
+            return;
+        }
+
+        logger.info("Respuesta de cliente jurídico obtenida de cache - ID: {}, Código: {}",
+                   mainRequest.identification(), cached.header().responseCode());
+        context.setService1CacheHit(true);
+        exchange.getIn().setBody(cached);
+    }
+}
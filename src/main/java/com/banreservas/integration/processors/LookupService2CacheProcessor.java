@@ -0,0 +1,52 @@
+package com.banreservas.integration.processors;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.banreservas.integration.cache.MasterCedulaCache;
+import com.banreservas.integration.context.OrchestrationContext;
+import com.banreservas.integration.model.inbound.request.ConsultarDatosGeneralesClienteRequest;
+import com.banreservas.integration.model.outbound.response.backends.datosmaestrocedulados.ConsultarDatosMaestroCeduladosResponse;
+import com.banreservas.integration.util.Constants;
+
+/**
+ * Processor to serve ConsultarDatosMaestroCedulados results from the local cache.
+ * On a hit it sets the same properties as ProcessService2ResponseProcessor on code 000.
+ */
+@ApplicationScoped
+public class LookupService2CacheProcessor implements Processor {
+
+    private static final Logger logger = LoggerFactory.getLogger(LookupService2CacheProcessor.class);
+
+    @Inject
+    MasterCedulaCache masterCedulaCache;
+
+    @Override
+    public void process(Exchange exchange) throws Exception {
+        OrchestrationContext context = OrchestrationContext.of(exchange);
+        ConsultarDatosGeneralesClienteRequest mainRequest = context.getMainRequest();
+
+        // Solo aplica a consultas de Cedula sin forzar actualización
+        if (mainRequest == null || !masterCedulaCache.isEnabled()
+                || !Constants.BOOLEAN_FALSE.equals(mainRequest.forceUpdate())) {
+            return;
+        }
+
+        ConsultarDatosMaestroCeduladosResponse cached =
+            masterCedulaCache.get(mainRequest.identification(), context.getCallerCredential());
+
+        if (cached == null) {
+            logger.debug("Cache de datos maestros sin entrada - ID: {}", mainRequest.identification());
+            return;
+        }
+
+        logger.info("Cliente encontrado en cache de datos maestros - ID: {}", mainRequest.identification());
+        context.setService2CacheHit(true);
+        context.setClientFoundInMaster(true);
+        context.setService2Response(cached);
+    }
+}
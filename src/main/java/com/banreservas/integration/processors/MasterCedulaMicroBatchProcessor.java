@@ -0,0 +1,44 @@
+package com.banreservas.integration.processors;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.banreservas.integration.backend.BackendResponse;
+import com.banreservas.integration.backend.Deadline;
+import com.banreservas.integration.backend.MasterCedulaMicroBatcher;
+import com.banreservas.integration.context.OrchestrationContext;
+import com.banreservas.integration.model.inbound.request.ConsultarDatosGeneralesClienteRequest;
+import com.banreservas.integration.util.Constants;
+
+/**
+ * Processor to resolve a master cedula lookup through the micro-batching stage.
+ * Leaves the per-identification HTTP status and body on the exchange, like a direct call.
+ */
+@ApplicationScoped
+public class MasterCedulaMicroBatchProcessor implements Processor {
+
+    private static final Logger logger = LoggerFactory.getLogger(MasterCedulaMicroBatchProcessor.class);
+
+    @Inject
+    MasterCedulaMicroBatcher masterCedulaMicroBatcher;
+
+    @Override
+    public void process(Exchange exchange) throws Exception {
+        OrchestrationContext context = OrchestrationContext.of(exchange);
+        ConsultarDatosGeneralesClienteRequest mainRequest = context.getMainRequest();
+
+        logger.info("Agregando consulta a lote de datos maestros - ID: {}", mainRequest.identification());
+
+        Deadline.check(exchange, "calling master cedula micro-batch");
+        BackendResponse response = Deadline.await(masterCedulaMicroBatcher.submit(
+                mainRequest.identification(),
+                exchange.getIn().getHeader(Constants.HEADER_AUTHORIZATION, String.class),
+                context.getSessionId()),
+                Deadline.remainingNanos(exchange), "master cedula micro-batch");
+        response.applyTo(exchange);
+    }
+}
@@ -1,11 +1,15 @@
 package com.banreservas.integration.processors;
 
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
 import org.apache.camel.Exchange;
 import org.apache.camel.Processor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.banreservas.integration.cache.JuridicalClientCache;
+import com.banreservas.integration.context.OrchestrationContext;
+import com.banreservas.integration.model.inbound.request.ConsultarDatosGeneralesClienteRequest;
 import com.banreservas.integration.model.outbound.response.BodyDto;
 import com.banreservas.integration.model.outbound.response.ClientDto;
 import com.banreservas.integration.model.outbound.response.ConsultarDatosGeneralesClienteResponse;
@@ -13,6 +17,8 @@ import com.banreservas.integration.model.outbound.response.HeaderDto;
 import com.banreservas.integration.model.outbound.response.IdentificationDto;
 import com.banreservas.integration.model.outbound.response.backends.datosgeneralesclientejuridico.ConsultarDatosGeneralesClienteJuridicoResponse;
 import com.banreservas.integration.util.Constants;
+import com.banreservas.integration.util.JsonReaders;
+import com.banreservas.integration.util.ProcessingFailure;
 
 /**
  * Processor to handle Service 1 response and generate final response.
@@ -23,16 +29,28 @@ public class ProcessService1ResponseProcessor implements Processor {
 
     private static final Logger logger = LoggerFactory.getLogger(ProcessService1ResponseProcessor.class);
 
+    private static final ProcessingFailure RESPONSE_REQUIRED = new ProcessingFailure(
+        Constants.HTTP_INTERNAL_ERROR, "Error in juridical client service: Respuesta del servicio jurídico es requerida");
+    private static final ProcessingFailure CLIENT_REQUIRED = new ProcessingFailure(
+        Constants.HTTP_INTERNAL_ERROR, "Error in juridical client service: Respuesta del servicio jurídico sin datos de cliente");
+
+    @Inject
+    JuridicalClientCache juridicalClientCache;
+
     @Override
     public void process(Exchange exchange) throws Exception {
         logger.info("Procesando respuesta de ConsultarDatosGeneralesClienteJuridico");
 
+        OrchestrationContext context = OrchestrationContext.of(exchange);
+        ConsultarDatosGeneralesClienteRequest mainRequest = context.getMainRequest();
+
         ConsultarDatosGeneralesClienteJuridicoResponse service1Response = 
-            exchange.getIn().getBody(ConsultarDatosGeneralesClienteJuridicoResponse.class);
+            JsonReaders.read(JsonReaders.JURIDICAL_CLIENT_RESPONSE, exchange);
 
         if (service1Response == null) {
             logger.error("Respuesta del servicio jurídico es nula");
-            throw new IllegalArgumentException("Respuesta del servicio jurídico es requerida");
+            RESPONSE_REQUIRED.report(exchange);
+            return;
         }
 
         // Verificar respuesta exitosa
@@ -51,6 +69,13 @@ public class ProcessService1ResponseProcessor implements Processor {
                 new ConsultarDatosGeneralesClienteResponse(errorHeader, null);
             
             exchange.getIn().setBody(errorResponse);
+
+            // Cache negativa de corta duración solo para clientes no encontrados;
+            // los errores transitorios del servicio no se cachean
+            if (mainRequest != null && isNotFound(service1Response.header().responseCode())) {
+                juridicalClientCache.putNegative(mainRequest.identificationType(), 
+                        mainRequest.identification(), context.getCallerCredential(), errorResponse);
+            }
             return;
         }
 
@@ -76,12 +101,22 @@ public class ProcessService1ResponseProcessor implements Processor {
                 new ConsultarDatosGeneralesClienteResponse(header, body);
             
             exchange.getIn().setBody(finalResponse);
+
+            if (mainRequest != null) {
+                juridicalClientCache.put(mainRequest.identificationType(), 
+                        mainRequest.identification(), context.getCallerCredential(), finalResponse);
+            }
             
             logger.info("Respuesta exitosa procesada para cliente jurídico - RNC: {}", 
                        juridicoClient.identification().number());
         } else {
             logger.error("Respuesta del servicio jurídico sin datos de cliente");
-            throw new IllegalArgumentException("Respuesta del servicio jurídico sin datos de cliente");
+            CLIENT_REQUIRED.report(exchange);
         }
     }
-}
\ No newline at end of file
+
+    private static boolean isNotFound(int responseCode) {
+        return responseCode == Constants.HTTP_NOT_FOUND
+            || String.valueOf(responseCode).equals(Constants.ERROR_CODE_NOT_FOUND);
+    }
+}
@@ -1,47 +1,59 @@
 package com.banreservas.integration.processors;
 
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
 import org.apache.camel.Exchange;
 import org.apache.camel.Processor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.banreservas.integration.backend.SpeculativeJceLookup;
+import com.banreservas.integration.cache.MasterCedulaCache;
+import com.banreservas.integration.context.OrchestrationContext;
+import com.banreservas.integration.model.inbound.request.ConsultarDatosGeneralesClienteRequest;
 import com.banreservas.integration.model.outbound.response.backends.datosmaestrocedulados.ConsultarDatosMaestroCeduladosResponse;
 import com.banreservas.integration.util.Constants;
-import com.fasterxml.jackson.databind.DeserializationFeature;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.banreservas.integration.util.MasterCedulaResponseReader;
+import com.banreservas.integration.util.ProcessingFailure;
 
 
 /**
  * Processor to handle Service 2 response and determine next steps.
  * Checks if client was found or if JCE service should be called.
+ * The response is read decision-first: client records are only decoded on success.
  */
 @ApplicationScoped
 public class ProcessService2ResponseProcessor implements Processor {
 
     private static final Logger logger = LoggerFactory.getLogger(ProcessService2ResponseProcessor.class);
 
+    private static final ProcessingFailure EMPTY_RESPONSE = new ProcessingFailure(
+        Constants.HTTP_INTERNAL_ERROR, "Respuesta del servicio maestro está vacía");
+    private static final ProcessingFailure UNREADABLE_RESPONSE = new ProcessingFailure(
+        Constants.HTTP_INTERNAL_ERROR, "Error deserializing master cedula service response");
+    private static final ProcessingFailure UNEXPECTED_CODE = new ProcessingFailure(
+        Constants.HTTP_INTERNAL_ERROR, "Código de respuesta inesperado del servicio maestro");
+
+    @Inject
+    MasterCedulaCache masterCedulaCache;
+
+    @Inject
+    SpeculativeJceLookup speculativeJceLookup;
+
     @Override
     public void process(Exchange exchange) throws Exception {
         logger.info("Procesando respuesta de ConsultarDatosMaestroCedulados");
 
-        String responseBody = exchange.getIn().getBody(String.class);
-        logger.info("Response body as String: {}", responseBody);
-
-        if (responseBody == null || responseBody.isEmpty()) {
-            logger.error("Respuesta del servicio maestro está vacía");
-            exchange.setProperty("service2Error", true);
-            exchange.setProperty("service2ErrorCode", Constants.HTTP_INTERNAL_ERROR);
-            exchange.setProperty("service2ErrorMessage", "Respuesta del servicio maestro está vacía");
-            return;
-        }
-
+        OrchestrationContext context = OrchestrationContext.of(exchange);
         ConsultarDatosMaestroCeduladosResponse service2Response = null;
         
         try {
-            ObjectMapper mapper = new ObjectMapper();
-            mapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
-            service2Response = mapper.readValue(responseBody, ConsultarDatosMaestroCeduladosResponse.class);
+            service2Response = MasterCedulaResponseReader.read(exchange);
+            if (service2Response == null) {
+                logger.error("Respuesta del servicio maestro está vacía");
+                EMPTY_RESPONSE.report(exchange);
+                return;
+            }
             
             logger.info("Response deserialized successfully - Header code: {}, Body code: {}", 
                        service2Response.header().responseCode(),
@@ -49,17 +61,7 @@ public class ProcessService2ResponseProcessor implements Processor {
                        
         } catch (Exception e) {
             logger.error("Error deserializing service2 response: {}", e.getMessage());
-            exchange.setProperty("service2Error", true);
-            exchange.setProperty("service2ErrorCode", Constants.HTTP_INTERNAL_ERROR);
-            exchange.setProperty("service2ErrorMessage", "Error deserializing master cedula service response");
-            return;
-        }
-
-        if (service2Response == null) {
-            logger.error("Respuesta del servicio maestro es nula después de deserialización");
-            exchange.setProperty("service2Error", true);
-            exchange.setProperty("service2ErrorCode", Constants.HTTP_INTERNAL_ERROR);
-            exchange.setProperty("service2ErrorMessage", "Respuesta del servicio maestro es nula");
+            UNREADABLE_RESPONSE.report(exchange);
             return;
         }
 
@@ -69,9 +71,8 @@ public class ProcessService2ResponseProcessor implements Processor {
                        service2Response.header().responseCode(), 
                        service2Response.header().responseMessage());
             
-            exchange.setProperty("service2Error", true);
-            exchange.setProperty("service2ErrorCode", service2Response.header().responseCode());
-            exchange.setProperty("service2ErrorMessage", service2Response.header().responseMessage());
+            new ProcessingFailure(service2Response.header().responseCode(),
+                service2Response.header().responseMessage()).report(exchange);
             return;
         }
 
@@ -80,33 +81,45 @@ public class ProcessService2ResponseProcessor implements Processor {
             Constants.ERROR_CODE_NOT_FOUND.equals(service2Response.body().code())) {
             
             logger.info("Cliente no encontrado en datos maestros (código 904) - Proceder con consulta JCE");
-            exchange.setProperty("clientNotFoundInMaster", true);
-            exchange.setProperty("callJCEService", true);
+            context.setClientNotFoundInMaster(true);
+            context.setCallJceService(true);
+            recordMasterOutcome(context, true);
             
         } else if (service2Response.body() != null && 
                    Constants.ERROR_CODE_SUCCESS.equals(service2Response.body().code())) {
             
             logger.info("Cliente encontrado en datos maestros - Respuesta exitosa");
-            exchange.setProperty("clientFoundInMaster", true);
-            // IMPORTANTE: Almacenar la respuesta completa en las propiedades del exchange
-            exchange.setProperty("service2Response", service2Response);
+            context.setClientFoundInMaster(true);
+            recordMasterOutcome(context, false);
+            // IMPORTANTE: Almacenar la respuesta completa en el contexto de la orquestación
+            context.setService2Response(service2Response);
             
-            logger.info("Stored service2Response in exchange properties - Clients count: {}", 
+            logger.info("Stored service2Response in orchestration context - Clients count: {}", 
                        service2Response.body().clients() != null ? service2Response.body().clients().size() : "NULL");
+
+            // Almacenar en cache para próximas consultas de la misma cédula
+            ConsultarDatosGeneralesClienteRequest mainRequest = context.getMainRequest();
+            if (mainRequest != null) {
+                masterCedulaCache.put(mainRequest.identification(), context.getCallerCredential(), service2Response);
+            }
             
             // Verificar si se debe forzar actualización
-            String forceUpdate = (String) exchange.getProperty("forceUpdate");
-            if (Constants.BOOLEAN_TRUE.equals(forceUpdate)) {
+            if (context.isForceUpdate()) {
                 logger.info("ForzarActualizar = TRUE - Proceder con consulta JCE para actualizar");
-                exchange.setProperty("callJCEService", true);
+                context.setCallJceService(true);
             }
             
         } else {
             logger.error("Respuesta del servicio maestro con código inesperado: {}", 
                         service2Response.body() != null ? service2Response.body().code() : "null");
-            exchange.setProperty("service2Error", true);
-            exchange.setProperty("service2ErrorCode", Constants.HTTP_INTERNAL_ERROR);
-            exchange.setProperty("service2ErrorMessage", "Código de respuesta inesperado del servicio maestro");
+            UNEXPECTED_CODE.report(exchange);
+        }
+    }
+
+    private void recordMasterOutcome(OrchestrationContext context, boolean miss) {
+        ConsultarDatosGeneralesClienteRequest mainRequest = context.getMainRequest();
+        if (mainRequest != null) {
+            speculativeJceLookup.recordMasterOutcome(mainRequest.identification(), miss);
         }
     }
-}
\ No newline at end of file
+}
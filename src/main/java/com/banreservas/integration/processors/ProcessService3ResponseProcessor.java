@@ -6,8 +6,11 @@ import org.apache.camel.Processor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.banreservas.integration.context.OrchestrationContext;
 import com.banreservas.integration.model.outbound.response.backends.datosjcedp.ConsultarDatosJCEDPResponse;
 import com.banreservas.integration.util.Constants;
+import com.banreservas.integration.util.JsonReaders;
+import com.banreservas.integration.util.ProcessingFailure;
 
 /**
  * Processor to handle Service 3 response and determine if data should be updated.
@@ -18,16 +21,20 @@ public class ProcessService3ResponseProcessor implements Processor {
 
     private static final Logger logger = LoggerFactory.getLogger(ProcessService3ResponseProcessor.class);
 
+    private static final ProcessingFailure RESPONSE_REQUIRED = new ProcessingFailure(
+        Constants.HTTP_INTERNAL_ERROR, "Error in JCE service: Respuesta del servicio JCE es requerida");
+
     @Override
     public void process(Exchange exchange) throws Exception {
         logger.info("Procesando respuesta de ConsultarDatosJCEDP");
 
         ConsultarDatosJCEDPResponse service3Response = 
-            exchange.getIn().getBody(ConsultarDatosJCEDPResponse.class);
+            JsonReaders.read(JsonReaders.JCE_RESPONSE, exchange);
 
         if (service3Response == null) {
             logger.error("Respuesta del servicio JCE es nula");
-            throw new IllegalArgumentException("Respuesta del servicio JCE es requerida");
+            RESPONSE_REQUIRED.report(exchange);
+            return;
         }
 
         // Verificar respuesta exitosa
@@ -36,9 +43,8 @@ public class ProcessService3ResponseProcessor implements Processor {
                        service3Response.header().responseCode(), 
                        service3Response.header().responseMessage());
             
-            exchange.setProperty("service3Error", true);
-            exchange.setProperty("service3ErrorCode", service3Response.header().responseCode());
-            exchange.setProperty("service3ErrorMessage", service3Response.header().responseMessage());
+            new ProcessingFailure(service3Response.header().responseCode(),
+                service3Response.header().responseMessage()).report(exchange);
             return;
         }
 
@@ -48,16 +54,14 @@ public class ProcessService3ResponseProcessor implements Processor {
             !service3Response.body().clients().isEmpty()) {
             
             logger.info("Cliente encontrado en JCE - Proceder con actualización de datos maestros");
-            exchange.setProperty("clientFoundInJCE", true);
-            exchange.setProperty("jceResponse", service3Response);
-            exchange.setProperty("callUpdateService", true);
+            OrchestrationContext context = OrchestrationContext.of(exchange);
+            context.setClientFoundInJce(true);
+            context.setJceResponse(service3Response);
+            context.setCallUpdateService(true);
             
         } else {
             logger.warn("Cliente no encontrado en JCE - No se puede actualizar datos maestros");
-            exchange.setProperty("clientNotFoundInJCE", true);
-            exchange.setProperty("service3Error", true);
-            exchange.setProperty("service3ErrorCode", Constants.HTTP_BAD_REQUEST);
-            exchange.setProperty("service3ErrorMessage", "Cliente no encontrado en JCE");
+            OrchestrationContext.of(exchange).setClientNotFoundInJce(true);
         }
     }
 }
\ No newline at end of file
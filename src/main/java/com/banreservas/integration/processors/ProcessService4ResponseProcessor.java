@@ -1,13 +1,18 @@
 package com.banreservas.integration.processors;
 
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
 import org.apache.camel.Exchange;
 import org.apache.camel.Processor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.banreservas.integration.cache.MasterCedulaCache;
+import com.banreservas.integration.context.OrchestrationContext;
+import com.banreservas.integration.model.inbound.request.ConsultarDatosGeneralesClienteRequest;
 import com.banreservas.integration.model.outbound.response.backends.actualizardatosmaestrocedulados.ActualizarDatosMaestroCeduladosResponse;
 import com.banreservas.integration.util.Constants;
+import com.banreservas.integration.util.JsonReaders;
 
 /**
  * Processor to handle Service 4 response.
@@ -18,16 +23,19 @@ public class ProcessService4ResponseProcessor implements Processor {
 
     private static final Logger logger = LoggerFactory.getLogger(ProcessService4ResponseProcessor.class);
 
+    @Inject
+    MasterCedulaCache masterCedulaCache;
+
     @Override
     public void process(Exchange exchange) throws Exception {
         logger.info("Procesando respuesta de ActualizarDatosMaestroCedulados");
 
         ActualizarDatosMaestroCeduladosResponse service4Response = 
-            exchange.getIn().getBody(ActualizarDatosMaestroCeduladosResponse.class);
+            JsonReaders.readWithoutPhotos(JsonReaders.MASTER_CEDULA_UPDATE_RESPONSE, exchange);
 
         if (service4Response == null) {
             logger.error("Respuesta del servicio de actualización es nula");
-            throw new IllegalArgumentException("Respuesta del servicio de actualización es requerida");
+            return;
         }
 
         // Verificar respuesta exitosa
@@ -35,10 +43,6 @@ public class ProcessService4ResponseProcessor implements Processor {
             logger.warn("Servicio de actualización retornó código de error: {} - {}", 
                        service4Response.header().responseCode(), 
                        service4Response.header().responseMessage());
-            
-            exchange.setProperty("service4Error", true);
-            exchange.setProperty("service4ErrorCode", service4Response.header().responseCode());
-            exchange.setProperty("service4ErrorMessage", service4Response.header().responseMessage());
             return;
         }
 
@@ -48,14 +52,18 @@ public class ProcessService4ResponseProcessor implements Processor {
             !service4Response.body().clients().isEmpty()) {
             
             logger.info("Datos maestros actualizados exitosamente");
-            exchange.setProperty("dataUpdatedSuccessfully", true);
-            exchange.setProperty("service4Response", service4Response);
+            OrchestrationContext context = OrchestrationContext.of(exchange);
+            context.setDataUpdatedSuccessfully(true);
+            context.setService4Response(service4Response);
+
+            // Invalidar la cache de datos maestros para la cédula actualizada
+            ConsultarDatosGeneralesClienteRequest mainRequest = context.getMainRequest();
+            if (mainRequest != null) {
+                masterCedulaCache.invalidate(mainRequest.identification());
+            }
             
         } else {
             logger.error("Respuesta del servicio de actualización sin datos de cliente");
-            exchange.setProperty("service4Error", true);
-            exchange.setProperty("service4ErrorCode", Constants.HTTP_INTERNAL_ERROR);
-            exchange.setProperty("service4ErrorMessage", "Actualización sin datos de cliente");
         }
     }
 }
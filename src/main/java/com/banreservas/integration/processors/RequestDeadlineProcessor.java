@@ -0,0 +1,58 @@
+package com.banreservas.integration.processors;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.banreservas.integration.backend.Deadline;
+import com.banreservas.integration.util.Constants;
+
+/**
+ * Processor to set the end-to-end deadline of the request.
+ * Uses the caller's X-Request-Timeout header (milliseconds) when present, bounded by the
+ * configured maximum. Batch items get their own item timeout, capped by the batch deadline.
+ */
+@ApplicationScoped
+public class RequestDeadlineProcessor implements Processor {
+
+    private static final Logger logger = LoggerFactory.getLogger(RequestDeadlineProcessor.class);
+
+    @ConfigProperty(name = "deadline.consultar.datos.generales.cliente.default", defaultValue = "30000")
+    long defaultTimeout;
+
+    @ConfigProperty(name = "deadline.consultar.datos.generales.cliente.max", defaultValue = "60000")
+    long maxTimeout;
+
+    @ConfigProperty(name = "lote.consultar.datos.generales.cliente.item.timeout", defaultValue = "10000")
+    long itemTimeout;
+
+    @Override
+    public void process(Exchange exchange) throws Exception {
+        if (Deadline.isSet(exchange)) {
+            return;
+        }
+        if (Deadline.isBatchItem(exchange)) {
+            Deadline.setForItem(exchange, itemTimeout);
+            return;
+        }
+
+        long timeout = defaultTimeout;
+        String requested = exchange.getIn().getHeader(Constants.HEADER_REQUEST_TIMEOUT, String.class);
+        if (requested != null && !requested.isBlank()) {
+            try {
+                long parsed = Long.parseLong(requested.trim());
+                if (parsed > 0) {
+                    timeout = Math.min(parsed, maxTimeout);
+                }
+            } catch (NumberFormatException e) {
+                logger.warn("Encabezado {} inválido, se usa el tiempo por defecto: {}", Constants.HEADER_REQUEST_TIMEOUT, requested);
+            }
+        }
+
+        Deadline.set(exchange, timeout);
+        logger.debug("Tiempo límite de la solicitud: {} ms", timeout);
+    }
+}
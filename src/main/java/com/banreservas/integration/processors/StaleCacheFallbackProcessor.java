@@ -0,0 +1,68 @@
+package com.banreservas.integration.processors;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.banreservas.integration.cache.JuridicalClientCache;
+import com.banreservas.integration.cache.MasterCedulaCache;
+import com.banreservas.integration.context.OrchestrationContext;
+import com.banreservas.integration.model.inbound.request.ConsultarDatosGeneralesClienteRequest;
+import com.banreservas.integration.model.outbound.response.ConsultarDatosGeneralesClienteResponse;
+import com.banreservas.integration.model.outbound.response.backends.datosmaestrocedulados.ConsultarDatosMaestroCeduladosResponse;
+import com.banreservas.integration.util.Constants;
+
+/**
+ * Processor to answer from the last known good data when a backend circuit is open.
+ * RNC and passport lookups use the juridical client cache; cedula lookups use the master
+ * cedula cache, also when the JCE service is the one unavailable. An unavailable update
+ * service is handled by DeferMasterDataUpdateProcessor instead.
+ * Sets the staleFallback flag when data was found, with the same context state as the cache lookups.
+ */
+@ApplicationScoped
+public class StaleCacheFallbackProcessor implements Processor {
+
+    private static final Logger logger = LoggerFactory.getLogger(StaleCacheFallbackProcessor.class);
+
+    @Inject
+    JuridicalClientCache juridicalClientCache;
+
+    @Inject
+    MasterCedulaCache masterCedulaCache;
+
+    @Override
+    public void process(Exchange exchange) throws Exception {
+        OrchestrationContext context = OrchestrationContext.of(exchange);
+        ConsultarDatosGeneralesClienteRequest mainRequest = context.getMainRequest();
+
+        if (mainRequest == null) {
+            return;
+        }
+
+        if (Constants.IDENTIFICATION_TYPE_CEDULA.equals(mainRequest.identificationType())) {
+            ConsultarDatosMaestroCeduladosResponse stale =
+                masterCedulaCache.getStale(mainRequest.identification(), context.getCallerCredential());
+            if (stale != null) {
+                logger.warn("Servicio no disponible - Respondiendo con datos maestros en cache - ID: {}",
+                           mainRequest.identification());
+                context.setStaleFallback(true);
+                context.setClientFoundInMaster(true);
+                context.setService2Response(stale);
+            }
+            return;
+        }
+
+        ConsultarDatosGeneralesClienteResponse stale =
+            juridicalClientCache.getStale(mainRequest.identificationType(), mainRequest.identification(),
+                    context.getCallerCredential());
+        if (stale != null) {
+            logger.warn("Servicio no disponible - Respondiendo con cliente jurídico en cache - ID: {}",
+                       mainRequest.identification());
+            context.setStaleFallback(true);
+            exchange.getIn().setBody(stale);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.banreservas.integration.processors;
+
+import java.util.concurrent.Future;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.support.SynchronizationAdapter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.banreservas.integration.backend.BackendResponse;
+import com.banreservas.integration.backend.SpeculativeJceLookup;
+import com.banreservas.integration.context.OrchestrationContext;
+import com.banreservas.integration.model.inbound.request.ConsultarDatosGeneralesClienteRequest;
+
+/**
+ * Processor to start the JCE lookup in parallel with the master cedula lookup when a miss is likely.
+ * Runs after GenerateService2RequestProcessor, so only requests the master cedula lookup accepts
+ * are speculated on.
+ * The pending call is kept in the speculativeJce property and cancelled if the exchange
+ * completes without using it.
+ */
+@ApplicationScoped
+public class StartSpeculativeJceProcessor implements Processor {
+
+    private static final Logger logger = LoggerFactory.getLogger(StartSpeculativeJceProcessor.class);
+
+    @Inject
+    SpeculativeJceLookup speculativeJceLookup;
+
+    @Override
+    public void process(Exchange exchange) throws Exception {
+        OrchestrationContext context = OrchestrationContext.of(exchange);
+        ConsultarDatosGeneralesClienteRequest mainRequest = context.getMainRequest();
+
+        if (!speculativeJceLookup.shouldSpeculate(mainRequest.identification())) {
+            return;
+        }
+
+        logger.info("Iniciando consulta JCE especulativa - ID: {}", mainRequest.identification());
+        Future<BackendResponse> speculativeJce = speculativeJceLookup.start(exchange);
+        context.setSpeculativeJce(speculativeJce);
+
+        exchange.getExchangeExtension().addOnCompletion(new SynchronizationAdapter() {
+            @Override
+            public void onDone(Exchange completed) {
+                if (context.hasSpeculativeJce()) {
+                    speculativeJce.cancel(true);
+                    speculativeJceLookup.recordDiscarded();
+                }
+            }
+        });
+    }
+}
@@ -1,18 +1,28 @@
 package com.banreservas.integration.routes;
 
+import java.util.concurrent.ExecutorService;
+
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import org.apache.camel.Exchange;
 import org.apache.camel.LoggingLevel;
 import org.apache.camel.builder.RouteBuilder;
-import org.apache.camel.model.dataformat.JsonLibrary;
+import org.apache.camel.model.ProcessorDefinition;
 import org.apache.camel.model.rest.RestBindingMode;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.banreservas.integration.aggregation.BatchItemAggregationStrategy;
+import com.banreservas.integration.backend.Deadline;
+import com.banreservas.integration.context.OrchestrationContext;
 import com.banreservas.integration.model.inbound.request.ConsultarDatosGeneralesClienteRequest;
+import com.banreservas.integration.orchestration.OrchestrationStateMachine;
+import com.banreservas.integration.processors.AdmissionControlProcessor;
 import com.banreservas.integration.processors.ErrorResponseProcessor;
+import com.banreservas.integration.processors.RequestDeadlineProcessor;
 import com.banreservas.integration.util.Constants;
+import com.banreservas.integration.util.VirtualThreadExecutor;
 
 /**
  * Main orchestrator route for ConsultarDatosGeneralesCliente service.
@@ -32,6 +42,22 @@ import com.banreservas.integration.util.Constants;
  * - If master service returns 904 (not found) -> Call JCE service
  * - If force update is TRUE -> Call JCE service and update master data
  * 
+ * Every request gets a deadline (default, or the caller's X-Request-Timeout header up to a
+ * maximum); backend calls only get the remaining budget and are skipped once it is spent.
+ * 
+ * Under overload, requests that waited too long for a worker or exceed the in-flight cap
+ * are rejected at ingress with 503 and Retry-After, before any backend is called.
+ * 
+ * With the state machine enabled the business rules run as one precompiled state machine
+ * instead of the choice() graph and the direct: hops between the service routes.
+ * 
+ * In virtual-thread mode each request leaves the HTTP worker thread and runs the whole
+ * orchestration, including the blocking backend calls, on its own virtual thread.
+ * 
+ * Batch requests ("/lote") run every item through the same orchestration with
+ * bounded parallelism and return one response per item, in request order. Each item has
+ * its own deadline, capped by the deadline of the batch.
+ * 
  * @author Integration Team
  * @version 1.0
  */
@@ -43,6 +69,27 @@ public class ConsultarDatosGeneralesClienteOrchestratorRoute extends RouteBuilde
     @Inject
     ErrorResponseProcessor errorResponseProcessor;
 
+    @Inject
+    BatchItemAggregationStrategy batchItemAggregationStrategy;
+
+    @Inject
+    RequestDeadlineProcessor requestDeadlineProcessor;
+
+    @Inject
+    VirtualThreadExecutor virtualThreadExecutor;
+
+    @Inject
+    AdmissionControlProcessor admissionControlProcessor;
+
+    @Inject
+    OrchestrationStateMachine orchestrationStateMachine;
+
+    @ConfigProperty(name = "lote.consultar.datos.generales.cliente.paralelismo", defaultValue = "8")
+    int batchParallelism;
+
+    @ConfigProperty(name = "lote.consultar.datos.generales.cliente.max.items", defaultValue = "500")
+    int batchMaxItems;
+
     @Override
     public void configure() throws Exception {
 
@@ -53,8 +100,6 @@ public class ConsultarDatosGeneralesClienteOrchestratorRoute extends RouteBuilde
                 .setProperty("errorCode", constant(Constants.HTTP_BAD_REQUEST))
                 .setProperty("errorMessage", simple("${exception.message}"))
                 .process(errorResponseProcessor)
-                .marshal().json(JsonLibrary.Jackson)
-                .setHeader("Content-Type", constant("application/json; charset=UTF-8"))
                 .setHeader(Exchange.HTTP_RESPONSE_CODE, constant(400))
                 .end();
 
@@ -64,8 +109,6 @@ public class ConsultarDatosGeneralesClienteOrchestratorRoute extends RouteBuilde
                 .setProperty("errorCode", constant(Constants.HTTP_INTERNAL_ERROR))
                 .setProperty("errorMessage", simple("${exception.message}"))
                 .process(errorResponseProcessor)
-                .marshal().json(JsonLibrary.Jackson)
-                .setHeader("Content-Type", constant("application/json; charset=UTF-8"))
                 .setHeader(Exchange.HTTP_RESPONSE_CODE, constant(500))
                 .end();
 
@@ -83,12 +126,33 @@ public class ConsultarDatosGeneralesClienteOrchestratorRoute extends RouteBuilde
         rest("/api/v1")
             .post("/consultar-datos-generales-cliente")  // CON "/" al inicio
             .type(ConsultarDatosGeneralesClienteRequest.class)
-            .to("direct:orchestrate-consultar-datos-generales-cliente");
+            .to("direct:orchestrate-consultar-datos-generales-cliente")
+            .post("/consultar-datos-generales-cliente/lote")
+            .type(ConsultarDatosGeneralesClienteRequest[].class)
+            .to("direct:orchestrate-consultar-datos-generales-cliente-lote");
+
+        ExecutorService batchExecutor = getContext().getExecutorServiceManager()
+                .newFixedThreadPool(this, "ConsultarDatosGeneralesClienteLote", batchParallelism);
 
         // Main orchestration route
-        from("direct:orchestrate-consultar-datos-generales-cliente")
+        ProcessorDefinition<?> orchestration = from("direct:orchestrate-consultar-datos-generales-cliente")
                 .routeId("consultar-datos-generales-cliente-orchestrator")
+                .process(OrchestrationContext::attach)
+
+                // Shed load before doing any work
+                .process(admissionControlProcessor)
+                .choice()
+                .when(exchange -> OrchestrationContext.of(exchange).isAdmissionRejected())
+                    .process(errorResponseProcessor)
+                    .stop()
+                .end();
+        if (virtualThreadExecutor.isEnabled()) {
+            orchestration = orchestration.threads().executorService(virtualThreadExecutor.executor());
+        }
+
+        orchestration = orchestration
                 .log(LoggingLevel.INFO, logger, "Starting orchestration for ConsultarDatosGeneralesCliente")
+                .process(requestDeadlineProcessor)
                 
                 // Validate request body
                 .choice()
@@ -97,59 +161,108 @@ public class ConsultarDatosGeneralesClienteOrchestratorRoute extends RouteBuilde
                     .setProperty("errorCode", constant(Constants.HTTP_BAD_REQUEST))
                     .setProperty("errorMessage", constant(Constants.VALIDATION_MESSAGE_IDENTIFICATION_REQUIRED))
                     .process(errorResponseProcessor)
-                    .marshal().json(JsonLibrary.Jackson)
-                    .setHeader("Content-Type", constant("application/json; charset=UTF-8"))
                     .setHeader(Exchange.HTTP_RESPONSE_CODE, constant(400))
                     .stop()
                 .end()
                 
-                // Store main request and extract headers
-                .setProperty("mainRequest", body())
-                .setProperty("canalRq", header(Constants.HEADER_CANAL))
-                .setProperty("usuarioRq", header(Constants.HEADER_USUARIO))
-                .setProperty("terminalRq", header(Constants.HEADER_TERMINAL))
-                .setProperty("fechaHoraRq", header(Constants.HEADER_FECHA_HORA))
-                .setProperty("versionRq", header(Constants.HEADER_VERSION))
-                .setProperty("sessionIdRq", header(Constants.HEADER_SESSION_ID))
-                
-                // Extract request parameters for business logic
-                .setProperty("identificationType", simple("${body.identificationType}"))
-                .setProperty("forceUpdate", simple("${body.forceUpdate}"))
-                .setProperty("includeBinaryPhoto", simple("${body.includeBinaryPhoto}"))
-                
-                .log(LoggingLevel.INFO, logger, "Processing request - ID: ${body.identification}, Type: ${body.identificationType}, ForceUpdate: ${body.forceUpdate}")
+                // Store main request and caller headers in the orchestration context
+                .process(exchange -> OrchestrationContext.of(exchange).captureRequest(exchange.getIn()))
                 
+                .log(LoggingLevel.INFO, logger, "Processing request - ID: ${body.identification}, Type: ${body.identificationType}, ForceUpdate: ${body.forceUpdate}");
+
+        if (orchestrationStateMachine.isEnabled()) {
+            // Business rules run as a precompiled state machine
+            orchestration = orchestration.process(orchestrationStateMachine);
+        } else {
+            orchestration = orchestration
                 // Route based on identification type
                 .choice()
                 
                 // Route 1: RNC identification -> Call juridical client service
-                .when(simple("${exchangeProperty.identificationType} == '" + Constants.IDENTIFICATION_TYPE_RNC + "'"))
+                .when(exchange -> Constants.IDENTIFICATION_TYPE_RNC.equals(OrchestrationContext.of(exchange).getIdentificationType()))
                     .log(LoggingLevel.INFO, logger, "Routing to juridical client service for RNC")
                     .to("direct:call-service1-juridical-client")
                 
                 // Route 2: Cedula identification -> Start with master cedula service
-                .when(simple("${exchangeProperty.identificationType} == '" + Constants.IDENTIFICATION_TYPE_CEDULA + "'"))
+                .when(exchange -> Constants.IDENTIFICATION_TYPE_CEDULA.equals(OrchestrationContext.of(exchange).getIdentificationType()))
                     .log(LoggingLevel.INFO, logger, "Routing to master cedula service for Cedula")
                     .to("direct:call-service2-master-cedula")
                 
                 // Route 3: Passport identification -> Call juridical client service (if supported)
-                .when(simple("${exchangeProperty.identificationType} == '" + Constants.IDENTIFICATION_TYPE_PASSPORT + "'"))
+                .when(exchange -> Constants.IDENTIFICATION_TYPE_PASSPORT.equals(OrchestrationContext.of(exchange).getIdentificationType()))
                     .log(LoggingLevel.INFO, logger, "Routing to juridical client service for Passport")
                     .to("direct:call-service1-juridical-client")
                 
                 // Invalid identification type
                 .otherwise()
-                    .log(LoggingLevel.WARN, logger, "Invalid identification type: ${exchangeProperty.identificationType}")
+                    .log(LoggingLevel.WARN, logger, "Invalid identification type: ${exchangeProperty.orchestrationContext.identificationType}")
                     .setProperty("errorCode", constant(Constants.HTTP_BAD_REQUEST))
                     .setProperty("errorMessage", constant(Constants.VALIDATION_MESSAGE_INVALID_IDENTIFICATION_TYPE))
                     .process(errorResponseProcessor)
-                    .marshal().json(JsonLibrary.Jackson)
-                    .setHeader("Content-Type", constant("application/json; charset=UTF-8"))
                     .setHeader(Exchange.HTTP_RESPONSE_CODE, constant(400))
                     .stop()
+                .end();
+        }
+
+        orchestration
+                .log(LoggingLevel.INFO, logger, "Orchestration completed for request ID: ${exchangeProperty.orchestrationContext.mainRequest.identification}")
+                .end();
+
+        // Batch orchestration route
+        from("direct:orchestrate-consultar-datos-generales-cliente-lote")
+                .routeId("consultar-datos-generales-cliente-lote-orchestrator")
+                .process(OrchestrationContext::attach)
+
+                // A batch is admitted as a whole; its items are not shed individually
+                .process(admissionControlProcessor)
+                .choice()
+                .when(exchange -> OrchestrationContext.of(exchange).isAdmissionRejected())
+                    .process(errorResponseProcessor)
+                    .stop()
                 .end()
-                
-                .log(LoggingLevel.INFO, logger, "Orchestration completed for request ID: ${exchangeProperty.mainRequest.identification}")
+
+                // The batch deadline caps the items' own budgets
+                .process(requestDeadlineProcessor)
+                .process(Deadline::toBatch)
+                .process(exchange -> {
+                    ConsultarDatosGeneralesClienteRequest[] items =
+                        exchange.getIn().getBody(ConsultarDatosGeneralesClienteRequest[].class);
+                    exchange.setProperty("batchSize", items != null ? items.length : 0);
+                })
+                .log(LoggingLevel.INFO, logger, "Starting batch orchestration - Items: ${exchangeProperty.batchSize}")
+
+                // Validate batch size
+                .choice()
+                .when(simple("${exchangeProperty.batchSize} == 0"))
+                    .log(LoggingLevel.WARN, logger, "Empty batch request received")
+                    .setProperty("errorCode", constant(Constants.HTTP_BAD_REQUEST))
+                    .setProperty("errorMessage", constant(Constants.VALIDATION_MESSAGE_BATCH_REQUIRED))
+                    .process(errorResponseProcessor)
+                    .setHeader(Exchange.HTTP_RESPONSE_CODE, constant(400))
+                    .stop()
+                .when(simple("${exchangeProperty.batchSize} > " + batchMaxItems))
+                    .log(LoggingLevel.WARN, logger, "Batch request too large - Items: ${exchangeProperty.batchSize}")
+                    .setProperty("errorCode", constant(Constants.HTTP_BAD_REQUEST))
+                    .setProperty("errorMessage", constant(Constants.VALIDATION_MESSAGE_BATCH_TOO_LARGE + batchMaxItems))
+                    .process(errorResponseProcessor)
+                    .setHeader(Exchange.HTTP_RESPONSE_CODE, constant(400))
+                    .stop()
+                .end()
+
+                // Each item goes through the single-request orchestration
+                .process(exchange -> exchange.setProperty(BatchItemAggregationStrategy.BATCH_RESPONSES,
+                        new byte[exchange.getProperty("batchSize", Integer.class)][]))
+                .split(body(), batchItemAggregationStrategy)
+                    .parallelProcessing()
+                    .executorService(batchExecutor)
+                    .to("direct:orchestrate-consultar-datos-generales-cliente")
+                .end()
+
+                .process(exchange -> exchange.getIn().setBody(BatchItemAggregationStrategy.toJsonArray(
+                        exchange.getProperty(BatchItemAggregationStrategy.BATCH_RESPONSES, byte[][].class))))
+                .setHeader("Content-Type", constant("application/json; charset=UTF-8"))
+                .setHeader(Exchange.HTTP_RESPONSE_CODE, constant(200))
+                .log(LoggingLevel.INFO, logger, "Batch orchestration completed - Items: ${exchangeProperty.batchSize}")
                 .end();
     }
 }
\ No newline at end of file
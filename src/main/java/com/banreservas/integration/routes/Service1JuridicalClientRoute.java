@@ -6,14 +6,21 @@ import org.apache.camel.Exchange;
 import org.apache.camel.LoggingLevel;
 import org.apache.camel.builder.RouteBuilder;
 import org.apache.camel.model.dataformat.JsonLibrary;
-import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.banreservas.integration.backend.BackendEndpoints;
+import com.banreservas.integration.backend.BackendInvoker;
+import com.banreservas.integration.context.OrchestrationContext;
+import com.banreservas.integration.exceptions.BackendUnavailableException;
+import com.banreservas.integration.processors.EncodeFinalResponseProcessor;
 import com.banreservas.integration.processors.ErrorResponseProcessor;
 import com.banreservas.integration.processors.GenerateService1RequestProcessor;
+import com.banreservas.integration.processors.LookupService1CacheProcessor;
 import com.banreservas.integration.processors.ProcessService1ResponseProcessor;
+import com.banreservas.integration.processors.StaleCacheFallbackProcessor;
 import com.banreservas.integration.util.Constants;
+import com.banreservas.integration.util.ProcessingFailure;
 
 import java.net.SocketTimeoutException;
 
@@ -26,6 +33,7 @@ import java.net.SocketTimeoutException;
  * Service Expression: Body.Clientes.Cliente.Identificaciones.Identificacion.Tipo = 'RNC'
  * 
  * Flow:
+ * 0. Serve the mapped result from the juridical client cache when available
  * 1. Generate request for juridical client service
  * 2. Call external service with proper headers
  * 3. Process response and handle different HTTP status codes
@@ -39,11 +47,11 @@ public class Service1JuridicalClientRoute extends RouteBuilder {
 
     private static final Logger logger = LoggerFactory.getLogger(Service1JuridicalClientRoute.class);
 
-    @ConfigProperty(name = "consultar.datos.generales.cliente.juridico.url")
-    String service1Url;
+    @Inject
+    BackendEndpoints backendEndpoints;
 
-    @ConfigProperty(name = "timeout.consultar.datos.generales.cliente.juridico")
-    String service1Timeout;
+    @Inject
+    LookupService1CacheProcessor lookupService1CacheProcessor;
 
     @Inject
     GenerateService1RequestProcessor generateService1RequestProcessor;
@@ -54,6 +62,15 @@ public class Service1JuridicalClientRoute extends RouteBuilder {
     @Inject
     ErrorResponseProcessor errorResponseProcessor;
 
+    @Inject
+    EncodeFinalResponseProcessor encodeFinalResponseProcessor;
+
+    @Inject
+    StaleCacheFallbackProcessor staleCacheFallbackProcessor;
+
+    @Inject
+    BackendInvoker backendInvoker;
+
     @Override
     public void configure() throws Exception {
 
@@ -62,9 +79,24 @@ public class Service1JuridicalClientRoute extends RouteBuilder {
                 .handled(true)
                 .log(LoggingLevel.ERROR, logger, "Timeout calling juridical client service")
                 .setProperty("errorCode", constant(Constants.HTTP_INTERNAL_ERROR))
-                .setProperty("errorMessage", constant("Timeout connecting to juridical client service"))
+                .setProperty("errorMessage", constant(Constants.ERROR_MESSAGE_JURIDICAL_CLIENT_TIMEOUT))
                 .process(errorResponseProcessor)
-                .marshal().json(JsonLibrary.Jackson)
+                .end();
+
+        // Backend unavailable (circuit open or concurrency limit) - answer from last known good data
+        onException(BackendUnavailableException.class)
+                .handled(true)
+                .log(LoggingLevel.WARN, logger, "Juridical client service unavailable: ${exception.message}")
+                .process(staleCacheFallbackProcessor)
+                .choice()
+                .when(exchange -> OrchestrationContext.of(exchange).isStaleFallback())
+                    .process(encodeFinalResponseProcessor)
+                    .setHeader(Exchange.HTTP_RESPONSE_CODE, constant(200))
+                .otherwise()
+                    .setProperty("errorCode", constant(Constants.HTTP_SERVICE_UNAVAILABLE))
+                    .setProperty("errorMessage", constant(Constants.ERROR_MESSAGE_SERVICE_UNAVAILABLE))
+                    .process(errorResponseProcessor)
+                .end()
                 .end();
 
         // General exception handling
@@ -74,7 +106,6 @@ public class Service1JuridicalClientRoute extends RouteBuilder {
                 .setProperty("errorCode", constant(Constants.HTTP_INTERNAL_ERROR))
                 .setProperty("errorMessage", simple("Error in juridical client service: ${exception.message}"))
                 .process(errorResponseProcessor)
-                .marshal().json(JsonLibrary.Jackson)
                 .end();
 
         // Service 1 call route
@@ -82,18 +113,34 @@ public class Service1JuridicalClientRoute extends RouteBuilder {
                 .routeId("service1-juridical-client-call")
                 .log(LoggingLevel.INFO, logger, "Calling ConsultarDatosGeneralesClienteJuridico service")
 
+                // Serve cached results (including short-lived "not found" results)
+                .process(lookupService1CacheProcessor)
+                .choice()
+                .when(exchange -> OrchestrationContext.of(exchange).isService1CacheHit())
+                    .log(LoggingLevel.INFO, logger, "Juridical client cache hit - Skipping backend call")
+                    .process(encodeFinalResponseProcessor)
+                    .setHeader(Exchange.HTTP_RESPONSE_CODE, constant(200))
+                    .stop()
+                .end()
+
                 // Generate request for service 1
                 .process(generateService1RequestProcessor)
+                .choice()
+                .when(ProcessingFailure::isReported)
+                    .process(errorResponseProcessor)
+                    .stop()
+                .end()
                 .marshal().json(JsonLibrary.Jackson)
 
                 // Set HTTP headers from original request
-                .setHeader(Constants.HEADER_SESSION_ID, exchangeProperty("sessionIdRq"))
+                .setHeader(Constants.HEADER_SESSION_ID, OrchestrationContext.SESSION_ID)
                 .setHeader(Constants.HEADER_CONTENT_TYPE, constant("application/json"))
                 .setHeader(Constants.HEADER_AUTHORIZATION, header(Constants.HEADER_AUTHORIZATION))
                 .setHeader(Exchange.HTTP_METHOD, constant("POST"))
 
-                // Call external service
-                .toD(service1Url + "?bridgeEndpoint=true&throwExceptionOnFailure=false&httpClientConfigurer=#selfSignedHttpClientConfigurer")
+                // Call external service (identical concurrent lookups share one call)
+                .process(backendInvoker.call(Constants.SERVICE_CONSULTAR_DATOS_GENERALES_CLIENTE_JURIDICO,
+                        backendEndpoints.juridicalClient()))
 
                 // Handle response based on HTTP status code
                 .choice()
@@ -101,47 +148,45 @@ public class Service1JuridicalClientRoute extends RouteBuilder {
                 // 200 - Success
                 .when(header(Exchange.HTTP_RESPONSE_CODE).isEqualTo(200))
                     .log(LoggingLevel.INFO, logger, "Juridical client service returned success - HTTP 200")
-                    .unmarshal().json(JsonLibrary.Jackson)
                     .process(processService1ResponseProcessor)
-                    .marshal().json(JsonLibrary.Jackson)
-                    .setHeader("Content-Type", constant("application/json; charset=UTF-8"))
-.setHeader(Exchange.HTTP_RESPONSE_CODE, constant(200))
+                    .filter(ProcessingFailure::isReported)
+                        .process(errorResponseProcessor)
+                        .stop()
+                    .end()
+                    .process(encodeFinalResponseProcessor)
+                    .setHeader(Exchange.HTTP_RESPONSE_CODE, constant(200))
                     .stop()
 
                 // 400 - Bad Request
                 .when(header(Exchange.HTTP_RESPONSE_CODE).isEqualTo(400))
                     .log(LoggingLevel.WARN, logger, "Juridical client service returned bad request - HTTP 400")
                     .setProperty("errorCode", constant(Constants.HTTP_BAD_REQUEST))
-                    .setProperty("errorMessage", constant("Invalid request to juridical client service"))
+                    .setProperty("errorMessage", constant(Constants.ERROR_MESSAGE_JURIDICAL_CLIENT_BAD_REQUEST))
                     .process(errorResponseProcessor)
-                    .marshal().json(JsonLibrary.Jackson)
                     .stop()
 
                 // 401 - Unauthorized
                 .when(header(Exchange.HTTP_RESPONSE_CODE).isEqualTo(401))
                     .log(LoggingLevel.WARN, logger, "Juridical client service returned unauthorized - HTTP 401")
-                    .setProperty("errorCode", constant(401))
-                    .setProperty("errorMessage", constant("Unauthorized access to juridical client service"))
+                    .setProperty("errorCode", constant(Constants.HTTP_UNAUTHORIZED))
+                    .setProperty("errorMessage", constant(Constants.ERROR_MESSAGE_JURIDICAL_CLIENT_UNAUTHORIZED))
                     .process(errorResponseProcessor)
-                    .marshal().json(JsonLibrary.Jackson)
                     .stop()
 
                 // 500 - Internal Server Error
                 .when(header(Exchange.HTTP_RESPONSE_CODE).isEqualTo(500))
                     .log(LoggingLevel.ERROR, logger, "Juridical client service returned internal error - HTTP 500")
-                    .setProperty("errorCode", constant(502))
-                    .setProperty("errorMessage", constant("Internal error in juridical client service"))
+                    .setProperty("errorCode", constant(Constants.HTTP_BAD_GATEWAY))
+                    .setProperty("errorMessage", constant(Constants.ERROR_MESSAGE_JURIDICAL_CLIENT_INTERNAL_ERROR))
                     .process(errorResponseProcessor)
-                    .marshal().json(JsonLibrary.Jackson)
                     .stop()
 
                 // Other error codes
                 .otherwise()
                     .log(LoggingLevel.ERROR, logger, "Juridical client service returned unexpected code - HTTP ${header.CamelHttpResponseCode}")
-                    .setProperty("errorCode", constant(502))
+                    .setProperty("errorCode", constant(Constants.HTTP_BAD_GATEWAY))
                     .setProperty("errorMessage", simple("Unexpected error from juridical client service: HTTP ${header.CamelHttpResponseCode}"))
                     .process(errorResponseProcessor)
-                    .marshal().json(JsonLibrary.Jackson)
                     .stop()
                 .end();
     }
@@ -6,14 +6,24 @@ import org.apache.camel.Exchange;
 import org.apache.camel.LoggingLevel;
 import org.apache.camel.builder.RouteBuilder;
 import org.apache.camel.model.dataformat.JsonLibrary;
-import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.banreservas.integration.backend.BackendEndpoints;
+import com.banreservas.integration.backend.BackendInvoker;
+import com.banreservas.integration.context.OrchestrationContext;
+import com.banreservas.integration.exceptions.BackendUnavailableException;
+import com.banreservas.integration.backend.MasterCedulaMicroBatcher;
+import com.banreservas.integration.backend.SpeculativeJceLookup;
 import com.banreservas.integration.processors.ErrorResponseProcessor;
 import com.banreservas.integration.processors.GenerateService2RequestProcessor;
+import com.banreservas.integration.processors.LookupService2CacheProcessor;
+import com.banreservas.integration.processors.MasterCedulaMicroBatchProcessor;
 import com.banreservas.integration.processors.ProcessService2ResponseProcessor;
+import com.banreservas.integration.processors.StaleCacheFallbackProcessor;
+import com.banreservas.integration.processors.StartSpeculativeJceProcessor;
 import com.banreservas.integration.util.Constants;
+import com.banreservas.integration.util.ProcessingFailure;
 
 import java.net.SocketTimeoutException;
 
@@ -28,8 +38,10 @@ import java.net.SocketTimeoutException;
  *                    AND Options.ForzarActualizar=FALSE
  * 
  * Flow:
- * 1. Generate request for master cedula service
- * 2. Call external service
+ * 0. Serve the result from the master cedula cache when available
+ * 1. Generate request for master cedula service, starting the JCE lookup in parallel
+ *    when a miss is likely (speculative mode)
+ * 2. Call external service, optionally aggregated with concurrent lookups (micro-batching)
  * 3. Process response and check for error code 904 (not found)
  * 4. If 904 or force update = TRUE, route to JCE service
  * 5. Otherwise, return master data response
@@ -42,11 +54,11 @@ public class Service2MasterCedulaRoute extends RouteBuilder {
 
     private static final Logger logger = LoggerFactory.getLogger(Service2MasterCedulaRoute.class);
 
-    @ConfigProperty(name = "consultar.datos.maestro.cedulados.url")
-    String service2Url;
+    @Inject
+    BackendEndpoints backendEndpoints;
 
-    @ConfigProperty(name = "timeout.consultar.datos.maestro.cedulados")
-    String service2Timeout;
+    @Inject
+    LookupService2CacheProcessor lookupService2CacheProcessor;
 
     @Inject
     GenerateService2RequestProcessor generateService2RequestProcessor;
@@ -57,6 +69,24 @@ public class Service2MasterCedulaRoute extends RouteBuilder {
     @Inject
     ErrorResponseProcessor errorResponseProcessor;
 
+    @Inject
+    StaleCacheFallbackProcessor staleCacheFallbackProcessor;
+
+    @Inject
+    BackendInvoker backendInvoker;
+
+    @Inject
+    MasterCedulaMicroBatcher masterCedulaMicroBatcher;
+
+    @Inject
+    SpeculativeJceLookup speculativeJceLookup;
+
+    @Inject
+    MasterCedulaMicroBatchProcessor masterCedulaMicroBatchProcessor;
+
+    @Inject
+    StartSpeculativeJceProcessor startSpeculativeJceProcessor;
+
     @Override
     public void configure() throws Exception {
 
@@ -65,9 +95,23 @@ public class Service2MasterCedulaRoute extends RouteBuilder {
                 .handled(true)
                 .log(LoggingLevel.ERROR, logger, "Timeout calling master cedula service")
                 .setProperty("errorCode", constant(Constants.HTTP_INTERNAL_ERROR))
-                .setProperty("errorMessage", constant("Timeout connecting to master cedula service"))
+                .setProperty("errorMessage", constant(Constants.ERROR_MESSAGE_MASTER_CEDULA_TIMEOUT))
                 .process(errorResponseProcessor)
-                .marshal().json(JsonLibrary.Jackson)
+                .end();
+
+        // Backend unavailable (circuit open or concurrency limit) - answer from last known good data
+        onException(BackendUnavailableException.class)
+                .handled(true)
+                .log(LoggingLevel.WARN, logger, "Master cedula service unavailable: ${exception.message}")
+                .process(staleCacheFallbackProcessor)
+                .choice()
+                .when(exchange -> OrchestrationContext.of(exchange).isStaleFallback())
+                    .to("direct:process-master-response")
+                .otherwise()
+                    .setProperty("errorCode", constant(Constants.HTTP_SERVICE_UNAVAILABLE))
+                    .setProperty("errorMessage", constant(Constants.ERROR_MESSAGE_SERVICE_UNAVAILABLE))
+                    .process(errorResponseProcessor)
+                .end()
                 .end();
 
         // General exception handling
@@ -77,7 +121,6 @@ public class Service2MasterCedulaRoute extends RouteBuilder {
                 .setProperty("errorCode", constant(Constants.HTTP_INTERNAL_ERROR))
                 .setProperty("errorMessage", simple("Error in master cedula service: ${exception.message}"))
                 .process(errorResponseProcessor)
-                .marshal().json(JsonLibrary.Jackson)
                 .end();
 
         // Service 2 call route
@@ -85,18 +128,42 @@ public class Service2MasterCedulaRoute extends RouteBuilder {
                 .routeId("service2-master-cedula-call")
                 .log(LoggingLevel.INFO, logger, "Calling ConsultarDatosMaestroCedulados service")
 
+                // Serve recently resolved cedulas from cache
+                .process(lookupService2CacheProcessor)
+                .choice()
+                .when(exchange -> OrchestrationContext.of(exchange).isService2CacheHit())
+                    .log(LoggingLevel.INFO, logger, "Master cedula cache hit - Skipping backend call")
+                    .to("direct:process-service2-result")
+                    .stop()
+                .end()
+
                 // Generate request for service 2
                 .process(generateService2RequestProcessor)
-                .marshal().json(JsonLibrary.Jackson)
 
-                // Set HTTP headers
-                .setHeader(Constants.HEADER_SESSION_ID, exchangeProperty("sessionIdRq"))
-                .setHeader(Constants.HEADER_CONTENT_TYPE, constant("application/json"))
-                .setHeader(Constants.HEADER_AUTHORIZATION, header(Constants.HEADER_AUTHORIZATION))
-                .setHeader(Exchange.HTTP_METHOD, constant("POST"))
+                // Overlap the JCE lookup with this call when a 904 is likely; only once the
+                // request is valid, so a rejected request never reaches JCE
+                .choice()
+                .when(exchange -> speculativeJceLookup.isEnabled())
+                    .process(startSpeculativeJceProcessor)
+                .end()
+
+                .choice()
+                // Aggregate with concurrent lookups into a multi-client call
+                .when(exchange -> masterCedulaMicroBatcher.isEnabled())
+                    .process(masterCedulaMicroBatchProcessor)
+                .otherwise()
+                    .marshal().json(JsonLibrary.Jackson)
+
+                    // Set HTTP headers
+                    .setHeader(Constants.HEADER_SESSION_ID, OrchestrationContext.SESSION_ID)
+                    .setHeader(Constants.HEADER_CONTENT_TYPE, constant("application/json"))
+                    .setHeader(Constants.HEADER_AUTHORIZATION, header(Constants.HEADER_AUTHORIZATION))
+                    .setHeader(Exchange.HTTP_METHOD, constant("POST"))
 
-                // Call external service
-                .toD(service2Url + "?bridgeEndpoint=true&throwExceptionOnFailure=false&httpClientConfigurer=#selfSignedHttpClientConfigurer")
+                    // Call external service (identical concurrent lookups share one call)
+                    .process(backendInvoker.call(Constants.SERVICE_CONSULTAR_DATOS_MAESTRO_CEDULADOS,
+                            backendEndpoints.masterCedula()))
+                .end()
 
                 // Handle response based on HTTP status code
                 .choice()
@@ -111,36 +178,32 @@ public class Service2MasterCedulaRoute extends RouteBuilder {
                 .when(header(Exchange.HTTP_RESPONSE_CODE).isEqualTo(400))
                     .log(LoggingLevel.WARN, logger, "Master cedula service returned bad request - HTTP 400")
                     .setProperty("errorCode", constant(Constants.HTTP_BAD_REQUEST))
-                    .setProperty("errorMessage", constant("Invalid request to master cedula service"))
+                    .setProperty("errorMessage", constant(Constants.ERROR_MESSAGE_MASTER_CEDULA_BAD_REQUEST))
                     .process(errorResponseProcessor)
-                    .marshal().json(JsonLibrary.Jackson)
                     .stop()
 
                 // 401 - Unauthorized
                 .when(header(Exchange.HTTP_RESPONSE_CODE).isEqualTo(401))
                     .log(LoggingLevel.WARN, logger, "Master cedula service returned unauthorized - HTTP 401")
-                    .setProperty("errorCode", constant(401))
-                    .setProperty("errorMessage", constant("Unauthorized access to master cedula service"))
+                    .setProperty("errorCode", constant(Constants.HTTP_UNAUTHORIZED))
+                    .setProperty("errorMessage", constant(Constants.ERROR_MESSAGE_MASTER_CEDULA_UNAUTHORIZED))
                     .process(errorResponseProcessor)
-                    .marshal().json(JsonLibrary.Jackson)
                     .stop()
 
                 // 500 - Internal Server Error
                 .when(header(Exchange.HTTP_RESPONSE_CODE).isEqualTo(500))
                     .log(LoggingLevel.ERROR, logger, "Master cedula service returned internal error - HTTP 500")
-                    .setProperty("errorCode", constant(502))
-                    .setProperty("errorMessage", constant("Internal error in master cedula service"))
+                    .setProperty("errorCode", constant(Constants.HTTP_BAD_GATEWAY))
+                    .setProperty("errorMessage", constant(Constants.ERROR_MESSAGE_MASTER_CEDULA_INTERNAL_ERROR))
                     .process(errorResponseProcessor)
-                    .marshal().json(JsonLibrary.Jackson)
                     .stop()
 
                 // Other error codes
                 .otherwise()
                     .log(LoggingLevel.ERROR, logger, "Master cedula service returned unexpected code - HTTP ${header.CamelHttpResponseCode}")
-                    .setProperty("errorCode", constant(502))
+                    .setProperty("errorCode", constant(Constants.HTTP_BAD_GATEWAY))
                     .setProperty("errorMessage", simple("Unexpected error from master cedula service: HTTP ${header.CamelHttpResponseCode}"))
                     .process(errorResponseProcessor)
-                    .marshal().json(JsonLibrary.Jackson)
                     .stop()
                 .end();
 
@@ -150,34 +213,31 @@ public class Service2MasterCedulaRoute extends RouteBuilder {
                 .log(LoggingLevel.INFO, logger, "Processing service2 result")
                 
                 .choice()
-                .when(exchangeProperty("service2Error").isEqualTo(true))
-                    .log(LoggingLevel.ERROR, logger, "Error in service2 processing: ${exchangeProperty.service2ErrorMessage}")
-                    .setProperty("errorCode", exchangeProperty("service2ErrorCode"))
-                    .setProperty("errorMessage", exchangeProperty("service2ErrorMessage"))
+                .when(ProcessingFailure::isReported)
+                    .log(LoggingLevel.ERROR, logger, "Error in service2 processing: ${exchangeProperty.errorMessage}")
                     .process(errorResponseProcessor)
-                    .marshal().json(JsonLibrary.Jackson)
                     .stop()
                     
-                .when(exchangeProperty("callJCEService").isEqualTo(true))
+                .when(exchange -> OrchestrationContext.of(exchange).isCallJceService())
                     .log(LoggingLevel.INFO, logger, "Client not found in master data or force update requested - Calling JCE service")
                     .to("direct:call-service3-jce")
                     
-                .when(exchangeProperty("clientFoundInMaster").isEqualTo(true))
+                .when(exchange -> OrchestrationContext.of(exchange).isClientFoundInMaster())
                     .log(LoggingLevel.INFO, logger, "Client found in master data - Preparing final response")
                     .to("direct:process-master-response")
                     
                 .otherwise()
                     .log(LoggingLevel.ERROR, logger, "Unexpected condition after master cedula service call")
                     .process(exchange -> {
-                        logger.error("DEBUG - Exchange properties: callJCE={}, clientFound={}, service2Error={}", 
-                                    exchange.getProperty("callJCEService"), 
-                                    exchange.getProperty("clientFoundInMaster"), 
-                                    exchange.getProperty("service2Error"));
+                        OrchestrationContext context = OrchestrationContext.of(exchange);
+                        logger.error("DEBUG - Orchestration context: callJCE={}, clientFound={}, failure={}", 
+                                    context.isCallJceService(), 
+                                    context.isClientFoundInMaster(), 
+                                    context.getFailure());
                     })
                     .setProperty("errorCode", constant(Constants.HTTP_INTERNAL_ERROR))
-                    .setProperty("errorMessage", constant("Unexpected condition in master cedula processing"))
+                    .setProperty("errorMessage", constant(Constants.ERROR_MESSAGE_MASTER_CEDULA_UNEXPECTED))
                     .process(errorResponseProcessor)
-                    .marshal().json(JsonLibrary.Jackson)
                     .stop()
                 .end();
     }
@@ -6,14 +6,20 @@ import org.apache.camel.Exchange;
 import org.apache.camel.LoggingLevel;
 import org.apache.camel.builder.RouteBuilder;
 import org.apache.camel.model.dataformat.JsonLibrary;
-import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.banreservas.integration.backend.BackendEndpoints;
+import com.banreservas.integration.backend.BackendInvoker;
+import com.banreservas.integration.context.OrchestrationContext;
+import com.banreservas.integration.exceptions.BackendUnavailableException;
+import com.banreservas.integration.processors.AwaitSpeculativeJceProcessor;
 import com.banreservas.integration.processors.ErrorResponseProcessor;
 import com.banreservas.integration.processors.GenerateService3RequestProcessor;
 import com.banreservas.integration.processors.ProcessService3ResponseProcessor;
+import com.banreservas.integration.processors.StaleCacheFallbackProcessor;
 import com.banreservas.integration.util.Constants;
+import com.banreservas.integration.util.ProcessingFailure;
 
 import java.net.SocketTimeoutException;
 
@@ -27,8 +33,8 @@ import java.net.SocketTimeoutException;
  *                    AND (Code.ConsultarDatosMaestroCedulados_SP = '904' OR Options.ForzarActualizar=TRUE)
  * 
  * Flow:
- * 1. Generate request for JCE service
- * 2. Call external JCE service
+ * 1. Take the response of the speculative JCE call started with the master lookup, if any
+ * 2. Otherwise generate request for JCE service and call external JCE service
  * 3. Process response and determine if master data should be updated
  * 4. If data found in JCE, route to update service
  * 5. Otherwise, return appropriate error response
@@ -41,11 +47,8 @@ public class Service3JCERoute extends RouteBuilder {
 
     private static final Logger logger = LoggerFactory.getLogger(Service3JCERoute.class);
 
-    @ConfigProperty(name = "consultar.datos.jcedp.url")
-    String service3Url;
-
-    @ConfigProperty(name = "timeout.consultar.datos.jcedp")
-    String service3Timeout;
+    @Inject
+    BackendEndpoints backendEndpoints;
 
     @Inject
     GenerateService3RequestProcessor generateService3RequestProcessor;
@@ -53,9 +56,18 @@ public class Service3JCERoute extends RouteBuilder {
     @Inject
     ProcessService3ResponseProcessor processService3ResponseProcessor;
 
+    @Inject
+    AwaitSpeculativeJceProcessor awaitSpeculativeJceProcessor;
+
     @Inject
     ErrorResponseProcessor errorResponseProcessor;
 
+    @Inject
+    StaleCacheFallbackProcessor staleCacheFallbackProcessor;
+
+    @Inject
+    BackendInvoker backendInvoker;
+
     @Override
     public void configure() throws Exception {
 
@@ -64,9 +76,23 @@ public class Service3JCERoute extends RouteBuilder {
                 .handled(true)
                 .log(LoggingLevel.ERROR, logger, "Timeout calling JCE service")
                 .setProperty("errorCode", constant(Constants.HTTP_INTERNAL_ERROR))
-                .setProperty("errorMessage", constant("Timeout connecting to JCE service"))
+                .setProperty("errorMessage", constant(Constants.ERROR_MESSAGE_JCE_TIMEOUT))
                 .process(errorResponseProcessor)
-                .marshal().json(JsonLibrary.Jackson)
+                .end();
+
+        // Backend unavailable (circuit open or concurrency limit) - answer from last known good data
+        onException(BackendUnavailableException.class)
+                .handled(true)
+                .log(LoggingLevel.WARN, logger, "JCE service unavailable: ${exception.message}")
+                .process(staleCacheFallbackProcessor)
+                .choice()
+                .when(exchange -> OrchestrationContext.of(exchange).isStaleFallback())
+                    .to("direct:process-master-response")
+                .otherwise()
+                    .setProperty("errorCode", constant(Constants.HTTP_SERVICE_UNAVAILABLE))
+                    .setProperty("errorMessage", constant(Constants.ERROR_MESSAGE_SERVICE_UNAVAILABLE))
+                    .process(errorResponseProcessor)
+                .end()
                 .end();
 
         // General exception handling
@@ -76,7 +102,6 @@ public class Service3JCERoute extends RouteBuilder {
                 .setProperty("errorCode", constant(Constants.HTTP_INTERNAL_ERROR))
                 .setProperty("errorMessage", simple("Error in JCE service: ${exception.message}"))
                 .process(errorResponseProcessor)
-                .marshal().json(JsonLibrary.Jackson)
                 .end();
 
         // Service 3 call route
@@ -84,18 +109,25 @@ public class Service3JCERoute extends RouteBuilder {
                 .routeId("service3-jce-call")
                 .log(LoggingLevel.INFO, logger, "Calling ConsultarDatosJCEDP service")
 
-                // Generate request for service 3
-                .process(generateService3RequestProcessor)
-                .marshal().json(JsonLibrary.Jackson)
+                .choice()
+                // Speculative call already started in parallel with the master lookup
+                .when(exchange -> OrchestrationContext.of(exchange).hasSpeculativeJce())
+                    .process(awaitSpeculativeJceProcessor)
+                .otherwise()
+                    // Generate request for service 3
+                    .process(generateService3RequestProcessor)
+                    .marshal().json(JsonLibrary.Jackson)
 
-                // Set HTTP headers
-                .setHeader(Constants.HEADER_SESSION_ID, exchangeProperty("sessionIdRq"))
-                .setHeader(Constants.HEADER_CONTENT_TYPE, constant("application/json"))
-                .setHeader(Constants.HEADER_AUTHORIZATION, header(Constants.HEADER_AUTHORIZATION))
-                .setHeader(Exchange.HTTP_METHOD, constant("POST"))
+                    // Set HTTP headers
+                    .setHeader(Constants.HEADER_SESSION_ID, OrchestrationContext.SESSION_ID)
+                    .setHeader(Constants.HEADER_CONTENT_TYPE, constant("application/json"))
+                    .setHeader(Constants.HEADER_AUTHORIZATION, header(Constants.HEADER_AUTHORIZATION))
+                    .setHeader(Exchange.HTTP_METHOD, constant("POST"))
 
-                // Call external service
-                .toD(service3Url + "?bridgeEndpoint=true&throwExceptionOnFailure=false&httpClientConfigurer=#selfSignedHttpClientConfigurer")
+                    // Call external service (identical concurrent lookups share one call)
+                    .process(backendInvoker.call(Constants.SERVICE_CONSULTAR_DATOS_JCEDP,
+                            backendEndpoints.jce()))
+                .end()
 
                 // Handle response based on HTTP status code
                 .choice()
@@ -103,20 +135,22 @@ public class Service3JCERoute extends RouteBuilder {
                 // 200 - Success
                 .when(header(Exchange.HTTP_RESPONSE_CODE).isEqualTo(200))
                     .log(LoggingLevel.INFO, logger, "JCE service returned success - HTTP 200")
-                    .unmarshal().json(JsonLibrary.Jackson)
                     .process(processService3ResponseProcessor)
-                    
+                    .filter(ProcessingFailure::isReported)
+                        .process(errorResponseProcessor)
+                        .stop()
+                    .end()
+
                     // Check if update service should be called
                    .choice()
-                        .when(exchangeProperty("callUpdateService").isEqualTo(true))
+                        .when(exchange -> OrchestrationContext.of(exchange).isCallUpdateService())
                             .log(LoggingLevel.INFO, logger, "Client found in JCE - Calling update service")
                             .to("direct:call-service4-update")
-                        .when(exchangeProperty("clientNotFoundInJCE").isEqualTo(true))
+                        .when(exchange -> OrchestrationContext.of(exchange).isClientNotFoundInJce())
                             .log(LoggingLevel.WARN, logger, "Client not found in JCE - Returning error")
                             .setProperty("errorCode", constant(Constants.HTTP_BAD_REQUEST))
                             .setProperty("errorMessage", constant(Constants.ERROR_MESSAGE_CLIENT_NOT_FOUND))
                             .process(errorResponseProcessor)
-                            .marshal().json(JsonLibrary.Jackson)
                     .endChoice()
                     .stop()
 
@@ -124,36 +158,32 @@ public class Service3JCERoute extends RouteBuilder {
                 .when(header(Exchange.HTTP_RESPONSE_CODE).isEqualTo(400))
                     .log(LoggingLevel.WARN, logger, "JCE service returned bad request - HTTP 400")
                     .setProperty("errorCode", constant(Constants.HTTP_BAD_REQUEST))
-                    .setProperty("errorMessage", constant("Invalid request to JCE service"))
+                    .setProperty("errorMessage", constant(Constants.ERROR_MESSAGE_JCE_BAD_REQUEST))
                     .process(errorResponseProcessor)
-                    .marshal().json(JsonLibrary.Jackson)
                     .stop()
 
                 // 401 - Unauthorized
                 .when(header(Exchange.HTTP_RESPONSE_CODE).isEqualTo(401))
                     .log(LoggingLevel.WARN, logger, "JCE service returned unauthorized - HTTP 401")
-                    .setProperty("errorCode", constant(401))
-                    .setProperty("errorMessage", constant("Unauthorized access to JCE service"))
+                    .setProperty("errorCode", constant(Constants.HTTP_UNAUTHORIZED))
+                    .setProperty("errorMessage", constant(Constants.ERROR_MESSAGE_JCE_UNAUTHORIZED))
                     .process(errorResponseProcessor)
-                    .marshal().json(JsonLibrary.Jackson)
                     .stop()
 
                 // 500 - Internal Server Error
                 .when(header(Exchange.HTTP_RESPONSE_CODE).isEqualTo(500))
                     .log(LoggingLevel.ERROR, logger, "JCE service returned internal error - HTTP 500")
-                    .setProperty("errorCode", constant(502))
-                    .setProperty("errorMessage", constant("Internal error in JCE service"))
+                    .setProperty("errorCode", constant(Constants.HTTP_BAD_GATEWAY))
+                    .setProperty("errorMessage", constant(Constants.ERROR_MESSAGE_JCE_INTERNAL_ERROR))
                     .process(errorResponseProcessor)
-                    .marshal().json(JsonLibrary.Jackson)
                     .stop()
 
                 // Other error codes
                 .otherwise()
                     .log(LoggingLevel.ERROR, logger, "JCE service returned unexpected code - HTTP ${header.CamelHttpResponseCode}")
-                    .setProperty("errorCode", constant(502))
+                    .setProperty("errorCode", constant(Constants.HTTP_BAD_GATEWAY))
                     .setProperty("errorMessage", simple("Unexpected error from JCE service: HTTP ${header.CamelHttpResponseCode}"))
                     .process(errorResponseProcessor)
-                    .marshal().json(JsonLibrary.Jackson)
                     .stop()
                 .end();
     }
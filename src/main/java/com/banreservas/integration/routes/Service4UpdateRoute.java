@@ -6,10 +6,15 @@ import org.apache.camel.Exchange;
 import org.apache.camel.LoggingLevel;
 import org.apache.camel.builder.RouteBuilder;
 import org.apache.camel.model.dataformat.JsonLibrary;
-import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.banreservas.integration.backend.BackendEndpoints;
+import com.banreservas.integration.backend.BackendInvoker;
+import com.banreservas.integration.context.OrchestrationContext;
+import com.banreservas.integration.exceptions.BackendUnavailableException;
+import com.banreservas.integration.processors.DeferMasterDataUpdateProcessor;
+import com.banreservas.integration.processors.EnqueueMasterDataUpdateProcessor;
 import com.banreservas.integration.processors.ErrorResponseProcessor;
 import com.banreservas.integration.processors.GenerateService4RequestProcessor;
 import com.banreservas.integration.processors.ProcessService4ResponseProcessor;
@@ -28,9 +33,10 @@ import java.net.SocketTimeoutException;
  * 
  * Flow:
  * 1. Generate update request using JCE service response data
- * 2. Call external update service
- * 3. Process response and validate update success
- * 4. Return updated client data or error response
+ * 2. In write-behind mode, queue the update and return the JCE client data
+ * 3. Otherwise call external update service
+ * 4. Process response and validate update success
+ * 5. Return updated client data or error response
  * 
  * @author Integration Team
  * @version 1.0
@@ -40,11 +46,11 @@ public class Service4UpdateRoute extends RouteBuilder {
 
     private static final Logger logger = LoggerFactory.getLogger(Service4UpdateRoute.class);
 
-    @ConfigProperty(name = "actualizar.datos.maestro.cedulados.url")
-    String service4Url;
+    @Inject
+    BackendEndpoints backendEndpoints;
 
-    @ConfigProperty(name = "timeout.actualizar.datos.maestro.cedulados")
-    String service4Timeout;
+    @Inject
+    BackendInvoker backendInvoker;
 
     @Inject
     GenerateService4RequestProcessor generateService4RequestProcessor;
@@ -52,6 +58,12 @@ public class Service4UpdateRoute extends RouteBuilder {
     @Inject
     ProcessService4ResponseProcessor processService4ResponseProcessor;
 
+    @Inject
+    EnqueueMasterDataUpdateProcessor enqueueMasterDataUpdateProcessor;
+
+    @Inject
+    DeferMasterDataUpdateProcessor deferMasterDataUpdateProcessor;
+
     @Inject
     ErrorResponseProcessor errorResponseProcessor;
 
@@ -63,9 +75,22 @@ public class Service4UpdateRoute extends RouteBuilder {
                 .handled(true)
                 .log(LoggingLevel.ERROR, logger, "Timeout calling update service")
                 .setProperty("errorCode", constant(Constants.HTTP_INTERNAL_ERROR))
-                .setProperty("errorMessage", constant("Timeout connecting to update service"))
+                .setProperty("errorMessage", constant(Constants.ERROR_MESSAGE_UPDATE_TIMEOUT))
                 .process(errorResponseProcessor)
-                .marshal().json(JsonLibrary.Jackson)
+                .end();
+
+        // Backend unavailable (circuit open or concurrency limit) - hand the update to the write-behind
+        // queue and answer from the JCE data; without write-behind the update would be lost
+        onException(BackendUnavailableException.class)
+                .handled(true)
+                .log(LoggingLevel.WARN, logger, "Update service unavailable: ${exception.message}")
+                .process(deferMasterDataUpdateProcessor)
+                .choice()
+                .when(exchange -> OrchestrationContext.of(exchange).isMasterDataUpdateQueued())
+                    .to("direct:process-jce-response")
+                .otherwise()
+                    .process(errorResponseProcessor)
+                .end()
                 .end();
 
         // General exception handling
@@ -75,7 +100,6 @@ public class Service4UpdateRoute extends RouteBuilder {
                 .setProperty("errorCode", constant(Constants.HTTP_INTERNAL_ERROR))
                 .setProperty("errorMessage", simple("Error in update service: ${exception.message}"))
                 .process(errorResponseProcessor)
-                .marshal().json(JsonLibrary.Jackson)
                 .end();
 
         // Service 4 call route
@@ -85,16 +109,26 @@ public class Service4UpdateRoute extends RouteBuilder {
 
                 // Generate request for service 4
                 .process(generateService4RequestProcessor)
+
+                // Write-behind mode: answer from JCE data and update in background
+                .process(enqueueMasterDataUpdateProcessor)
+                .choice()
+                .when(exchange -> OrchestrationContext.of(exchange).isMasterDataUpdateQueued())
+                    .to("direct:process-jce-response")
+                    .stop()
+                .end()
+
                 .marshal().json(JsonLibrary.Jackson)
 
                 // Set HTTP headers
-                .setHeader(Constants.HEADER_SESSION_ID, exchangeProperty("sessionIdRq"))
+                .setHeader(Constants.HEADER_SESSION_ID, OrchestrationContext.SESSION_ID)
                 .setHeader(Constants.HEADER_CONTENT_TYPE, constant("application/json"))
                 .setHeader(Constants.HEADER_AUTHORIZATION, header(Constants.HEADER_AUTHORIZATION))
                 .setHeader(Exchange.HTTP_METHOD, constant("POST"))
 
                 // Call external service
-                .toD(service4Url + "?bridgeEndpoint=true&throwExceptionOnFailure=false&httpClientConfigurer=#selfSignedHttpClientConfigurer")
+                .process(backendInvoker.call(Constants.SERVICE_ACTUALIZAR_DATOS_MAESTRO_CEDULADOS,
+                        backendEndpoints.masterCedulaUpdate()))
 
                 // Handle response based on HTTP status code
                 .choice()
@@ -102,56 +136,50 @@ public class Service4UpdateRoute extends RouteBuilder {
                 // 200 - Success
                 .when(header(Exchange.HTTP_RESPONSE_CODE).isEqualTo(200))
                     .log(LoggingLevel.INFO, logger, "Update service returned success - HTTP 200")
-                    .unmarshal().json(JsonLibrary.Jackson)
                     .process(processService4ResponseProcessor)
                     
                     // Check if update was successful
                     .choice()
-                    .when(exchangeProperty("dataUpdatedSuccessfully").isEqualTo(true))
+                    .when(exchange -> OrchestrationContext.of(exchange).isDataUpdatedSuccessfully())
                         .log(LoggingLevel.INFO, logger, "Data updated successfully - Preparing final response")
                         .to("direct:process-update-response")
                     .otherwise()
                         .log(LoggingLevel.ERROR, logger, "Update failed - Processing error")
                         .setProperty("errorCode", constant(Constants.HTTP_INTERNAL_ERROR))
-                        .setProperty("errorMessage", constant("Failed to update master data"))
+                        .setProperty("errorMessage", constant(Constants.ERROR_MESSAGE_UPDATE_FAILED))
                         .process(errorResponseProcessor)
-                        .marshal().json(JsonLibrary.Jackson)
                     .stop()
 
                 // 400 - Bad Request
                 .when(header(Exchange.HTTP_RESPONSE_CODE).isEqualTo(400))
                     .log(LoggingLevel.WARN, logger, "Update service returned bad request - HTTP 400")
                     .setProperty("errorCode", constant(Constants.HTTP_BAD_REQUEST))
-                    .setProperty("errorMessage", constant("Invalid request to update service"))
+                    .setProperty("errorMessage", constant(Constants.ERROR_MESSAGE_UPDATE_BAD_REQUEST))
                     .process(errorResponseProcessor)
-                    .marshal().json(JsonLibrary.Jackson)
                     .stop()
 
                 // 401 - Unauthorized
                 .when(header(Exchange.HTTP_RESPONSE_CODE).isEqualTo(401))
                     .log(LoggingLevel.WARN, logger, "Update service returned unauthorized - HTTP 401")
-                    .setProperty("errorCode", constant(401))
-                    .setProperty("errorMessage", constant("Unauthorized access to update service"))
+                    .setProperty("errorCode", constant(Constants.HTTP_UNAUTHORIZED))
+                    .setProperty("errorMessage", constant(Constants.ERROR_MESSAGE_UPDATE_UNAUTHORIZED))
                     .process(errorResponseProcessor)
-                    .marshal().json(JsonLibrary.Jackson)
                     .stop()
 
                 // 500 - Internal Server Error
                 .when(header(Exchange.HTTP_RESPONSE_CODE).isEqualTo(500))
                     .log(LoggingLevel.ERROR, logger, "Update service returned internal error - HTTP 500")
-                    .setProperty("errorCode", constant(502))
-                    .setProperty("errorMessage", constant("Internal error in update service"))
+                    .setProperty("errorCode", constant(Constants.HTTP_BAD_GATEWAY))
+                    .setProperty("errorMessage", constant(Constants.ERROR_MESSAGE_UPDATE_INTERNAL_ERROR))
                     .process(errorResponseProcessor)
-                    .marshal().json(JsonLibrary.Jackson)
                     .stop()
 
                 // Other error codes
                 .otherwise()
                     .log(LoggingLevel.ERROR, logger, "Update service returned unexpected code - HTTP ${header.CamelHttpResponseCode}")
-                    .setProperty("errorCode", constant(502))
+                    .setProperty("errorCode", constant(Constants.HTTP_BAD_GATEWAY))
                     .setProperty("errorMessage", simple("Unexpected error from update service: HTTP ${header.CamelHttpResponseCode}"))
                     .process(errorResponseProcessor)
-                    .marshal().json(JsonLibrary.Jackson)
                     .stop()
                 .end();
     }
@@ -0,0 +1,113 @@
+package com.banreservas.integration.util;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.component.http.HttpClientConfigurer;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import io.vertx.ext.web.client.WebClientOptions;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Produces;
+import jakarta.inject.Inject;
+import jakarta.inject.Named;
+import jakarta.inject.Singleton;
+
+/**
+ * Produces one named HttpClient configurer per backend, each with its own sized connection pool,
+ * and the Vert.x web client options used by the asynchronous backend endpoints.
+ */
+@ApplicationScoped
+public class BackendHttpClientConfigurers {
+
+    @Inject
+    SelfSignedHttpClientConfigurer selfSignedHttpClientConfigurer;
+
+    @ConfigProperty(name = "pool.consultar.datos.generales.cliente.juridico.max.total", defaultValue = "100")
+    int service1MaxTotal;
+
+    @ConfigProperty(name = "pool.consultar.datos.generales.cliente.juridico.max.per.route", defaultValue = "100")
+    int service1MaxPerRoute;
+
+    @ConfigProperty(name = "pool.consultar.datos.maestro.cedulados.max.total", defaultValue = "200")
+    int service2MaxTotal;
+
+    @ConfigProperty(name = "pool.consultar.datos.maestro.cedulados.max.per.route", defaultValue = "200")
+    int service2MaxPerRoute;
+
+    @ConfigProperty(name = "pool.consultar.datos.jcedp.max.total", defaultValue = "100")
+    int service3MaxTotal;
+
+    @ConfigProperty(name = "pool.consultar.datos.jcedp.max.per.route", defaultValue = "100")
+    int service3MaxPerRoute;
+
+    @ConfigProperty(name = "pool.actualizar.datos.maestro.cedulados.max.total", defaultValue = "50")
+    int service4MaxTotal;
+
+    @ConfigProperty(name = "pool.actualizar.datos.maestro.cedulados.max.per.route", defaultValue = "50")
+    int service4MaxPerRoute;
+
+    @ConfigProperty(name = "pool.backend.async.max.size", defaultValue = "200")
+    int asyncMaxPoolSize;
+
+    @ConfigProperty(name = "pool.backend.idle.eviction", defaultValue = "30000")
+    int idleEvictionMillis;
+
+    /**
+     * @return the per-route connection pool size of the backend, or 0 for an unknown backend
+     */
+    public int maxPerRoute(String backend) {
+        return switch (backend) {
+            case Constants.SERVICE_CONSULTAR_DATOS_GENERALES_CLIENTE_JURIDICO -> service1MaxPerRoute;
+            case Constants.SERVICE_CONSULTAR_DATOS_MAESTRO_CEDULADOS -> service2MaxPerRoute;
+            case Constants.SERVICE_CONSULTAR_DATOS_JCEDP -> service3MaxPerRoute;
+            case Constants.SERVICE_ACTUALIZAR_DATOS_MAESTRO_CEDULADOS -> service4MaxPerRoute;
+            default -> 0;
+        };
+    }
+
+    @Produces
+    @Singleton
+    @Named("backendWebClientOptions")
+    WebClientOptions backendWebClientOptions() {
+        return new WebClientOptions()
+                .setTrustAll(true)
+                .setVerifyHost(false)
+                .setKeepAlive(true)
+                .setMaxPoolSize(asyncMaxPoolSize)
+                .setIdleTimeout(idleEvictionMillis)
+                .setIdleTimeoutUnit(TimeUnit.MILLISECONDS);
+    }
+
+    @Produces
+    @Singleton
+    @Named("juridicalClientHttpClientConfigurer")
+    HttpClientConfigurer juridicalClient() {
+        return selfSignedHttpClientConfigurer.forBackend(
+                Constants.SERVICE_CONSULTAR_DATOS_GENERALES_CLIENTE_JURIDICO, service1MaxTotal, service1MaxPerRoute);
+    }
+
+    @Produces
+    @Singleton
+    @Named("masterCedulaHttpClientConfigurer")
+    HttpClientConfigurer masterCedula() {
+        return selfSignedHttpClientConfigurer.forBackend(
+                Constants.SERVICE_CONSULTAR_DATOS_MAESTRO_CEDULADOS, service2MaxTotal, service2MaxPerRoute);
+    }
+
+    @Produces
+    @Singleton
+    @Named("jceHttpClientConfigurer")
+    HttpClientConfigurer jce() {
+        return selfSignedHttpClientConfigurer.forBackend(
+                Constants.SERVICE_CONSULTAR_DATOS_JCEDP, service3MaxTotal, service3MaxPerRoute);
+    }
+
+    @Produces
+    @Singleton
+    @Named("masterCedulaUpdateHttpClientConfigurer")
+    HttpClientConfigurer masterCedulaUpdate() {
+        return selfSignedHttpClientConfigurer.forBackend(
+                Constants.SERVICE_ACTUALIZAR_DATOS_MAESTRO_CEDULADOS, service4MaxTotal, service4MaxPerRoute);
+    }
+}
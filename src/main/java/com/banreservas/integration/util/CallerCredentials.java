@@ -0,0 +1,35 @@
+package com.banreservas.integration.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+
+/**
+ * Fingerprint of the caller credential, used to key cached backend results by caller.
+ * Results obtained with one credential are only served to callers presenting the same one,
+ * so the backend has authorized every caller that receives them. The credential itself is
+ * never kept in memory as a key, only its SHA-256 digest.
+ */
+public final class CallerCredentials {
+
+    private CallerCredentials() {
+    }
+
+    /**
+     * @return the fingerprint of the Authorization header value; empty when there is none
+     */
+    public static String fingerprint(String authorization) {
+        if (authorization == null || authorization.isBlank()) {
+            return "";
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(authorization.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform supports SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -5,7 +5,11 @@ public class Constants {
     // HTTP Response Codes
     public static final int HTTP_OK = 200;
     public static final int HTTP_BAD_REQUEST = 400;
+    public static final int HTTP_UNAUTHORIZED = 401;
+    public static final int HTTP_NOT_FOUND = 404;
     public static final int HTTP_INTERNAL_ERROR = 500;
+    public static final int HTTP_BAD_GATEWAY = 502;
+    public static final int HTTP_SERVICE_UNAVAILABLE = 503;
     
     // Error Codes
     public static final String ERROR_CODE_SUCCESS = "000";
@@ -29,6 +33,26 @@ public class Constants {
     public static final String ERROR_MESSAGE_SERVICE_UNAVAILABLE = "Servicio no disponible temporalmente";
     public static final String ERROR_MESSAGE_INTERNAL_ERROR = "Error interno del servidor";
     
+    // Backend Error Messages
+    public static final String ERROR_MESSAGE_JURIDICAL_CLIENT_BAD_REQUEST = "Invalid request to juridical client service";
+    public static final String ERROR_MESSAGE_JURIDICAL_CLIENT_UNAUTHORIZED = "Unauthorized access to juridical client service";
+    public static final String ERROR_MESSAGE_JURIDICAL_CLIENT_INTERNAL_ERROR = "Internal error in juridical client service";
+    public static final String ERROR_MESSAGE_JURIDICAL_CLIENT_TIMEOUT = "Timeout connecting to juridical client service";
+    public static final String ERROR_MESSAGE_MASTER_CEDULA_BAD_REQUEST = "Invalid request to master cedula service";
+    public static final String ERROR_MESSAGE_MASTER_CEDULA_UNAUTHORIZED = "Unauthorized access to master cedula service";
+    public static final String ERROR_MESSAGE_MASTER_CEDULA_INTERNAL_ERROR = "Internal error in master cedula service";
+    public static final String ERROR_MESSAGE_MASTER_CEDULA_TIMEOUT = "Timeout connecting to master cedula service";
+    public static final String ERROR_MESSAGE_JCE_BAD_REQUEST = "Invalid request to JCE service";
+    public static final String ERROR_MESSAGE_JCE_UNAUTHORIZED = "Unauthorized access to JCE service";
+    public static final String ERROR_MESSAGE_JCE_INTERNAL_ERROR = "Internal error in JCE service";
+    public static final String ERROR_MESSAGE_JCE_TIMEOUT = "Timeout connecting to JCE service";
+    public static final String ERROR_MESSAGE_UPDATE_BAD_REQUEST = "Invalid request to update service";
+    public static final String ERROR_MESSAGE_UPDATE_UNAUTHORIZED = "Unauthorized access to update service";
+    public static final String ERROR_MESSAGE_UPDATE_INTERNAL_ERROR = "Internal error in update service";
+    public static final String ERROR_MESSAGE_UPDATE_TIMEOUT = "Timeout connecting to update service";
+    public static final String ERROR_MESSAGE_MASTER_CEDULA_UNEXPECTED = "Unexpected condition in master cedula processing";
+    public static final String ERROR_MESSAGE_UPDATE_FAILED = "Failed to update master data";
+    
     // Response Messages
     public static final String RESPONSE_MESSAGE_SUCCESS = "Transacción procesada exitosamente";
     public static final String RESPONSE_MESSAGE_ERROR = "Error en el procesamiento";
@@ -39,6 +63,8 @@ public class Constants {
     public static final String VALIDATION_MESSAGE_INVALID_IDENTIFICATION_TYPE = "Tipo de identificación debe ser: Cedula, RNC o Pasaporte";
     public static final String VALIDATION_MESSAGE_INVALID_FORCE_UPDATE = "ForzarActualizar debe ser TRUE o FALSE";
     public static final String VALIDATION_MESSAGE_INVALID_INCLUDE_BINARY_PHOTO = "IncluirFotoBinaria debe ser TRUE o FALSE";
+    public static final String VALIDATION_MESSAGE_BATCH_REQUIRED = "El lote debe contener al menos una identificación";
+    public static final String VALIDATION_MESSAGE_BATCH_TOO_LARGE = "El lote excede el máximo de identificaciones permitidas: ";
     
     // Headers
     public static final String HEADER_CANAL = "Canal";
@@ -50,6 +76,9 @@ public class Constants {
     public static final String HEADER_SESSION_ID = "sessionId";
     public static final String HEADER_AUTHORIZATION = "Authorization";
     public static final String HEADER_CONTENT_TYPE = "Content-Type";
+    public static final String HEADER_REQUEST_TIMEOUT = "X-Request-Timeout";
+    public static final String HEADER_BACKEND_RESPONSE_TIMEOUT = "X-Backend-Response-Timeout";
+    public static final String HEADER_RETRY_AFTER = "Retry-After";
     
     // Default Values
     public static final String DEFAULT_FORCE_UPDATE = BOOLEAN_FALSE;
@@ -0,0 +1,223 @@
+package com.banreservas.integration.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+import org.apache.camel.Exchange;
+
+import com.banreservas.integration.model.outbound.response.ConsultarDatosGeneralesClienteResponse;
+import com.banreservas.integration.model.outbound.response.HeaderDto;
+import com.banreservas.integration.model.outbound.response.backends.actualizardatosmaestrocedulados.ActualizarDatosMaestroCeduladosRequest;
+import com.banreservas.integration.model.outbound.response.backends.actualizardatosmaestrocedulados.ActualizarDatosMaestroCeduladosResponse;
+import com.banreservas.integration.model.outbound.response.backends.datosgeneralesclientejuridico.ConsultarDatosGeneralesClienteJuridicoResponse;
+import com.banreservas.integration.model.outbound.response.backends.datosjcedp.ConsultarDatosJCEDPRequest;
+import com.banreservas.integration.model.outbound.response.backends.datosjcedp.ConsultarDatosJCEDPResponse;
+import com.banreservas.integration.model.outbound.response.backends.datosmaestrocedulados.ClientMaestroResponseDto;
+import com.banreservas.integration.model.outbound.response.backends.datosmaestrocedulados.ConsultarDatosMaestroCeduladosRequest;
+import com.banreservas.integration.model.outbound.response.backends.datosmaestrocedulados.ConsultarDatosMaestroCeduladosResponse;
+import com.banreservas.integration.model.outbound.response.backends.datosmaestrocedulados.HeaderMaestroResponseDto;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.util.JsonParserDelegate;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+/**
+ * Shared, pre-configured readers and writers for the backend and final message types, all built
+ * from one ObjectMapper so serializers and deserializers are resolved and cached only once.
+ * Responses are decoded once, straight from the body bytes or stream into the record type,
+ * without an intermediate String or Map.
+ *
+ * The unified response never returns the client photo, so the master cedula and update
+ * responses can be read without photos: the parser skips the photo bytes instead of decoding
+ * them into a String, and the photo property of the record is left null.
+ */
+public final class JsonReaders {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    public static final ObjectReader JURIDICAL_CLIENT_RESPONSE =
+            MAPPER.readerFor(ConsultarDatosGeneralesClienteJuridicoResponse.class);
+    public static final ObjectReader MASTER_CEDULA_RESPONSE =
+            MAPPER.readerFor(ConsultarDatosMaestroCeduladosResponse.class);
+    public static final ObjectReader JCE_RESPONSE =
+            MAPPER.readerFor(ConsultarDatosJCEDPResponse.class);
+    public static final ObjectReader MASTER_CEDULA_UPDATE_RESPONSE =
+            MAPPER.readerFor(ActualizarDatosMaestroCeduladosResponse.class);
+
+    public static final ObjectWriter MASTER_CEDULA_REQUEST_WRITER =
+            MAPPER.writerFor(ConsultarDatosMaestroCeduladosRequest.class);
+    public static final ObjectWriter JCE_REQUEST_WRITER =
+            MAPPER.writerFor(ConsultarDatosJCEDPRequest.class);
+    public static final ObjectWriter MASTER_CEDULA_UPDATE_REQUEST_WRITER =
+            MAPPER.writerFor(ActualizarDatosMaestroCeduladosRequest.class);
+    public static final ObjectWriter MASTER_CEDULA_RESPONSE_WRITER =
+            MAPPER.writerFor(ConsultarDatosMaestroCeduladosResponse.class);
+    public static final ObjectWriter FINAL_RESPONSE_WRITER =
+            MAPPER.writerFor(ConsultarDatosGeneralesClienteResponse.class);
+    public static final ObjectWriter HEADER_WRITER =
+            MAPPER.writerFor(HeaderDto.class);
+
+    /**
+     * For bodies whose type is only known at run time; the serializer is looked up per call.
+     */
+    public static final ObjectWriter WRITER = MAPPER.writer();
+
+    static final ObjectReader MASTER_CEDULA_HEADER =
+            MAPPER.readerFor(HeaderMaestroResponseDto.class);
+    static final ObjectReader MASTER_CEDULA_CLIENTS =
+            MAPPER.readerFor(new TypeReference<List<ClientMaestroResponseDto>>() { });
+
+    private JsonReaders() {
+    }
+
+    /**
+     * Reader for a type private to its caller, sharing the configuration of the others.
+     */
+    public static ObjectReader readerFor(Class<?> type) {
+        return MAPPER.readerFor(type);
+    }
+
+    /**
+     * Writer for a type private to its caller, sharing the configuration of the others.
+     */
+    public static ObjectWriter writerFor(Class<?> type) {
+        return MAPPER.writerFor(type);
+    }
+
+    /**
+     * Decodes the message body with the given reader.
+     *
+     * @return null when the body is missing or empty
+     */
+    public static <T> T read(ObjectReader reader, Exchange exchange) throws IOException {
+        Object body = exchange.getIn().getBody();
+        if (body == null) {
+            return null;
+        }
+        if (body instanceof byte[] bytes) {
+            return bytes.length == 0 ? null : reader.readValue(bytes);
+        }
+        InputStream stream = exchange.getIn().getBody(InputStream.class);
+        return stream == null ? null : reader.readValue(stream);
+    }
+
+    /**
+     * Decodes the message body with the given reader, skipping photos.
+     *
+     * @return null when the body is missing or empty
+     */
+    public static <T> T readWithoutPhotos(ObjectReader reader, Exchange exchange) throws IOException {
+        try (JsonParser parser = openWithoutPhotos(reader, exchange)) {
+            return parser == null || parser.nextToken() == null ? null : reader.readValue(parser);
+        }
+    }
+
+    /**
+     * Decodes a response body with the given reader, skipping photos.
+     *
+     * @return null when the body is empty
+     */
+    public static <T> T readWithoutPhotos(ObjectReader reader, byte[] body) throws IOException {
+        if (body == null || body.length == 0) {
+            return null;
+        }
+        try (JsonParser parser = withoutPhotos(reader.createParser(body))) {
+            return parser.nextToken() == null ? null : reader.readValue(parser);
+        }
+    }
+
+    /**
+     * Opens a parser over the message body that skips photos.
+     *
+     * @return null when the body is missing or empty
+     */
+    static JsonParser openWithoutPhotos(ObjectReader reader, Exchange exchange) throws IOException {
+        Object body = exchange.getIn().getBody();
+        if (body == null) {
+            return null;
+        }
+        if (body instanceof byte[] bytes) {
+            return bytes.length == 0 ? null : withoutPhotos(reader.createParser(bytes));
+        }
+        InputStream stream = exchange.getIn().getBody(InputStream.class);
+        return stream == null ? null : withoutPhotos(reader.createParser(stream));
+    }
+
+    static JsonParser withoutPhotos(JsonParser parser) {
+        return new PhotoSkippingParser(parser);
+    }
+
+    /**
+     * Drops the photo properties at any depth. The photo value is skipped by the underlying
+     * parser without being decoded.
+     *
+     * Jackson's FilteringParserDelegate is not used because it still returns the name of an
+     * excluded property when that property is the last one of its object.
+     */
+    private static final class PhotoSkippingParser extends JsonParserDelegate {
+
+        private PhotoSkippingParser(JsonParser parser) {
+            super(parser);
+        }
+
+        @Override
+        public JsonToken nextToken() throws IOException {
+            JsonToken token = delegate.nextToken();
+            while (token == JsonToken.FIELD_NAME && isPhoto(delegate.currentName())) {
+                delegate.nextToken();
+                delegate.skipChildren();
+                token = delegate.nextToken();
+            }
+            return token;
+        }
+
+        @Override
+        public JsonToken nextValue() throws IOException {
+            JsonToken token = nextToken();
+            return token == JsonToken.FIELD_NAME ? nextToken() : token;
+        }
+
+        @Override
+        public String nextFieldName() throws IOException {
+            return nextToken() == JsonToken.FIELD_NAME ? currentName() : null;
+        }
+
+        @Override
+        public boolean nextFieldName(SerializableString name) throws IOException {
+            return nextToken() == JsonToken.FIELD_NAME && name.getValue().equals(currentName());
+        }
+
+        @Override
+        public String nextTextValue() throws IOException {
+            return nextToken() == JsonToken.VALUE_STRING ? getText() : null;
+        }
+
+        @Override
+        public int nextIntValue(int defaultValue) throws IOException {
+            return nextToken() == JsonToken.VALUE_NUMBER_INT ? getIntValue() : defaultValue;
+        }
+
+        @Override
+        public long nextLongValue(long defaultValue) throws IOException {
+            return nextToken() == JsonToken.VALUE_NUMBER_INT ? getLongValue() : defaultValue;
+        }
+
+        @Override
+        public Boolean nextBooleanValue() throws IOException {
+            JsonToken token = nextToken();
+            return token == JsonToken.VALUE_TRUE ? Boolean.TRUE
+                    : token == JsonToken.VALUE_FALSE ? Boolean.FALSE : null;
+        }
+
+        private static boolean isPhoto(String name) {
+            return "photo".equals(name) || "binaryPhoto".equals(name);
+        }
+    }
+}
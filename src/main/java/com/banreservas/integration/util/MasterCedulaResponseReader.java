@@ -0,0 +1,136 @@
+package com.banreservas.integration.util;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.apache.camel.Exchange;
+
+import com.banreservas.integration.model.outbound.response.backends.datosmaestrocedulados.BodyMaestroResponseDto;
+import com.banreservas.integration.model.outbound.response.backends.datosmaestrocedulados.ClientMaestroResponseDto;
+import com.banreservas.integration.model.outbound.response.backends.datosmaestrocedulados.ConsultarDatosMaestroCeduladosResponse;
+import com.banreservas.integration.model.outbound.response.backends.datosmaestrocedulados.HeaderMaestroResponseDto;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+/**
+ * Decision-first reader for ConsultarDatosMaestroCedulados responses.
+ *
+ * The header and the body code are read first, token by token. Reading stops as soon as they
+ * decide a non-success outcome (an error header, 904 or any other body code), and the client
+ * records are only decoded when the body code is success or not known yet, and without their
+ * photo. A response read this way may therefore have a null body message, type or client list.
+ */
+public final class MasterCedulaResponseReader {
+
+    private static final String HEADER = "header";
+    private static final String BODY = "body";
+    private static final String CODE = "code";
+    private static final String MESSAGE = "message";
+    private static final String TYPE = "type";
+    private static final String CLIENTS = "clients";
+
+    private MasterCedulaResponseReader() {
+    }
+
+    /**
+     * Decodes the message body.
+     *
+     * @return null when the body is missing or empty
+     */
+    public static ConsultarDatosMaestroCeduladosResponse read(Exchange exchange) throws IOException {
+        try (JsonParser parser = JsonReaders.openWithoutPhotos(JsonReaders.MASTER_CEDULA_CLIENTS, exchange)) {
+            return parser == null ? null : read(parser);
+        }
+    }
+
+    /**
+     * Decodes a response body.
+     *
+     * @return null when the body is empty
+     */
+    public static ConsultarDatosMaestroCeduladosResponse read(byte[] body) throws IOException {
+        if (body == null || body.length == 0) {
+            return null;
+        }
+        try (JsonParser parser = JsonReaders.withoutPhotos(JsonReaders.MASTER_CEDULA_CLIENTS.createParser(body))) {
+            return read(parser);
+        }
+    }
+
+    private static ConsultarDatosMaestroCeduladosResponse read(JsonParser parser) throws IOException {
+        JsonToken start = parser.nextToken();
+        if (start == null) {
+            return null;
+        }
+        if (start != JsonToken.START_OBJECT) {
+            throw new JsonParseException(parser, "Expected a JSON object for the master cedula response");
+        }
+
+        HeaderMaestroResponseDto header = null;
+        BodyFields body = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if (HEADER.equals(field)) {
+                header = JsonReaders.MASTER_CEDULA_HEADER.readValue(parser);
+                if (header != null && header.responseCode() != Constants.HTTP_OK) {
+                    break;
+                }
+            } else if (BODY.equals(field) && value == JsonToken.START_OBJECT) {
+                body = new BodyFields();
+                if (!readBody(parser, header != null, body)) {
+                    break;
+                }
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return new ConsultarDatosMaestroCeduladosResponse(header, body != null ? body.toDto() : null);
+    }
+
+    /**
+     * @return false when reading stopped at a non-success body code
+     */
+    private static boolean readBody(JsonParser parser, boolean headerRead, BodyFields body) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+                case CODE -> {
+                    body.code = parser.getValueAsString();
+                    if (headerRead && body.isDecidedWithoutClients()) {
+                        return false;
+                    }
+                }
+                case MESSAGE -> body.message = parser.getValueAsString();
+                case TYPE -> body.type = parser.getValueAsString();
+                case CLIENTS -> {
+                    if (body.isDecidedWithoutClients()) {
+                        parser.skipChildren();
+                    } else {
+                        body.clients = JsonReaders.MASTER_CEDULA_CLIENTS.readValue(parser);
+                    }
+                }
+                default -> parser.skipChildren();
+            }
+        }
+        return true;
+    }
+
+    private static final class BodyFields {
+
+        private String code;
+        private String message;
+        private String type;
+        private List<ClientMaestroResponseDto> clients;
+
+        private boolean isDecidedWithoutClients() {
+            return code != null && !Constants.ERROR_CODE_SUCCESS.equals(code);
+        }
+
+        private BodyMaestroResponseDto toDto() {
+            return new BodyMaestroResponseDto(code, message, type, clients);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.banreservas.integration.util;
+
+import org.apache.camel.Exchange;
+
+import com.banreservas.integration.context.OrchestrationContext;
+
+/**
+ * Expected business failure of a processing step, reported on the exchange instead of thrown.
+ *
+ * Routes check {@link #isReported(Exchange)} right after the step and answer through the
+ * ErrorResponseProcessor, so outcomes such as an empty backend response do not pay for stack
+ * trace capture and exception routing. Constant failures should be kept as static instances.
+ */
+public record ProcessingFailure(int code, String message) {
+
+    /**
+     * Records this failure in the orchestration context, with the error code and message read
+     * by the ErrorResponseProcessor.
+     */
+    public void report(Exchange exchange) {
+        OrchestrationContext.of(exchange).setFailure(this);
+        exchange.setProperty("errorCode", code);
+        exchange.setProperty("errorMessage", message);
+    }
+
+    public static boolean isReported(Exchange exchange) {
+        return OrchestrationContext.of(exchange).getFailure() != null;
+    }
+}
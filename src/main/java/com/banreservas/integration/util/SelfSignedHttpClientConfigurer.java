@@ -3,51 +3,181 @@ package com.banreservas.integration.util;
 import java.security.KeyManagementException;
 import java.security.KeyStoreException;
 import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.net.ssl.SSLContext;
 
 import org.apache.camel.component.http.HttpClientConfigurer;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
 import org.apache.hc.client5.http.impl.classic.HttpClientBuilder;
 import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
-import org.apache.hc.client5.http.socket.ConnectionSocketFactory;
-import org.apache.hc.client5.http.socket.PlainConnectionSocketFactory;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.client5.http.protocol.HttpClientContext;
+import org.apache.hc.client5.http.ssl.NoopHostnameVerifier;
 import org.apache.hc.client5.http.ssl.SSLConnectionSocketFactory;
-import org.apache.hc.core5.http.config.RegistryBuilder;
-import org.apache.http.conn.ssl.NoopHostnameVerifier;
-import org.apache.http.ssl.SSLContextBuilder;
+import org.apache.hc.core5.http.EntityDetails;
+import org.apache.hc.core5.http.Header;
+import org.apache.hc.core5.http.HttpRequest;
+import org.apache.hc.core5.http.protocol.HttpContext;
+import org.apache.hc.core5.pool.PoolReusePolicy;
+import org.apache.hc.core5.pool.PoolStats;
+import org.apache.hc.core5.ssl.SSLContextBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.eclipse.microprofile.metrics.MetricRegistry;
+import org.eclipse.microprofile.metrics.Tag;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
 import jakarta.inject.Named;
 
+/**
+ * HttpClient configurer trusting self-signed certificates.
+ *
+ * The SSL context is built once and shared, so TLS sessions are resumed across connections.
+ * Each backend gets its own connection pool (see {@link #forBackend}); the pools are shared by
+ * every client configured for the backend and report their statistics as metrics.
+ *
+ * A request carrying the X-Backend-Response-Timeout header (milliseconds, the caller's
+ * remaining budget) gets it as its response and pool wait timeouts, when shorter than the
+ * configured ones; the header itself is not sent.
+ */
 @ApplicationScoped
 @Named(value = "selfSignedHttpClientConfigurer")
 public class SelfSignedHttpClientConfigurer implements HttpClientConfigurer {
     /** the logger. */
     private static final Logger LOG = LoggerFactory.getLogger(SelfSignedHttpClientConfigurer.class);
 
+    private static final String DEFAULT_POOL = "default";
+
+    @Inject
+    MetricRegistry metricRegistry;
+
+    @ConfigProperty(name = "pool.backend.max.total", defaultValue = "100")
+    int defaultMaxTotal;
+
+    @ConfigProperty(name = "pool.backend.max.per.route", defaultValue = "100")
+    int defaultMaxPerRoute;
+
+    @ConfigProperty(name = "pool.backend.ttl", defaultValue = "300000")
+    long timeToLiveMillis;
+
+    @ConfigProperty(name = "pool.backend.validate.after.inactivity", defaultValue = "2000")
+    long validateAfterInactivityMillis;
+
+    @ConfigProperty(name = "pool.backend.idle.eviction", defaultValue = "30000")
+    long idleEvictionMillis;
+
+    @ConfigProperty(name = "pool.backend.tls.session.cache.size", defaultValue = "1000")
+    int tlsSessionCacheSize;
+
+    @ConfigProperty(name = "pool.backend.tls.session.timeout", defaultValue = "3600")
+    int tlsSessionTimeoutSeconds;
+
+    private final Map<String, PoolingHttpClientConnectionManager> pools = new ConcurrentHashMap<>();
+
+    private SSLContext sslContext;
+
+    @PostConstruct
+    void init() {
+        try {
+            sslContext = SSLContextBuilder.create()
+                .loadTrustMaterial(null, (x509CertChain, authType) -> true).build();
+            sslContext.getClientSessionContext().setSessionCacheSize(tlsSessionCacheSize);
+            sslContext.getClientSessionContext().setSessionTimeout(tlsSessionTimeoutSeconds);
+        } catch (KeyManagementException | NoSuchAlgorithmException | KeyStoreException e) {
+            throw new IllegalStateException("Unable to build SSL context", e);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pools.values().forEach(PoolingHttpClientConnectionManager::close);
+    }
+
     @Override
     public void configureHttpClient(HttpClientBuilder clientBuilder) {
+        configure(clientBuilder, DEFAULT_POOL, defaultMaxTotal, defaultMaxPerRoute);
+    }
 
-        try {
-            LOG.info("Using SelfSignedHttpClientConfigurer...");
+    /**
+     * Creates a configurer that uses the dedicated pool of a backend.
+     */
+    public HttpClientConfigurer forBackend(String backend, int maxTotal, int maxPerRoute) {
+        return clientBuilder -> configure(clientBuilder, backend, maxTotal, maxPerRoute);
+    }
 
-            final SSLContext sslContext = new SSLContextBuilder()
-                .loadTrustMaterial(null, (x509CertChain, authType) -> true).build();
+    public Map<String, PoolStats> poolStats() {
+        Map<String, PoolStats> stats = new ConcurrentHashMap<>();
+        pools.forEach((backend, pool) -> stats.put(backend, pool.getTotalStats()));
+        return stats;
+    }
 
-            clientBuilder.setConnectionManager(new PoolingHttpClientConnectionManager(RegistryBuilder
-                        .<ConnectionSocketFactory> create()
-                        .register("http", PlainConnectionSocketFactory.INSTANCE)
-                        .register("https", new SSLConnectionSocketFactory(sslContext, NoopHostnameVerifier.INSTANCE))
-                        .build()));
+    private void configure(HttpClientBuilder clientBuilder, String backend, int maxTotal, int maxPerRoute) {
+        LOG.info("Using SelfSignedHttpClientConfigurer for {}...", backend);
 
-            LOG.info("... HttpClient configured!");
+        clientBuilder.setConnectionManager(pools.computeIfAbsent(backend, name -> createPool(name, maxTotal, maxPerRoute)))
+            .setConnectionManagerShared(true)
+            .evictExpiredConnections()
+            .evictIdleConnections(TimeValue.ofMilliseconds(idleEvictionMillis))
+            .addRequestInterceptorFirst(SelfSignedHttpClientConfigurer::applyRemainingBudget);
 
-        } catch (KeyManagementException | NoSuchAlgorithmException | KeyStoreException e) {
-            e.printStackTrace();
+        LOG.info("... HttpClient configured!");
+    }
+
+    private static void applyRemainingBudget(HttpRequest request, EntityDetails entity, HttpContext context) {
+        Header header = request.getFirstHeader(Constants.HEADER_BACKEND_RESPONSE_TIMEOUT);
+        if (header == null) {
+            return;
         }
+        request.removeHeaders(Constants.HEADER_BACKEND_RESPONSE_TIMEOUT);
+        long budgetMillis;
+        try {
+            budgetMillis = Long.parseLong(header.getValue());
+        } catch (NumberFormatException e) {
+            return;
+        }
+        HttpClientContext clientContext = HttpClientContext.adapt(context);
+        RequestConfig config = clientContext.getRequestConfig();
+        clientContext.setRequestConfig(RequestConfig.copy(config)
+            .setResponseTimeout(shorter(config.getResponseTimeout(), budgetMillis))
+            .setConnectionRequestTimeout(shorter(config.getConnectionRequestTimeout(), budgetMillis))
+            .build());
+    }
 
+    private static Timeout shorter(Timeout configured, long budgetMillis) {
+        // A null or zero timeout means no limit
+        return configured == null || configured.toMilliseconds() <= 0 || configured.toMilliseconds() > budgetMillis
+            ? Timeout.ofMilliseconds(budgetMillis)
+            : configured;
     }
-}
 
+    private PoolingHttpClientConnectionManager createPool(String backend, int maxTotal, int maxPerRoute) {
+        PoolingHttpClientConnectionManager pool = PoolingHttpClientConnectionManagerBuilder.create()
+            .setSSLSocketFactory(new SSLConnectionSocketFactory(sslContext, NoopHostnameVerifier.INSTANCE))
+            .setMaxConnTotal(maxTotal)
+            .setMaxConnPerRoute(maxPerRoute)
+            .setConnPoolPolicy(PoolReusePolicy.LIFO)
+            .setDefaultConnectionConfig(ConnectionConfig.custom()
+                .setTimeToLive(TimeValue.ofMilliseconds(timeToLiveMillis))
+                .setValidateAfterInactivity(TimeValue.ofMilliseconds(validateAfterInactivityMillis))
+                .build())
+            .build();
+
+        Tag tag = new Tag("backend", backend);
+        metricRegistry.gauge("http.pool.leased", pool, p -> p.getTotalStats().getLeased(), tag);
+        metricRegistry.gauge("http.pool.pending", pool, p -> p.getTotalStats().getPending(), tag);
+        metricRegistry.gauge("http.pool.available", pool, p -> p.getTotalStats().getAvailable(), tag);
+        metricRegistry.gauge("http.pool.max", pool, p -> p.getTotalStats().getMax(), tag);
+
+        LOG.info("Connection pool created for {} - MaxTotal: {}, MaxPerRoute: {}", backend, maxTotal, maxPerRoute);
+        return pool;
+    }
+}
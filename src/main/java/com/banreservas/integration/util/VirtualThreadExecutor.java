@@ -0,0 +1,52 @@
+package com.banreservas.integration.util;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Executor starting one virtual thread per task, used when virtual-thread mode is enabled.
+ *
+ * Blocking calls made on these threads must not hold a monitor (synchronized) while they
+ * wait, or the carrier thread is pinned: the HTTP client pool uses locks, the caches only
+ * synchronize around in-memory work, and console logging should be asynchronous.
+ */
+@ApplicationScoped
+public class VirtualThreadExecutor {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadExecutor.class);
+
+    @ConfigProperty(name = "virtual.threads.enabled", defaultValue = "false")
+    boolean enabled;
+
+    private ExecutorService executor;
+
+    @PostConstruct
+    void init() {
+        if (enabled) {
+            executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("orquestacion-vt-", 0).factory());
+            logger.info("Virtual-thread mode enabled for the orchestration");
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public ExecutorService executor() {
+        return executor;
+    }
+}
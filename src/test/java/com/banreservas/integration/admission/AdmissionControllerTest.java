@@ -0,0 +1,89 @@
+package com.banreservas.integration.admission;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Pruebas unitarias del control de admisión por demora en cola y solicitudes en curso.
+ * Un intervalo de cero cierra el intervalo en cada solicitud; uno de un minuto lo mantiene abierto.
+ */
+class AdmissionControllerTest {
+
+    private static final long ONE_MINUTE = 60_000;
+
+    private AdmissionController controller;
+
+    @BeforeEach
+    void setUp() {
+        controller = new AdmissionController();
+        controller.enabled = true;
+        controller.targetDelayMillis = 50;
+        controller.intervalMillis = ONE_MINUTE;
+        controller.maxInFlight = 3;
+        controller.retryAfterSeconds = 1;
+    }
+
+    @Test
+    void testLongWaitIsAdmittedWithoutStandingQueue() {
+        assertTrue(controller.tryAdmit(200));
+
+        assertFalse(controller.isOverloaded());
+        assertEquals(1, controller.admitted());
+        assertEquals(1, controller.inFlight());
+    }
+
+    @Test
+    void testIntervalAboveTargetShedsLongWaits() {
+        controller.intervalMillis = 0;
+
+        assertFalse(controller.tryAdmit(100));
+
+        assertTrue(controller.isOverloaded());
+        assertEquals(1, controller.shedByDelay());
+        assertEquals(0, controller.inFlight());
+    }
+
+    @Test
+    void testShortWaitsAreAdmittedWhileOverloaded() {
+        controller.intervalMillis = 0;
+        assertFalse(controller.tryAdmit(100));
+        controller.intervalMillis = ONE_MINUTE;
+
+        assertTrue(controller.tryAdmit(30));
+        assertFalse(controller.tryAdmit(80));
+
+        assertTrue(controller.isOverloaded());
+        assertEquals(1, controller.admitted());
+        assertEquals(2, controller.shedByDelay());
+    }
+
+    @Test
+    void testIntervalBelowTargetEndsOverload() {
+        controller.intervalMillis = 0;
+        assertFalse(controller.tryAdmit(100));
+
+        assertTrue(controller.tryAdmit(30));
+
+        assertFalse(controller.isOverloaded());
+        assertTrue(controller.tryAdmit(30));
+    }
+
+    @Test
+    void testInFlightCapShedsAndReleaseFreesSlot() {
+        for (int i = 0; i < 3; i++) {
+            assertTrue(controller.tryAdmit(0));
+        }
+
+        assertFalse(controller.tryAdmit(0));
+        assertEquals(1, controller.shedByInFlight());
+        assertEquals(3, controller.inFlight());
+
+        controller.release();
+        assertTrue(controller.tryAdmit(0));
+        assertEquals(4, controller.admitted());
+    }
+}
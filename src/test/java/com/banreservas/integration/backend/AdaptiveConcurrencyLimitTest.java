@@ -0,0 +1,160 @@
+package com.banreservas.integration.backend;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Pruebas unitarias del bulkhead adaptativo (AIMD) por backend.
+ * El instante de cada liberación se pasa explícitamente para fijar el orden de las reducciones.
+ */
+class AdaptiveConcurrencyLimitTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long SLOW = TimeUnit.SECONDS.toNanos(1);
+
+    private final AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(8, 2, 10, 0.5, 100);
+    private final long start = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+
+    @Test
+    void testRejectsOverLimit() throws Exception {
+        acquire(8);
+
+        assertFalse(limit.acquire(0));
+        assertEquals(1, limit.rejected());
+        assertEquals(8, limit.inFlight());
+    }
+
+    @Test
+    void testWaiterGetsReleasedSlot() throws Exception {
+        acquire(8);
+        CompletableFuture<Boolean> waiter = CompletableFuture.supplyAsync(() -> {
+            try {
+                return limit.acquire(TimeUnit.SECONDS.toNanos(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        });
+
+        limit.cancel();
+
+        assertTrue(waiter.get(5, TimeUnit.SECONDS));
+        assertEquals(8, limit.inFlight());
+        assertEquals(0, limit.rejected());
+    }
+
+    @Test
+    void testIncreasesOnSuccessWhenHalfUsed() throws Exception {
+        acquire(4);
+
+        limit.release(false, false, FAST, start);
+
+        assertEquals(9, limit.limit());
+        assertEquals(3, limit.inFlight());
+    }
+
+    @Test
+    void testDoesNotIncreaseWhenUnderused() throws Exception {
+        acquire(3);
+
+        limit.release(false, false, FAST, start);
+
+        assertEquals(8, limit.limit());
+    }
+
+    @Test
+    void testDoesNotIncreaseOnFailure() throws Exception {
+        acquire(4);
+
+        limit.release(true, false, FAST, start);
+
+        assertEquals(8, limit.limit());
+    }
+
+    @Test
+    void testIncreaseIsCappedAtMaximum() throws Exception {
+        acquire(8);
+
+        for (int i = 0; i < 5; i++) {
+            limit.release(false, false, FAST, start);
+            acquire(1);
+        }
+
+        assertEquals(10, limit.limit());
+    }
+
+    @Test
+    void testDecreasesOnTimeout() throws Exception {
+        acquire(1);
+
+        limit.release(true, true, FAST, start);
+
+        assertEquals(4, limit.limit());
+    }
+
+    @Test
+    void testDecreasesOnSlowCall() throws Exception {
+        acquire(1);
+
+        limit.release(false, false, SLOW, start);
+
+        assertEquals(4, limit.limit());
+    }
+
+    @Test
+    void testDecreasesOncePerRoundTrip() throws Exception {
+        acquire(3);
+
+        limit.release(false, false, SLOW, start);
+        // Started before the first decrease: already in flight when the limit was cut
+        limit.release(false, true, SLOW, start + TimeUnit.MILLISECONDS.toNanos(100));
+        assertEquals(4, limit.limit());
+
+        // Started after the first decrease
+        limit.release(false, false, SLOW, start + 2 * SLOW);
+        assertEquals(2, limit.limit());
+    }
+
+    @Test
+    void testDecreaseIsFlooredAtMinimum() throws Exception {
+        acquire(3);
+
+        for (int i = 0; i < 3; i++) {
+            limit.release(false, true, FAST, start + i * SLOW);
+        }
+
+        assertEquals(2, limit.limit());
+    }
+
+    @Test
+    void testServerErrorLeavesLimitUnchanged() throws Exception {
+        acquire(8);
+
+        limit.release(true, false, FAST, start);
+
+        assertEquals(8, limit.limit());
+        assertEquals(7, limit.inFlight());
+    }
+
+    @Test
+    void testCancelDoesNotAdaptLimit() throws Exception {
+        acquire(8);
+
+        limit.cancel();
+
+        assertEquals(8, limit.limit());
+        assertEquals(7, limit.inFlight());
+    }
+
+    private void acquire(int slots) throws InterruptedException {
+        for (int i = 0; i < slots; i++) {
+            assertTrue(limit.acquire(0));
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.banreservas.integration.backend;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import com.banreservas.integration.backend.CircuitBreaker.State;
+
+/**
+ * Pruebas unitarias de las transiciones del circuit breaker por backend.
+ * Una espera en abierto de cero pasa a semiabierto en la siguiente solicitud.
+ */
+class CircuitBreakerTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(500);
+
+    @Test
+    void testStaysClosedBelowMinimumCalls() {
+        CircuitBreaker breaker = breaker(60_000);
+
+        record(breaker, true, FAST, 3);
+
+        assertEquals(State.CLOSED, breaker.state());
+        assertEquals(1.0, breaker.failureRate(), 0.0);
+        assertTrue(breaker.tryAcquire());
+    }
+
+    @Test
+    void testOpensWhenFailureRateReachesThreshold() {
+        CircuitBreaker breaker = breaker(60_000);
+
+        record(breaker, false, FAST, 2);
+        record(breaker, true, FAST, 1);
+        assertEquals(State.CLOSED, breaker.state());
+        record(breaker, true, FAST, 1);
+
+        assertEquals(State.OPEN, breaker.state());
+        assertEquals(1, breaker.transitions());
+    }
+
+    @Test
+    void testOpensWhenSlowCallRateReachesThreshold() {
+        CircuitBreaker breaker = breaker(60_000);
+
+        record(breaker, false, FAST, 2);
+        record(breaker, false, SLOW, 2);
+
+        assertEquals(State.OPEN, breaker.state());
+        assertEquals(0.0, breaker.failureRate(), 0.0);
+        assertEquals(0.5, breaker.slowCallRate(), 0.0);
+    }
+
+    @Test
+    void testOldOutcomesLeaveTheWindow() {
+        CircuitBreaker breaker = new CircuitBreaker("test", 4, 4, 0.5, 1.0, 100, 60_000, 2);
+
+        record(breaker, true, FAST, 1);
+        record(breaker, false, FAST, 3);
+        assertEquals(0.25, breaker.failureRate(), 0.0);
+
+        record(breaker, false, FAST, 1);
+        assertEquals(0.0, breaker.failureRate(), 0.0);
+
+        record(breaker, true, FAST, 1);
+        assertEquals(State.CLOSED, breaker.state());
+        record(breaker, true, FAST, 1);
+        assertEquals(State.OPEN, breaker.state());
+    }
+
+    @Test
+    void testOpenCircuitRejectsCalls() {
+        CircuitBreaker breaker = opened(60_000);
+
+        assertFalse(breaker.tryAcquire());
+        assertFalse(breaker.tryAcquire());
+
+        assertEquals(State.OPEN, breaker.state());
+        assertEquals(2, breaker.rejected());
+    }
+
+    @Test
+    void testLateOutcomeWhileOpenIsIgnored() {
+        CircuitBreaker breaker = opened(60_000);
+
+        record(breaker, false, FAST, 10);
+
+        assertEquals(State.OPEN, breaker.state());
+        assertEquals(1, breaker.transitions());
+    }
+
+    @Test
+    void testHalfOpenLimitsProbesAndClosesOnSuccess() {
+        CircuitBreaker breaker = opened(0);
+
+        assertTrue(breaker.tryAcquire());
+        assertEquals(State.HALF_OPEN, breaker.state());
+        assertTrue(breaker.tryAcquire());
+        assertFalse(breaker.tryAcquire());
+        assertEquals(1, breaker.rejected());
+
+        breaker.record(false, FAST);
+        assertEquals(State.HALF_OPEN, breaker.state());
+        breaker.record(false, FAST);
+
+        assertEquals(State.CLOSED, breaker.state());
+        assertEquals(0.0, breaker.failureRate(), 0.0);
+        assertEquals(3, breaker.transitions());
+    }
+
+    @Test
+    void testHalfOpenFailureReopens() {
+        CircuitBreaker breaker = opened(0);
+
+        assertTrue(breaker.tryAcquire());
+        breaker.record(true, FAST);
+
+        assertEquals(State.OPEN, breaker.state());
+    }
+
+    @Test
+    void testHalfOpenSlowCallReopens() {
+        CircuitBreaker breaker = opened(0);
+
+        assertTrue(breaker.tryAcquire());
+        breaker.record(false, SLOW);
+
+        assertEquals(State.OPEN, breaker.state());
+    }
+
+    @Test
+    void testClosedWindowStartsEmptyAfterRecovery() {
+        CircuitBreaker breaker = opened(0);
+        assertTrue(breaker.tryAcquire());
+        assertTrue(breaker.tryAcquire());
+        breaker.record(false, FAST);
+        breaker.record(false, FAST);
+
+        record(breaker, true, FAST, 3);
+
+        assertEquals(State.CLOSED, breaker.state());
+    }
+
+    /**
+     * Window of 10 calls, 4 minimum calls, 50% failure and slow call thresholds, 100 ms slow
+     * call duration and 2 half-open probes.
+     */
+    private static CircuitBreaker breaker(long openWaitMillis) {
+        return new CircuitBreaker("test", 10, 4, 0.5, 0.5, 100, openWaitMillis, 2);
+    }
+
+    private static CircuitBreaker opened(long openWaitMillis) {
+        CircuitBreaker breaker = breaker(openWaitMillis);
+        record(breaker, true, FAST, 4);
+        assertEquals(State.OPEN, breaker.state());
+        return breaker;
+    }
+
+    private static void record(CircuitBreaker breaker, boolean failed, long durationNanos, int times) {
+        for (int i = 0; i < times; i++) {
+            breaker.record(failed, durationNanos);
+        }
+    }
+}
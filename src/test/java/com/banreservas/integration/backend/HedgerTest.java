@@ -0,0 +1,188 @@
+package com.banreservas.integration.backend;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Pruebas unitarias del envío de solicitudes de cobertura (hedging) a los backends.
+ * La solicitud original se bloquea hasta que la cobertura termina, para fijar el orden de las respuestas.
+ */
+class HedgerTest {
+
+    private static final int WINDOW_SIZE = 10;
+    private static final int MIN_SAMPLES = 5;
+
+    private static final BackendResponse OK = new BackendResponse(200, "application/json", new byte[0]);
+    private static final BackendResponse UNAVAILABLE = new BackendResponse(503, "application/json", new byte[0]);
+
+    private final ExecutorService pool = Executors.newCachedThreadPool();
+    private final AtomicInteger finishedTasks = new AtomicInteger();
+    private final Executor executor = command -> pool.execute(() -> {
+        command.run();
+        finishedTasks.incrementAndGet();
+    });
+    private final CountDownLatch primaryRelease = new CountDownLatch(1);
+    private final AtomicInteger attempts = new AtomicInteger();
+
+    @AfterEach
+    void tearDown() {
+        primaryRelease.countDown();
+        pool.shutdownNow();
+    }
+
+    @Test
+    void testNoHedgeBeforeMinimumSamples() throws Exception {
+        Hedger hedger = hedger(1);
+
+        assertSame(OK, hedger.execute(() -> {
+            attempts.incrementAndGet();
+            Thread.sleep(20);
+            return OK;
+        }));
+
+        assertEquals(1, attempts.get());
+        assertEquals(0, hedger.sent());
+    }
+
+    @Test
+    void testHedgeWinsWhenPrimaryIsSlow() throws Exception {
+        Hedger hedger = warmedUp(1);
+        BackendResponse hedgeResponse = new BackendResponse(200, "application/json", new byte[] {1});
+
+        BackendResponse response = hedger.execute(() -> {
+            if (attempts.incrementAndGet() == 1) {
+                primaryRelease.await();
+                return OK;
+            }
+            return hedgeResponse;
+        });
+
+        assertSame(hedgeResponse, response);
+        awaitFinishedTasks(WINDOW_SIZE + 1);
+        assertEquals(2, attempts.get());
+        assertEquals(1, hedger.sent());
+        assertEquals(1, hedger.won());
+    }
+
+    @Test
+    void testHedgesAreCappedByBudget() throws Exception {
+        Hedger hedger = warmedUp(0.1);
+
+        hedger.execute(() -> {
+            if (attempts.incrementAndGet() == 1) {
+                primaryRelease.await();
+            }
+            return OK;
+        });
+        assertEquals(1, hedger.sent());
+
+        // A tenth of a hedge earned since the last one is not enough for another
+        AtomicInteger secondAttempts = new AtomicInteger();
+        assertSame(OK, hedger.execute(() -> {
+            secondAttempts.incrementAndGet();
+            Thread.sleep(50);
+            return OK;
+        }));
+        assertEquals(1, secondAttempts.get());
+        assertEquals(1, hedger.sent());
+    }
+
+    @Test
+    void testServerErrorOfHedgeDoesNotWin() throws Exception {
+        Hedger hedger = warmedUp(1);
+
+        BackendResponse response = hedger.execute(() -> {
+            if (attempts.incrementAndGet() == 1) {
+                awaitFinishedTasks(WINDOW_SIZE + 1);
+                return OK;
+            }
+            return UNAVAILABLE;
+        });
+
+        assertSame(OK, response);
+        assertEquals(1, hedger.sent());
+        assertEquals(0, hedger.won());
+    }
+
+    @Test
+    void testFailureOfHedgeDoesNotWin() throws Exception {
+        Hedger hedger = warmedUp(1);
+
+        BackendResponse response = hedger.execute(() -> {
+            if (attempts.incrementAndGet() == 1) {
+                awaitFinishedTasks(WINDOW_SIZE + 1);
+                return OK;
+            }
+            throw new IOException("connection reset");
+        });
+
+        assertSame(OK, response);
+        assertEquals(0, hedger.won());
+    }
+
+    @Test
+    void testLastServerErrorCompletesWhenBothFail() throws Exception {
+        Hedger hedger = warmedUp(1);
+
+        BackendResponse response = hedger.execute(() -> {
+            if (attempts.incrementAndGet() == 1) {
+                awaitFinishedTasks(WINDOW_SIZE + 1);
+                return UNAVAILABLE;
+            }
+            throw new IOException("connection reset");
+        });
+
+        assertSame(UNAVAILABLE, response);
+        assertEquals(2, attempts.get());
+    }
+
+    @Test
+    void testFailureWithoutHedgeIsPropagated() {
+        Hedger hedger = hedger(1);
+        IOException failure = new IOException("connection reset");
+
+        assertSame(failure, assertThrows(IOException.class, () -> hedger.execute(() -> {
+            throw failure;
+        })));
+    }
+
+    /**
+     * Waits until the given number of attempts has been fully handled by the hedger.
+     */
+    private void awaitFinishedTasks(int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (finishedTasks.get() < count && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertEquals(count, finishedTasks.get());
+    }
+
+    private Hedger hedger(double maxRate) {
+        return new Hedger(executor, WINDOW_SIZE, maxRate, MIN_SAMPLES, 10);
+    }
+
+    /**
+     * @return a hedger with enough fast samples to hedge after 10 ms, and a full hedge budget
+     */
+    private Hedger warmedUp(double maxRate) throws Exception {
+        Hedger hedger = hedger(maxRate);
+        for (int i = 0; i < WINDOW_SIZE; i++) {
+            hedger.execute(() -> OK);
+        }
+        awaitFinishedTasks(WINDOW_SIZE);
+        assertEquals(0, hedger.sent());
+        return hedger;
+    }
+}
@@ -0,0 +1,235 @@
+package com.banreservas.integration.backend;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.banreservas.integration.model.outbound.response.backends.datosmaestrocedulados.ClientMaestroResponseDto;
+import com.banreservas.integration.model.outbound.response.backends.datosmaestrocedulados.ConsultarDatosMaestroCeduladosRequest;
+import com.banreservas.integration.model.outbound.response.backends.datosmaestrocedulados.ConsultarDatosMaestroCeduladosResponse;
+import com.banreservas.integration.util.Constants;
+import com.banreservas.integration.util.JsonReaders;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Pruebas unitarias del micro-batcher de ConsultarDatosMaestroCedulados.
+ * El backend se reemplaza por un procesador en memoria que registra cada lote enviado.
+ */
+class MasterCedulaMicroBatcherTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static final String HEADER_OK = "\"header\":{\"responseCode\":200,\"responseMessage\":\"OK\"}";
+
+    private final List<ConsultarDatosMaestroCeduladosRequest> requests = new CopyOnWriteArrayList<>();
+    private final List<Exchange> exchanges = new CopyOnWriteArrayList<>();
+
+    private MasterCedulaMicroBatcher batcher;
+    private volatile int statusCode;
+    private volatile String responseBody;
+
+    @BeforeEach
+    void setUp() {
+        batcher = new MasterCedulaMicroBatcher();
+        batcher.camelContext = new DefaultCamelContext();
+        batcher.enabled = true;
+        batcher.windowMillis = TimeUnit.MINUTES.toMillis(1);
+        batcher.maxItems = 2;
+        batcher.scheduler = Executors.newSingleThreadScheduledExecutor();
+        batcher.sender = Executors.newSingleThreadExecutor();
+        batcher.service2Call = exchange -> {
+            requests.add(MAPPER.readValue(exchange.getIn().getBody(byte[].class), ConsultarDatosMaestroCeduladosRequest.class));
+            exchanges.add(exchange);
+            exchange.getMessage().setHeader(Exchange.HTTP_RESPONSE_CODE, statusCode);
+            exchange.getMessage().setHeader(Constants.HEADER_CONTENT_TYPE, "application/json");
+            exchange.getMessage().setBody(responseBody.getBytes(StandardCharsets.UTF_8));
+        };
+        statusCode = Constants.HTTP_OK;
+    }
+
+    @AfterEach
+    void tearDown() {
+        batcher.scheduler.shutdownNow();
+        batcher.sender.shutdownNow();
+    }
+
+    @Test
+    void testBatchResponseIsSplitPerIdentification() throws Exception {
+        responseBody = "{" + HEADER_OK + ",\"body\":{\"code\":\"000\",\"message\":\"OK\",\"type\":\"Cedula\",\"clients\":["
+                + client("001-1234567-8", "JUAN PEREZ") + "," + client("00298765432", "ANA GOMEZ") + "]}}";
+
+        CompletableFuture<BackendResponse> first = batcher.submit("00112345678", "Bearer token", "session-1");
+        CompletableFuture<BackendResponse> second = batcher.submit("00298765432", "Bearer token", "session-2");
+
+        assertClient(get(first), "JUAN PEREZ");
+        assertClient(get(second), "ANA GOMEZ");
+        assertEquals(1, requests.size());
+        assertEquals(2, requests.get(0).clients().size());
+        assertEquals("session-1", exchanges.get(0).getIn().getHeader(Constants.HEADER_SESSION_ID));
+        assertEquals("Bearer token", exchanges.get(0).getIn().getHeader(Constants.HEADER_AUTHORIZATION));
+    }
+
+    @Test
+    void testIdentificationMissingFromResponseIsNotFound() throws Exception {
+        responseBody = "{" + HEADER_OK + ",\"body\":{\"code\":\"000\",\"message\":\"OK\",\"type\":\"Cedula\",\"clients\":["
+                + client("00112345678", "JUAN PEREZ") + "]}}";
+
+        CompletableFuture<BackendResponse> found = batcher.submit("00112345678", "Bearer token", "session-1");
+        CompletableFuture<BackendResponse> missing = batcher.submit("00298765432", "Bearer token", "session-2");
+
+        assertClient(get(found), "JUAN PEREZ");
+        ConsultarDatosMaestroCeduladosResponse notFound = read(get(missing));
+        assertEquals(200, notFound.header().responseCode());
+        assertEquals(Constants.ERROR_CODE_NOT_FOUND, notFound.body().code());
+        assertEquals(Constants.ERROR_MESSAGE_CLIENT_NOT_FOUND, notFound.body().message());
+        assertEquals(0, notFound.body().clients().size());
+    }
+
+    @Test
+    void testNotFoundBatchResponseIsSharedAsIs() throws Exception {
+        responseBody = "{" + HEADER_OK + ",\"body\":{\"code\":\"904\",\"message\":\"Cliente no encontrado\",\"clients\":[]}}";
+
+        CompletableFuture<BackendResponse> firstItem = batcher.submit("00112345678", "Bearer token", "session-1");
+        CompletableFuture<BackendResponse> secondItem = batcher.submit("00298765432", "Bearer token", "session-2");
+        BackendResponse first = get(firstItem);
+        BackendResponse second = get(secondItem);
+
+        assertSame(first, second);
+        assertEquals(responseBody, new String(first.body(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testErrorHeaderIsSharedAsIs() throws Exception {
+        responseBody = "{\"header\":{\"responseCode\":500,\"responseMessage\":\"Error interno\"},"
+                + "\"body\":{\"code\":\"000\",\"clients\":[" + client("00112345678", "JUAN PEREZ") + "]}}";
+
+        CompletableFuture<BackendResponse> firstItem = batcher.submit("00112345678", "Bearer token", "session-1");
+        CompletableFuture<BackendResponse> secondItem = batcher.submit("00298765432", "Bearer token", "session-2");
+        BackendResponse first = get(firstItem);
+        BackendResponse second = get(secondItem);
+
+        assertSame(first, second);
+        assertEquals(500, read(first).header().responseCode());
+    }
+
+    @Test
+    void testHttpErrorIsSharedAsIs() throws Exception {
+        statusCode = 503;
+        responseBody = "{\"error\":\"unavailable\"}";
+
+        CompletableFuture<BackendResponse> firstItem = batcher.submit("00112345678", "Bearer token", "session-1");
+        CompletableFuture<BackendResponse> secondItem = batcher.submit("00298765432", "Bearer token", "session-2");
+        BackendResponse first = get(firstItem);
+        BackendResponse second = get(secondItem);
+
+        assertSame(first, second);
+        assertEquals(503, first.statusCode());
+    }
+
+    @Test
+    void testBatchIsSentWhenFull() throws Exception {
+        responseBody = "{" + HEADER_OK + ",\"body\":{\"code\":\"000\",\"clients\":["
+                + client("00112345678", "JUAN PEREZ") + "]}}";
+
+        CompletableFuture<BackendResponse> first = batcher.submit("00112345678", "Bearer token", "session-1");
+        assertTrue(requests.isEmpty());
+        assertFalse(first.isDone());
+        CompletableFuture<BackendResponse> second = batcher.submit("00112345678", "Bearer token", "session-2");
+
+        assertClient(get(first), "JUAN PEREZ");
+        assertClient(get(second), "JUAN PEREZ");
+        assertEquals(1, requests.size());
+        assertEquals(1, requests.get(0).clients().size());
+        assertEquals(1, batcher.batchesSent());
+        assertEquals(1, batcher.itemsSent());
+    }
+
+    @Test
+    void testBatchIsSentWhenWindowExpires() throws Exception {
+        batcher.windowMillis = 10;
+        responseBody = "{" + HEADER_OK + ",\"body\":{\"code\":\"000\",\"clients\":["
+                + client("00112345678", "JUAN PEREZ") + "]}}";
+
+        BackendResponse response = get(batcher.submit("00112345678", "Bearer token", "session-1"));
+
+        assertClient(response, "JUAN PEREZ");
+        assertEquals(1, requests.size());
+        assertEquals(1, batcher.batchesSent());
+    }
+
+    @Test
+    void testLookupsAreGroupedByCredentialsWithoutPhoto() throws Exception {
+        responseBody = "{" + HEADER_OK + ",\"body\":{\"code\":\"000\",\"clients\":[]}}";
+
+        CompletableFuture<BackendResponse> first = batcher.submit("00112345678", "Bearer token", "session-1");
+        CompletableFuture<BackendResponse> otherCredentials = batcher.submit("00387654321", "Bearer other", "session-2");
+        assertTrue(requests.isEmpty());
+
+        batcher.submit("00400000001", "Bearer token", "session-3");
+        get(first);
+        batcher.submit("00400000002", "Bearer other", "session-4");
+        get(otherCredentials);
+
+        assertEquals(2, requests.size());
+        assertFalse(requests.get(0).includeBinaryPhoto());
+        assertFalse(requests.get(1).includeBinaryPhoto());
+        assertEquals("Bearer token", exchanges.get(0).getIn().getHeader(Constants.HEADER_AUTHORIZATION));
+        assertEquals("Bearer other", exchanges.get(1).getIn().getHeader(Constants.HEADER_AUTHORIZATION));
+        assertEquals(4, batcher.itemsSent());
+    }
+
+    @Test
+    void testBackendFailureFailsEveryItem() throws Exception {
+        IllegalStateException failure = new IllegalStateException("backend down");
+        batcher.service2Call = exchange -> {
+            throw failure;
+        };
+
+        CompletableFuture<BackendResponse> first = batcher.submit("00112345678", "Bearer token", "session-1");
+        CompletableFuture<BackendResponse> second = batcher.submit("00298765432", "Bearer token", "session-2");
+
+        assertSame(failure, assertThrows(ExecutionException.class, () -> get(first)).getCause());
+        assertSame(failure, assertThrows(ExecutionException.class, () -> get(second)).getCause());
+        assertEquals(0, batcher.batchesSent());
+    }
+
+    static String client(String number, String names) {
+        return "{\"identifications\":[{\"number\":\"" + number + "\",\"type\":\"Cedula\"}],"
+                + "\"names\":\"" + names + "\",\"photo\":\"aGVsbG8=\"}";
+    }
+
+    static BackendResponse get(CompletableFuture<BackendResponse> future) throws Exception {
+        return future.get(5, TimeUnit.SECONDS);
+    }
+
+    private static ConsultarDatosMaestroCeduladosResponse read(BackendResponse response) throws Exception {
+        return JsonReaders.MASTER_CEDULA_RESPONSE.readValue(response.body());
+    }
+
+    private static void assertClient(BackendResponse response, String names) throws Exception {
+        ConsultarDatosMaestroCeduladosResponse item = read(response);
+        assertEquals(200, item.header().responseCode());
+        assertEquals(Constants.ERROR_CODE_SUCCESS, item.body().code());
+        assertEquals(1, item.body().clients().size());
+        ClientMaestroResponseDto client = item.body().clients().get(0);
+        assertEquals(names, client.names());
+        assertNull(client.photo());
+    }
+}
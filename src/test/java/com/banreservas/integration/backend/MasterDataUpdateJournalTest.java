@@ -0,0 +1,128 @@
+package com.banreservas.integration.backend;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.apache.camel.impl.DefaultCamelContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Pruebas unitarias del journal de actualizaciones de datos maestros.
+ * Cada prueba cierra el journal, lo que espera a que el escritor vacíe sus comandos, antes de reabrirlo.
+ */
+class MasterDataUpdateJournalTest {
+
+    private static final int RECORD_HEADER_SIZE = 25;
+    private static final int PAYLOAD_SIZE = 40;
+
+    @TempDir
+    Path tempDir;
+
+    private MasterDataUpdateJournal journal;
+
+    @AfterEach
+    void tearDown() {
+        if (journal != null) {
+            journal.shutdown();
+        }
+    }
+
+    @Test
+    void testUnacknowledgedEntriesAreRecoveredAfterReopen() throws Exception {
+        journal = open(4096);
+        assertEquals(1, journal.append(payload('a'), 1000));
+        assertEquals(2, journal.append(payload('b'), 2000));
+        assertEquals(3, journal.append(payload('c'), 3000));
+        journal.ack(2);
+        journal.shutdown();
+
+        journal = open(4096);
+
+        List<MasterDataUpdateJournal.Entry> recovered = journal.recovered();
+        assertEquals(List.of(1L, 3L), ids(recovered));
+        assertArrayEquals(payload('a'), recovered.get(0).payload());
+        assertEquals(3000, recovered.get(1).timestamp());
+        assertEquals(2, journal.backlog());
+        assertEquals(4, journal.append(payload('d'), 4000));
+    }
+
+    @Test
+    void testCorruptedTailIsIgnored() throws Exception {
+        journal = open(4096);
+        journal.append(payload('a'), 1000);
+        journal.append(payload('b'), 2000);
+        journal.shutdown();
+
+        // Altera un byte del payload del segundo registro, como una escritura interrumpida
+        try (RandomAccessFile file = new RandomAccessFile(segments().get(0).toFile(), "rw")) {
+            long offset = RECORD_HEADER_SIZE + PAYLOAD_SIZE + RECORD_HEADER_SIZE;
+            file.seek(offset);
+            int value = file.read();
+            file.seek(offset);
+            file.write(value ^ 0xFF);
+        }
+
+        journal = open(4096);
+
+        assertEquals(List.of(1L), ids(journal.recovered()));
+        assertEquals(1, journal.backlog());
+    }
+
+    @Test
+    void testCompactionRelocatesLiveEntries() throws Exception {
+        // Cada segmento admite cuatro registros; un registro vivo ocupa menos de un cuarto del segmento
+        journal = open(300);
+        for (char c = 'a'; c <= 'e'; c++) {
+            journal.append(payload(c), c);
+        }
+        journal.ack(1);
+        journal.ack(2);
+        journal.ack(3);
+        journal.shutdown();
+
+        assertEquals(1, journal.segmentCount());
+        assertEquals(1, segments().size());
+
+        journal = open(300);
+
+        List<MasterDataUpdateJournal.Entry> recovered = journal.recovered();
+        assertEquals(List.of(4L, 5L), ids(recovered).stream().sorted().toList());
+        assertEquals(0, journal.unwritten());
+    }
+
+    private MasterDataUpdateJournal open(int segmentSize) throws IOException {
+        MasterDataUpdateJournal opened = new MasterDataUpdateJournal();
+        opened.camelContext = new DefaultCamelContext();
+        opened.enabled = true;
+        opened.directory = tempDir.resolve("journal").toString();
+        opened.segmentSize = segmentSize;
+        opened.queueCapacity = 1024;
+        opened.maxBatch = 64;
+        opened.init();
+        return opened;
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(tempDir.resolve("journal"))) {
+            return files.sorted().toList();
+        }
+    }
+
+    private static byte[] payload(char value) {
+        return String.valueOf(value).repeat(PAYLOAD_SIZE).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static List<Long> ids(List<MasterDataUpdateJournal.Entry> entries) {
+        return entries.stream().map(MasterDataUpdateJournal.Entry::id).toList();
+    }
+}
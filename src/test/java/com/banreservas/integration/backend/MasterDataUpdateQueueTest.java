@@ -0,0 +1,256 @@
+package com.banreservas.integration.backend;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.banreservas.integration.cache.MasterCedulaCache;
+import com.banreservas.integration.model.outbound.response.backends.actualizardatosmaestrocedulados.ActualizarDatosMaestroCeduladosRequest;
+import com.banreservas.integration.model.outbound.response.backends.actualizardatosmaestrocedulados.ClientActualizarRequestDto;
+import com.banreservas.integration.util.Constants;
+import com.banreservas.integration.util.JsonReaders;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+/**
+ * Pruebas unitarias de la cola write-behind de ActualizarDatosMaestroCedulados.
+ * El backend y el journal se reemplazan por dobles en memoria; un solo worker fija el orden de los envíos.
+ */
+class MasterDataUpdateQueueTest {
+
+    private static final ObjectReader REQUEST_READER = JsonReaders.readerFor(ActualizarDatosMaestroCeduladosRequest.class);
+
+    private static final String CEDULA = "00112345678";
+    private static final String AUTHORIZATION = "Bearer token";
+    private static final String UPDATED_BODY = "{\"header\":{\"responseCode\":200,\"responseMessage\":\"OK\"},"
+            + "\"body\":{\"clients\":[{\"name\":\"JUAN\"}]}}";
+
+    private final List<String> sent = new CopyOnWriteArrayList<>();
+    private final List<String> authorizations = new CopyOnWriteArrayList<>();
+    private final List<String> invalidated = new CopyOnWriteArrayList<>();
+    private final BlockingQueue<Integer> statusCodes = new LinkedBlockingQueue<>();
+
+    private MasterDataUpdateQueue queue;
+    private RecordingJournal journal;
+
+    @BeforeEach
+    void setUp() {
+        journal = new RecordingJournal();
+        queue = new MasterDataUpdateQueue();
+        queue.camelContext = new DefaultCamelContext();
+        queue.journal = journal;
+        queue.masterCedulaCache = new MasterCedulaCache() {
+            @Override
+            public void invalidate(String identification) {
+                invalidated.add(identification);
+            }
+        };
+        queue.enabled = true;
+        queue.capacity = 100;
+        queue.workers = 1;
+        queue.maxAttempts = 3;
+        queue.initialBackoffMillis = 1;
+        queue.maxBackoffMillis = 1;
+        queue.serviceAuthorization = Optional.empty();
+        queue.service4Call = exchange -> {
+            sent.add(REQUEST_READER.<ActualizarDatosMaestroCeduladosRequest>readValue(
+                    exchange.getIn().getBody(byte[].class)).clients().get(0).names());
+            authorizations.add(exchange.getIn().getHeader(Constants.HEADER_AUTHORIZATION, String.class));
+            Integer statusCode = statusCodes.poll();
+            exchange.getMessage().setHeader(Exchange.HTTP_RESPONSE_CODE, statusCode != null ? statusCode : Constants.HTTP_OK);
+            exchange.getMessage().setHeader(Constants.HEADER_CONTENT_TYPE, "application/json");
+            exchange.getMessage().setBody(UPDATED_BODY.getBytes(StandardCharsets.UTF_8));
+        };
+    }
+
+    @AfterEach
+    void tearDown() {
+        queue.shutdown();
+    }
+
+    @Test
+    void testPendingUpdatesForSameCedulaAreCoalesced() throws Exception {
+        assertTrue(queue.enqueue("001-1234567-8", request("PRIMERO"), AUTHORIZATION, "session-1"));
+        assertTrue(queue.enqueue(CEDULA, request("SEGUNDO"), AUTHORIZATION, "session-2"));
+        assertTrue(queue.enqueue("00298765432", request("OTRO"), AUTHORIZATION, "session-3"));
+
+        assertEquals(2, queue.backlog());
+        assertEquals(1, queue.coalesced());
+        // La actualización reemplazada se reconoce en el journal sin enviarse
+        assertEquals(List.of(1L), journal.acked);
+
+        queue.start();
+        await(() -> journal.acked.size() == 3);
+
+        assertEquals(List.of("SEGUNDO", "OTRO"), sent);
+        assertEquals(2, queue.succeeded());
+        assertEquals(List.of(1L, 2L, 3L), journal.acked);
+    }
+
+    @Test
+    void testRetriesWithBackoffUntilApplied() throws Exception {
+        statusCodes.add(503);
+        statusCodes.add(500);
+        queue.enqueue(CEDULA, request("PRIMERO"), AUTHORIZATION, "session-1");
+
+        queue.start();
+        await(() -> journal.acked.size() == 1);
+
+        assertEquals(List.of("PRIMERO", "PRIMERO", "PRIMERO"), sent);
+        assertEquals(1, queue.succeeded());
+        assertEquals(0, queue.failed());
+        // Se invalida al aceptar la actualización y de nuevo al aplicarla
+        assertEquals(List.of(CEDULA, CEDULA), invalidated);
+    }
+
+    @Test
+    void testUpdateWaitingForRetryIsSupersededByNewerOne() throws Exception {
+        queue.initialBackoffMillis = TimeUnit.MINUTES.toMillis(1);
+        queue.maxBackoffMillis = TimeUnit.MINUTES.toMillis(1);
+        CountDownLatch inFlight = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Processor backend = queue.service4Call;
+        queue.service4Call = exchange -> {
+            if (sent.isEmpty()) {
+                statusCodes.add(503);
+                inFlight.countDown();
+                assertTrue(release.await(5, TimeUnit.SECONDS));
+            }
+            backend.process(exchange);
+        };
+        queue.enqueue(CEDULA, request("PRIMERO"), AUTHORIZATION, "session-1");
+        queue.start();
+        assertTrue(inFlight.await(5, TimeUnit.SECONDS));
+
+        queue.enqueue(CEDULA, request("SEGUNDO"), AUTHORIZATION, "session-2");
+        release.countDown();
+        // Sin la detección del reemplazo el worker esperaría el backoff de un minuto
+        await(() -> journal.acked.size() == 2);
+
+        assertEquals(List.of("PRIMERO", "SEGUNDO"), sent);
+        assertEquals(1, queue.succeeded());
+        assertEquals(0, queue.failed());
+        assertEquals(0, queue.deadLettered());
+    }
+
+    @Test
+    void testExhaustedUpdateIsKeptAsDeadLetterUntilNewerOne() throws Exception {
+        queue.maxAttempts = 2;
+        statusCodes.add(503);
+        statusCodes.add(503);
+        queue.enqueue(CEDULA, request("PRIMERO"), AUTHORIZATION, "session-1");
+
+        queue.start();
+        await(() -> queue.deadLettered() == 1);
+
+        assertEquals(2, sent.size());
+        assertEquals(1, queue.failed());
+        assertTrue(journal.acked.isEmpty());
+
+        queue.enqueue(CEDULA, request("SEGUNDO"), AUTHORIZATION, "session-2");
+        await(() -> journal.acked.size() == 2);
+
+        assertEquals(0, queue.deadLettered());
+        assertEquals(List.of(1L, 2L), journal.acked);
+        assertEquals(1, queue.succeeded());
+    }
+
+    @Test
+    void testReplayIsNotBoundedByCapacity() throws Exception {
+        queue.capacity = 1;
+        queue.serviceAuthorization = Optional.of("Bearer service");
+        journal.recovered = List.of(
+                journaled(1, "00100000001", "UNO"),
+                journaled(2, "00100000002", "DOS"),
+                new MasterDataUpdateJournal.Entry(3, 1000, "{".getBytes(StandardCharsets.UTF_8)),
+                journaled(4, "00100000003", "TRES"));
+        CountDownLatch release = new CountDownLatch(1);
+        Processor backend = queue.service4Call;
+        queue.service4Call = exchange -> {
+            assertTrue(release.await(5, TimeUnit.SECONDS));
+            backend.process(exchange);
+        };
+
+        queue.start();
+
+        assertEquals(3, queue.backlog());
+        assertEquals(0, queue.rejected());
+        // La entrada ilegible se descarta del journal
+        assertEquals(List.of(3L), journal.acked);
+
+        release.countDown();
+        await(() -> journal.acked.size() == 4);
+
+        assertEquals(List.of("UNO", "DOS", "TRES"), sent);
+        assertEquals(List.of("Bearer service", "Bearer service", "Bearer service"), authorizations);
+        assertEquals(3, queue.succeeded());
+    }
+
+    private static ActualizarDatosMaestroCeduladosRequest request(String names) {
+        return new ActualizarDatosMaestroCeduladosRequest(List.of(new ClientActualizarRequestDto(List.of(), names,
+                null, null, null, null, null, null, null, null, null, null, null, null, null, null, null, null, null)),
+                false);
+    }
+
+    private static MasterDataUpdateJournal.Entry journaled(long id, String cedula, String names) {
+        String payload = "{\"cedula\":\"" + cedula + "\",\"request\":{\"clients\":[{\"names\":\"" + names + "\"}],"
+                + "\"includeBinaryPhoto\":false},\"createdAt\":1000}";
+        return new MasterDataUpdateJournal.Entry(id, 1000, payload.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "Condition not met within 5 seconds");
+            Thread.sleep(5);
+        }
+    }
+
+    /**
+     * Journal en memoria que asigna ids consecutivos y registra los reconocimientos.
+     */
+    private static final class RecordingJournal extends MasterDataUpdateJournal {
+
+        private final AtomicLong ids = new AtomicLong(1);
+        private final List<Long> acked = new CopyOnWriteArrayList<>();
+        private List<Entry> recovered = List.of();
+
+        @Override
+        public boolean isEnabled() {
+            return true;
+        }
+
+        @Override
+        public List<Entry> recovered() {
+            return recovered;
+        }
+
+        @Override
+        public long append(byte[] payload, long timestamp) {
+            return ids.getAndIncrement();
+        }
+
+        @Override
+        public void ack(long id) {
+            if (id >= 0) {
+                acked.add(id);
+            }
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.banreservas.integration.backend;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Pruebas unitarias del presupuesto de reintentos.
+ * La tasa mínima es tan baja que solo aporta el reintento inicial de su cubeta durante la prueba.
+ */
+class RetryBudgetTest {
+
+    private static final double MIN_RETRIES_PER_SECOND = 0.001;
+
+    @Test
+    void testMinimumAllowsRetryWithoutTraffic() {
+        RetryBudget budget = new RetryBudget(0.25, MIN_RETRIES_PER_SECOND);
+
+        assertTrue(budget.tryRetry());
+        assertFalse(budget.tryRetry());
+
+        assertEquals(1, budget.retries());
+        assertEquals(1, budget.exhausted());
+    }
+
+    @Test
+    void testCallsEarnRetries() {
+        RetryBudget budget = new RetryBudget(0.25, MIN_RETRIES_PER_SECOND);
+        recordCalls(budget, 8);
+
+        assertTrue(budget.tryRetry());
+        assertTrue(budget.tryRetry());
+        // Earned retries are spent; the minimum allows one more
+        assertTrue(budget.tryRetry());
+        assertFalse(budget.tryRetry());
+
+        assertEquals(3, budget.retries());
+        assertEquals(1, budget.exhausted());
+    }
+
+    @Test
+    void testFractionOfRetryIsNotEnough() {
+        RetryBudget budget = new RetryBudget(0.25, MIN_RETRIES_PER_SECOND);
+        assertTrue(budget.tryRetry());
+        recordCalls(budget, 3);
+
+        assertFalse(budget.tryRetry());
+
+        recordCalls(budget, 1);
+        assertTrue(budget.tryRetry());
+    }
+
+    @Test
+    void testBalanceIsCappedAtLastThousandCalls() {
+        RetryBudget budget = new RetryBudget(0.25, MIN_RETRIES_PER_SECOND);
+        recordCalls(budget, 4000);
+
+        int allowed = 0;
+        while (budget.tryRetry()) {
+            allowed++;
+        }
+
+        // 250 earned by the last thousand calls, plus the minimum
+        assertEquals(251, allowed);
+        assertEquals(1, budget.exhausted());
+    }
+
+    @Test
+    void testSmallRatioStillBanksOneRetry() {
+        RetryBudget budget = new RetryBudget(0.0005, MIN_RETRIES_PER_SECOND);
+        assertTrue(budget.tryRetry());
+        recordCalls(budget, 4000);
+
+        assertTrue(budget.tryRetry());
+        assertFalse(budget.tryRetry());
+    }
+
+    private static void recordCalls(RetryBudget budget, int calls) {
+        for (int i = 0; i < calls; i++) {
+            budget.recordCall();
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.banreservas.integration.backend;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Pruebas unitarias de la deduplicación de llamadas concurrentes idénticas.
+ * Cada seguidor se une a la llamada en curso antes de que el líder termine.
+ */
+class SingleFlightTest {
+
+    private final SingleFlight<String, String> singleFlight = new SingleFlight<>();
+    private final ExecutorService executor = Executors.newFixedThreadPool(2);
+    private final CountDownLatch leaderStarted = new CountDownLatch(1);
+    private final CountDownLatch leaderRelease = new CountDownLatch(1);
+    private final AtomicInteger calls = new AtomicInteger();
+
+    @AfterEach
+    void tearDown() {
+        leaderRelease.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testSequentialCallsAreNotShared() throws Exception {
+        assertEquals("1", singleFlight.execute("key", () -> String.valueOf(calls.incrementAndGet())));
+        assertEquals("2", singleFlight.execute("key", () -> String.valueOf(calls.incrementAndGet())));
+
+        assertEquals(2, singleFlight.executed());
+        assertEquals(0, singleFlight.shared());
+        assertEquals(0, singleFlight.inFlight());
+    }
+
+    @Test
+    void testFollowerReceivesLeaderResult() throws Exception {
+        Future<String> leader = startLeader(() -> "result");
+        Future<String> follower = startFollower();
+
+        leaderRelease.countDown();
+
+        assertEquals("result", leader.get(5, TimeUnit.SECONDS));
+        assertEquals("result", follower.get(5, TimeUnit.SECONDS));
+        assertEquals(1, calls.get());
+        assertEquals(1, singleFlight.executed());
+        assertEquals(1, singleFlight.shared());
+        assertEquals(0, singleFlight.inFlight());
+    }
+
+    @Test
+    void testLeaderFailureIsPropagatedToFollower() throws Exception {
+        IllegalStateException failure = new IllegalStateException("backend down");
+        Future<String> leader = startLeader(() -> {
+            throw failure;
+        });
+        Future<String> follower = startFollower();
+
+        leaderRelease.countDown();
+
+        assertSame(failure, assertThrows(ExecutionException.class, () -> leader.get(5, TimeUnit.SECONDS)).getCause());
+        assertSame(failure, assertThrows(ExecutionException.class, () -> follower.get(5, TimeUnit.SECONDS)).getCause());
+        assertEquals(0, singleFlight.inFlight());
+        assertEquals("next", singleFlight.execute("key", () -> "next"));
+    }
+
+    @Test
+    void testFollowerStopsWaitingAfterMaxWait() throws Exception {
+        Future<String> leader = startLeader(() -> "result");
+
+        assertThrows(TimeoutException.class,
+                () -> singleFlight.execute("key", () -> "follower", TimeUnit.MILLISECONDS.toNanos(10)));
+
+        leaderRelease.countDown();
+        assertEquals("result", leader.get(5, TimeUnit.SECONDS));
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void testDifferentKeysAreNotShared() throws Exception {
+        Future<String> leader = startLeader(() -> "result");
+
+        assertEquals("other", singleFlight.execute("other", () -> "other"));
+        assertEquals(0, singleFlight.shared());
+
+        leaderRelease.countDown();
+        leader.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void testAsyncFollowerSharesFuture() throws Exception {
+        CompletableFuture<String> call = new CompletableFuture<>();
+
+        CompletableFuture<String> leader = singleFlight.executeAsync("key", () -> call);
+        CompletableFuture<String> follower = singleFlight.executeAsync("key", () -> CompletableFuture.completedFuture("other"));
+
+        assertSame(leader, follower);
+        assertEquals(1, singleFlight.inFlight());
+        call.complete("result");
+        assertEquals("result", follower.get(5, TimeUnit.SECONDS));
+        assertEquals(0, singleFlight.inFlight());
+        assertEquals(1, singleFlight.executed());
+        assertEquals(1, singleFlight.shared());
+    }
+
+    @Test
+    void testAsyncFailureIsPropagatedAndKeyReleased() {
+        IllegalStateException failure = new IllegalStateException("backend down");
+
+        CompletableFuture<String> failed = singleFlight.executeAsync("key", () -> CompletableFuture.failedFuture(failure));
+        CompletableFuture<String> thrown = singleFlight.executeAsync("other", () -> {
+            throw failure;
+        });
+
+        assertTrue(failed.isCompletedExceptionally());
+        assertTrue(thrown.isCompletedExceptionally());
+        assertSame(failure, assertThrows(ExecutionException.class, failed::get).getCause());
+        assertEquals(0, singleFlight.inFlight());
+    }
+
+    private Future<String> startLeader(Callable<String> result) throws InterruptedException {
+        Future<String> leader = executor.submit(() -> singleFlight.execute("key", () -> {
+            calls.incrementAndGet();
+            leaderStarted.countDown();
+            leaderRelease.await();
+            return result.call();
+        }));
+        assertTrue(leaderStarted.await(5, TimeUnit.SECONDS));
+        return leader;
+    }
+
+    private Future<String> startFollower() throws InterruptedException {
+        Future<String> follower = executor.submit(() -> singleFlight.execute("key", () -> {
+            calls.incrementAndGet();
+            return "follower";
+        }));
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (singleFlight.shared() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertEquals(1, singleFlight.shared());
+        return follower;
+    }
+}
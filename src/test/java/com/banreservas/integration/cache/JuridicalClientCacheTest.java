@@ -0,0 +1,66 @@
+package com.banreservas.integration.cache;
+
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.banreservas.integration.model.outbound.response.ConsultarDatosGeneralesClienteResponse;
+
+/**
+ * Pruebas unitarias del cache de clientes jurídicos.
+ * El TTL negativo es corto para que venza durante la prueba; el regular y la ventana stale no vencen.
+ */
+class JuridicalClientCacheTest {
+
+    private static final String RNC = "RNC";
+    private static final String CREDENTIAL = "credencial-1";
+    private static final ConsultarDatosGeneralesClienteResponse FOUND = new ConsultarDatosGeneralesClienteResponse(null, null);
+    private static final ConsultarDatosGeneralesClienteResponse NOT_FOUND = new ConsultarDatosGeneralesClienteResponse(null, null);
+
+    private JuridicalClientCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new JuridicalClientCache();
+        cache.enabled = true;
+        cache.ttlMillis = 60_000;
+        cache.negativeTtlMillis = 20;
+        cache.staleTtlMillis = 60_000;
+        cache.maxEntries = 10;
+        cache.init();
+    }
+
+    @Test
+    void testResultIsOnlyServedToSameCredential() {
+        cache.put(RNC, "1-01-12345-6", CREDENTIAL, FOUND);
+
+        assertSame(FOUND, cache.get(RNC, "101123456", CREDENTIAL));
+        assertNull(cache.get(RNC, "101123456", "credencial-2"));
+        assertNull(cache.getStale(RNC, "101123456", "credencial-2"));
+    }
+
+    @Test
+    void testNegativeResultExpiresWithoutStaleWindow() throws Exception {
+        cache.putNegative(RNC, "101123456", CREDENTIAL, NOT_FOUND);
+        cache.put(RNC, "101654321", CREDENTIAL, FOUND);
+        assertSame(NOT_FOUND, cache.get(RNC, "101123456", CREDENTIAL));
+
+        Thread.sleep(100);
+
+        assertNull(cache.get(RNC, "101123456", CREDENTIAL));
+        assertNull(cache.getStale(RNC, "101123456", CREDENTIAL));
+        assertSame(FOUND, cache.get(RNC, "101654321", CREDENTIAL));
+    }
+
+    @Test
+    void testDisabledCacheStoresNothing() {
+        cache.enabled = false;
+        cache.put(RNC, "101123456", CREDENTIAL, FOUND);
+
+        assertNull(cache.get(RNC, "101123456", CREDENTIAL));
+        cache.enabled = true;
+        assertNull(cache.get(RNC, "101123456", CREDENTIAL));
+    }
+}
@@ -0,0 +1,125 @@
+package com.banreservas.integration.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Pruebas unitarias del cache en memoria con TTL por entrada y desalojo LRU.
+ * Los TTL cortos vencen durante una espera de varias veces su duración.
+ */
+class TtlCacheTest {
+
+    private static final long SHORT_TTL = 20;
+    private static final long LONG_TTL = 60_000;
+    private static final long WAIT = 100;
+
+    @Test
+    void testEntryIsServedWithinTtl() {
+        TtlCache<String, String> cache = new TtlCache<>(10, LONG_TTL);
+
+        cache.put("a", "uno");
+
+        assertEquals("uno", cache.get("a"));
+        assertNull(cache.get("b"));
+        CacheStats stats = cache.stats();
+        assertEquals(1, stats.hits());
+        assertEquals(1, stats.misses());
+        assertEquals(0.5, stats.hitRatio(), 0.0);
+    }
+
+    @Test
+    void testExpiredEntryWithoutStaleWindowIsRemoved() throws Exception {
+        TtlCache<String, String> cache = new TtlCache<>(10, SHORT_TTL);
+        cache.put("a", "uno");
+
+        Thread.sleep(WAIT);
+
+        assertNull(cache.get("a"));
+        assertNull(cache.getStale("a"));
+        CacheStats stats = cache.stats();
+        assertEquals(0, stats.size());
+        assertEquals(1, stats.misses());
+        assertEquals(1, stats.expirations());
+    }
+
+    @Test
+    void testExpiredEntryIsKeptForStaleWindow() throws Exception {
+        TtlCache<String, String> cache = new TtlCache<>(10, SHORT_TTL, LONG_TTL);
+        cache.put("a", "uno");
+
+        Thread.sleep(WAIT);
+
+        assertNull(cache.get("a"));
+        assertEquals("uno", cache.getStale("a"));
+        assertEquals(1, cache.stats().size());
+        assertEquals(0, cache.stats().expirations());
+    }
+
+    @Test
+    void testStaleWindowEnds() throws Exception {
+        TtlCache<String, String> cache = new TtlCache<>(10, SHORT_TTL, SHORT_TTL);
+        cache.put("a", "uno");
+
+        Thread.sleep(WAIT);
+
+        assertNull(cache.getStale("a"));
+        assertNull(cache.get("a"));
+        assertEquals(1, cache.stats().expirations());
+    }
+
+    @Test
+    void testEntryWithOwnTtlHasNoStaleWindow() throws Exception {
+        TtlCache<String, String> cache = new TtlCache<>(10, LONG_TTL, LONG_TTL);
+        cache.put("negativo", "no encontrado", SHORT_TTL);
+        cache.put("positivo", "encontrado");
+        assertEquals("no encontrado", cache.get("negativo"));
+
+        Thread.sleep(WAIT);
+
+        assertNull(cache.get("negativo"));
+        assertNull(cache.getStale("negativo"));
+        assertEquals("encontrado", cache.get("positivo"));
+    }
+
+    @Test
+    void testNonPositiveTtlIsNotStored() {
+        TtlCache<String, String> cache = new TtlCache<>(10, LONG_TTL);
+
+        cache.put("a", "uno", 0);
+        cache.put("b", null);
+
+        assertEquals(0, cache.stats().size());
+    }
+
+    @Test
+    void testLeastRecentlyUsedEntryIsEvicted() {
+        TtlCache<String, String> cache = new TtlCache<>(2, LONG_TTL);
+        cache.put("a", "uno");
+        cache.put("b", "dos");
+        cache.get("a");
+
+        cache.put("c", "tres");
+
+        assertNull(cache.get("b"));
+        assertEquals("uno", cache.get("a"));
+        assertEquals("tres", cache.get("c"));
+        assertEquals(1, cache.stats().evictions());
+        assertEquals(2, cache.stats().size());
+    }
+
+    @Test
+    void testInvalidateIfRemovesMatchingKeys() {
+        TtlCache<String, String> cache = new TtlCache<>(10, LONG_TTL, LONG_TTL);
+        cache.put("00112345678|credencial-1", "uno");
+        cache.put("00112345678|credencial-2", "uno");
+        cache.put("00298765432|credencial-1", "dos");
+
+        cache.invalidateIf(key -> key.startsWith("00112345678|"));
+
+        assertNull(cache.getStale("00112345678|credencial-1"));
+        assertNull(cache.getStale("00112345678|credencial-2"));
+        assertEquals("dos", cache.get("00298765432|credencial-1"));
+    }
+}
@@ -0,0 +1,129 @@
+package com.banreservas.integration.mocks;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.any;
+import static com.github.tomakehurst.wiremock.client.WireMock.containing;
+import static com.github.tomakehurst.wiremock.client.WireMock.post;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlMatching;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.jboss.logging.Logger;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+
+import io.quarkus.test.common.QuarkusTestResourceLifecycleManager;
+
+/**
+ * Mock de WireMock para los cuatro backends de la orquestación.
+ * Cada identificación de prueba tiene una respuesta fija por backend, de modo que cada
+ * escenario recorre un camino distinto de las reglas de negocio.
+ */
+public class BackendsWireMock implements QuarkusTestResourceLifecycleManager {
+
+    static final Logger logger = Logger.getLogger(BackendsWireMock.class);
+
+    public static final String JURIDICAL_CLIENT_PATH = "/api/v1/ms-consultar-datos-generales-cliente-juridico";
+    public static final String MASTER_CEDULA_PATH = "/api/v1/consultar-datos-maestro-cedulados";
+    public static final String JCE_PATH = "/api/v1/consulta-jce";
+    public static final String UPDATE_PATH = "/api/v1/ms-actualizar-datos-maestro-cedulados";
+
+    /** RNC encontrado en el servicio jurídico. */
+    public static final String RNC_FOUND = "101000001";
+    /** Cédula encontrada en datos maestros. */
+    public static final String CEDULA_IN_MASTER = "00100000001";
+    /** Cédula no encontrada en datos maestros (904), encontrada en JCE y actualizada. */
+    public static final String CEDULA_IN_JCE = "00100000002";
+    /** Cédula no encontrada en datos maestros ni en JCE. */
+    public static final String CEDULA_NOT_FOUND = "00100000003";
+    /** Cédula para la que el servicio maestro responde HTTP 500. */
+    public static final String CEDULA_MASTER_ERROR = "00100000004";
+
+    private static final String HEADER_OK = "\"header\":{\"responseCode\":200,\"responseMessage\":\"OK\"}";
+
+    private static WireMockServer server;
+
+    @Override
+    public Map<String, String> start() {
+
+        logger.info("Starting WireMock Server for orchestration backends");
+
+        server = new WireMockServer(wireMockConfig().dynamicPort());
+        server.start();
+
+        // Servicio jurídico
+        stub(JURIDICAL_CLIENT_PATH, RNC_FOUND, 200, "{" + HEADER_OK + ",\"body\":{\"client\":{"
+                + "\"identification\":{\"number\":\"" + RNC_FOUND + "\",\"type\":\"RNC\"},"
+                + "\"businessName\":\"EMPRESA DE PRUEBA SRL\",\"tradeName\":\"EMPRESA\"}}}");
+
+        // Servicio maestro
+        stub(MASTER_CEDULA_PATH, CEDULA_IN_MASTER, 200, masterFound(CEDULA_IN_MASTER, "JUAN PEREZ"));
+        stub(MASTER_CEDULA_PATH, CEDULA_IN_JCE, 200, MASTER_NOT_FOUND);
+        stub(MASTER_CEDULA_PATH, CEDULA_NOT_FOUND, 200, MASTER_NOT_FOUND);
+        stub(MASTER_CEDULA_PATH, CEDULA_MASTER_ERROR, 500,
+                "{\"header\":{\"responseCode\":500,\"responseMessage\":\"Internal Server Error\"}}");
+
+        // Servicio JCE
+        stub(JCE_PATH, CEDULA_IN_JCE, 200, "{" + HEADER_OK + ",\"body\":{\"clients\":[{"
+                + "\"identifications\":[{\"number\":\"" + CEDULA_IN_JCE + "\",\"type\":\"Cedula\"}],"
+                + "\"names\":\"ANA GOMEZ\",\"firstSurname\":\"GOMEZ\"}]}}");
+        stub(JCE_PATH, CEDULA_NOT_FOUND, 200, "{" + HEADER_OK + ",\"body\":{\"clients\":[]}}");
+
+        // Servicio de actualización
+        stub(UPDATE_PATH, CEDULA_IN_JCE, 200, "{" + HEADER_OK + ",\"body\":{\"clients\":[{"
+                + "\"identifications\":[{\"number\":\"" + CEDULA_IN_JCE + "\",\"type\":\"Cedula\"}],"
+                + "\"name\":\"ANA GOMEZ ACTUALIZADA\"}]}}");
+
+        // Mock por defecto para otros casos
+        server.stubFor(any(urlMatching(".*"))
+                .atPriority(10)
+                .willReturn(aResponse()
+                        .withStatus(404)
+                        .withBody("Not found in WireMock")));
+
+        Map<String, String> config = new HashMap<>();
+        config.put("consultar.datos.generales.cliente.juridico.url", server.baseUrl() + JURIDICAL_CLIENT_PATH);
+        config.put("consultar.datos.maestro.cedulados.url", server.baseUrl() + MASTER_CEDULA_PATH);
+        config.put("consultar.datos.jcedp.url", server.baseUrl() + JCE_PATH);
+        config.put("actualizar.datos.maestro.cedulados.url", server.baseUrl() + UPDATE_PATH);
+
+        logger.info("WireMock started on: " + server.baseUrl());
+
+        return config;
+    }
+
+    @Override
+    public void stop() {
+        logger.info("Stopping WireMock Server for orchestration backends");
+
+        if (server != null) {
+            server.stop();
+        }
+        logger.info("WireMock Server Stopped");
+    }
+
+    public static WireMockServer server() {
+        return server;
+    }
+
+    private static final String MASTER_NOT_FOUND = "{" + HEADER_OK
+            + ",\"body\":{\"code\":\"904\",\"message\":\"No encontrado\",\"type\":\"Cedula\",\"clients\":[]}}";
+
+    private static String masterFound(String number, String names) {
+        return "{" + HEADER_OK + ",\"body\":{\"code\":\"000\",\"message\":\"OK\",\"type\":\"Cedula\",\"clients\":[{"
+                + "\"identifications\":[{\"number\":\"" + number + "\",\"type\":\"Cedula\"}],"
+                + "\"names\":\"" + names + "\"}]}}";
+    }
+
+    private static void stub(String path, String identification, int status, String body) {
+        server.stubFor(post(urlEqualTo(path))
+                .withRequestBody(containing(identification))
+                .willReturn(aResponse()
+                        .withHeader("Content-Type", "application/json")
+                        .withBody(body)
+                        .withStatus(status)));
+    }
+}
@@ -0,0 +1,82 @@
+package com.banreservas.integration.processors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.nio.charset.StandardCharsets;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.support.DefaultExchange;
+import org.junit.jupiter.api.Test;
+
+import com.banreservas.integration.model.outbound.response.BodyDto;
+import com.banreservas.integration.model.outbound.response.ClientDto;
+import com.banreservas.integration.model.outbound.response.ConsultarDatosGeneralesClienteResponse;
+import com.banreservas.integration.model.outbound.response.HeaderDto;
+import com.banreservas.integration.model.outbound.response.IdentificationDto;
+import com.banreservas.integration.util.Constants;
+import com.banreservas.integration.util.JsonReaders;
+
+/**
+ * Pruebas unitarias de la codificación de la respuesta final.
+ * La salida escrita campo por campo debe ser idéntica, byte a byte, a la de Jackson.
+ */
+class EncodeFinalResponseProcessorTest {
+
+    @Test
+    void testSuccessMatchesJackson() throws Exception {
+        assertMatchesJackson(success("00112345678", "Cedula", "JUAN PEREZ", null));
+        assertMatchesJackson(success("101123456", "RNC", "EMPRESA S.R.L.", "EMPRESA"));
+    }
+
+    @Test
+    void testEscapedCharactersMatchJackson() throws Exception {
+        assertMatchesJackson(success("00112345678", "Cedula", "JOSÉ \"PEPE\" NUÑEZ\\", "línea\nnueva\ttab\u0001"));
+        assertMatchesJackson(success("00112345678", "Cedula", "</script> &     😀", ""));
+    }
+
+    @Test
+    void testNullFieldsMatchJackson() throws Exception {
+        assertMatchesJackson(success(null, null, null, null));
+    }
+
+    @Test
+    void testNonStandardResponsesMatchJackson() throws Exception {
+        assertMatchesJackson(new ConsultarDatosGeneralesClienteResponse(
+                new HeaderDto(Constants.HTTP_NOT_FOUND, "Cliente no encontrado"), null));
+        assertMatchesJackson(new ConsultarDatosGeneralesClienteResponse(
+                new HeaderDto(Constants.HTTP_OK, "Otro mensaje"),
+                new BodyDto(new ClientDto(new IdentificationDto("00112345678", "Cedula"), "JUAN PEREZ", null))));
+        assertMatchesJackson(new ConsultarDatosGeneralesClienteResponse(
+                new HeaderDto(Constants.HTTP_OK, Constants.RESPONSE_MESSAGE_SUCCESS),
+                new BodyDto(new ClientDto(null, "JUAN PEREZ", null))));
+    }
+
+    @Test
+    void testProcessSetsEncodedBodyAndContentType() throws Exception {
+        ConsultarDatosGeneralesClienteResponse response = success("00112345678", "Cedula", "JUAN PEREZ", null);
+        Exchange exchange = new DefaultExchange(new DefaultCamelContext());
+        exchange.getIn().setBody(response);
+
+        new EncodeFinalResponseProcessor().process(exchange);
+
+        assertEquals(jackson(response), new String(exchange.getIn().getBody(byte[].class), StandardCharsets.UTF_8));
+        assertEquals("application/json; charset=UTF-8", exchange.getIn().getHeader(Constants.HEADER_CONTENT_TYPE));
+    }
+
+    private static ConsultarDatosGeneralesClienteResponse success(String number, String type,
+            String businessName, String tradeName) {
+        return new ConsultarDatosGeneralesClienteResponse(
+                new HeaderDto(Constants.HTTP_OK, Constants.RESPONSE_MESSAGE_SUCCESS),
+                new BodyDto(new ClientDto(new IdentificationDto(number, type), businessName, tradeName)));
+    }
+
+    private static void assertMatchesJackson(ConsultarDatosGeneralesClienteResponse response) throws Exception {
+        assertEquals(jackson(response),
+                new String(EncodeFinalResponseProcessor.encode(response), StandardCharsets.UTF_8));
+    }
+
+    private static String jackson(ConsultarDatosGeneralesClienteResponse response) throws Exception {
+        return new String(JsonReaders.FINAL_RESPONSE_WRITER.writeValueAsBytes(response), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,14 @@
+package com.banreservas.integration.routes;
+
+import com.banreservas.integration.mocks.BackendsWireMock;
+
+import io.quarkus.test.common.QuarkusTestResource;
+import io.quarkus.test.junit.QuarkusTest;
+
+/**
+ * Pruebas de integración de la orquestación con las reglas de negocio como grafo de rutas Camel.
+ */
+@QuarkusTest
+@QuarkusTestResource(BackendsWireMock.class)
+class ConsultarDatosGeneralesClienteRouteTest extends OrchestrationPathsTest {
+}
@@ -0,0 +1,117 @@
+package com.banreservas.integration.routes;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.containing;
+import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.postRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static io.restassured.RestAssured.given;
+
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.banreservas.integration.mocks.BackendsWireMock;
+import com.banreservas.integration.util.Constants;
+
+import io.restassured.http.ContentType;
+import io.restassured.response.ValidatableResponse;
+
+/**
+ * Caminos de la orquestación comunes al grafo de rutas y a la máquina de estados.
+ * Cada subclase arranca la aplicación con una de las dos implementaciones; las respuestas deben ser las mismas.
+ */
+abstract class OrchestrationPathsTest {
+
+    private static final String AUTH_TOKEN = "Bearer eyJhbGciOiJSUzI1NiIsInR5cCIgOiAiSldUI...";
+    private static final String URL_ENDPOINT =
+            "/consultar/datos/generales/cliente/api/v1/consultar-datos-generales-cliente";
+
+    @BeforeEach
+    void resetBackends() {
+        BackendsWireMock.server().resetRequests();
+    }
+
+    @Test
+    void testRncIsServedByJuridicalClientService() {
+        post(BackendsWireMock.RNC_FOUND, Constants.IDENTIFICATION_TYPE_RNC)
+                .statusCode(200)
+                .body("header.responseMessage", Matchers.equalTo(Constants.RESPONSE_MESSAGE_SUCCESS))
+                .body("body.client.identification.number", Matchers.equalTo(BackendsWireMock.RNC_FOUND))
+                .body("body.client.businessName", Matchers.equalTo("EMPRESA DE PRUEBA SRL"))
+                .body("body.client.tradeName", Matchers.equalTo("EMPRESA"));
+
+        BackendsWireMock.server().verify(1, postRequestedFor(urlEqualTo(BackendsWireMock.JURIDICAL_CLIENT_PATH)));
+        BackendsWireMock.server().verify(0, postRequestedFor(urlEqualTo(BackendsWireMock.MASTER_CEDULA_PATH)));
+    }
+
+    @Test
+    void testCedulaFoundInMasterDataIsCached() {
+        for (int i = 0; i < 2; i++) {
+            post(BackendsWireMock.CEDULA_IN_MASTER, Constants.IDENTIFICATION_TYPE_CEDULA)
+                    .statusCode(200)
+                    .body("header.responseMessage", Matchers.equalTo(Constants.RESPONSE_MESSAGE_SUCCESS))
+                    .body("body.client.identification.number", Matchers.equalTo(BackendsWireMock.CEDULA_IN_MASTER))
+                    .body("body.client.businessName", Matchers.equalTo("JUAN PEREZ"));
+        }
+
+        // La segunda consulta se sirve desde el cache de datos maestros
+        BackendsWireMock.server().verify(1, postRequestedFor(urlEqualTo(BackendsWireMock.MASTER_CEDULA_PATH)));
+        BackendsWireMock.server().verify(0, postRequestedFor(urlEqualTo(BackendsWireMock.JCE_PATH)));
+    }
+
+    @Test
+    void testCedulaNotInMasterDataIsFetchedFromJceAndUpdated() {
+        post(BackendsWireMock.CEDULA_IN_JCE, Constants.IDENTIFICATION_TYPE_CEDULA)
+                .statusCode(200)
+                .body("header.responseMessage", Matchers.equalTo(Constants.RESPONSE_MESSAGE_SUCCESS))
+                .body("body.client.identification.number", Matchers.equalTo(BackendsWireMock.CEDULA_IN_JCE))
+                .body("body.client.businessName", Matchers.equalTo("ANA GOMEZ ACTUALIZADA"));
+
+        BackendsWireMock.server().verify(1, postRequestedFor(urlEqualTo(BackendsWireMock.MASTER_CEDULA_PATH)));
+        BackendsWireMock.server().verify(1, postRequestedFor(urlEqualTo(BackendsWireMock.JCE_PATH)));
+        BackendsWireMock.server().verify(1, postRequestedFor(urlEqualTo(BackendsWireMock.UPDATE_PATH))
+                .withHeader(Constants.HEADER_AUTHORIZATION, equalTo(AUTH_TOKEN))
+                .withRequestBody(containing("ANA GOMEZ")));
+    }
+
+    @Test
+    void testCedulaNotFoundInJceReturnsBadRequest() {
+        post(BackendsWireMock.CEDULA_NOT_FOUND, Constants.IDENTIFICATION_TYPE_CEDULA)
+                .statusCode(400)
+                .body("header.responseCode", Matchers.equalTo(400))
+                .body("header.responseMessage", Matchers.equalTo(Constants.ERROR_MESSAGE_CLIENT_NOT_FOUND));
+
+        BackendsWireMock.server().verify(1, postRequestedFor(urlEqualTo(BackendsWireMock.JCE_PATH)));
+        BackendsWireMock.server().verify(0, postRequestedFor(urlEqualTo(BackendsWireMock.UPDATE_PATH)));
+    }
+
+    @Test
+    void testMasterDataBackendErrorReturnsBadGateway() {
+        post(BackendsWireMock.CEDULA_MASTER_ERROR, Constants.IDENTIFICATION_TYPE_CEDULA)
+                .statusCode(502)
+                .body("header.responseCode", Matchers.equalTo(502))
+                .body("header.responseMessage", Matchers.equalTo(Constants.ERROR_MESSAGE_MASTER_CEDULA_INTERNAL_ERROR));
+
+        BackendsWireMock.server().verify(0, postRequestedFor(urlEqualTo(BackendsWireMock.JCE_PATH)));
+    }
+
+    private static ValidatableResponse post(String identification, String identificationType) {
+        String request = """
+            {
+              "identificacion": "%s",
+              "tipoIdentificacion": "%s",
+              "forzarActualizar": "FALSE",
+              "incluirFotoBinaria": "FALSE"
+            }
+            """.formatted(identification, identificationType);
+
+        return given()
+                .contentType(ContentType.JSON)
+                .header(Constants.HEADER_AUTHORIZATION, AUTH_TOKEN)
+                .header(Constants.HEADER_SESSION_ID, "session-" + identification)
+                .body(request)
+                .when()
+                .post(URL_ENDPOINT)
+                .then();
+    }
+}
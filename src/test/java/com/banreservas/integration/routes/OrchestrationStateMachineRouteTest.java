@@ -0,0 +1,28 @@
+package com.banreservas.integration.routes;
+
+import java.util.Map;
+
+import com.banreservas.integration.mocks.BackendsWireMock;
+
+import io.quarkus.test.common.QuarkusTestResource;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+
+/**
+ * Pruebas de integración de la orquestación con las reglas de negocio como máquina de estados.
+ * Recorre los mismos caminos que {@link ConsultarDatosGeneralesClienteRouteTest}.
+ */
+@QuarkusTest
+@QuarkusTestResource(BackendsWireMock.class)
+@TestProfile(OrchestrationStateMachineRouteTest.StateMachineProfile.class)
+class OrchestrationStateMachineRouteTest extends OrchestrationPathsTest {
+
+    public static class StateMachineProfile implements QuarkusTestProfile {
+
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of("maquina.estados.consultar.datos.generales.cliente.enabled", "true");
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.banreservas.integration.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+import com.banreservas.integration.model.outbound.response.backends.actualizardatosmaestrocedulados.ActualizarDatosMaestroCeduladosResponse;
+import com.banreservas.integration.model.outbound.response.backends.actualizardatosmaestrocedulados.ClientActualizarResponseDto;
+import com.banreservas.integration.model.outbound.response.backends.datosmaestrocedulados.ClientMaestroResponseDto;
+import com.banreservas.integration.model.outbound.response.backends.datosmaestrocedulados.ConsultarDatosMaestroCeduladosResponse;
+
+/**
+ * Pruebas unitarias de la lectura de respuestas sin fotos.
+ * Valida que la foto se omita en cualquier posición del objeto sin afectar los demás campos.
+ */
+class JsonReadersTest {
+
+    private static final String IDENTIFICATION = "\"identifications\":[{\"number\":\"00112345678\",\"type\":\"Cedula\"}]";
+
+    @Test
+    void testPhotoAsLastProperty() throws Exception {
+        assertClientWithoutPhoto(readMasterCedula(
+                "{" + IDENTIFICATION + ",\"names\":\"JUAN PEREZ\",\"photo\":\"aGVsbG8=\"}"));
+    }
+
+    @Test
+    void testPhotoAsFirstProperty() throws Exception {
+        assertClientWithoutPhoto(readMasterCedula(
+                "{\"photo\":\"aGVsbG8=\"," + IDENTIFICATION + ",\"names\":\"JUAN PEREZ\"}"));
+    }
+
+    @Test
+    void testPhotoBetweenProperties() throws Exception {
+        assertClientWithoutPhoto(readMasterCedula(
+                "{" + IDENTIFICATION + ",\"photo\":\"aGVsbG8=\",\"names\":\"JUAN PEREZ\"}"));
+    }
+
+    @Test
+    void testPhotoAsOnlyProperty() throws Exception {
+        ConsultarDatosMaestroCeduladosResponse response = JsonReaders.readWithoutPhotos(
+                JsonReaders.MASTER_CEDULA_RESPONSE, bytes("{\"body\":{\"clients\":[{\"photo\":\"aGVsbG8=\"}]}}"));
+
+        ClientMaestroResponseDto client = response.body().clients().get(0);
+        assertNull(client.identifications());
+        assertNull(client.photo());
+    }
+
+    @Test
+    void testBinaryPhotoOfUpdateResponse() throws Exception {
+        ActualizarDatosMaestroCeduladosResponse response = JsonReaders.readWithoutPhotos(
+                JsonReaders.MASTER_CEDULA_UPDATE_RESPONSE,
+                bytes("{\"body\":{\"clients\":[{\"name\":\"JUAN\",\"binaryPhoto\":\"aGVsbG8=\"}]}}"));
+
+        ClientActualizarResponseDto client = response.body().clients().get(0);
+        assertEquals("JUAN", client.name());
+        assertNull(client.binaryPhoto());
+    }
+
+    @Test
+    void testEmptyBody() throws Exception {
+        assertNull(JsonReaders.readWithoutPhotos(JsonReaders.MASTER_CEDULA_RESPONSE, new byte[0]));
+    }
+
+    private static ClientMaestroResponseDto readMasterCedula(String client) throws Exception {
+        ConsultarDatosMaestroCeduladosResponse response = JsonReaders.readWithoutPhotos(
+                JsonReaders.MASTER_CEDULA_RESPONSE, bytes("{\"body\":{\"code\":\"000\",\"clients\":[" + client + "]}}"));
+        assertEquals("000", response.body().code());
+        assertEquals(1, response.body().clients().size());
+        return response.body().clients().get(0);
+    }
+
+    private static void assertClientWithoutPhoto(ClientMaestroResponseDto client) {
+        assertEquals("00112345678", client.identifications().get(0).number());
+        assertEquals("JUAN PEREZ", client.names());
+        assertNull(client.photo());
+    }
+
+    private static byte[] bytes(String json) {
+        return json.getBytes(StandardCharsets.UTF_8);
+    }
+}
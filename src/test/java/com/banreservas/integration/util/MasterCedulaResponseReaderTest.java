@@ -0,0 +1,127 @@
+package com.banreservas.integration.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+import com.banreservas.integration.model.outbound.response.backends.datosmaestrocedulados.ClientMaestroResponseDto;
+import com.banreservas.integration.model.outbound.response.backends.datosmaestrocedulados.ConsultarDatosMaestroCeduladosResponse;
+
+/**
+ * Pruebas unitarias del lector de respuestas de ConsultarDatosMaestroCedulados.
+ * Valida el orden de los campos, los códigos que detienen la lectura y la omisión de la foto.
+ */
+class MasterCedulaResponseReaderTest {
+
+    private static final String HEADER_OK = "\"header\":{\"responseCode\":200,\"responseMessage\":\"OK\"}";
+    private static final String HEADER_ERROR = "\"header\":{\"responseCode\":500,\"responseMessage\":\"Error interno\"}";
+    private static final String CLIENTS = "\"clients\":[{\"identifications\":[{\"number\":\"00112345678\",\"type\":\"Cedula\"}],"
+            + "\"names\":\"JUAN PEREZ\",\"photo\":\"aGVsbG8=\"}]";
+
+    @Test
+    void testHeaderBeforeBodySuccess() throws Exception {
+        ConsultarDatosMaestroCeduladosResponse response = read("{" + HEADER_OK + ","
+                + "\"body\":{\"code\":\"000\",\"message\":\"OK\",\"type\":\"Cedula\"," + CLIENTS + "}}");
+
+        assertEquals(200, response.header().responseCode());
+        assertEquals("000", response.body().code());
+        assertEquals("OK", response.body().message());
+        assertEquals("Cedula", response.body().type());
+        assertClientWithoutPhoto(response);
+    }
+
+    @Test
+    void testHeaderAfterBodySuccess() throws Exception {
+        ConsultarDatosMaestroCeduladosResponse response = read("{"
+                + "\"body\":{\"code\":\"000\",\"message\":\"OK\",\"type\":\"Cedula\"," + CLIENTS + "}," + HEADER_OK + "}");
+
+        assertEquals(200, response.header().responseCode());
+        assertEquals("000", response.body().code());
+        assertClientWithoutPhoto(response);
+    }
+
+    @Test
+    void testHeaderAfterBodyNotFoundIsStillRead() throws Exception {
+        ConsultarDatosMaestroCeduladosResponse response = read("{"
+                + "\"body\":{\"code\":\"904\",\"message\":\"Cliente no encontrado\"," + CLIENTS + "}," + HEADER_OK + "}");
+
+        assertEquals(200, response.header().responseCode());
+        assertEquals("904", response.body().code());
+        assertEquals("Cliente no encontrado", response.body().message());
+        assertNull(response.body().clients());
+    }
+
+    @Test
+    void testNotFoundStopsAtCode() throws Exception {
+        ConsultarDatosMaestroCeduladosResponse response = read("{" + HEADER_OK + ","
+                + "\"body\":{\"code\":\"904\",\"message\":\"Cliente no encontrado\",\"type\":\"Cedula\"," + CLIENTS + "}}");
+
+        assertEquals(Constants.ERROR_CODE_NOT_FOUND, response.body().code());
+        assertNull(response.body().message());
+        assertNull(response.body().clients());
+    }
+
+    @Test
+    void testErrorHeaderStopsBeforeBody() throws Exception {
+        ConsultarDatosMaestroCeduladosResponse response = read("{" + HEADER_ERROR + ","
+                + "\"body\":{\"code\":\"000\"," + CLIENTS + "}}");
+
+        assertEquals(500, response.header().responseCode());
+        assertEquals("Error interno", response.header().responseMessage());
+        assertNull(response.body());
+    }
+
+    @Test
+    void testUnexpectedCodeStopsAtCode() throws Exception {
+        ConsultarDatosMaestroCeduladosResponse response = read("{" + HEADER_OK + ","
+                + "\"body\":{\"code\":\"999\"," + CLIENTS + ",\"message\":\"Error desconocido\"}}");
+
+        assertEquals("999", response.body().code());
+        assertNull(response.body().message());
+        assertNull(response.body().clients());
+    }
+
+    @Test
+    void testClientsBeforeCode() throws Exception {
+        ConsultarDatosMaestroCeduladosResponse response = read("{" + HEADER_OK + ","
+                + "\"body\":{" + CLIENTS + ",\"type\":\"Cedula\",\"code\":\"000\",\"message\":\"OK\"}}");
+
+        assertEquals("000", response.body().code());
+        assertEquals("OK", response.body().message());
+        assertClientWithoutPhoto(response);
+    }
+
+    @Test
+    void testUnknownFieldsAreSkipped() throws Exception {
+        ConsultarDatosMaestroCeduladosResponse response = read("{\"trace\":{\"id\":[1,2]}," + HEADER_OK + ","
+                + "\"body\":{\"extra\":[{\"a\":1}],\"code\":\"000\"," + CLIENTS + "}}");
+
+        assertEquals("000", response.body().code());
+        assertClientWithoutPhoto(response);
+    }
+
+    @Test
+    void testEmptyBody() throws Exception {
+        assertNull(MasterCedulaResponseReader.read(new byte[0]));
+        assertNull(MasterCedulaResponseReader.read((byte[]) null));
+    }
+
+    private static ConsultarDatosMaestroCeduladosResponse read(String json) throws Exception {
+        ConsultarDatosMaestroCeduladosResponse response =
+                MasterCedulaResponseReader.read(json.getBytes(StandardCharsets.UTF_8));
+        assertNotNull(response);
+        return response;
+    }
+
+    private static void assertClientWithoutPhoto(ConsultarDatosMaestroCeduladosResponse response) {
+        assertEquals(1, response.body().clients().size());
+        ClientMaestroResponseDto client = response.body().clients().get(0);
+        assertEquals("00112345678", client.identifications().get(0).number());
+        assertEquals("JUAN PEREZ", client.names());
+        assertNull(client.photo());
+    }
+}